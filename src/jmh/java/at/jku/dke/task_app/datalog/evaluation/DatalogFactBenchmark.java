@@ -0,0 +1,38 @@
+package at.jku.dke.task_app.datalog.evaluation;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the parsing of query results into {@link DatalogPredicate}s and {@link DatalogFact}s.
+ * <p>
+ * Run with {@code -prof gc} to compare the allocated bytes per operation ({@code gc.alloc.rate.norm}).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+@State(Scope.Benchmark)
+public class DatalogFactBenchmark {
+    @Param({"10", "1000", "100000", "1000000"})
+    private int facts;
+
+    private Map<String, List<String>> result;
+
+    @Setup
+    public void setup() {
+        this.result = SyntheticData.queryResult(this.facts, 42);
+    }
+
+    @Benchmark
+    public void parse(Blackhole blackhole) {
+        // the predicate splits the terms of each fact
+        for (var entry : this.result.entrySet())
+            blackhole.consume(new DatalogPredicate(entry.getKey(), entry.getValue()));
+    }
+}
@@ -0,0 +1,42 @@
+package at.jku.dke.task_app.datalog.evaluation;
+
+import at.jku.dke.task_app.datalog.data.entities.TermDescription;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the encoding of the submission facts of a task group with {@link FactEncoder}.
+ * <p>
+ * Run with {@code -prof gc} to compare the allocated bytes per operation ({@code gc.alloc.rate.norm}).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+@State(Scope.Benchmark)
+public class FactEncoderBenchmark {
+    @Param({"10", "1000", "100000", "1000000"})
+    private int facts;
+
+    private String factBase;
+    private FactEncoder encoder;
+
+    @Setup
+    public void setup() {
+        this.factBase = SyntheticData.factBase(this.facts, 42);
+        this.encoder = new FactEncoder("_1", List.of(new TermDescription("person", "c1", 1), new TermDescription("grade", "\"s1\"", 3)));
+    }
+
+    @Benchmark
+    public FactEncoder createEncoder() {
+        return new FactEncoder("_1", List.of(new TermDescription("person", "c1", 1), new TermDescription("grade", "\"s1\"", 3)));
+    }
+
+    @Benchmark
+    public String encode() {
+        return this.encoder.encode(this.factBase);
+    }
+}
@@ -0,0 +1,112 @@
+package at.jku.dke.task_app.datalog.evaluation;
+
+import at.jku.dke.task_app.datalog.corpus.FactBaseGenerator;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Generates reproducible synthetic fact bases and execution outputs for the benchmarks.
+ * <p>
+ * The facts are generated by the {@link FactBaseGenerator} of the test corpus and distributed uniformly over a fixed set
+ * of predicates with arities between 1 and 3.
+ */
+public final class SyntheticData {
+    /**
+     * The predicates and their arities.
+     */
+    public static final List<FactBaseGenerator.Predicate> PREDICATES = List.of(
+        new FactBaseGenerator.Predicate("edge", 2),
+        new FactBaseGenerator.Predicate("enrolled", 3),
+        new FactBaseGenerator.Predicate("grade", 3),
+        new FactBaseGenerator.Predicate("parent", 2),
+        new FactBaseGenerator.Predicate("person", 1));
+
+    private SyntheticData() {
+    }
+
+    /**
+     * Generates a fact base, one fact per line.
+     *
+     * @param facts The number of facts.
+     * @param seed  The seed of the random generator.
+     * @return The fact base.
+     */
+    public static String factBase(int facts, long seed) {
+        return FactBaseGenerator.render(generator(facts).generate(new Random(seed), facts));
+    }
+
+    /**
+     * Generates a query result like {@link DatalogExecutor#query(String, String, List)} returns it.
+     *
+     * @param facts The total number of facts.
+     * @param seed  The seed of the random generator.
+     * @return The query result; the key is the predicate, the value contains the terms of the facts.
+     */
+    public static Map<String, List<String>> queryResult(int facts, long seed) {
+        Map<String, List<String>> result = new HashMap<>();
+        generator(facts).generate(new Random(seed), facts).forEach((predicate, terms) -> result.put(predicate, new ArrayList<>(terms)));
+        return result;
+    }
+
+    /**
+     * Mutates a query result like a student submission that is almost correct.
+     * <p>
+     * The first term of every {@code 1 / errorRate}-th fact is replaced, so that the fact is missing and a superfluous fact with the same arity is added.
+     *
+     * @param result    The query result.
+     * @param errorRate The ratio of replaced facts (between 0 and 1).
+     * @return The mutated query result.
+     */
+    public static Map<String, List<String>> mutate(Map<String, List<String>> result, double errorRate) {
+        int step = errorRate <= 0 ? Integer.MAX_VALUE : (int) Math.max(1, Math.round(1 / errorRate));
+        Map<String, List<String>> mutated = new HashMap<>();
+        int i = 0;
+        for (var entry : result.entrySet()) {
+            List<String> terms = new ArrayList<>(entry.getValue().size());
+            for (String fact : entry.getValue()) {
+                int end = fact.indexOf(',');
+                terms.add(++i % step == 0 ? "wrong" + i + (end < 0 ? "" : fact.substring(end)) : fact);
+            }
+            mutated.put(entry.getKey(), terms);
+        }
+        return mutated;
+    }
+
+    /**
+     * Generates the output of the datalog binary for a program with several answer sets.
+     *
+     * @param models The number of answer sets.
+     * @param atoms  The total number of atoms over all answer sets.
+     * @param seed   The seed of the random generator.
+     * @return The output.
+     */
+    public static String answerSets(int models, int atoms, long seed) {
+        var random = new Random(seed);
+        int atomsPerModel = Math.max(1, atoms / models);
+        var builder = new StringBuilder(atoms * 24);
+        for (int m = 0; m < models; m++) {
+            var model = generator(atomsPerModel).generate(random, atomsPerModel);
+            builder.append('{');
+            boolean first = true;
+            for (var entry : model.entrySet()) {
+                for (String terms : entry.getValue()) {
+                    if (!first)
+                        builder.append(", ");
+                    first = false;
+                    builder.append(entry.getKey()).append('(').append(terms.replace(" ", "")).append(')');
+                }
+            }
+            builder.append("}\n");
+        }
+        return builder.toString();
+    }
+
+    private static FactBaseGenerator generator(int facts) {
+        // the domain grows with the number of facts, so that the fact base contains only few duplicates
+        return new FactBaseGenerator(PREDICATES, Math.max(10, facts / 2), 0);
+    }
+}
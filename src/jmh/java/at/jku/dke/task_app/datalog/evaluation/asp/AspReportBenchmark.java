@@ -0,0 +1,56 @@
+package at.jku.dke.task_app.datalog.evaluation.asp;
+
+import at.jku.dke.etutor.task_app.dto.CriterionDto;
+import at.jku.dke.etutor.task_app.dto.SubmissionMode;
+import at.jku.dke.task_app.datalog.evaluation.SyntheticData;
+import at.jku.dke.task_app.datalog.evaluation.asp.analysis.AspAnalysis;
+import at.jku.dke.task_app.datalog.evaluation.asp.analysis.AspAnalysisImpl;
+import at.jku.dke.task_app.datalog.evaluation.exceptions.AnalysisException;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.support.ResourceBundleMessageSource;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the creation of the feedback of an ASP submission with {@link AspReport}.
+ * <p>
+ * The answer sets of the submission differ from the answer sets of the solution, so that the report lists missing and superfluous answer sets.
+ * Run with {@code -prof gc} to compare the allocated bytes per operation ({@code gc.alloc.rate.norm}).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+@State(Scope.Benchmark)
+public class AspReportBenchmark {
+    @Param({"10", "1000", "100000", "1000000"})
+    private int facts;
+
+    @Param({"10"})
+    private int models;
+
+    @Param({"2", "3"})
+    private int feedbackLevel;
+
+    private ResourceBundleMessageSource messageSource;
+    private AspAnalysis analysis;
+    private String rawOutput;
+
+    @Setup
+    public void setup() throws AnalysisException {
+        this.messageSource = new ResourceBundleMessageSource();
+        this.messageSource.setBasename("messages");
+        this.messageSource.setDefaultEncoding("UTF-8");
+
+        this.rawOutput = SyntheticData.answerSets(this.models, this.facts, 43);
+        this.analysis = new AspAnalysisImpl(SyntheticData.answerSets(this.models, this.facts, 42), this.rawOutput);
+    }
+
+    @Benchmark
+    public List<CriterionDto> report() {
+        return new AspReport(this.messageSource, Locale.ENGLISH, SubmissionMode.DIAGNOSE, this.feedbackLevel, this.analysis, this.rawOutput).getCriteria();
+    }
+}
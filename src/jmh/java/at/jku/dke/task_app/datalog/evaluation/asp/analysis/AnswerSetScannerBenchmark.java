@@ -0,0 +1,76 @@
+package at.jku.dke.task_app.datalog.evaluation.asp.analysis;
+
+import at.jku.dke.task_app.datalog.evaluation.DatalogPredicate;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Compares the {@link AnswerSetScanner} with the former regular expression based parsing of answer sets.
+ * <p>
+ * Run with {@code -prof gc} to compare the allocated bytes per operation ({@code gc.alloc.rate.norm}).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AnswerSetScannerBenchmark {
+    private static final Pattern MODEL_PATTERN = Pattern.compile("\\{([^\\{\\}]*)\\}", Pattern.MULTILINE);
+    private static final Pattern PREDICATE_PATTERN = Pattern.compile("([\\w\\d]+?)\\((.*?)\\)", Pattern.MULTILINE);
+
+    @Param({"10", "1000"})
+    private int models;
+
+    @Param({"50"})
+    private int atoms;
+
+    private String output;
+
+    /**
+     * Generates output like the datalog binary prints it for a program with many answer sets.
+     */
+    @Setup
+    public void setup() {
+        var random = new Random(42);
+        var builder = new StringBuilder();
+        for (int m = 0; m < this.models; m++) {
+            builder.append('{');
+            for (int a = 0; a < this.atoms; a++) {
+                if (a > 0)
+                    builder.append(", ");
+                builder.append("edge(n").append(random.nextInt(100)).append(",n").append(random.nextInt(100)).append(')');
+            }
+            builder.append("}\n");
+        }
+        this.output = builder.toString();
+    }
+
+    @Benchmark
+    public List<Set<DatalogPredicate>> regex() {
+        List<Map<String, List<String>>> data = new ArrayList<>();
+        var modelMatcher = MODEL_PATTERN.matcher(this.output);
+        while (modelMatcher.find()) {
+            var predicateMatcher = PREDICATE_PATTERN.matcher(modelMatcher.group(1));
+            Map<String, List<String>> predicates = new HashMap<>();
+            while (predicateMatcher.find())
+                predicates.computeIfAbsent(predicateMatcher.group(1), k -> new ArrayList<>()).add(predicateMatcher.group(2));
+            data.add(predicates);
+        }
+        return data.stream()
+            .map(x -> x.entrySet()
+                .stream()
+                .map(e -> new DatalogPredicate(e.getKey(), e.getValue().stream().sorted().toList()))
+                .collect(Collectors.toSet()))
+            .toList();
+    }
+
+    @Benchmark
+    public List<Set<DatalogPredicate>> scanner() {
+        return AnswerSetScanner.scan(this.output);
+    }
+}
@@ -0,0 +1,46 @@
+package at.jku.dke.task_app.datalog.evaluation.asp.analysis;
+
+import at.jku.dke.task_app.datalog.evaluation.SyntheticData;
+import at.jku.dke.task_app.datalog.evaluation.exceptions.AnalysisException;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the parsing and comparison of the answer sets of the solution and a submission with {@link AspAnalysisImpl}.
+ * <p>
+ * The submission has the same atoms as the solution, but one more answer set.
+ * Run with {@code -prof gc} to compare the allocated bytes per operation ({@code gc.alloc.rate.norm}).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+@State(Scope.Benchmark)
+public class AspAnalysisBenchmark {
+    @Param({"10", "1000", "100000", "1000000"})
+    private int facts;
+
+    @Param({"10"})
+    private int models;
+
+    private String solutionResult;
+    private String submissionResult;
+
+    @Setup
+    public void setup() {
+        this.solutionResult = SyntheticData.answerSets(this.models, this.facts, 42);
+        this.submissionResult = this.solutionResult + "{person(c0)}\n";
+    }
+
+    @Benchmark
+    public AspAnalysis analyze() throws AnalysisException {
+        return new AspAnalysisImpl(this.solutionResult, this.submissionResult);
+    }
+
+    @Benchmark
+    public int countModels() {
+        return AspAnalysisImpl.countModels(this.submissionResult);
+    }
+}
@@ -0,0 +1,69 @@
+package at.jku.dke.task_app.datalog.evaluation.dlg;
+
+import at.jku.dke.etutor.task_app.dto.CriterionDto;
+import at.jku.dke.etutor.task_app.dto.SubmissionMode;
+import at.jku.dke.task_app.datalog.data.entities.DatalogTask;
+import at.jku.dke.task_app.datalog.data.entities.GradingStrategy;
+import at.jku.dke.task_app.datalog.evaluation.SyntheticData;
+import at.jku.dke.task_app.datalog.evaluation.dlg.analysis.DatalogAnalysis;
+import at.jku.dke.task_app.datalog.evaluation.dlg.analysis.DatalogAnalysisImpl;
+import at.jku.dke.task_app.datalog.evaluation.dlg.grading.DatalogGrading;
+import at.jku.dke.task_app.datalog.evaluation.exceptions.AnalysisException;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.support.ResourceBundleMessageSource;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the grading and the creation of the feedback of a Datalog submission with {@link DatalogGrading} and {@link DatalogReport}.
+ * <p>
+ * One percent of the facts of the submission are wrong, so that the report lists missing and superfluous facts.
+ * Run with {@code -prof gc} to compare the allocated bytes per operation ({@code gc.alloc.rate.norm}).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+@State(Scope.Benchmark)
+public class DatalogReportBenchmark {
+    @Param({"10", "1000", "100000", "1000000"})
+    private int facts;
+
+    @Param({"2", "3"})
+    private int feedbackLevel;
+
+    private ResourceBundleMessageSource messageSource;
+    private DatalogTask task;
+    private DatalogAnalysis analysis;
+    private String rawOutput;
+
+    @Setup
+    public void setup() throws AnalysisException {
+        this.messageSource = new ResourceBundleMessageSource();
+        this.messageSource.setBasename("messages");
+        this.messageSource.setDefaultEncoding("UTF-8");
+
+        this.task = new DatalogTask();
+        this.task.setMaxPoints(BigDecimal.TEN);
+        this.task.setMissingPredicatePenalty(BigDecimal.ONE);
+        this.task.setMissingPredicateStrategy(GradingStrategy.EACH);
+        this.task.setMissingFactPenalty(BigDecimal.ONE);
+        this.task.setMissingFactStrategy(GradingStrategy.EACH);
+        this.task.setSuperfluousFactPenalty(BigDecimal.ONE);
+        this.task.setSuperfluousFactStrategy(GradingStrategy.EACH);
+
+        var solutionResult = SyntheticData.queryResult(this.facts, 42);
+        this.analysis = new DatalogAnalysisImpl(solutionResult, SyntheticData.mutate(solutionResult, 0.01));
+        this.rawOutput = SyntheticData.factBase(this.facts, 42);
+    }
+
+    @Benchmark
+    public List<CriterionDto> report() {
+        var grading = new DatalogGrading(this.task, this.analysis);
+        return new DatalogReport(this.messageSource, Locale.ENGLISH, SubmissionMode.DIAGNOSE, this.feedbackLevel, this.analysis, this.rawOutput, grading).getCriteria();
+    }
+}
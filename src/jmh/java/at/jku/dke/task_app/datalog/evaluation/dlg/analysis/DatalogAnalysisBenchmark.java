@@ -0,0 +1,42 @@
+package at.jku.dke.task_app.datalog.evaluation.dlg.analysis;
+
+import at.jku.dke.task_app.datalog.evaluation.SyntheticData;
+import at.jku.dke.task_app.datalog.evaluation.exceptions.AnalysisException;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the comparison of the query results of the solution and a submission with {@link DatalogAnalysisImpl}.
+ * <p>
+ * Run with {@code -prof gc} to compare the allocated bytes per operation ({@code gc.alloc.rate.norm}).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+@State(Scope.Benchmark)
+public class DatalogAnalysisBenchmark {
+    @Param({"10", "1000", "100000", "1000000"})
+    private int facts;
+
+    @Param({"0", "0.01"})
+    private double errorRate;
+
+    private Map<String, List<String>> solutionResult;
+    private Map<String, List<String>> submissionResult;
+
+    @Setup
+    public void setup() {
+        this.solutionResult = SyntheticData.queryResult(this.facts, 42);
+        this.submissionResult = SyntheticData.mutate(this.solutionResult, this.errorRate);
+    }
+
+    @Benchmark
+    public DatalogAnalysis analyze() throws AnalysisException {
+        return new DatalogAnalysisImpl(this.solutionResult, this.submissionResult);
+    }
+}
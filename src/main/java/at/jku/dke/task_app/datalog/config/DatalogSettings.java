@@ -1,11 +1,16 @@
 package at.jku.dke.task_app.datalog.config;
 
+import jakarta.validation.Valid;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotNull;
 import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.ConstructorBinding;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
 import org.springframework.validation.annotation.Validated;
 
 import java.nio.file.Path;
+import java.time.Duration;
 
 /**
  * Configuration properties for the Datalog executable.
@@ -13,16 +18,58 @@
  * @param exe                The path to the Datalog executable (if the String is empty, the executable is determined automatically from the Operating System).
  * @param maxExecutionTime   The maximum execution time in seconds.
  * @param factEncodingSuffix The suffix for the fact encoding.
- * @param docUrl The public facts URL.
+ * @param docUrl             The public facts URL.
+ * @param scheduler          The settings for scheduling the executions of the Datalog executable.
+ * @param cache              The settings for caching the outputs of the Datalog executable.
+ * @param engine             The engine used to evaluate Datalog programs.
+ * @param process            The settings for the processes of the Datalog executable.
+ * @param queue              The settings for the asynchronous submission queue.
+ * @param metrics            The settings for the evaluation metrics.
  */
 @Validated
 @ConfigurationProperties(prefix = "datalog")
-public record DatalogSettings(@NotNull String exe, @Min(1) int maxExecutionTime, @NotNull String factEncodingSuffix, @NotNull String docUrl) {
+public record DatalogSettings(@NotNull String exe, @Min(1) int maxExecutionTime, @NotNull String factEncodingSuffix, @NotNull String docUrl,
+                              @Valid @NotNull @DefaultValue SchedulerSettings scheduler,
+                              @Valid @NotNull @DefaultValue CacheSettings cache,
+                              @NotNull @DefaultValue("dlv") Engine engine,
+                              @Valid @NotNull @DefaultValue ProcessSettings process,
+                              @Valid @NotNull @DefaultValue QueueSettings queue,
+                              @Valid @NotNull @DefaultValue MetricsSettings metrics) {
     /**
      * Empty datalog settings for testing purposes.
      */
     public static final DatalogSettings EMPTY = new DatalogSettings("", 10, "0", "http://localhost:8081/dlg/");
 
+    /**
+     * Creates a new instance of class {@link DatalogSettings}.
+     *
+     * @param exe                The path to the Datalog executable (if the String is empty, the executable is determined automatically from the Operating System).
+     * @param maxExecutionTime   The maximum execution time in seconds.
+     * @param factEncodingSuffix The suffix for the fact encoding.
+     * @param docUrl             The public facts URL.
+     * @param scheduler          The settings for scheduling the executions of the Datalog executable.
+     * @param cache              The settings for caching the outputs of the Datalog executable.
+     * @param engine             The engine used to evaluate Datalog programs.
+     * @param process            The settings for the processes of the Datalog executable.
+     * @param queue              The settings for the asynchronous submission queue.
+     * @param metrics            The settings for the evaluation metrics.
+     */
+    @ConstructorBinding
+    public DatalogSettings {
+    }
+
+    /**
+     * Creates a new instance of class {@link DatalogSettings} with default scheduler, cache, engine, process, queue and metrics settings.
+     *
+     * @param exe                The path to the Datalog executable (if the String is empty, the executable is determined automatically from the Operating System).
+     * @param maxExecutionTime   The maximum execution time in seconds.
+     * @param factEncodingSuffix The suffix for the fact encoding.
+     * @param docUrl             The public facts URL.
+     */
+    public DatalogSettings(String exe, int maxExecutionTime, String factEncodingSuffix, String docUrl) {
+        this(exe, maxExecutionTime, factEncodingSuffix, docUrl, SchedulerSettings.DEFAULT, CacheSettings.DEFAULT, Engine.DLV, ProcessSettings.DEFAULT, QueueSettings.DEFAULT, MetricsSettings.DEFAULT);
+    }
+
     /**
      * Returns the path to the Datalog executable.
      * <p>
@@ -46,4 +93,140 @@ public String getExecutable() {
         }
         return exe;
     }
+
+    /**
+     * Settings for scheduling the executions of the Datalog executable.
+     *
+     * @param maxConcurrentExecutions The maximum number of Datalog processes running at the same time.
+     * @param maxQueuedExecutions     The maximum number of executions waiting for a free slot; further executions are rejected immediately.
+     * @param maxQueueTime            The maximum time in seconds an execution waits for a free slot before it is rejected.
+     * @param maxBypasses             The number of times waiting executions are bypassed by executions of a higher priority before they get the next free slot.
+     */
+    public record SchedulerSettings(@DefaultValue("4") @Min(1) int maxConcurrentExecutions,
+                                    @DefaultValue("100") @Min(0) int maxQueuedExecutions,
+                                    @DefaultValue("30") @Min(0) int maxQueueTime,
+                                    @DefaultValue("4") @Min(1) int maxBypasses) {
+        /**
+         * Default scheduler settings.
+         */
+        public static final SchedulerSettings DEFAULT = new SchedulerSettings(4, 100, 30, 4);
+    }
+
+    /**
+     * Settings for caching the outputs of the Datalog executable and the encoded facts.
+     *
+     * @param maxEntries          The maximum number of cached outputs (0 disables the cache).
+     * @param maxSize             The maximum size of all cached outputs.
+     * @param maxEncodedFacts     The maximum number of tasks whose encoded submission facts are cached (0 disables the cache).
+     * @param maxEncodedFactsSize The maximum size of all cached encoded submission facts.
+     */
+    public record CacheSettings(@DefaultValue("1000") @Min(0) int maxEntries,
+                                @DefaultValue("64MB") @NotNull DataSize maxSize,
+                                @DefaultValue("100") @Min(0) int maxEncodedFacts,
+                                @DefaultValue("64MB") @NotNull DataSize maxEncodedFactsSize) {
+        /**
+         * Default cache settings.
+         */
+        public static final CacheSettings DEFAULT = new CacheSettings(1000, DataSize.ofMegabytes(64), 100, DataSize.ofMegabytes(64));
+    }
+
+    /**
+     * Settings for the processes of the Datalog executable.
+     *
+     * @param inputMode      How the program is passed to the Datalog executable.
+     * @param maxOutputSize  The maximum size of the output read from a process; processes writing more are killed.
+     * @param maxFactsFactor The maximum number of facts in the result of a submission as multiple of the number of facts in the output of the solution.
+     * @param minMaxFacts    The lower bound of the maximum number of facts in the result of a submission.
+     */
+    public record ProcessSettings(@DefaultValue("pipe") @NotNull InputMode inputMode,
+                                  @DefaultValue("16MB") @NotNull DataSize maxOutputSize,
+                                  @DefaultValue("100") @Min(1) int maxFactsFactor,
+                                  @DefaultValue("10000") @Min(0) int minMaxFacts) {
+        /**
+         * Default process settings.
+         */
+        public static final ProcessSettings DEFAULT = new ProcessSettings(InputMode.PIPE, DataSize.ofMegabytes(16), 100, 10000);
+
+        /**
+         * Returns the maximum number of facts in the result of a submission.
+         *
+         * @param solutionFacts The number of facts in the output of the solution (including the facts of auxiliary relations).
+         * @return The maximum number of facts.
+         */
+        public long getMaxFacts(long solutionFacts) {
+            return Math.max(this.minMaxFacts, solutionFacts * this.maxFactsFactor);
+        }
+    }
+
+    /**
+     * Settings for the asynchronous submission queue.
+     * <p>
+     * Queued submissions are stored in the database and evaluated by workers of all application instances.
+     *
+     * @param enabled      Whether submissions can be queued and the workers of this instance evaluate queued submissions.
+     * @param workers      The number of workers of this instance.
+     * @param pollInterval The time a worker waits before it checks the queue again if the queue was empty.
+     * @param lease        The time a claimed submission is reserved for a worker; afterwards another worker may evaluate it (e.g. if the instance has been stopped).
+     * @param maxAttempts  The maximum number of times a submission is claimed.
+     */
+    public record QueueSettings(@DefaultValue("false") boolean enabled,
+                                @DefaultValue("4") @Min(1) int workers,
+                                @DefaultValue("1s") @NotNull Duration pollInterval,
+                                @DefaultValue("5m") @NotNull Duration lease,
+                                @DefaultValue("3") @Min(1) int maxAttempts) {
+        /**
+         * Default queue settings.
+         */
+        public static final QueueSettings DEFAULT = new QueueSettings(false, 4, Duration.ofSeconds(1), Duration.ofMinutes(5), 3);
+    }
+
+    /**
+     * Settings for the metrics of the evaluations.
+     *
+     * @param taskIdBucketSize The number of consecutive task ids sharing the value of the task tag; 1 tags each task separately.
+     */
+    public record MetricsSettings(@DefaultValue("100") @Min(1) long taskIdBucketSize) {
+        /**
+         * Default metrics settings.
+         */
+        public static final MetricsSettings DEFAULT = new MetricsSettings(100);
+
+        /**
+         * Returns the bucket of the task id, i.e. the smallest task id of the bucket.
+         *
+         * @param taskId The task id.
+         * @return The bucket.
+         */
+        public long getTaskIdBucket(long taskId) {
+            return Math.floorDiv(taskId, this.taskIdBucketSize) * this.taskIdBucketSize;
+        }
+    }
+
+    /**
+     * The modes for passing programs to the Datalog executable.
+     */
+    public enum InputMode {
+        /**
+         * The program is written to a temporary file and the output is redirected to temporary files.
+         */
+        FILE,
+        /**
+         * The program is written to the standard input and the output is read from the standard output and error streams.
+         */
+        PIPE
+    }
+
+    /**
+     * The engines for evaluating Datalog programs.
+     */
+    public enum Engine {
+        /**
+         * Every program is executed by the Datalog executable.
+         */
+        DLV,
+        /**
+         * Stratified Datalog programs are evaluated inside the JVM; all other programs are executed by the Datalog executable.
+         */
+        JVM
+    }
 }
@@ -1,8 +1,14 @@
 package at.jku.dke.task_app.datalog.controllers;
 
 import at.jku.dke.etutor.task_app.controllers.BaseSubmissionControllerWithoutRequestMapping;
+import at.jku.dke.etutor.task_app.dto.SubmitSubmissionDto;
 import at.jku.dke.task_app.datalog.dto.AspSubmissionDto;
 import at.jku.dke.task_app.datalog.services.AspSubmissionService;
+import jakarta.validation.Valid;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
@@ -15,6 +21,9 @@
 @RestController
 @RequestMapping("/api/submission/asp")
 public class AspSubmissionController extends BaseSubmissionControllerWithoutRequestMapping<AspSubmissionDto> {
+
+    private final AspSubmissionService queuedSubmissionService;
+
     /**
      * Creates a new instance of class {@link AspSubmissionController}.
      *
@@ -22,10 +31,28 @@ public class AspSubmissionController extends BaseSubmissionControllerWithoutRequ
      */
     public AspSubmissionController(AspSubmissionService submissionService) {
         super(submissionService);
+        this.queuedSubmissionService = submissionService;
+    }
+
+    /**
+     * Adds the submission to the asynchronous submission queue.
+     * <p>
+     * The submission is evaluated by a queue worker of any application instance; the result can be polled via the returned location.
+     *
+     * @param submission The submission.
+     * @return The id of the queued submission.
+     */
+    @PostMapping(value = "/queue", consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.TEXT_PLAIN_VALUE)
+    public ResponseEntity<String> enqueue(@Valid @RequestBody SubmitSubmissionDto<AspSubmissionDto> submission) {
+        UUID id = this.queuedSubmissionService.enqueue(submission);
+        return ResponseEntity.accepted()
+            .location(this.createDetailsUri(id))
+            .contentType(MediaType.TEXT_PLAIN)
+            .body(id.toString());
     }
 
     @Override
     protected URI createDetailsUri(UUID id) {
-        return URI.create("/api/submission/dlg/" + id + "/result");
+        return URI.create("/api/submission/asp/" + id + "/result");
     }
 }
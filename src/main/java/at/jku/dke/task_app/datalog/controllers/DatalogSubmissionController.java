@@ -1,9 +1,15 @@
 package at.jku.dke.task_app.datalog.controllers;
 
 import at.jku.dke.etutor.task_app.controllers.BaseSubmissionControllerWithoutRequestMapping;
+import at.jku.dke.etutor.task_app.dto.SubmitSubmissionDto;
 import at.jku.dke.task_app.datalog.data.entities.DatalogSubmission;
 import at.jku.dke.task_app.datalog.dto.DatalogSubmissionDto;
 import at.jku.dke.task_app.datalog.services.DatalogSubmissionService;
+import jakarta.validation.Valid;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
@@ -16,6 +22,9 @@
 @RestController
 @RequestMapping("/api/submission/dlg")
 public class DatalogSubmissionController extends BaseSubmissionControllerWithoutRequestMapping<DatalogSubmissionDto> {
+
+    private final DatalogSubmissionService queuedSubmissionService;
+
     /**
      * Creates a new instance of class {@link DatalogSubmissionController}.
      *
@@ -23,6 +32,24 @@ public class DatalogSubmissionController extends BaseSubmissionControllerWithout
      */
     public DatalogSubmissionController(DatalogSubmissionService submissionService) {
         super(submissionService);
+        this.queuedSubmissionService = submissionService;
+    }
+
+    /**
+     * Adds the submission to the asynchronous submission queue.
+     * <p>
+     * The submission is evaluated by a queue worker of any application instance; the result can be polled via the returned location.
+     *
+     * @param submission The submission.
+     * @return The id of the queued submission.
+     */
+    @PostMapping(value = "/queue", consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.TEXT_PLAIN_VALUE)
+    public ResponseEntity<String> enqueue(@Valid @RequestBody SubmitSubmissionDto<DatalogSubmissionDto> submission) {
+        UUID id = this.queuedSubmissionService.enqueue(submission);
+        return ResponseEntity.accepted()
+            .location(this.createDetailsUri(id))
+            .contentType(MediaType.TEXT_PLAIN)
+            .body(id.toString());
     }
 
     @Override
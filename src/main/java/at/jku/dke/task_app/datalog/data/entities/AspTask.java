@@ -22,6 +22,12 @@ public class AspTask extends BaseTaskInGroup<DatalogTaskGroup> {
     @Column(name = "max_n")
     private Integer maxN;
 
+    @Column(name = "diagnose_solution_result", length = Integer.MAX_VALUE)
+    private String diagnoseSolutionResult;
+
+    @Column(name = "submission_solution_result", length = Integer.MAX_VALUE)
+    private String submissionSolutionResult;
+
     /**
      * Creates a new instance of class {@link AspTask}.
      */
@@ -106,4 +112,40 @@ public Integer getMaxN() {
     public void setMaxN(Integer maxN) {
         this.maxN = maxN;
     }
+
+    /**
+     * Gets the stored answer sets of the solution on the diagnose facts.
+     *
+     * @return The DLV output or {@code null} if no result is stored.
+     */
+    public String getDiagnoseSolutionResult() {
+        return diagnoseSolutionResult;
+    }
+
+    /**
+     * Sets the stored answer sets of the solution on the diagnose facts.
+     *
+     * @param diagnoseSolutionResult The DLV output or {@code null} to invalidate the stored result.
+     */
+    public void setDiagnoseSolutionResult(String diagnoseSolutionResult) {
+        this.diagnoseSolutionResult = diagnoseSolutionResult;
+    }
+
+    /**
+     * Gets the stored answer sets of the solution on the submission facts.
+     *
+     * @return The DLV output or {@code null} if no result is stored.
+     */
+    public String getSubmissionSolutionResult() {
+        return submissionSolutionResult;
+    }
+
+    /**
+     * Sets the stored answer sets of the solution on the submission facts.
+     *
+     * @param submissionSolutionResult The DLV output or {@code null} to invalidate the stored result.
+     */
+    public void setSubmissionSolutionResult(String submissionSolutionResult) {
+        this.submissionSolutionResult = submissionSolutionResult;
+    }
 }
@@ -7,6 +7,8 @@
 import jakarta.persistence.Table;
 import jakarta.validation.constraints.NotNull;
 
+import java.time.OffsetDateTime;
+
 /**
  * Represents a datalog input.
  */
@@ -17,6 +19,12 @@ public class DatalogSubmission extends BaseSubmission<DatalogTask> {
     @Column(name = "submission", nullable = false)
     private String submission;
 
+    @Column(name = "queued_at")
+    private OffsetDateTime queuedAt;
+
+    @Column(name = "attempts", insertable = false, updatable = false)
+    private int attempts;
+
     /**
      * Creates a new instance of class {@link DatalogSubmission}.
      */
@@ -65,4 +73,42 @@ public String getSubmission() {
     public void setSubmission(String submission) {
         this.submission = submission;
     }
+
+    /**
+     * Gets the time the input has been added to the submission queue.
+     *
+     * @return The queue time or {@code null} if the input has not been queued.
+     */
+    public OffsetDateTime getQueuedAt() {
+        return queuedAt;
+    }
+
+    /**
+     * Sets the time the input has been added to the submission queue.
+     *
+     * @param queuedAt The queue time.
+     */
+    public void setQueuedAt(OffsetDateTime queuedAt) {
+        this.queuedAt = queuedAt;
+    }
+
+    /**
+     * Gets the number of times the input has been claimed from the submission queue.
+     *
+     * @return The number of evaluation attempts.
+     */
+    public int getAttempts() {
+        return attempts;
+    }
+
+    /**
+     * Sets the number of times the input has been claimed from the submission queue.
+     * <p>
+     * The value is maintained by the submission queue and is not written to the database.
+     *
+     * @param attempts The number of evaluation attempts.
+     */
+    public void setAttempts(int attempts) {
+        this.attempts = attempts;
+    }
 }
@@ -15,6 +15,7 @@
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Represents a datalog task.
@@ -62,6 +63,20 @@ public class DatalogTask extends BaseTaskInGroup<DatalogTaskGroup> {
     @Column(name = "superfluous_fact_strategy", columnDefinition = "grading_strategy not null")
     private GradingStrategy superfluousFactStrategy;
 
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(name = "diagnose_solution_result", columnDefinition = "jsonb")
+    private Map<String, List<String>> diagnoseSolutionResult;
+
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(name = "submission_solution_result", columnDefinition = "jsonb")
+    private Map<String, List<String>> submissionSolutionResult;
+
+    @Column(name = "diagnose_solution_facts")
+    private Long diagnoseSolutionFacts;
+
+    @Column(name = "submission_solution_facts")
+    private Long submissionSolutionFacts;
+
     /**
      * Creates a new instance of class {@link DatalogTask}.
      */
@@ -304,6 +319,78 @@ public void setSuperfluousFactPenalty(BigDecimal superfluousFactPenalty) {
         this.superfluousFactPenalty = superfluousFactPenalty;
     }
 
+    /**
+     * Gets the stored query result of the solution on the diagnose facts.
+     *
+     * @return The query result or {@code null} if no result is stored.
+     */
+    public Map<String, List<String>> getDiagnoseSolutionResult() {
+        return diagnoseSolutionResult;
+    }
+
+    /**
+     * Sets the stored query result of the solution on the diagnose facts.
+     *
+     * @param diagnoseSolutionResult The query result or {@code null} to invalidate the stored result.
+     */
+    public void setDiagnoseSolutionResult(Map<String, List<String>> diagnoseSolutionResult) {
+        this.diagnoseSolutionResult = diagnoseSolutionResult;
+    }
+
+    /**
+     * Gets the stored query result of the solution on the submission facts.
+     *
+     * @return The query result or {@code null} if no result is stored.
+     */
+    public Map<String, List<String>> getSubmissionSolutionResult() {
+        return submissionSolutionResult;
+    }
+
+    /**
+     * Sets the stored query result of the solution on the submission facts.
+     *
+     * @param submissionSolutionResult The query result or {@code null} to invalidate the stored result.
+     */
+    public void setSubmissionSolutionResult(Map<String, List<String>> submissionSolutionResult) {
+        this.submissionSolutionResult = submissionSolutionResult;
+    }
+
+    /**
+     * Gets the number of facts in the output of the solution on the diagnose facts.
+     *
+     * @return The number of facts (including facts of auxiliary relations) or {@code null} if no number is stored.
+     */
+    public Long getDiagnoseSolutionFacts() {
+        return diagnoseSolutionFacts;
+    }
+
+    /**
+     * Sets the number of facts in the output of the solution on the diagnose facts.
+     *
+     * @param diagnoseSolutionFacts The number of facts or {@code null} to invalidate the stored number.
+     */
+    public void setDiagnoseSolutionFacts(Long diagnoseSolutionFacts) {
+        this.diagnoseSolutionFacts = diagnoseSolutionFacts;
+    }
+
+    /**
+     * Gets the number of facts in the output of the solution on the submission facts.
+     *
+     * @return The number of facts (including facts of auxiliary relations) or {@code null} if no number is stored.
+     */
+    public Long getSubmissionSolutionFacts() {
+        return submissionSolutionFacts;
+    }
+
+    /**
+     * Sets the number of facts in the output of the solution on the submission facts.
+     *
+     * @param submissionSolutionFacts The number of facts or {@code null} to invalidate the stored number.
+     */
+    public void setSubmissionSolutionFacts(Long submissionSolutionFacts) {
+        this.submissionSolutionFacts = submissionSolutionFacts;
+    }
+
     private void setDefaultGradingValues() {
         this.missingPredicatePenalty = BigDecimal.ZERO;
         this.missingFactPenalty = BigDecimal.ZERO;
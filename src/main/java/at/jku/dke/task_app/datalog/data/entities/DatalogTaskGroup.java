@@ -7,6 +7,11 @@
 import jakarta.persistence.Table;
 import jakarta.validation.constraints.NotNull;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
 /**
  * Represents a datalog task group.
  */
@@ -100,4 +105,20 @@ public String getSubmissionFacts() {
     public void setSubmissionFacts(String submissionFacts) {
         this.submissionFacts = submissionFacts;
     }
+
+    /**
+     * Returns the MD5 hash of the facts as hexadecimal string, like the PostgreSQL function {@code md5}.
+     * <p>
+     * The hash is used to check in a query whether the facts of a task group are still the same without sending the facts.
+     *
+     * @param facts The facts.
+     * @return The hash.
+     */
+    public static String hashFacts(String facts) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("MD5").digest(facts.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("MD5 is not supported", ex);
+        }
+    }
 }
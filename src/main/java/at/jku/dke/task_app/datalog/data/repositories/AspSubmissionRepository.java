@@ -2,10 +2,36 @@
 
 import at.jku.dke.etutor.task_app.data.repositories.SubmissionRepository;
 import at.jku.dke.task_app.datalog.data.entities.AspSubmission;
-import at.jku.dke.task_app.datalog.data.entities.DatalogSubmission;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
 
 /**
  * Repository for entity {@link AspSubmission}.
  */
-public interface AspSubmissionRepository extends SubmissionRepository<AspSubmission> {
+public interface AspSubmissionRepository extends SubmissionRepository<AspSubmission>, QueuedSubmissionRepository {
+    @Override
+    @Query(nativeQuery = true, value = """
+        SELECT id FROM asp_submission
+        WHERE queued_at IS NOT NULL AND evaluation_result IS NULL AND attempts < :maxAttempts
+          AND (claimed_until IS NULL OR claimed_until < now())
+        ORDER BY queued_at
+        LIMIT :limit
+        FOR UPDATE SKIP LOCKED""")
+    List<UUID> lockPending(int limit, int maxAttempts);
+
+    @Override
+    @Modifying
+    @Query(nativeQuery = true, value = "UPDATE asp_submission SET claimed_until = now() + make_interval(secs => :leaseSeconds), attempts = attempts + 1 WHERE id IN :ids")
+    void reserve(Collection<UUID> ids, long leaseSeconds);
+
+    @Override
+    @Modifying
+    @Transactional
+    @Query(nativeQuery = true, value = "UPDATE asp_submission SET claimed_until = NULL, attempts = attempts - 1 WHERE id = :id")
+    void release(UUID id);
 }
@@ -1,8 +1,12 @@
 package at.jku.dke.task_app.datalog.data.repositories;
 
 import at.jku.dke.etutor.task_app.data.repositories.TaskRepository;
+import at.jku.dke.etutor.task_app.dto.SubmissionMode;
 import at.jku.dke.task_app.datalog.data.entities.AspTask;
+import at.jku.dke.task_app.datalog.data.entities.DatalogTaskGroup;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Optional;
 
@@ -18,4 +22,61 @@ public interface AspTaskRepository extends TaskRepository<AspTask> {
      */
     @Query("SELECT t FROM AspTask t LEFT JOIN FETCH t.taskGroup WHERE t.id = :id")
     Optional<AspTask> findByIdWithTaskGroup(Long id);
+
+    /**
+     * Removes the stored solution results of all tasks in the specified task group.
+     *
+     * @param taskGroupId The id of the task group.
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE AspTask t SET t.diagnoseSolutionResult = null, t.submissionSolutionResult = null WHERE t.taskGroup.id = :taskGroupId")
+    void clearSolutionResults(Long taskGroupId);
+
+    /**
+     * Stores the DLV output of the solution for the specified mode if the task has no stored result yet.
+     * <p>
+     * The result is not stored if the facts of the task group have changed since the task was loaded,
+     * as the result was computed with the old facts.
+     *
+     * @param task   The task with its task group as loaded for the evaluation.
+     * @param mode   The submission mode ({@code DIAGNOSE} or {@code SUBMIT}).
+     * @param result The DLV output of the solution.
+     * @return Whether the result has been stored.
+     */
+    default boolean storeSolutionResult(AspTask task, SubmissionMode mode, String result) {
+        return switch (mode) {
+            case DIAGNOSE -> this.storeDiagnoseSolutionResult(task.getId(), result, DatalogTaskGroup.hashFacts(task.getTaskGroup().getDiagnoseFacts())) > 0;
+            case SUBMIT -> this.storeSubmissionSolutionResult(task.getId(), result, DatalogTaskGroup.hashFacts(task.getTaskGroup().getSubmissionFacts())) > 0;
+            default -> false;
+        };
+    }
+
+    /**
+     * Stores the DLV output of the solution on the diagnose facts if the task has no stored result and the facts have the specified hash.
+     *
+     * @param id        The id of the task.
+     * @param result    The DLV output.
+     * @param factsHash The hash of the diagnose facts the result was computed with (see {@link DatalogTaskGroup#hashFacts(String)}).
+     * @return The number of updated tasks.
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE AspTask t SET t.diagnoseSolutionResult = :result WHERE t.id = :id AND t.diagnoseSolutionResult IS NULL AND " +
+           "t.taskGroup.id IN (SELECT g.id FROM DatalogTaskGroup g WHERE function('md5', g.diagnoseFacts) = :factsHash)")
+    int storeDiagnoseSolutionResult(Long id, String result, String factsHash);
+
+    /**
+     * Stores the DLV output of the solution on the submission facts if the task has no stored result and the facts have the specified hash.
+     *
+     * @param id        The id of the task.
+     * @param result    The DLV output.
+     * @param factsHash The hash of the submission facts the result was computed with (see {@link DatalogTaskGroup#hashFacts(String)}).
+     * @return The number of updated tasks.
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE AspTask t SET t.submissionSolutionResult = :result WHERE t.id = :id AND t.submissionSolutionResult IS NULL AND " +
+           "t.taskGroup.id IN (SELECT g.id FROM DatalogTaskGroup g WHERE function('md5', g.submissionFacts) = :factsHash)")
+    int storeSubmissionSolutionResult(Long id, String result, String factsHash);
 }
@@ -0,0 +1,42 @@
+package at.jku.dke.task_app.datalog.data.repositories;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Repository operations for the asynchronous submission queue.
+ * <p>
+ * A submission is pending if it has been queued and has no evaluation result yet.
+ * Workers claim pending submissions by locking the rows with {@code FOR UPDATE SKIP LOCKED} and reserving them for a lease,
+ * so that several application instances can share one queue and submissions of a stopped instance are evaluated after their lease has expired.
+ */
+public interface QueuedSubmissionRepository {
+    /**
+     * Locks the oldest pending submissions that are not reserved by another worker.
+     * <p>
+     * Rows locked by other transactions are skipped. This method must be called in a transaction.
+     *
+     * @param limit       The maximum number of submissions.
+     * @param maxAttempts The maximum number of times a submission is claimed.
+     * @return The ids of the locked submissions.
+     */
+    List<UUID> lockPending(int limit, int maxAttempts);
+
+    /**
+     * Reserves the submissions for the specified number of seconds and increments their attempts.
+     * <p>
+     * This method must be called in the transaction that locked the submissions.
+     *
+     * @param ids          The ids of the submissions.
+     * @param leaseSeconds The lease in seconds.
+     */
+    void reserve(Collection<UUID> ids, long leaseSeconds);
+
+    /**
+     * Releases the reservation of the submission without counting the attempt, e.g. if it has been rejected due to overload.
+     *
+     * @param id The id of the submission.
+     */
+    void release(UUID id);
+}
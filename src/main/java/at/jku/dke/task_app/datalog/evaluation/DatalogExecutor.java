@@ -2,6 +2,8 @@
 
 import at.jku.dke.task_app.datalog.data.entities.TermDescription;
 import at.jku.dke.task_app.datalog.evaluation.exceptions.ExecutionException;
+import at.jku.dke.task_app.datalog.evaluation.exceptions.ExecutionRejectedException;
+import at.jku.dke.task_app.datalog.evaluation.exceptions.ResultTooLargeException;
 import at.jku.dke.task_app.datalog.evaluation.exceptions.SyntaxException;
 
 import java.io.IOException;
@@ -15,11 +17,14 @@ public interface DatalogExecutor {
 
     /**
      * Executes the datalog binary with the given arguments.
+     * <p>
+     * All other methods of this interface use this method, so every execution waits for a free execution slot.
      *
      * @param args  The arguments for the datalog binary.
      * @return The output of the datalog binary.
-     * @throws IOException        If an I/O error occurs.
-     * @throws ExecutionException If the process execution fails.
+     * @throws IOException                If an I/O error occurs.
+     * @throws ExecutionRejectedException If no execution slot is available.
+     * @throws ExecutionException         If the process execution fails.
      */
     ExecutionOutput execute(String... args) throws IOException, ExecutionException;
 
@@ -46,6 +51,19 @@ public interface DatalogExecutor {
      */
     String execute(String facts, String rules, Integer maxN) throws IOException, ExecutionException;
 
+    /**
+     * Executes the datalog binary with the given input (with -nofacts flag) and stops after the given number of models.
+     *
+     * @param facts     The datalog facts from the task group.
+     * @param rules     The datalog rules from the submission.
+     * @param maxN      Limit integers to [0,<maxN>] (-N option). (can be {@code null})
+     * @param maxModels Compute at most this number of models (-n option). (can be {@code null} to compute all models)
+     * @return The output of the datalog binary.
+     * @throws IOException        If an I/O error occurs.
+     * @throws ExecutionException If the process execution fails.
+     */
+    String execute(String facts, String rules, Integer maxN, Integer maxModels) throws IOException, ExecutionException;
+
     /**
      * Executes the datalog binary with the given input.
      *
@@ -74,6 +92,23 @@ public interface DatalogExecutor {
      */
     ExecutionResult query(String facts, String rules, List<String> queries, List<TermDescription> uncheckedTerms, boolean encodeFacts) throws IOException, ExecutionException;
 
+    /**
+     * Executes the datalog binary with the given input and aborts the execution as soon as the result exceeds the maximum number of facts.
+     *
+     * @param facts          The datalog facts from the task group.
+     * @param rules          The datalog rules from the submission.
+     * @param queries        The datalog queries from the task.
+     * @param uncheckedTerms The unchecked terms from the task.
+     * @param encodeFacts    Whether the facts (except in unchecked terms) should be encoded.
+     * @param maxFacts       The maximum number of facts in the model and in each query result ({@link Long#MAX_VALUE} for no limit).
+     * @return The result of the datalog execution.
+     * @throws IOException             If an I/O error occurs.
+     * @throws ResultTooLargeException If the result exceeds the maximum output size or the maximum number of facts.
+     * @throws ExecutionException      If the process execution fails.
+     * @throws SyntaxException         If the datalog execution fails with a syntax error.
+     */
+    ExecutionResult query(String facts, String rules, List<String> queries, List<TermDescription> uncheckedTerms, boolean encodeFacts, long maxFacts) throws IOException, ExecutionException;
+
     /**
      * Represents the output of an execution.
      *
@@ -90,6 +125,14 @@ record ExecutionOutput(String output, int exitCode) {
      * @param result The parsed query result. The key of the map is the predicate of the query, the value is the output of the query.
      */
     record ExecutionResult(String output, Map<String, List<String>> result) {
+        /**
+         * Counts the facts of the output in the same way as the facts are counted for the maximum number of facts of a query.
+         *
+         * @return The number of facts in the output, including the facts of auxiliary relations.
+         */
+        public long countFacts() {
+            return DatalogOutputParser.countFacts(this.output, "");
+        }
     }
 
 }
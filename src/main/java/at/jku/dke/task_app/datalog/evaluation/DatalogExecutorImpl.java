@@ -2,17 +2,30 @@
 
 import at.jku.dke.task_app.datalog.config.DatalogSettings;
 import at.jku.dke.task_app.datalog.data.entities.TermDescription;
+import at.jku.dke.task_app.datalog.evaluation.events.TempFileEvent;
 import at.jku.dke.task_app.datalog.evaluation.exceptions.ExecutionException;
+import at.jku.dke.task_app.datalog.evaluation.exceptions.ExecutionRejectedException;
+import at.jku.dke.task_app.datalog.evaluation.exceptions.ResultTooLargeException;
 import at.jku.dke.task_app.datalog.evaluation.exceptions.SyntaxException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.*;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.regex.Pattern;
 
 /**
  * Executor that executes the datalog binary.
@@ -20,17 +33,51 @@
 @Service
 public class DatalogExecutorImpl implements DatalogExecutor {
     private static final Logger LOG = LoggerFactory.getLogger(DatalogExecutorImpl.class);
+    private static final String PROJECTION_PREFIX = "etutor__q__";
+    private static final Pattern STDIN_ERROR_PATTERN = Pattern.compile("^(line \\d+:)", Pattern.MULTILINE);
 
     private final DatalogSettings datalogSettings;
+    private final ExecutionScheduler scheduler;
+    private final ExecutionCache cache;
+    private final SingleFlight<ExecutionOutput> executions;
+    private final EvaluationMetrics metrics;
     private final Path workingDirectory;
 
     /**
-     * Creates a new instance of class {@linkplain DatalogExecutorImpl}.
+     * Creates a new instance of class {@linkplain DatalogExecutorImpl} with its own scheduler and cache.
      *
      * @param datalogSettings The datalog settings.
      */
     public DatalogExecutorImpl(DatalogSettings datalogSettings) {
+        this(datalogSettings, new ExecutionScheduler(datalogSettings), new ExecutionCache(datalogSettings));
+    }
+
+    /**
+     * Creates a new instance of class {@linkplain DatalogExecutorImpl} without metrics.
+     *
+     * @param datalogSettings The datalog settings.
+     * @param scheduler       The scheduler limiting the concurrent executions.
+     * @param cache           The cache for execution outputs.
+     */
+    public DatalogExecutorImpl(DatalogSettings datalogSettings, ExecutionScheduler scheduler, ExecutionCache cache) {
+        this(datalogSettings, scheduler, cache, EvaluationMetrics.disabled());
+    }
+
+    /**
+     * Creates a new instance of class {@linkplain DatalogExecutorImpl}.
+     *
+     * @param datalogSettings The datalog settings.
+     * @param scheduler       The scheduler limiting the concurrent executions.
+     * @param cache           The cache for execution outputs.
+     * @param metrics         The metrics recording the processes.
+     */
+    @Autowired
+    public DatalogExecutorImpl(DatalogSettings datalogSettings, ExecutionScheduler scheduler, ExecutionCache cache, EvaluationMetrics metrics) {
         this.datalogSettings = datalogSettings;
+        this.scheduler = scheduler;
+        this.cache = cache;
+        this.metrics = metrics;
+        this.executions = new SingleFlight<>();
         Path dir;
         try {
             dir = Files.createTempDirectory("datalog");
@@ -46,53 +93,265 @@ public DatalogExecutorImpl(DatalogSettings datalogSettings) {
      *
      * @param args The arguments for the datalog binary.
      * @return The output of the datalog binary.
-     * @throws IOException        If an I/O error occurs.
-     * @throws ExecutionException If the process execution fails.
+     * @throws IOException                If an I/O error occurs.
+     * @throws ExecutionRejectedException If no execution slot is available.
+     * @throws ExecutionException         If the process execution fails.
      */
     @Override
     public ExecutionOutput execute(String... args) throws IOException, ExecutionException {
+        try (var slot = this.scheduler.acquire()) {
+            LOG.debug("Acquired execution slot after {} ms", slot.getQueueTime().toMillis());
+            return this.executeProcess(null, Long.MAX_VALUE, args);
+        }
+    }
+
+    /**
+     * Executes the datalog binary with the given arguments without acquiring an execution slot.
+     *
+     * @param input    The input written to the standard input of the process (can be {@code null}).
+     * @param maxFacts The maximum number of facts in the output.
+     * @param args     The arguments for the datalog binary.
+     * @return The output of the datalog binary.
+     * @throws IOException             If an I/O error occurs.
+     * @throws ResultTooLargeException If the output exceeds the maximum size or the maximum number of facts.
+     * @throws ExecutionException      If the process execution fails.
+     */
+    private ExecutionOutput executeProcess(String input, long maxFacts, String... args) throws IOException, ExecutionException {
         // Build process
-        var id = UUID.randomUUID().toString();
         List<String> cmd = new ArrayList<>();
         cmd.add(this.datalogSettings.getExecutable());
         cmd.addAll(Arrays.stream(args).toList());
+        var pb = new ProcessBuilder(cmd).directory(this.workingDirectory.toFile());
+        LOG.info("Executing process {}", cmd);
+
+        try (var observation = this.metrics.process()) {
+            if (this.datalogSettings.process().inputMode() == DatalogSettings.InputMode.FILE)
+                return this.executeWithFiles(pb, maxFacts, observation);
+            return this.executeWithPipes(pb, input, maxFacts, observation);
+        }
+    }
+
+    /**
+     * Executes the process and redirects its output to temporary files.
+     * <p>
+     * The limits are only checked after the process has exited.
+     *
+     * @param pb          The process builder.
+     * @param maxFacts    The maximum number of facts in the output.
+     * @param observation The observation of the process.
+     * @return The output of the process.
+     * @throws IOException             If an I/O error occurs.
+     * @throws ResultTooLargeException If the output exceeds the maximum size or the maximum number of facts.
+     * @throws ExecutionException      If the process execution fails.
+     */
+    private ExecutionOutput executeWithFiles(ProcessBuilder pb, long maxFacts, EvaluationMetrics.ProcessObservation observation) throws IOException, ExecutionException {
+        var id = UUID.randomUUID().toString();
         var successFile = File.createTempFile(id, ".success", this.workingDirectory.toFile());
         var errorFile = File.createTempFile(id, ".error", this.workingDirectory.toFile());
-        var pb = new ProcessBuilder(cmd)
-            .directory(this.workingDirectory.toFile())
-            .redirectOutput(successFile)
-            .redirectError(errorFile);
-        LOG.info("Executing process {}", cmd);
+        try {
+            // Execute process
+            Process process = pb.redirectOutput(successFile).redirectError(errorFile).start();
+            observation.started(process.pid());
+            LOG.debug("Process started {}", process.pid());
+            this.waitFor(process, observation);
+            observation.exited(process.exitValue());
+            observation.outputRead(successFile.length() + errorFile.length());
+
+            // Read output
+            var outputFile = process.exitValue() == 0 ? successFile : errorFile;
+            if (outputFile.length() > this.datalogSettings.process().maxOutputSize().toBytes())
+                throw this.outputTooLarge();
+            var event = new TempFileEvent();
+            event.begin();
+            String output = Files.readString(outputFile.toPath());
+            event.commit(TempFileEvent.READ, outputFile);
+            if (process.exitValue() == 0 && maxFacts != Long.MAX_VALUE && DatalogOutputParser.countFacts(output, PROJECTION_PREFIX) > maxFacts)
+                throw tooManyFacts(maxFacts);
+            return new ExecutionOutput(output, process.exitValue());
+        } finally {
+            successFile.delete();
+            errorFile.delete();
+        }
+    }
 
-        // Execute process
+    /**
+     * Executes the process, writes the input to its standard input and reads its standard output and error streams concurrently.
+     * <p>
+     * The facts of the standard output are counted while the process is writing. The process is killed as soon as it writes more than
+     * {@link DatalogSettings.ProcessSettings#maxOutputSize()} bytes to one of the streams or more than the maximum number of facts.
+     *
+     * @param pb          The process builder.
+     * @param input       The input for the process (can be {@code null}).
+     * @param maxFacts    The maximum number of facts in the output.
+     * @param observation The observation of the process.
+     * @return The output of the process.
+     * @throws IOException             If an I/O error occurs.
+     * @throws ResultTooLargeException If the output exceeds the maximum size or the maximum number of facts.
+     * @throws ExecutionException      If the process execution fails.
+     */
+    private ExecutionOutput executeWithPipes(ProcessBuilder pb, String input, long maxFacts, EvaluationMetrics.ProcessObservation observation) throws IOException, ExecutionException {
+        long maxOutputSize = this.datalogSettings.process().maxOutputSize().toBytes();
+        var parser = new DatalogOutputParser(PROJECTION_PREFIX, false);
         Process process = pb.start();
+        observation.started(process.pid());
         LOG.debug("Process started {}", process.pid());
+        var threads = Executors.newVirtualThreadPerTaskExecutor();
+        var killed = new AtomicBoolean();
         try {
-            boolean exited = process.waitFor(this.datalogSettings.maxExecutionTime(), java.util.concurrent.TimeUnit.SECONDS);
-            if (!exited) {
-                LOG.warn("Process did not exit in time, killing process");
-                process.destroy();
-                throw new ExecutionException("Process did not exit in time");
+            threads.submit(() -> writeInput(process, input));
+            Future<byte[]> stdout = threads.submit(() -> readOutput(process, killed, process.getInputStream(), maxOutputSize, parser, maxFacts));
+            Future<byte[]> stderr = threads.submit(() -> readOutput(process, killed, process.getErrorStream(), maxOutputSize, null, Long.MAX_VALUE));
+            this.waitFor(process, observation);
+
+            // Read output
+            byte[] output = stdout.get();
+            byte[] error = stderr.get();
+            if (killed.get())
+                observation.killed(EvaluationMetrics.ProcessOutcome.KILLED);
+            else
+                observation.exited(process.exitValue());
+            observation.outputRead((output == null ? maxOutputSize : output.length) + (error == null ? maxOutputSize : error.length));
+            if (output == null || error == null) {
+                LOG.warn("Process output exceeded {} bytes, process killed", maxOutputSize);
+                throw this.outputTooLarge();
+            }
+            if (parser.getFacts() > maxFacts) {
+                LOG.warn("Process output exceeded {} facts, process killed", maxFacts);
+                throw tooManyFacts(maxFacts);
             }
+            return new ExecutionOutput(new String(process.exitValue() == 0 ? output : error, StandardCharsets.UTF_8), process.exitValue());
         } catch (InterruptedException ex) {
             LOG.warn("Process interrupted", ex);
+            observation.killed(EvaluationMetrics.ProcessOutcome.INTERRUPTED);
+            Thread.currentThread().interrupt();
             throw new ExecutionException("Process interrupted", ex);
+        } catch (java.util.concurrent.ExecutionException ex) {
+            if (ex.getCause() instanceof IOException ioException)
+                throw ioException;
+            throw new ExecutionException("Could not read process output", ex.getCause());
+        } finally {
+            // Killing the process closes the pipes, so that the reading threads terminate
+            if (process.isAlive())
+                process.destroyForcibly();
+            threads.close();
         }
+    }
 
-        // Read output
-        String output;
-        if (process.exitValue() == 0) {
-            output = Files.readString(successFile.toPath());
-        } else {
-            output = Files.readString(errorFile.toPath());
+    /**
+     * Waits for the process to exit and kills it if it does not exit within {@link DatalogSettings#maxExecutionTime()}.
+     * <p>
+     * {@link Process#waitFor(long, TimeUnit)} waits on the monitor of the process, which pins a virtual thread to its carrier thread.
+     * Waiting for {@link Process#onExit()} parks the virtual thread instead, so that waiting requests do not block carrier threads.
+     *
+     * @param process     The process.
+     * @param observation The observation of the process.
+     * @throws ExecutionException If the process does not exit in time or the current thread is interrupted (the process is killed in both cases).
+     */
+    private void waitFor(Process process, EvaluationMetrics.ProcessObservation observation) throws ExecutionException {
+        try {
+            process.onExit().get(this.datalogSettings.maxExecutionTime(), TimeUnit.SECONDS);
+        } catch (TimeoutException ex) {
+            LOG.warn("Process did not exit in time, killing process");
+            observation.killed(EvaluationMetrics.ProcessOutcome.TIMEOUT);
+            process.destroy();
+            throw new ExecutionException("Process did not exit in time");
+        } catch (InterruptedException ex) {
+            LOG.warn("Process interrupted, killing process", ex);
+            observation.killed(EvaluationMetrics.ProcessOutcome.INTERRUPTED);
+            process.destroyForcibly();
+            Thread.currentThread().interrupt();
+            throw new ExecutionException("Process interrupted", ex);
+        } catch (java.util.concurrent.ExecutionException ex) {
+            throw new ExecutionException("Could not wait for the process", ex.getCause());
         }
+    }
 
-        // Clean up
-        successFile.delete();
-        errorFile.delete();
+    /**
+     * Writes the input to the standard input of the process and closes it.
+     *
+     * @param process The process.
+     * @param input   The input (can be {@code null}).
+     * @return Always {@code null}.
+     */
+    private static Void writeInput(Process process, String input) {
+        try (var stdin = process.getOutputStream()) {
+            if (input != null)
+                stdin.write(input.getBytes(StandardCharsets.UTF_8));
+        } catch (IOException ex) {
+            // The process may exit (e.g. on a syntax error) before it has read the whole input
+            LOG.debug("Could not write process input", ex);
+        }
+        return null;
+    }
 
-        // Return
-        return new ExecutionOutput(output, process.exitValue());
+    /**
+     * Reads the stream until its end and kills the process if more than the given number of bytes or facts are read.
+     *
+     * @param process       The process.
+     * @param killed        Whether the process has been killed by one of the reading threads.
+     * @param stream        The output or error stream of the process.
+     * @param maxOutputSize The maximum number of bytes to read.
+     * @param parser        The parser counting the facts (can be {@code null}).
+     * @param maxFacts      The maximum number of facts to read.
+     * @return The bytes read or {@code null} if the stream exceeded the maximum size.
+     * @throws IOException If an I/O error occurs.
+     */
+    private static byte[] readOutput(Process process, AtomicBoolean killed, InputStream stream, long maxOutputSize, DatalogOutputParser parser, long maxFacts) throws IOException {
+        try (stream) {
+            var output = new ByteArrayOutputStream();
+            byte[] buffer = new byte[8192];
+            int read;
+            while ((read = readChunk(killed, stream, buffer)) >= 0) {
+                if (output.size() + (long) read > maxOutputSize) {
+                    killed.set(true);
+                    process.destroyForcibly();
+                    return null;
+                }
+                output.write(buffer, 0, read);
+                if (parser != null) {
+                    parser.accept(buffer, read);
+                    if (parser.getFacts() > maxFacts) {
+                        killed.set(true);
+                        process.destroyForcibly();
+                        break;
+                    }
+                }
+            }
+            if (parser != null)
+                parser.finish();
+            return output.toByteArray();
+        }
+    }
+
+    /**
+     * Reads the next chunk of the stream.
+     * <p>
+     * Killing the process closes its streams, so that a concurrent read of the other stream fails;
+     * in this case the end of the stream is returned and the reason for killing the process is reported instead.
+     *
+     * @param killed Whether the process has been killed by one of the reading threads.
+     * @param stream The output or error stream of the process.
+     * @param buffer The buffer.
+     * @return The number of bytes read or {@code -1} at the end of the stream.
+     * @throws IOException If an I/O error occurs and the process has not been killed.
+     */
+    private static int readChunk(AtomicBoolean killed, InputStream stream, byte[] buffer) throws IOException {
+        try {
+            return stream.read(buffer);
+        } catch (IOException ex) {
+            if (!killed.get())
+                throw ex;
+            LOG.debug("Stream closed after the process has been killed", ex);
+            return -1;
+        }
+    }
+
+    private ResultTooLargeException outputTooLarge() {
+        return new ResultTooLargeException("Output exceeds the maximum size of " + this.datalogSettings.process().maxOutputSize());
+    }
+
+    private static ResultTooLargeException tooManyFacts(long maxFacts) {
+        return new ResultTooLargeException("Output exceeds the maximum number of " + maxFacts + " facts");
     }
 
     /**
@@ -106,31 +365,115 @@ public ExecutionOutput execute(String... args) throws IOException, ExecutionExce
      */
     @Override
     public ExecutionOutput execute(String input, String[] args) throws IOException, ExecutionException {
-        // Write file contents
-        var id = UUID.randomUUID().toString();
-        File file = File.createTempFile(id, ".dlv", this.workingDirectory.toFile());
-        LOG.debug("Writing input {} to temporary file {}", input, file);
-        Files.writeString(file.toPath(), input);
+        return this.execute(input, args, Long.MAX_VALUE);
+    }
+
+    /**
+     * Executes the datalog binary with the given input and limits the number of facts in the output.
+     *
+     * @param input    The input for the datalog binary.
+     * @param args     Additional arguments for the datalog binary (e.g. -cautious).
+     * @param maxFacts The maximum number of facts in the output ({@link Long#MAX_VALUE} for no limit).
+     * @return The output of the datalog binary.
+     * @throws IOException             If an I/O error occurs.
+     * @throws ResultTooLargeException If the output exceeds the maximum size or the maximum number of facts.
+     * @throws ExecutionException      If the process execution fails.
+     */
+    private ExecutionOutput execute(String input, String[] args, long maxFacts) throws IOException, ExecutionException {
+        // Concurrent executions of the same input (e.g. equal submissions for the same task and mode) share one process;
+        // the limit is part of the key, so that a waiting execution never receives a result checked against another limit
+        String key = ExecutionCache.computeKey(input, args);
+        return this.executions.execute(key + ':' + maxFacts, () -> this.executeOnce(input, args, maxFacts, key));
+    }
+
+    /**
+     * Executes the datalog binary with the given input unless its output is cached.
+     *
+     * @param input    The input for the datalog binary.
+     * @param args     Additional arguments for the datalog binary (e.g. -cautious).
+     * @param maxFacts The maximum number of facts in the output ({@link Long#MAX_VALUE} for no limit).
+     * @param key      The cache key of the input and arguments.
+     * @return The output of the datalog binary.
+     * @throws IOException             If an I/O error occurs.
+     * @throws ResultTooLargeException If the output exceeds the maximum size or the maximum number of facts.
+     * @throws ExecutionException      If the process execution fails.
+     */
+    private ExecutionOutput executeOnce(String input, String[] args, long maxFacts, String key) throws IOException, ExecutionException {
+        // Use cached output if available (it may have been created with a higher limit)
+        if (this.cache.isEnabled()) {
+            var cached = this.cache.get(key);
+            if (cached.isPresent()) {
+                LOG.debug("Using cached output for input {}", key);
+                if (maxFacts != Long.MAX_VALUE && cached.get().exitCode() == 0 && DatalogOutputParser.countFacts(cached.get().output(), PROJECTION_PREFIX) > maxFacts)
+                    throw tooManyFacts(maxFacts);
+                return cached.get();
+            }
+        }
 
         // Build arguments
         List<String> cmd = new ArrayList<>();
         cmd.add("-silent");
         cmd.addAll(Arrays.stream(args).toList());
-        cmd.add(file.getAbsolutePath());
 
         // Execute process
-        var result = this.execute(cmd.toArray(new String[0]));
-
-        // Read output
-        String output = result.output();
-        if (result.exitCode() != 0)
-            output = output.replace(file.getAbsolutePath(), "submission.dlv");
+        ExecutionOutput executionOutput;
+        if (this.datalogSettings.process().inputMode() == DatalogSettings.InputMode.FILE) {
+            executionOutput = this.executeFile(input, cmd, maxFacts);
+        } else {
+            cmd.add("--");
+            try (var slot = this.scheduler.acquire()) {
+                LOG.debug("Acquired execution slot after {} ms", slot.getQueueTime().toMillis());
+                executionOutput = this.executeProcess(input, maxFacts, cmd.toArray(new String[0]));
+            }
 
-        // Clean up
-        file.delete();
+            // Errors in the standard input are reported without file name
+            if (executionOutput.exitCode() != 0)
+                executionOutput = new ExecutionOutput(STDIN_ERROR_PATTERN.matcher(executionOutput.output()).replaceAll("submission.dlv: $1"), executionOutput.exitCode());
+        }
 
         // Return
-        return new ExecutionOutput(output, result.exitCode());
+        this.cache.put(key, executionOutput);
+        return executionOutput;
+    }
+
+    /**
+     * Writes the input to a temporary file and executes the datalog binary with this file.
+     *
+     * @param input    The input for the datalog binary.
+     * @param cmd      The arguments for the datalog binary (without the file).
+     * @param maxFacts The maximum number of facts in the output.
+     * @return The output of the datalog binary.
+     * @throws IOException             If an I/O error occurs.
+     * @throws ResultTooLargeException If the output exceeds the maximum size or the maximum number of facts.
+     * @throws ExecutionException      If the process execution fails.
+     */
+    private ExecutionOutput executeFile(String input, List<String> cmd, long maxFacts) throws IOException, ExecutionException {
+        // Write file contents
+        var id = UUID.randomUUID().toString();
+        File file = File.createTempFile(id, ".dlv", this.workingDirectory.toFile());
+        try {
+            LOG.debug("Writing input {} to temporary file {}", input, file);
+            var event = new TempFileEvent();
+            event.begin();
+            Files.writeString(file.toPath(), input);
+            event.commit(TempFileEvent.WRITE, file);
+            cmd.add(file.getAbsolutePath());
+
+            // Execute process
+            ExecutionOutput result;
+            try (var slot = this.scheduler.acquire()) {
+                LOG.debug("Acquired execution slot after {} ms", slot.getQueueTime().toMillis());
+                result = this.executeProcess(null, maxFacts, cmd.toArray(new String[0]));
+            }
+
+            // Read output
+            String output = result.output();
+            if (result.exitCode() != 0)
+                output = output.replace(file.getAbsolutePath(), "submission.dlv");
+            return new ExecutionOutput(output, result.exitCode());
+        } finally {
+            file.delete();
+        }
     }
 
     /**
@@ -145,8 +488,30 @@ public ExecutionOutput execute(String input, String[] args) throws IOException,
      */
     @Override
     public String execute(String facts, String rules, Integer maxN) throws IOException, ExecutionException {
+        return this.execute(facts, rules, maxN, null);
+    }
+
+    /**
+     * Executes the datalog binary with the given input (with -nofacts flag) and stops after the given number of models.
+     *
+     * @param facts     The datalog facts from the task group.
+     * @param rules     The datalog rules from the submission.
+     * @param maxN      Limit integers to [0,<maxN>] (-N option). (can be {@code null})
+     * @param maxModels Compute at most this number of models (-n option). (can be {@code null} to compute all models)
+     * @return The output of the datalog execution.
+     * @throws IOException        If an I/O error occurs.
+     * @throws ExecutionException If the process execution fails.
+     */
+    @Override
+    public String execute(String facts, String rules, Integer maxN, Integer maxModels) throws IOException, ExecutionException {
         String input = facts + System.lineSeparator() + rules;
-        String[] args = maxN != null ? new String[]{"-nofacts", "-N=" + maxN} : new String[]{"-nofacts"};
+        List<String> argList = new ArrayList<>();
+        argList.add("-nofacts");
+        if (maxN != null)
+            argList.add("-N=" + maxN);
+        if (maxModels != null)
+            argList.add("-n=" + maxModels);
+        String[] args = argList.toArray(String[]::new);
         var rawResult = this.execute(input, args);
         if (rawResult.exitCode() != 0) {
             if (rawResult.output().contains(".dlv")) {
@@ -191,13 +556,45 @@ public ExecutionResult query(String facts, String rules, List<String> queries) t
      */
     @Override
     public ExecutionResult query(String facts, String rules, List<String> queries, List<TermDescription> uncheckedTerms, boolean encodeFacts) throws IOException, ExecutionException {
+        return this.query(facts, rules, queries, uncheckedTerms, encodeFacts, Long.MAX_VALUE);
+    }
+
+    /**
+     * Executes the datalog binary with the given input and kills it as soon as the output exceeds the maximum number of facts.
+     *
+     * @param facts          The datalog facts from the task group.
+     * @param rules          The datalog rules from the submission.
+     * @param queries        The datalog queries from the task.
+     * @param uncheckedTerms The unchecked terms from the task.
+     * @param encodeFacts    Whether the facts (except in unchecked terms) should be encoded.
+     * @param maxFacts       The maximum number of facts in the model and in each query result.
+     * @return The result of the datalog execution.
+     * @throws IOException             If an I/O error occurs.
+     * @throws ResultTooLargeException If the output exceeds the maximum size or the maximum number of facts.
+     * @throws ExecutionException      If the process execution fails.
+     * @throws SyntaxException         If the datalog execution fails with a syntax error.
+     */
+    @Override
+    public ExecutionResult query(String facts, String rules, List<String> queries, List<TermDescription> uncheckedTerms, boolean encodeFacts, long maxFacts) throws IOException, ExecutionException {
         if (encodeFacts)
             facts = this.encodeFacts(facts, uncheckedTerms);
 
-        // Execute raw for return to caller
+        // Queries with only distinct variables can be projected from the model, all others require a separate run
         String input = facts + System.lineSeparator() +
                        rules + System.lineSeparator();
-        var rawResult = this.execute(input, new String[]{"-nofacts"});
+        List<ProjectedQuery> projectedQueries = new ArrayList<>();
+        if (!input.contains(PROJECTION_PREFIX)) {
+            for (String query : queries) {
+                ProjectedQuery.of(query).ifPresent(projectedQueries::add);
+            }
+        }
+
+        // Execute raw for return to caller (including the projection rules)
+        StringBuilder projectionRules = new StringBuilder();
+        for (ProjectedQuery projectedQuery : projectedQueries) {
+            projectionRules.append(projectedQuery.rule()).append(System.lineSeparator());
+        }
+        var rawResult = this.execute(input + projectionRules, new String[]{"-nofacts"}, maxFacts);
         if (rawResult.exitCode() != 0) {
             if (rawResult.output().contains(".dlv")) {
                 LOG.debug("Datalog execution failed with syntax error: {}", rawResult.output());
@@ -208,25 +605,57 @@ public ExecutionResult query(String facts, String rules, List<String> queries, L
             throw new ExecutionException("Datalog execution failed with error output " + rawResult.output());
         }
 
+        // Parse the models; projection is only possible if the program has exactly one model
+        List<List<String>> models = DatalogOutputParser.parseModels(rawResult.output());
+        String output = removeProjectionAtoms(rawResult.output());
+        if (models.size() != 1)
+            projectedQueries = List.of();
+
         Map<String, List<String>> result = new HashMap<>();
-        for (String query : queries) {
-            String predicate = getPredicateFromQuery(query);
+        try (var scope = new ExecutionScope()) {
+            // The queries that cannot be projected are independent of each other, so they run concurrently
+            Map<String, ExecutionScope.Fork<List<String>>> forks = new HashMap<>();
+            for (String query : queries) {
+                if (projectedQueries.stream().noneMatch(q -> q.query().equals(query)) && !forks.containsKey(query)) {
+                    LOG.debug("Executing datalog with facts: {}, rules: {}, query: {}", facts, rules, query);
+                    forks.put(query, scope.fork(() -> this.executeQuery(input + query, maxFacts)));
+                }
+            }
 
-            LOG.debug("Executing datalog with facts: {}, rules: {}, query: {}", facts, rules, query);
+            for (String query : queries) {
+                String predicate = getPredicateFromQuery(query);
 
-            // Execute
-            String queryInput = input + query;
-            var executionResult = this.execute(queryInput, new String[]{"-cautious"});
-            if (executionResult.exitCode() != 0) {
-                LOG.warn("Datalog query execution failed with error output {}", executionResult.output());
-                throw new ExecutionException("Datalog query execution failed with error output " + executionResult.output());
+                var projectedQuery = projectedQueries.stream().filter(q -> q.query().equals(query)).findFirst();
+                if (projectedQuery.isPresent()) {
+                    LOG.debug("Projecting query {} from model", query);
+                    result.put(predicate, projectedQuery.get().project(models.getFirst()));
+                } else {
+                    result.put(predicate, forks.get(query).get());
+                }
             }
+        }
+        return new ExecutionResult(output, result);
+    }
 
-            // Parse output
-            List<String> output = Arrays.stream(executionResult.output().split(System.lineSeparator())).filter(x -> !x.isBlank()).toList();
-            result.put(predicate, output);
+    /**
+     * Executes the datalog binary with the given input (including a query) with the {@code -cautious} option.
+     *
+     * @param queryInput The input including the query.
+     * @param maxFacts   The maximum number of facts in the query result.
+     * @return The lines of the query result.
+     * @throws IOException             If an I/O error occurs.
+     * @throws ResultTooLargeException If the output exceeds the maximum size or the maximum number of facts.
+     * @throws ExecutionException      If the process execution fails.
+     */
+    private List<String> executeQuery(String queryInput, long maxFacts) throws IOException, ExecutionException {
+        var executionResult = this.execute(queryInput, new String[]{"-cautious"}, maxFacts);
+        if (executionResult.exitCode() != 0) {
+            LOG.warn("Datalog query execution failed with error output {}", executionResult.output());
+            throw new ExecutionException("Datalog query execution failed with error output " + executionResult.output());
         }
-        return new ExecutionResult(rawResult.output(), result);
+
+        // Parse output
+        return Arrays.stream(executionResult.output().split(System.lineSeparator())).filter(x -> !x.isBlank()).toList();
     }
 
     /**
@@ -236,47 +665,96 @@ public ExecutionResult query(String facts, String rules, List<String> queries, L
      * @param uncheckedTerms The unchecked terms.
      * @return The encoded facts.
      */
-    private String encodeFacts(String facts, List<TermDescription> uncheckedTerms) {
-        var factList = Arrays.stream(facts.split("\\.")).toList();
-        var encodedFacts = new StringBuilder();
+    String encodeFacts(String facts, List<TermDescription> uncheckedTerms) {
+        return new FactEncoder(this.datalogSettings.factEncodingSuffix(), uncheckedTerms).encode(facts);
+    }
 
-        for (String fact : factList) {
-            if (fact.isBlank())
+    /**
+     * Removes the atoms added for query projection from the models in the output.
+     * <p>
+     * Only the atoms within the braces of the models are removed; all other output (e.g. the {@code Best model:} prefix and the
+     * {@code Cost} line of programs with weak constraints) is kept unchanged.
+     *
+     * @param output The execution output.
+     * @return The output as it would be without projection rules.
+     */
+    static String removeProjectionAtoms(String output) {
+        if (!output.contains(PROJECTION_PREFIX))
+            return output;
+
+        var sb = new StringBuilder(output.length());
+        boolean quoted = false;
+        int i = 0;
+        while (i < output.length()) {
+            char c = output.charAt(i);
+            if (c == '"')
+                quoted = !quoted;
+            int end = !quoted && c == '{' ? findClosingBrace(output, i + 1) : -1;
+            if (end < 0) {
+                sb.append(c);
+                i++;
                 continue;
+            }
 
-            var index = fact.indexOf("(");
-            var predicate = fact
-                .substring(0, index >= 0 ? index : fact.length())
-                .replace("\n", "")
-                .replace("\r", "")
-                .replace(" ", "");
-
-            var newFact = new StringBuilder(predicate);
-            if (index >= 0) {
-                newFact.append("(");
-
-                var terms = fact.substring(index + 1, fact.length() - 1).split(",");
-                for (int i = 0; i < terms.length; i++) {
-                    if (i > 0)
-                        newFact.append(',');
-                    newFact.append(terms[i].strip());
-
-                    int termPosition = i + 1;
-                    final int finalIForStream = i;
-                    if (uncheckedTerms.stream()
-                        .filter(t -> t.predicate().equals(predicate))
-                        .filter(t -> t.position() == termPosition)
-                        .noneMatch(t -> t.term().replace(" ", "").equals(terms[finalIForStream].replace(" ", "")))) {
-                        newFact.append(this.datalogSettings.factEncodingSuffix());
-                    }
-                }
-                newFact.append(").").append(System.lineSeparator());
+            StringJoiner model = new StringJoiner(", ", "{", "}");
+            for (String atom : splitTopLevel(output.substring(i + 1, end), true)) {
+                if (!atom.isEmpty() && !atom.startsWith(PROJECTION_PREFIX))
+                    model.add(atom);
             }
+            sb.append(model);
+            i = end + 1;
+        }
+        return sb.toString();
+    }
 
-            encodedFacts.append(newFact);
+    /**
+     * Returns the index of the first closing brace that is not enclosed in quotes.
+     *
+     * @param text  The text.
+     * @param start The index to start at.
+     * @return The index of the brace or -1 if there is none.
+     */
+    private static int findClosingBrace(String text, int start) {
+        boolean quoted = false;
+        for (int i = start; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '"')
+                quoted = !quoted;
+            else if (!quoted && c == '}')
+                return i;
         }
+        return -1;
+    }
 
-        return encodedFacts.toString();
+    /**
+     * Splits the given text at all commas that are neither enclosed in parentheses nor in quotes.
+     *
+     * @param text  The text to split.
+     * @param strip Whether the parts should be stripped.
+     * @return The parts.
+     */
+    private static List<String> splitTopLevel(String text, boolean strip) {
+        List<String> parts = new ArrayList<>();
+        int depth = 0;
+        boolean quoted = false;
+        int start = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '"')
+                quoted = !quoted;
+            else if (!quoted && c == '(')
+                depth++;
+            else if (!quoted && c == ')')
+                depth--;
+            else if (!quoted && depth == 0 && c == ',') {
+                parts.add(strip ? text.substring(start, i).strip() : text.substring(start, i));
+                start = i + 1;
+            }
+        }
+        String last = strip ? text.substring(start).strip() : text.substring(start);
+        if (!last.isEmpty() || !parts.isEmpty())
+            parts.add(last);
+        return parts;
     }
 
     /**
@@ -285,11 +763,76 @@ private String encodeFacts(String facts, List<TermDescription> uncheckedTerms) {
      * @param query The query.
      * @return The predicate.
      */
-    private String getPredicateFromQuery(String query) {
+    static String getPredicateFromQuery(String query) {
         if (query.contains("(")) {
             return query.substring(0, query.indexOf("("));
         }
         return query;
     }
 
+
+    /**
+     * A query that can be answered by projecting the model of the program instead of a separate {@code -cautious} execution.
+     * <p>
+     * This is only the case for queries whose arguments are distinct variables (e.g. {@code path(X,Y)?}),
+     * because the cautious consequences of a program with exactly one model are the model itself.
+     *
+     * @param query     The query.
+     * @param predicate The queried predicate.
+     * @param arity     The arity of the queried predicate.
+     */
+    private record ProjectedQuery(String query, String predicate, int arity) {
+        private static final Pattern QUERY_PATTERN = Pattern.compile("^\\s*([a-z][A-Za-z0-9_]*)\\s*\\((.*)\\)\\s*\\?\\s*$", Pattern.DOTALL);
+        private static final Pattern VARIABLE_PATTERN = Pattern.compile("_|[A-Z][A-Za-z0-9_]*");
+
+        /**
+         * Returns the projection for the given query, if the query can be projected.
+         *
+         * @param query The query.
+         * @return The projection or an empty optional if the query has to be executed separately.
+         */
+        static Optional<ProjectedQuery> of(String query) {
+            var matcher = QUERY_PATTERN.matcher(query);
+            if (!matcher.matches())
+                return Optional.empty();
+
+            var variables = splitTopLevel(matcher.group(2), true);
+            Set<String> seen = new HashSet<>();
+            for (String variable : variables) {
+                if (!VARIABLE_PATTERN.matcher(variable).matches())
+                    return Optional.empty();
+                if (!variable.equals("_") && !seen.add(variable))
+                    return Optional.empty();
+            }
+            return variables.isEmpty() ? Optional.empty() : Optional.of(new ProjectedQuery(query, matcher.group(1), variables.size()));
+        }
+
+        /**
+         * Returns the rule that copies the queried predicate to the projection predicate.
+         *
+         * @return The projection rule.
+         */
+        String rule() {
+            var args = new StringJoiner(",");
+            for (int i = 1; i <= this.arity; i++)
+                args.add("X" + i);
+            return PROJECTION_PREFIX + this.predicate + '(' + args + ") :- " + this.predicate + '(' + args + ").";
+        }
+
+        /**
+         * Returns the query result from the given model in the format of a {@code -cautious} execution.
+         *
+         * @param model The atoms of the model.
+         * @return The query result.
+         */
+        List<String> project(List<String> model) {
+            String prefix = PROJECTION_PREFIX + this.predicate + '(';
+            List<String> result = new ArrayList<>();
+            for (String atom : model) {
+                if (atom.startsWith(prefix) && atom.endsWith(")"))
+                    result.add(String.join(", ", splitTopLevel(atom.substring(prefix.length(), atom.length() - 1), false)));
+            }
+            return result;
+        }
+    }
 }
@@ -1,6 +1,8 @@
 package at.jku.dke.task_app.datalog.evaluation;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
 import java.util.Objects;
 
 /**
@@ -18,7 +20,52 @@ public class DatalogFact {
      */
     public DatalogFact(DatalogPredicate predicate, String terms) {
         this.predicate = predicate;
-        this.terms = terms.split(",\\s*");
+        this.terms = splitTerms(terms);
+    }
+
+    /**
+     * Creates a new instance of class {@linkplain DatalogFact}.
+     *
+     * @param predicate The predicate of the fact.
+     * @param terms     The already split terms of the fact.
+     */
+    public DatalogFact(DatalogPredicate predicate, String[] terms) {
+        this.predicate = predicate;
+        this.terms = terms;
+    }
+
+    /**
+     * Splits the terms at each comma and removes the whitespace after the comma; trailing empty terms are removed.
+     * <p>
+     * This is equivalent to {@code terms.split(",\\s*")} without compiling a regular expression for every fact.
+     *
+     * @param terms The terms.
+     * @return The split terms.
+     */
+    private static String[] splitTerms(String terms) {
+        int comma = terms.indexOf(',');
+        if (comma < 0)
+            return new String[]{terms};
+
+        List<String> result = new ArrayList<>();
+        int start = 0;
+        while (comma >= 0) {
+            result.add(terms.substring(start, comma));
+            start = comma + 1;
+            while (start < terms.length() && isWhitespace(terms.charAt(start)))
+                start++;
+            comma = terms.indexOf(',', start);
+        }
+        result.add(terms.substring(start));
+
+        int size = result.size();
+        while (size > 0 && result.get(size - 1).isEmpty())
+            size--;
+        return result.subList(0, size).toArray(new String[0]);
+    }
+
+    private static boolean isWhitespace(char c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r';
     }
 
     /**
@@ -50,6 +97,8 @@ public String[] getTerms() {
 
     @Override
     public String toString() {
+        if (terms.length == 0)
+            return this.predicate.getName();
         return this.predicate.getName() + '(' + String.join(", ", terms) + ')';
     }
 
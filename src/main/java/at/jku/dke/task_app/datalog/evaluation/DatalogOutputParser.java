@@ -0,0 +1,166 @@
+package at.jku.dke.task_app.datalog.evaluation;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Parses the output of the datalog binary incrementally into facts.
+ * <p>
+ * Within <code>{...}</code> every top-level atom is a fact of a model; outside of models (e.g. the output of a
+ * {@code -cautious} execution) every non-blank line is a fact. Commas inside parentheses or quotes do not separate facts.
+ * As all characters relevant for parsing are ASCII, the parser can be fed with the bytes of UTF-8 encoded output,
+ * which allows counting the facts while the process is still writing without decoding the output.
+ */
+final class DatalogOutputParser {
+    private final String ignoredPrefix;
+    private final boolean collect;
+    private final List<List<String>> models;
+    private final StringBuilder atom;
+    private List<String> model;
+    private long facts;
+    private int depth;
+    private boolean quoted;
+    private boolean lineHasContent;
+    private int atomLength;
+    private boolean atomIgnored;
+
+    /**
+     * Creates a new instance of class {@link DatalogOutputParser}.
+     *
+     * @param ignoredPrefix Atoms starting with this prefix are not counted as facts.
+     * @param collect       Whether the atoms of the models should be collected or only be counted.
+     */
+    DatalogOutputParser(String ignoredPrefix, boolean collect) {
+        this.ignoredPrefix = ignoredPrefix;
+        this.collect = collect;
+        this.models = new ArrayList<>();
+        this.atom = new StringBuilder();
+        this.atomIgnored = true;
+    }
+
+    /**
+     * Parses the next chunk of bytes of UTF-8 encoded output.
+     *
+     * @param buffer The buffer.
+     * @param length The number of bytes to parse.
+     */
+    void accept(byte[] buffer, int length) {
+        for (int i = 0; i < length; i++)
+            this.accept((char) (buffer[i] & 0xFF));
+    }
+
+    /**
+     * Parses the next character of the output.
+     *
+     * @param c The character.
+     */
+    void accept(char c) {
+        if (this.model == null) {
+            if (c == '{') {
+                this.model = new ArrayList<>();
+            } else if (c == '\n') {
+                if (this.lineHasContent)
+                    this.facts++;
+                this.lineHasContent = false;
+            } else if (!Character.isWhitespace(c)) {
+                this.lineHasContent = true;
+            }
+            return;
+        }
+
+        if (this.quoted) {
+            this.quoted = c != '"';
+        } else if (c == '"') {
+            this.quoted = true;
+        } else if (c == '(') {
+            this.depth++;
+        } else if (c == ')') {
+            this.depth--;
+        } else if (this.depth == 0 && (c == ',' || c == '}')) {
+            this.endAtom();
+            if (c == '}') {
+                this.models.add(this.collect ? this.model : List.of());
+                this.model = null;
+            }
+            return;
+        } else if (Character.isWhitespace(c) && this.atomLength == 0) {
+            return;
+        }
+
+        // Content of the current atom
+        if (this.atomLength < this.ignoredPrefix.length())
+            this.atomIgnored &= c == this.ignoredPrefix.charAt(this.atomLength);
+        this.atomLength++;
+        if (this.collect)
+            this.atom.append(c);
+    }
+
+    /**
+     * Finishes parsing; a last line without line break is counted as fact.
+     */
+    void finish() {
+        if (this.model == null && this.lineHasContent)
+            this.facts++;
+        this.lineHasContent = false;
+    }
+
+    /**
+     * Returns the number of facts parsed so far.
+     *
+     * @return The number of facts, without atoms starting with the ignored prefix.
+     */
+    long getFacts() {
+        return this.facts;
+    }
+
+    /**
+     * Returns the models parsed so far.
+     *
+     * @return The atoms of each model (empty if the atoms are not collected).
+     */
+    List<List<String>> getModels() {
+        return this.models;
+    }
+
+    private void endAtom() {
+        if (this.atomLength > 0) {
+            boolean ignored = !this.ignoredPrefix.isEmpty() && this.atomIgnored && this.atomLength >= this.ignoredPrefix.length();
+            if (!ignored)
+                this.facts++;
+            if (this.collect)
+                this.model.add(this.atom.toString().strip());
+        }
+        this.atom.setLength(0);
+        this.atomLength = 0;
+        this.atomIgnored = true;
+    }
+
+    /**
+     * Parses the models of the given output.
+     *
+     * @param output The output.
+     * @return The atoms of each model, as printed by the datalog binary.
+     */
+    static List<List<String>> parseModels(String output) {
+        var parser = new DatalogOutputParser("", true);
+        for (int i = 0; i < output.length(); i++)
+            parser.accept(output.charAt(i));
+        parser.finish();
+        return parser.getModels();
+    }
+
+    /**
+     * Counts the facts of the given output.
+     *
+     * @param output        The output.
+     * @param ignoredPrefix Atoms starting with this prefix are not counted as facts.
+     * @return The number of facts.
+     */
+    static long countFacts(String output, String ignoredPrefix) {
+        var parser = new DatalogOutputParser(ignoredPrefix, false);
+        for (int i = 0; i < output.length(); i++)
+            parser.accept(output.charAt(i));
+        parser.finish();
+        return parser.getFacts();
+    }
+}
@@ -1,6 +1,9 @@
 package at.jku.dke.task_app.datalog.evaluation;
 
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 
@@ -11,6 +14,7 @@ public class DatalogPredicate {
     private final String name;
     private final int arity;
     private final List<DatalogFact> facts;
+    private Map<DatalogFact, DatalogFact> factIndex;
     private static final String CHARS = "XYZABCDEFGHIJKLMNOPQRSTUVW";
 
     /**
@@ -25,6 +29,23 @@ public DatalogPredicate(String name, List<String> facts) {
         this.arity = this.facts.isEmpty() ? 0 : this.facts.getFirst().getArity();
     }
 
+    private DatalogPredicate(String name, String[][] terms) {
+        this.name = name;
+        this.facts = Arrays.stream(terms).map(t -> new DatalogFact(this, t)).toList();
+        this.arity = this.facts.isEmpty() ? 0 : this.facts.getFirst().getArity();
+    }
+
+    /**
+     * Creates a new predicate from facts whose terms are already split.
+     *
+     * @param name  The name of the predicate.
+     * @param terms The terms of each fact of the predicate.
+     * @return The predicate.
+     */
+    public static DatalogPredicate ofTerms(String name, List<String[]> terms) {
+        return new DatalogPredicate(name, terms.toArray(String[][]::new));
+    }
+
     /**
      * Returns whether the predicate is consistent. A predicate is consistent if all of its facts have the same arity.
      *
@@ -68,11 +89,19 @@ public List<DatalogFact> getFacts() {
      * @return The fact with the specified terms.
      */
     public Optional<DatalogFact> getFact(DatalogFact factSolution) {
-        return this.facts.stream().filter(factSolution::equals).findFirst();
+        if (this.factIndex == null) {
+            Map<DatalogFact, DatalogFact> index = HashMap.newHashMap(this.facts.size());
+            for (DatalogFact fact : this.facts)
+                index.putIfAbsent(fact, fact);
+            this.factIndex = index;
+        }
+        return Optional.ofNullable(this.factIndex.get(factSolution));
     }
 
     @Override
     public String toString() {
+        if (this.arity == 0)
+            return this.name;
         StringBuilder builder = new StringBuilder(this.name).append('(');
         for (int i = 0; i < this.arity; i++) {
             builder.append(CHARS.charAt(i));
@@ -0,0 +1,216 @@
+package at.jku.dke.task_app.datalog.evaluation;
+
+import at.jku.dke.task_app.datalog.config.DatalogSettings;
+import at.jku.dke.task_app.datalog.data.entities.TermDescription;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Caches the encoded facts per task.
+ * <p>
+ * An entry is only used if the SHA-256 hash of the facts and the unchecked terms it was encoded from are equal to the
+ * current ones, so changes of the task group or the task never return stale facts and do not require an explicit
+ * invalidation. Only the hash of the facts is kept, not the facts themselves.
+ * <p>
+ * The cache is bounded by the number of entries and by the estimated size of the encoded facts;
+ * the least recently used entries are evicted first.
+ * <p>
+ * The statistics are exposed as the meters {@code datalog.cache.gets} (tag {@code result}: {@code hit} or {@code miss}),
+ * {@code datalog.cache.evictions}, {@code datalog.cache.entries} and {@code datalog.cache.size} with the tag {@code cache=encoded-facts}.
+ */
+@Component
+public class EncodedFactsCache implements MeterBinder {
+    private static final int ENTRY_OVERHEAD = 256;
+
+    private final String suffix;
+    private final int maxEntries;
+    private final long maxBytes;
+    private final LinkedHashMap<Long, Entry> entries;
+    private final ReentrantLock lock;
+    private final LongAdder hits;
+    private final LongAdder misses;
+    private final LongAdder evictions;
+    private long bytes;
+
+    /**
+     * Creates a new instance of class {@link EncodedFactsCache}.
+     *
+     * @param settings The datalog settings.
+     */
+    public EncodedFactsCache(DatalogSettings settings) {
+        this.suffix = settings.factEncodingSuffix();
+        this.maxEntries = settings.cache().maxEncodedFacts();
+        this.maxBytes = settings.cache().maxEncodedFactsSize().toBytes();
+        this.entries = new LinkedHashMap<>(16, 0.75f, true);
+        this.lock = new ReentrantLock();
+        this.hits = new LongAdder();
+        this.misses = new LongAdder();
+        this.evictions = new LongAdder();
+    }
+
+    /**
+     * Returns whether the cache is enabled.
+     *
+     * @return {@code true} if encoded facts are cached; {@code false} otherwise.
+     */
+    public boolean isEnabled() {
+        return this.maxEntries > 0 && this.maxBytes > 0;
+    }
+
+    /**
+     * Returns the encoded facts for the given task, encoding them if they are not cached yet.
+     * <p>
+     * Encoded facts larger than the maximum cache size are not stored.
+     *
+     * @param taskId         The task identifier.
+     * @param facts          The facts.
+     * @param uncheckedTerms The unchecked terms of the task.
+     * @return The encoded facts.
+     */
+    public String getEncodedFacts(long taskId, String facts, List<TermDescription> uncheckedTerms) {
+        if (!this.isEnabled()) {
+            this.misses.increment();
+            return new FactEncoder(this.suffix, uncheckedTerms).encode(facts);
+        }
+
+        String factsHash = hash(facts);
+        Entry entry;
+        this.lock.lock();
+        try {
+            entry = this.entries.get(taskId);
+        } finally {
+            this.lock.unlock();
+        }
+
+        if (entry != null && entry.factsHash().equals(factsHash) && entry.uncheckedTerms().equals(uncheckedTerms)) {
+            this.hits.increment();
+            return entry.encodedFacts();
+        }
+
+        this.misses.increment();
+        String encodedFacts = new FactEncoder(this.suffix, uncheckedTerms).encode(facts);
+        entry = new Entry(factsHash, List.copyOf(uncheckedTerms), encodedFacts);
+        long size = sizeOf(entry);
+
+        this.lock.lock();
+        try {
+            var previous = size > this.maxBytes ? this.entries.remove(taskId) : this.entries.put(taskId, entry);
+            if (previous != null)
+                this.bytes -= sizeOf(previous);
+            if (size > this.maxBytes)
+                return encodedFacts;
+            this.bytes += size;
+
+            var iterator = this.entries.entrySet().iterator();
+            while ((this.entries.size() > this.maxEntries || this.bytes > this.maxBytes) && iterator.hasNext()) {
+                Map.Entry<Long, Entry> eldest = iterator.next();
+                if (eldest.getKey() == taskId)
+                    continue;
+                this.bytes -= sizeOf(eldest.getValue());
+                iterator.remove();
+                this.evictions.increment();
+            }
+        } finally {
+            this.lock.unlock();
+        }
+        return encodedFacts;
+    }
+
+    /**
+     * Removes all entries from the cache.
+     */
+    public void clear() {
+        this.lock.lock();
+        try {
+            this.entries.clear();
+            this.bytes = 0;
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * Returns the current statistics of the cache.
+     *
+     * @return The statistics.
+     */
+    public Statistics getStatistics() {
+        this.lock.lock();
+        try {
+            return new Statistics(this.entries.size(), this.bytes, this.hits.sum(), this.misses.sum(), this.evictions.sum());
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * Registers the meters of the cache.
+     *
+     * @param registry The meter registry.
+     */
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("datalog.cache.gets", this.hits, LongAdder::sum)
+            .description("The number of cache lookups")
+            .tags("cache", "encoded-facts", "result", "hit")
+            .register(registry);
+        FunctionCounter.builder("datalog.cache.gets", this.misses, LongAdder::sum)
+            .description("The number of cache lookups")
+            .tags("cache", "encoded-facts", "result", "miss")
+            .register(registry);
+        FunctionCounter.builder("datalog.cache.evictions", this.evictions, LongAdder::sum)
+            .description("The number of evicted cache entries")
+            .tag("cache", "encoded-facts")
+            .register(registry);
+        Gauge.builder("datalog.cache.entries", this, cache -> cache.getStatistics().entries())
+            .description("The number of cache entries")
+            .tag("cache", "encoded-facts")
+            .register(registry);
+        Gauge.builder("datalog.cache.size", this, cache -> cache.getStatistics().bytes())
+            .description("The estimated size of the cache entries")
+            .baseUnit("bytes")
+            .tag("cache", "encoded-facts")
+            .register(registry);
+    }
+
+    private static String hash(String facts) {
+        try {
+            var digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(facts.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 is not supported", ex);
+        }
+    }
+
+    private static long sizeOf(Entry entry) {
+        return ENTRY_OVERHEAD + 2L * entry.encodedFacts().length();
+    }
+
+    private record Entry(String factsHash, List<TermDescription> uncheckedTerms, String encodedFacts) {
+    }
+
+    /**
+     * Statistics of the cache.
+     *
+     * @param entries   The number of cached fact bases.
+     * @param bytes     The estimated size of the cached encoded facts in bytes.
+     * @param hits      The number of lookups that found the encoded facts in the cache.
+     * @param misses    The number of lookups that had to encode the facts.
+     * @param evictions The number of evicted fact bases.
+     */
+    public record Statistics(int entries, long bytes, long hits, long misses, long evictions) {
+    }
+}
@@ -0,0 +1,60 @@
+package at.jku.dke.task_app.datalog.evaluation;
+
+import at.jku.dke.etutor.task_app.dto.SubmissionMode;
+
+import java.util.Optional;
+
+/**
+ * The submission that is evaluated by the current thread.
+ * <p>
+ * The context is set by the evaluation services and, like the {@link ExecutionPriority}, inherited by the threads started
+ * by the current thread (e.g. by an {@link ExecutionScope}), so that the executions and stages of an evaluation can be
+ * attributed to the task and mode (e.g. in the {@link EvaluationMetrics}).
+ *
+ * @param taskType The type of the task ({@code dlg} or {@code asp}).
+ * @param mode     The submission mode.
+ * @param taskId   The task identifier.
+ */
+public record EvaluationContext(String taskType, SubmissionMode mode, long taskId) {
+    private static final InheritableThreadLocal<EvaluationContext> CURRENT = new InheritableThreadLocal<>();
+
+    /**
+     * Returns the context of the current thread.
+     *
+     * @return The context or an empty optional if the current thread does not evaluate a submission (e.g. while validating a task).
+     */
+    public static Optional<EvaluationContext> current() {
+        return Optional.ofNullable(CURRENT.get());
+    }
+
+    /**
+     * Sets the context of the current thread until the returned scope is closed.
+     *
+     * @param context The context.
+     * @return The scope restoring the previous context on close.
+     */
+    public static Scope enter(EvaluationContext context) {
+        var previous = CURRENT.get();
+        CURRENT.set(context);
+        return new Scope(previous);
+    }
+
+    /**
+     * Restores the previous context of the current thread on close.
+     */
+    public static final class Scope implements AutoCloseable {
+        private final EvaluationContext previous;
+
+        private Scope(EvaluationContext previous) {
+            this.previous = previous;
+        }
+
+        @Override
+        public void close() {
+            if (this.previous == null)
+                CURRENT.remove();
+            else
+                CURRENT.set(this.previous);
+        }
+    }
+}
@@ -0,0 +1,276 @@
+package at.jku.dke.task_app.datalog.evaluation;
+
+import at.jku.dke.task_app.datalog.config.DatalogSettings;
+import at.jku.dke.task_app.datalog.evaluation.events.EvaluationStageEvent;
+import at.jku.dke.task_app.datalog.evaluation.events.ProcessEvent;
+import at.jku.dke.task_app.datalog.evaluation.events.ProcessKillEvent;
+import at.jku.dke.task_app.datalog.evaluation.events.ProcessStartEvent;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records the durations of the stages of the evaluations and of the DLV processes.
+ * <p>
+ * All meters are tagged with the task type, the submission mode and the bucket of the task id of the {@link EvaluationContext}
+ * of the current thread ({@code none} outside of an evaluation, e.g. while validating a task):
+ * <ul>
+ *     <li>{@code datalog.evaluation.stage}: the duration of a {@link Stage} (tag {@code stage}).</li>
+ *     <li>{@code datalog.process.spawn}: the time to start a DLV process.</li>
+ *     <li>{@code datalog.process.duration}: the wall time of a DLV process from its start until it exited or was killed
+ *         (tags {@code outcome} and {@code exit.code}).</li>
+ *     <li>{@code datalog.process.output}: the number of bytes read from a DLV process.</li>
+ * </ul>
+ * Additionally, the stages and processes are emitted as JFR events ({@link EvaluationStageEvent}, {@link ProcessStartEvent},
+ * {@link ProcessEvent} and {@link ProcessKillEvent}) with the task type, mode and task id of the {@link EvaluationContext},
+ * so that a flight recording shows which submissions were evaluated at the time of e.g. a GC pause.
+ */
+@Component
+public class EvaluationMetrics {
+    private static final String NONE = "none";
+
+    private final MeterRegistry registry;
+    private final DatalogSettings.MetricsSettings settings;
+
+    /**
+     * Creates a new instance of class {@link EvaluationMetrics}.
+     *
+     * @param registry        The meter registry.
+     * @param datalogSettings The datalog settings.
+     */
+    @Autowired
+    public EvaluationMetrics(MeterRegistry registry, DatalogSettings datalogSettings) {
+        this.registry = registry;
+        this.settings = datalogSettings.metrics();
+    }
+
+    /**
+     * Returns metrics that are not recorded anywhere (e.g. for executors created outside of the application context).
+     *
+     * @return The metrics.
+     */
+    public static EvaluationMetrics disabled() {
+        return new EvaluationMetrics(new CompositeMeterRegistry(), DatalogSettings.EMPTY);
+    }
+
+    /**
+     * Starts the timer of a stage; the duration is recorded when the returned timer is closed.
+     *
+     * @param stage The stage.
+     * @return The running timer.
+     */
+    public StageTimer stage(Stage stage) {
+        var event = new EvaluationStageEvent();
+        event.begin();
+        return new StageTimer(stage, this.contextTags(), System.nanoTime(), event);
+    }
+
+    /**
+     * Starts the observation of a DLV process; the process is recorded when the returned observation is closed.
+     *
+     * @return The running observation.
+     */
+    public ProcessObservation process() {
+        var event = new ProcessEvent();
+        var startEvent = new ProcessStartEvent();
+        event.begin();
+        startEvent.begin();
+        return new ProcessObservation(this.contextTags(), System.nanoTime(), event, startEvent);
+    }
+
+    /**
+     * Returns the tags of the evaluation context of the current thread.
+     *
+     * @return The tags.
+     */
+    Tags contextTags() {
+        return EvaluationContext.current()
+            .map(context -> Tags.of(
+                "task.type", context.taskType(),
+                "mode", context.mode().name().toLowerCase(Locale.ROOT),
+                "task.bucket", String.valueOf(this.settings.getTaskIdBucket(context.taskId()))))
+            .orElseGet(() -> Tags.of("task.type", NONE, "mode", NONE, "task.bucket", NONE));
+    }
+
+    /**
+     * The stages of an evaluation.
+     */
+    public enum Stage {
+        /**
+         * Loading the task and its task group from the database.
+         */
+        TASK_LOAD,
+        /**
+         * Encoding the submission facts.
+         */
+        FACT_ENCODING,
+        /**
+         * Comparing the results of the submission and the solution.
+         */
+        ANALYSIS,
+        /**
+         * Computing the points.
+         */
+        GRADING,
+        /**
+         * Rendering the feedback.
+         */
+        REPORT;
+
+        private final String tag = this.name().toLowerCase(Locale.ROOT).replace('_', '-');
+    }
+
+    /**
+     * The outcomes of a DLV process.
+     */
+    public enum ProcessOutcome {
+        /**
+         * The process exited (with any exit code).
+         */
+        EXITED,
+        /**
+         * The process was killed because it did not exit within the maximum execution time.
+         */
+        TIMEOUT,
+        /**
+         * The process was killed because its output exceeded the maximum size or number of facts.
+         */
+        KILLED,
+        /**
+         * The waiting thread was interrupted (e.g. because another execution of the evaluation failed) and killed the process.
+         */
+        INTERRUPTED,
+        /**
+         * The process could not be started or its output could not be read.
+         */
+        ERROR
+    }
+
+    /**
+     * A running stage timer.
+     */
+    public final class StageTimer implements AutoCloseable {
+        private final Stage stage;
+        private final Tags tags;
+        private final long start;
+        private final EvaluationStageEvent event;
+
+        private StageTimer(Stage stage, Tags tags, long start, EvaluationStageEvent event) {
+            this.stage = stage;
+            this.tags = tags;
+            this.start = start;
+            this.event = event;
+        }
+
+        /**
+         * Records the duration of the stage.
+         */
+        @Override
+        public void close() {
+            this.event.commit(this.stage.tag);
+            Timer.builder("datalog.evaluation.stage")
+                .description("The duration of the stages of the evaluations")
+                .tags(this.tags)
+                .tag("stage", this.stage.tag)
+                .register(registry)
+                .record(System.nanoTime() - this.start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * A running observation of a DLV process.
+     * <p>
+     * The observation is not thread-safe; it must be updated by the thread that executes the process.
+     */
+    public final class ProcessObservation implements AutoCloseable {
+        private final Tags tags;
+        private final long start;
+        private final ProcessEvent event;
+        private final ProcessStartEvent startEvent;
+        private ProcessOutcome outcome;
+        private Integer exitCode;
+        private long outputBytes;
+        private long pid;
+
+        private ProcessObservation(Tags tags, long start, ProcessEvent event, ProcessStartEvent startEvent) {
+            this.tags = tags;
+            this.start = start;
+            this.event = event;
+            this.startEvent = startEvent;
+            this.outcome = ProcessOutcome.ERROR;
+        }
+
+        /**
+         * Records the time to start the process; to be called right after the process has been started.
+         *
+         * @param pid The process identifier.
+         */
+        public void started(long pid) {
+            this.pid = pid;
+            this.startEvent.commit(pid);
+            Timer.builder("datalog.process.spawn")
+                .description("The time to start a DLV process")
+                .tags(this.tags)
+                .register(registry)
+                .record(System.nanoTime() - this.start, TimeUnit.NANOSECONDS);
+        }
+
+        /**
+         * Sets the number of bytes read from the process.
+         *
+         * @param bytes The number of bytes.
+         */
+        public void outputRead(long bytes) {
+            this.outputBytes = bytes;
+        }
+
+        /**
+         * Sets the exit code of the process.
+         *
+         * @param exitCode The exit code.
+         */
+        public void exited(int exitCode) {
+            this.outcome = ProcessOutcome.EXITED;
+            this.exitCode = exitCode;
+        }
+
+        /**
+         * Sets the outcome of a killed process.
+         *
+         * @param outcome The outcome.
+         */
+        public void killed(ProcessOutcome outcome) {
+            this.outcome = outcome;
+            this.exitCode = null;
+            ProcessKillEvent.emit(this.pid, outcome.name().toLowerCase(Locale.ROOT));
+        }
+
+        /**
+         * Records the wall time, outcome and output size of the process.
+         */
+        @Override
+        public void close() {
+            this.event.commit(this.pid, this.outcome.name().toLowerCase(Locale.ROOT), this.exitCode == null ? -1 : this.exitCode, this.outputBytes);
+            Timer.builder("datalog.process.duration")
+                .description("The wall time of the DLV processes")
+                .tags(this.tags)
+                .tag("outcome", this.outcome.name().toLowerCase(Locale.ROOT))
+                .tag("exit.code", this.exitCode == null ? NONE : String.valueOf(this.exitCode))
+                .register(registry)
+                .record(System.nanoTime() - this.start, TimeUnit.NANOSECONDS);
+            DistributionSummary.builder("datalog.process.output")
+                .description("The number of bytes read from the DLV processes")
+                .baseUnit("bytes")
+                .tags(this.tags)
+                .register(registry)
+                .record(this.outputBytes);
+        }
+    }
+}
@@ -20,6 +20,14 @@
      */
     GradingDto evaluate(SubmitSubmissionDto<T> submission);
 
+    /**
+     * Returns the evaluation result of a submission that could not be evaluated.
+     *
+     * @param submission The input that could not be evaluated.
+     * @return The evaluation result without points.
+     */
+    GradingDto evaluationFailed(SubmitSubmissionDto<T> submission);
+
     /**
      * Executes the submission and returns the query result.
      *
@@ -0,0 +1,228 @@
+package at.jku.dke.task_app.datalog.evaluation;
+
+import at.jku.dke.task_app.datalog.config.DatalogSettings;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Caches the outputs of Datalog executions by a SHA-256 hash of the exact input and arguments.
+ * <p>
+ * The cache is bounded by the number of entries and by the estimated size of the cached outputs;
+ * the least recently used entries are evicted first.
+ * <p>
+ * The statistics are exposed as the meters {@code datalog.cache.gets} (tag {@code result}: {@code hit} or {@code miss}),
+ * {@code datalog.cache.evictions}, {@code datalog.cache.entries} and {@code datalog.cache.size} with the tag {@code cache=execution}.
+ */
+@Component
+public class ExecutionCache implements MeterBinder {
+    private static final int ENTRY_OVERHEAD = 128;
+
+    private final int maxEntries;
+    private final long maxBytes;
+    private final LinkedHashMap<String, DatalogExecutor.ExecutionOutput> entries;
+    private final ReentrantLock lock;
+    private final LongAdder hits;
+    private final LongAdder misses;
+    private final LongAdder evictions;
+    private long bytes;
+
+    /**
+     * Creates a new instance of class {@link ExecutionCache}.
+     *
+     * @param settings The datalog settings.
+     */
+    public ExecutionCache(DatalogSettings settings) {
+        this.maxEntries = settings.cache().maxEntries();
+        this.maxBytes = settings.cache().maxSize().toBytes();
+        this.entries = new LinkedHashMap<>(16, 0.75f, true);
+        this.lock = new ReentrantLock();
+        this.hits = new LongAdder();
+        this.misses = new LongAdder();
+        this.evictions = new LongAdder();
+    }
+
+    /**
+     * Returns whether the cache is enabled.
+     *
+     * @return {@code true} if outputs are cached; {@code false} otherwise.
+     */
+    public boolean isEnabled() {
+        return this.maxEntries > 0 && this.maxBytes > 0;
+    }
+
+    /**
+     * Computes the cache key for the given input and arguments.
+     *
+     * @param input The input for the datalog binary.
+     * @param args  The arguments for the datalog binary.
+     * @return The cache key.
+     */
+    public static String computeKey(String input, String[] args) {
+        try {
+            var digest = MessageDigest.getInstance("SHA-256");
+            for (String arg : args) {
+                digest.update(arg.getBytes(StandardCharsets.UTF_8));
+                digest.update((byte) 0);
+            }
+            digest.update((byte) 0);
+            digest.update(input.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 is not supported", ex);
+        }
+    }
+
+    /**
+     * Returns the cached output for the given key.
+     *
+     * @param key The cache key.
+     * @return The cached output or an empty optional if the output is not cached.
+     */
+    public Optional<DatalogExecutor.ExecutionOutput> get(String key) {
+        if (!this.isEnabled())
+            return Optional.empty();
+
+        DatalogExecutor.ExecutionOutput output;
+        this.lock.lock();
+        try {
+            output = this.entries.get(key);
+        } finally {
+            this.lock.unlock();
+        }
+
+        if (output == null)
+            this.misses.increment();
+        else
+            this.hits.increment();
+        return Optional.ofNullable(output);
+    }
+
+    /**
+     * Stores the output for the given key.
+     * <p>
+     * Outputs larger than the maximum cache size are not stored.
+     *
+     * @param key    The cache key.
+     * @param output The output to cache.
+     */
+    public void put(String key, DatalogExecutor.ExecutionOutput output) {
+        long size = sizeOf(output);
+        if (!this.isEnabled() || size > this.maxBytes)
+            return;
+
+        this.lock.lock();
+        try {
+            var previous = this.entries.put(key, output);
+            if (previous != null)
+                this.bytes -= sizeOf(previous);
+            this.bytes += size;
+
+            var iterator = this.entries.entrySet().iterator();
+            while ((this.entries.size() > this.maxEntries || this.bytes > this.maxBytes) && iterator.hasNext()) {
+                Map.Entry<String, DatalogExecutor.ExecutionOutput> eldest = iterator.next();
+                if (eldest.getKey().equals(key))
+                    continue;
+                this.bytes -= sizeOf(eldest.getValue());
+                iterator.remove();
+                this.evictions.increment();
+            }
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * Removes all entries from the cache.
+     */
+    public void clear() {
+        this.lock.lock();
+        try {
+            this.entries.clear();
+            this.bytes = 0;
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * Returns the current statistics of the cache.
+     *
+     * @return The statistics.
+     */
+    public Statistics getStatistics() {
+        this.lock.lock();
+        try {
+            return new Statistics(this.entries.size(), this.bytes, this.hits.sum(), this.misses.sum(), this.evictions.sum());
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * Registers the meters of the cache.
+     *
+     * @param registry The meter registry.
+     */
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("datalog.cache.gets", this.hits, LongAdder::sum)
+            .description("The number of cache lookups")
+            .tags("cache", "execution", "result", "hit")
+            .register(registry);
+        FunctionCounter.builder("datalog.cache.gets", this.misses, LongAdder::sum)
+            .description("The number of cache lookups")
+            .tags("cache", "execution", "result", "miss")
+            .register(registry);
+        FunctionCounter.builder("datalog.cache.evictions", this.evictions, LongAdder::sum)
+            .description("The number of evicted cache entries")
+            .tag("cache", "execution")
+            .register(registry);
+        Gauge.builder("datalog.cache.entries", this, cache -> cache.getStatistics().entries())
+            .description("The number of cache entries")
+            .tag("cache", "execution")
+            .register(registry);
+        Gauge.builder("datalog.cache.size", this, cache -> cache.getStatistics().bytes())
+            .description("The estimated size of the cache entries")
+            .baseUnit("bytes")
+            .tag("cache", "execution")
+            .register(registry);
+    }
+
+    private static long sizeOf(DatalogExecutor.ExecutionOutput output) {
+        return ENTRY_OVERHEAD + 2L * output.output().length();
+    }
+
+    /**
+     * Statistics of the cache.
+     *
+     * @param entries   The number of cached outputs.
+     * @param bytes     The estimated size of the cached outputs in bytes.
+     * @param hits      The number of lookups that found a cached output.
+     * @param misses    The number of lookups that did not find a cached output.
+     * @param evictions The number of evicted outputs.
+     */
+    public record Statistics(int entries, long bytes, long hits, long misses, long evictions) {
+        /**
+         * Returns the ratio of hits to lookups.
+         *
+         * @return The hit ratio, or 0 if there were no lookups.
+         */
+        public double hitRatio() {
+            long lookups = this.hits + this.misses;
+            return lookups == 0 ? 0 : (double) this.hits / lookups;
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package at.jku.dke.task_app.datalog.evaluation;
+
+import at.jku.dke.etutor.task_app.dto.SubmissionMode;
+
+/**
+ * The priority classes of executions waiting for a free execution slot.
+ * <p>
+ * The priority of the current thread is set by the callers of the {@link DatalogExecutor} (e.g. the evaluation services)
+ * and is inherited by the threads started by the current thread (e.g. by an {@link ExecutionScope}).
+ * The {@link ExecutionScheduler} serves waiting executions of a higher priority first.
+ */
+public enum ExecutionPriority {
+    /**
+     * Interactive executions of students working in the editor (run and diagnose mode).
+     */
+    INTERACTIVE,
+    /**
+     * Gradings of submissions (submit mode).
+     */
+    SUBMISSION,
+    /**
+     * Administrative and bulk executions (e.g. the validation of tasks and task groups).
+     */
+    BACKGROUND;
+
+    private static final InheritableThreadLocal<ExecutionPriority> CURRENT = new InheritableThreadLocal<>();
+
+    /**
+     * Returns the priority of executions in the given submission mode.
+     *
+     * @param mode The submission mode.
+     * @return The priority.
+     */
+    public static ExecutionPriority of(SubmissionMode mode) {
+        return switch (mode) {
+            case RUN, DIAGNOSE -> INTERACTIVE;
+            case SUBMIT -> SUBMISSION;
+        };
+    }
+
+    /**
+     * Returns the priority of the executions of the current thread.
+     *
+     * @return The priority; {@link #SUBMISSION} if no priority has been set.
+     */
+    public static ExecutionPriority current() {
+        var priority = CURRENT.get();
+        return priority == null ? SUBMISSION : priority;
+    }
+
+    /**
+     * Sets the priority of the executions of the current thread until the returned context is closed.
+     * <p>
+     * If a lower priority has already been set (e.g. because a task is validated in diagnose mode), the lower priority is kept.
+     *
+     * @param priority The priority.
+     * @return The context restoring the previous priority on close.
+     */
+    public static Context enter(ExecutionPriority priority) {
+        var previous = CURRENT.get();
+        CURRENT.set(previous != null && previous.compareTo(priority) > 0 ? previous : priority);
+        return new Context(previous);
+    }
+
+    /**
+     * Restores the previous priority of the current thread on close.
+     */
+    public static final class Context implements AutoCloseable {
+        private final ExecutionPriority previous;
+
+        private Context(ExecutionPriority previous) {
+            this.previous = previous;
+        }
+
+        @Override
+        public void close() {
+            if (this.previous == null)
+                CURRENT.remove();
+            else
+                CURRENT.set(this.previous);
+        }
+    }
+}
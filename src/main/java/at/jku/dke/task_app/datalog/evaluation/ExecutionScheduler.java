@@ -0,0 +1,393 @@
+package at.jku.dke.task_app.datalog.evaluation;
+
+import at.jku.dke.task_app.datalog.config.DatalogSettings;
+import at.jku.dke.task_app.datalog.evaluation.exceptions.ExecutionException;
+import at.jku.dke.task_app.datalog.evaluation.exceptions.ExecutionRejectedException;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.DoubleSupplier;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Limits the number of concurrently running Datalog processes.
+ * <p>
+ * Executions that do not get a free slot immediately wait in a bounded queue.
+ * If the queue is full or an execution waits longer than the configured maximum queue time, the execution is rejected.
+ * <p>
+ * A free slot is assigned to the longest waiting execution of the highest {@link ExecutionPriority}, so that interactive executions
+ * are not delayed by gradings or task validations. To bound the starvation of lower priorities, waiting executions of a priority
+ * get the next free slot after executions of higher priorities have been preferred {@link DatalogSettings.SchedulerSettings#maxBypasses()} times.
+ * <p>
+ * The statistics are exposed as meters tagged with the {@code priority}:
+ * <ul>
+ *     <li>{@code datalog.scheduler.queued}: the number of executions currently waiting for a slot.</li>
+ *     <li>{@code datalog.scheduler.admitted} and {@code datalog.scheduler.rejected}: the number of admitted and rejected executions.</li>
+ *     <li>{@code datalog.scheduler.wait} and {@code datalog.scheduler.wait.max}: the time the admitted executions waited for a slot.</li>
+ * </ul>
+ * The number of free slots is exposed as {@code datalog.scheduler.available}.
+ */
+@Component
+public class ExecutionScheduler implements MeterBinder {
+    private static final Logger LOG = LoggerFactory.getLogger(ExecutionScheduler.class);
+
+    private final ReentrantLock lock;
+    private final PriorityClass[] classes;
+    private final int maxQueuedExecutions;
+    private final long maxQueueTimeNanos;
+    private final int maxBypasses;
+    private int availableSlots;
+    private int queued;
+
+    /**
+     * Creates a new instance of class {@link ExecutionScheduler}.
+     *
+     * @param settings The datalog settings.
+     */
+    public ExecutionScheduler(DatalogSettings settings) {
+        this.lock = new ReentrantLock();
+        this.classes = new PriorityClass[ExecutionPriority.values().length];
+        for (int i = 0; i < this.classes.length; i++)
+            this.classes[i] = new PriorityClass();
+        this.maxQueuedExecutions = settings.scheduler().maxQueuedExecutions();
+        this.maxQueueTimeNanos = TimeUnit.SECONDS.toNanos(settings.scheduler().maxQueueTime());
+        this.maxBypasses = settings.scheduler().maxBypasses();
+        this.availableSlots = settings.scheduler().maxConcurrentExecutions();
+    }
+
+    /**
+     * Acquires a slot for an execution with the priority of the current thread, waiting in the queue if necessary.
+     * <p>
+     * The returned slot must be closed after the execution has finished.
+     *
+     * @return The acquired slot.
+     * @throws ExecutionRejectedException If the queue is full or no slot became free within the maximum queue time.
+     * @throws ExecutionException         If the thread was interrupted while waiting.
+     * @see ExecutionPriority#current()
+     */
+    public Slot acquire() throws ExecutionException {
+        return this.acquire(ExecutionPriority.current());
+    }
+
+    /**
+     * Acquires a slot for an execution with the given priority, waiting in the queue if necessary.
+     * <p>
+     * The returned slot must be closed after the execution has finished.
+     *
+     * @param priority The priority of the execution.
+     * @return The acquired slot.
+     * @throws ExecutionRejectedException If the queue is full or no slot became free within the maximum queue time.
+     * @throws ExecutionException         If the thread was interrupted while waiting.
+     */
+    public Slot acquire(ExecutionPriority priority) throws ExecutionException {
+        var priorityClass = this.classes[priority.ordinal()];
+        long queueTime;
+        this.lock.lock();
+        try {
+            // Slots are handed over to waiting executions directly, so a free slot means that no execution is waiting
+            if (this.availableSlots > 0) {
+                this.availableSlots--;
+                priorityClass.admitted++;
+                return new Slot(0);
+            }
+
+            if (this.queued >= this.maxQueuedExecutions) {
+                priorityClass.rejected++;
+                LOG.warn("Rejecting {} execution, {} executions are already waiting", priority, this.maxQueuedExecutions);
+                throw new ExecutionRejectedException("Too many executions are waiting, please try again later.");
+            }
+
+            long start = System.nanoTime();
+            var waiter = new Waiter(this.lock.newCondition());
+            if (priorityClass.waiters.isEmpty())
+                priorityClass.bypassed = 0;
+            priorityClass.waiters.addLast(waiter);
+            this.queued++;
+            try {
+                long remaining = this.maxQueueTimeNanos;
+                while (!waiter.granted && remaining > 0)
+                    remaining = waiter.condition.awaitNanos(remaining);
+            } catch (InterruptedException ex) {
+                this.leave(priorityClass, waiter);
+                Thread.currentThread().interrupt();
+                throw new ExecutionException("Interrupted while waiting for an execution slot", ex);
+            }
+
+            if (!waiter.granted) {
+                this.leave(priorityClass, waiter);
+                priorityClass.rejected++;
+                LOG.warn("Rejecting {} execution, no slot became free within {} seconds", priority, TimeUnit.NANOSECONDS.toSeconds(this.maxQueueTimeNanos));
+                throw new ExecutionRejectedException("No execution slot became free in time, please try again later.");
+            }
+
+            queueTime = System.nanoTime() - start;
+            priorityClass.admitted++;
+            priorityClass.totalQueueTimeNanos += queueTime;
+            priorityClass.maxQueueTimeNanos = Math.max(priorityClass.maxQueueTimeNanos, queueTime);
+        } finally {
+            this.lock.unlock();
+        }
+
+        LOG.debug("{} execution waited {} ms for a slot", priority, TimeUnit.NANOSECONDS.toMillis(queueTime));
+        return new Slot(queueTime);
+    }
+
+    /**
+     * Returns the current statistics of the scheduler.
+     *
+     * @return The statistics.
+     */
+    public Statistics getStatistics() {
+        this.lock.lock();
+        try {
+            Map<ExecutionPriority, PriorityStatistics> priorities = new EnumMap<>(ExecutionPriority.class);
+            long admitted = 0;
+            long rejected = 0;
+            long totalQueueTimeNanos = 0;
+            for (ExecutionPriority priority : ExecutionPriority.values()) {
+                var priorityClass = this.classes[priority.ordinal()];
+                priorities.put(priority, new PriorityStatistics(
+                    priorityClass.waiters.size(),
+                    priorityClass.admitted,
+                    priorityClass.rejected,
+                    averageQueueTime(priorityClass.totalQueueTimeNanos, priorityClass.admitted),
+                    Duration.ofNanos(priorityClass.maxQueueTimeNanos)));
+                admitted += priorityClass.admitted;
+                rejected += priorityClass.rejected;
+                totalQueueTimeNanos += priorityClass.totalQueueTimeNanos;
+            }
+            return new Statistics(this.availableSlots, this.queued, admitted, rejected, averageQueueTime(totalQueueTimeNanos, admitted), priorities);
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * Registers the meters of the scheduler.
+     *
+     * @param registry The meter registry.
+     */
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("datalog.scheduler.available", this, scheduler -> scheduler.read(() -> scheduler.availableSlots))
+            .description("The number of free execution slots")
+            .register(registry);
+        for (ExecutionPriority priority : ExecutionPriority.values()) {
+            var priorityClass = this.classes[priority.ordinal()];
+            String tag = priority.name().toLowerCase(Locale.ROOT);
+            Gauge.builder("datalog.scheduler.queued", priorityClass, this.reader(c -> c.waiters.size()))
+                .description("The number of executions waiting for a slot")
+                .tag("priority", tag)
+                .register(registry);
+            FunctionCounter.builder("datalog.scheduler.admitted", priorityClass, this.reader(c -> c.admitted))
+                .description("The number of executions that got a slot")
+                .tag("priority", tag)
+                .register(registry);
+            FunctionCounter.builder("datalog.scheduler.rejected", priorityClass, this.reader(c -> c.rejected))
+                .description("The number of rejected executions")
+                .tag("priority", tag)
+                .register(registry);
+            FunctionTimer.builder("datalog.scheduler.wait", priorityClass, c -> (long) this.read(() -> c.admitted), this.reader(c -> c.totalQueueTimeNanos), TimeUnit.NANOSECONDS)
+                .description("The time the admitted executions waited for a slot")
+                .tag("priority", tag)
+                .register(registry);
+            TimeGauge.builder("datalog.scheduler.wait.max", priorityClass, TimeUnit.NANOSECONDS, this.reader(c -> c.maxQueueTimeNanos))
+                .description("The longest time an admitted execution waited for a slot")
+                .tag("priority", tag)
+                .register(registry);
+        }
+    }
+
+    /**
+     * Hands the released slot over to the next waiting execution or returns it to the free slots.
+     */
+    private void release() {
+        this.lock.lock();
+        try {
+            var next = this.next();
+            if (next == null) {
+                this.availableSlots++;
+                return;
+            }
+
+            var waiter = next.waiters.removeFirst();
+            this.queued--;
+            waiter.granted = true;
+            waiter.condition.signal();
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * Selects the queue of the execution that gets the next free slot.
+     * <p>
+     * Must be called while holding the lock.
+     *
+     * @return The selected queue or {@code null} if no execution is waiting.
+     */
+    private PriorityClass next() {
+        PriorityClass selected = null;
+        for (PriorityClass priorityClass : this.classes) {
+            if (priorityClass.waiters.isEmpty())
+                continue;
+            if (selected == null)
+                selected = priorityClass;
+            else if (priorityClass.bypassed >= this.maxBypasses) {
+                // bounded starvation: the lower priority has been bypassed often enough
+                selected = priorityClass;
+                break;
+            }
+        }
+        if (selected == null)
+            return null;
+
+        for (PriorityClass priorityClass : this.classes) {
+            if (priorityClass != selected && !priorityClass.waiters.isEmpty())
+                priorityClass.bypassed++;
+        }
+        selected.bypassed = 0;
+        return selected;
+    }
+
+    /**
+     * Removes a waiting execution that gave up; if a slot has been handed over in the meantime, the slot is released again.
+     * <p>
+     * Must be called while holding the lock.
+     *
+     * @param priorityClass The priority class of the execution.
+     * @param waiter        The waiting execution.
+     */
+    private void leave(PriorityClass priorityClass, Waiter waiter) {
+        if (waiter.granted)
+            this.release();
+        else if (priorityClass.waiters.remove(waiter))
+            this.queued--;
+    }
+
+    /**
+     * Returns a function reading a value of a priority class while holding the lock.
+     *
+     * @param function The function reading the value.
+     * @return The function.
+     */
+    private ToDoubleFunction<PriorityClass> reader(ToDoubleFunction<PriorityClass> function) {
+        return priorityClass -> this.read(() -> function.applyAsDouble(priorityClass));
+    }
+
+    /**
+     * Reads a value while holding the lock.
+     *
+     * @param supplier The supplier of the value.
+     * @return The value.
+     */
+    private double read(DoubleSupplier supplier) {
+        this.lock.lock();
+        try {
+            return supplier.getAsDouble();
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    private static Duration averageQueueTime(long totalQueueTimeNanos, long admitted) {
+        return Duration.ofNanos(admitted == 0 ? 0 : totalQueueTimeNanos / admitted);
+    }
+
+    /**
+     * The waiting executions and statistics of a priority; guarded by the lock of the scheduler.
+     */
+    private static final class PriorityClass {
+        private final ArrayDeque<Waiter> waiters = new ArrayDeque<>();
+        private int bypassed;
+        private long admitted;
+        private long rejected;
+        private long totalQueueTimeNanos;
+        private long maxQueueTimeNanos;
+    }
+
+    /**
+     * An execution waiting for a slot; guarded by the lock of the scheduler.
+     */
+    private static final class Waiter {
+        private final Condition condition;
+        private boolean granted;
+
+        private Waiter(Condition condition) {
+            this.condition = condition;
+        }
+    }
+
+    /**
+     * A slot for a running execution.
+     */
+    public final class Slot implements AutoCloseable {
+        private final long queueTimeNanos;
+        private boolean released;
+
+        private Slot(long queueTimeNanos) {
+            this.queueTimeNanos = queueTimeNanos;
+        }
+
+        /**
+         * Returns the time the execution waited for this slot.
+         *
+         * @return The queue time.
+         */
+        public Duration getQueueTime() {
+            return Duration.ofNanos(this.queueTimeNanos);
+        }
+
+        /**
+         * Releases the slot.
+         */
+        @Override
+        public void close() {
+            if (!this.released) {
+                this.released = true;
+                release();
+            }
+        }
+    }
+
+    /**
+     * Statistics of the scheduler.
+     *
+     * @param availableSlots   The number of free slots.
+     * @param queued           The number of executions currently waiting for a slot.
+     * @param admitted         The number of executions that got a slot.
+     * @param rejected         The number of rejected executions.
+     * @param averageQueueTime The average time an admitted execution waited for a slot.
+     * @param priorities       The statistics per priority.
+     */
+    public record Statistics(int availableSlots, int queued, long admitted, long rejected, Duration averageQueueTime,
+                             Map<ExecutionPriority, PriorityStatistics> priorities) {
+    }
+
+    /**
+     * Statistics of the executions of a priority.
+     *
+     * @param queued           The number of executions currently waiting for a slot.
+     * @param admitted         The number of executions that got a slot.
+     * @param rejected         The number of rejected executions.
+     * @param averageQueueTime The average time an admitted execution waited for a slot.
+     * @param maxQueueTime     The longest time an admitted execution waited for a slot.
+     */
+    public record PriorityStatistics(int queued, long admitted, long rejected, Duration averageQueueTime, Duration maxQueueTime) {
+    }
+}
@@ -0,0 +1,126 @@
+package at.jku.dke.task_app.datalog.evaluation;
+
+import at.jku.dke.task_app.datalog.evaluation.exceptions.ExecutionException;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+
+/**
+ * Runs independent executions concurrently on virtual threads.
+ * <p>
+ * Closing the scope cancels all executions that have not finished yet (the interrupted executions kill their processes) and waits for them,
+ * so that no execution outlives the scope; e.g. if the submission has a syntax error, the concurrently running solution is cancelled.
+ * The results are joined in the order chosen by the caller, so that the reported error does not depend on which execution fails first.
+ * Every execution keeps its own {@link at.jku.dke.task_app.datalog.config.DatalogSettings#maxExecutionTime()}.
+ */
+public final class ExecutionScope implements AutoCloseable {
+    private final List<Future<?>> futures;
+    private final List<Thread> threads;
+
+    /**
+     * Creates a new instance of class {@link ExecutionScope}.
+     */
+    public ExecutionScope() {
+        this.futures = new ArrayList<>();
+        this.threads = new ArrayList<>();
+    }
+
+    /**
+     * Starts the execution in a new virtual thread.
+     *
+     * @param execution The execution.
+     * @param <T>       The type of the result.
+     * @return The forked execution.
+     */
+    public <T> Fork<T> fork(Execution<T> execution) {
+        FutureTask<T> future = new FutureTask<>(execution::call);
+        this.futures.add(future);
+        this.threads.add(Thread.ofVirtual().name("execution-", this.threads.size()).start(future));
+        return new Fork<>(future);
+    }
+
+    /**
+     * Cancels all unfinished executions and waits for their termination.
+     * <p>
+     * The threads are joined instead of awaiting the termination of an {@link java.util.concurrent.ExecutorService},
+     * because a cancelled task counts as terminated before its thread has killed the process.
+     */
+    @Override
+    public void close() {
+        for (Future<?> future : this.futures)
+            future.cancel(true);
+
+        boolean interrupted = false;
+        for (Thread thread : this.threads) {
+            while (true) {
+                try {
+                    thread.join();
+                    break;
+                } catch (InterruptedException ex) {
+                    interrupted = true;
+                }
+            }
+        }
+        if (interrupted)
+            Thread.currentThread().interrupt();
+    }
+
+    /**
+     * An execution that can be forked.
+     *
+     * @param <T> The type of the result.
+     */
+    @FunctionalInterface
+    public interface Execution<T> {
+        /**
+         * Executes.
+         *
+         * @return The result.
+         * @throws IOException        If an I/O error occurs.
+         * @throws ExecutionException If the execution fails.
+         */
+        T call() throws IOException, ExecutionException;
+    }
+
+    /**
+     * A forked execution.
+     *
+     * @param <T> The type of the result.
+     */
+    public static final class Fork<T> {
+        private final Future<T> future;
+
+        private Fork(Future<T> future) {
+            this.future = future;
+        }
+
+        /**
+         * Waits for the execution and returns its result.
+         *
+         * @return The result.
+         * @throws IOException        If the execution failed with an I/O error.
+         * @throws ExecutionException If the execution failed (the original exception, e.g. a {@link at.jku.dke.task_app.datalog.evaluation.exceptions.SyntaxException}, is rethrown)
+         *                            or the current thread was interrupted.
+         */
+        public T get() throws IOException, ExecutionException {
+            try {
+                return this.future.get();
+            } catch (InterruptedException ex) {
+                this.future.cancel(true);
+                Thread.currentThread().interrupt();
+                throw new ExecutionException("Execution interrupted", ex);
+            } catch (java.util.concurrent.ExecutionException ex) {
+                switch (ex.getCause()) {
+                    case IOException ioException -> throw ioException;
+                    case ExecutionException executionException -> throw executionException;
+                    case RuntimeException runtimeException -> throw runtimeException;
+                    case Error error -> throw error;
+                    default -> throw new ExecutionException("Execution failed", ex.getCause());
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package at.jku.dke.task_app.datalog.evaluation;
+
+import at.jku.dke.task_app.datalog.data.entities.TermDescription;
+
+import java.util.*;
+
+/**
+ * Encodes facts by appending a suffix to every term that is not an unchecked term.
+ * <p>
+ * The facts are tokenized in a single pass, so that quoted strings may contain {@code .}, {@code ,} or {@code %}.
+ * The suffix of a quoted string is inserted before the closing quote. Comments are removed and each fact is
+ * written on its own line. Unchecked terms are looked up in an index by predicate and position; terms of
+ * predicates without unchecked terms are copied without any lookup.
+ */
+public final class FactEncoder {
+    private static final String LINE_SEPARATOR = System.lineSeparator();
+
+    private final String suffix;
+    private final Map<String, Map<Integer, Set<String>>> uncheckedTerms;
+
+    /**
+     * Creates a new instance of class {@link FactEncoder}.
+     *
+     * @param suffix         The suffix to append to the terms.
+     * @param uncheckedTerms The terms that must not be encoded.
+     */
+    public FactEncoder(String suffix, List<TermDescription> uncheckedTerms) {
+        this.suffix = suffix;
+        this.uncheckedTerms = new HashMap<>();
+        for (TermDescription term : uncheckedTerms) {
+            this.uncheckedTerms
+                .computeIfAbsent(term.predicate().strip(), k -> new HashMap<>())
+                .computeIfAbsent(term.position(), k -> new HashSet<>())
+                .add(removeSpaces(term.term()));
+        }
+    }
+
+    /**
+     * Encodes the given facts.
+     *
+     * @param facts The facts.
+     * @return The encoded facts, one per line.
+     */
+    public String encode(String facts) {
+        int length = facts.length();
+        var result = new StringBuilder(length + length / 2 * this.suffix.length() + 16);
+
+        int i = skipWhitespaceAndComments(facts, 0);
+        while (i < length) {
+            // Predicate
+            int start = i;
+            while (i < length && !isDelimiter(facts.charAt(i)))
+                i++;
+            String predicate = facts.substring(start, i);
+            result.append(predicate);
+            i = skipWhitespaceAndComments(facts, i);
+
+            // Terms
+            if (i < length && facts.charAt(i) == '(') {
+                Map<Integer, Set<String>> predicateTerms = this.uncheckedTerms.get(predicate);
+                result.append('(');
+                int position = 0;
+                char delimiter = ',';
+                i++;
+                while (i < length && delimiter == ',') {
+                    i = skipWhitespaceAndComments(facts, i);
+                    start = i;
+                    i = skipTerm(facts, i);
+                    int end = i;
+                    while (end > start && Character.isWhitespace(facts.charAt(end - 1)))
+                        end--;
+
+                    if (position > 0)
+                        result.append(',');
+                    position++;
+                    this.appendTerm(result, facts, start, end, predicateTerms == null ? null : predicateTerms.get(position));
+
+                    i = skipWhitespaceAndComments(facts, i);
+                    delimiter = i < length ? facts.charAt(i) : ')';
+                    i++;
+                }
+                result.append(')');
+                i = skipWhitespaceAndComments(facts, i);
+            }
+
+            // End of fact
+            if (i < length && facts.charAt(i) == '.')
+                i++;
+            result.append('.').append(LINE_SEPARATOR);
+            i = skipWhitespaceAndComments(facts, i);
+        }
+
+        return result.toString();
+    }
+
+    private void appendTerm(StringBuilder result, String facts, int start, int end, Set<String> uncheckedTerms) {
+        if (uncheckedTerms != null && uncheckedTerms.contains(removeSpaces(facts.substring(start, end)))) {
+            result.append(facts, start, end);
+        } else if (end - start >= 2 && facts.charAt(start) == '"' && facts.charAt(end - 1) == '"') {
+            result.append(facts, start, end - 1).append(this.suffix).append('"');
+        } else {
+            result.append(facts, start, end).append(this.suffix);
+        }
+    }
+
+    /**
+     * Returns the index after the term starting at the given index, i.e. the index of the next top-level {@code ,} or {@code )}.
+     */
+    private static int skipTerm(String facts, int i) {
+        int depth = 0;
+        while (i < facts.length()) {
+            char c = facts.charAt(i);
+            if (c == '"') {
+                int end = facts.indexOf('"', i + 1);
+                i = end < 0 ? facts.length() : end + 1;
+                continue;
+            }
+            if (c == '(') {
+                depth++;
+            } else if (c == ')') {
+                if (depth == 0)
+                    return i;
+                depth--;
+            } else if (c == ',' && depth == 0) {
+                return i;
+            }
+            i++;
+        }
+        return i;
+    }
+
+    private static int skipWhitespaceAndComments(String facts, int i) {
+        while (i < facts.length()) {
+            char c = facts.charAt(i);
+            if (c == '%') {
+                while (i < facts.length() && facts.charAt(i) != '\n')
+                    i++;
+            } else if (Character.isWhitespace(c)) {
+                i++;
+            } else {
+                break;
+            }
+        }
+        return i;
+    }
+
+    private static boolean isDelimiter(char c) {
+        return c == '(' || c == '.' || c == '%' || Character.isWhitespace(c);
+    }
+
+    private static String removeSpaces(String term) {
+        return term.indexOf(' ') < 0 ? term : term.replace(" ", "");
+    }
+}
@@ -0,0 +1,218 @@
+package at.jku.dke.task_app.datalog.evaluation;
+
+import at.jku.dke.task_app.datalog.config.DatalogSettings;
+import at.jku.dke.task_app.datalog.data.entities.TermDescription;
+import at.jku.dke.task_app.datalog.evaluation.engine.Atom;
+import at.jku.dke.task_app.datalog.evaluation.engine.Model;
+import at.jku.dke.task_app.datalog.evaluation.engine.Program;
+import at.jku.dke.task_app.datalog.evaluation.engine.ProgramParser;
+import at.jku.dke.task_app.datalog.evaluation.engine.SemiNaiveEvaluator;
+import at.jku.dke.task_app.datalog.evaluation.exceptions.ExecutionException;
+import at.jku.dke.task_app.datalog.evaluation.exceptions.ExecutionRejectedException;
+import at.jku.dke.task_app.datalog.evaluation.exceptions.ResultTooLargeException;
+import at.jku.dke.task_app.datalog.evaluation.exceptions.SyntaxException;
+import at.jku.dke.task_app.datalog.evaluation.exceptions.UnsupportedProgramException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.util.*;
+
+/**
+ * Executor that evaluates stratified Datalog programs inside the JVM.
+ * <p>
+ * Programs and queries the engine does not support (e.g. disjunction, constraints, aggregates, arithmetic or unstratified negation)
+ * as well as invalid programs are executed by the Datalog executable instead, so that results and error messages stay the same.
+ * The evaluations share the execution slots of the {@link ExecutionScheduler} with the Datalog executable.
+ * This executor is used if {@code datalog.engine} is set to {@code jvm}.
+ */
+@Primary
+@Service
+@ConditionalOnProperty(prefix = "datalog", name = "engine", havingValue = "jvm")
+public class JvmDatalogExecutor implements DatalogExecutor {
+    private static final Logger LOG = LoggerFactory.getLogger(JvmDatalogExecutor.class);
+
+    private final DatalogSettings datalogSettings;
+    private final ExecutionScheduler scheduler;
+    private final DatalogExecutorImpl fallback;
+
+    /**
+     * Creates a new instance of class {@linkplain JvmDatalogExecutor} with its own scheduler.
+     *
+     * @param datalogSettings The datalog settings.
+     * @param fallback        The executor for programs not supported by the engine.
+     */
+    public JvmDatalogExecutor(DatalogSettings datalogSettings, DatalogExecutorImpl fallback) {
+        this(datalogSettings, new ExecutionScheduler(datalogSettings), fallback);
+    }
+
+    /**
+     * Creates a new instance of class {@linkplain JvmDatalogExecutor}.
+     *
+     * @param datalogSettings The datalog settings.
+     * @param scheduler       The scheduler limiting the concurrent executions.
+     * @param fallback        The executor for programs not supported by the engine.
+     */
+    @Autowired
+    public JvmDatalogExecutor(DatalogSettings datalogSettings, ExecutionScheduler scheduler, DatalogExecutorImpl fallback) {
+        this.datalogSettings = datalogSettings;
+        this.scheduler = scheduler;
+        this.fallback = fallback;
+    }
+
+    /**
+     * Executes the datalog binary with the given arguments.
+     *
+     * @param args The arguments for the datalog binary.
+     * @return The output of the datalog binary.
+     * @throws IOException        If an I/O error occurs.
+     * @throws ExecutionException If the process execution fails.
+     */
+    @Override
+    public ExecutionOutput execute(String... args) throws IOException, ExecutionException {
+        return this.fallback.execute(args);
+    }
+
+    /**
+     * Executes the datalog binary with the given input.
+     *
+     * @param input The input for the datalog binary.
+     * @param args  Additional arguments for the datalog binary (e.g. -cautious).
+     * @return The output of the datalog binary.
+     * @throws IOException        If an I/O error occurs.
+     * @throws ExecutionException If the process execution fails.
+     */
+    @Override
+    public ExecutionOutput execute(String input, String[] args) throws IOException, ExecutionException {
+        return this.fallback.execute(input, args);
+    }
+
+    /**
+     * Evaluates the given input (with -nofacts semantics).
+     *
+     * @param facts The datalog facts from the task group.
+     * @param rules The datalog rules from the submission.
+     * @param maxN  Limit integers to [0,<maxN>] (-N option). (can be {@code null})
+     * @return The model formatted like the output of the datalog binary.
+     * @throws IOException        If an I/O error occurs.
+     * @throws ExecutionException If the execution fails.
+     */
+    @Override
+    public String execute(String facts, String rules, Integer maxN) throws IOException, ExecutionException {
+        return this.execute(facts, rules, maxN, null);
+    }
+
+    /**
+     * Evaluates the given input (with -nofacts semantics) and stops after the given number of models.
+     * <p>
+     * Supported programs have exactly one model, so the limit only applies if the program is executed with the datalog binary.
+     *
+     * @param facts     The datalog facts from the task group.
+     * @param rules     The datalog rules from the submission.
+     * @param maxN      Limit integers to [0,<maxN>] (-N option). (can be {@code null})
+     * @param maxModels Compute at most this number of models (-n option). (can be {@code null} to compute all models)
+     * @return The model formatted like the output of the datalog binary.
+     * @throws IOException                If an I/O error occurs.
+     * @throws ExecutionRejectedException If no execution slot is available.
+     * @throws ExecutionException         If the execution fails.
+     */
+    @Override
+    public String execute(String facts, String rules, Integer maxN, Integer maxModels) throws IOException, ExecutionException {
+        if (maxN == null) {
+            try {
+                return this.evaluate(facts + System.lineSeparator() + rules).format(true);
+            } catch (UnsupportedProgramException ex) {
+                LOG.debug("Executing program with datalog binary: {}", ex.getMessage());
+            }
+        }
+        return this.fallback.execute(facts, rules, maxN, maxModels);
+    }
+
+    /**
+     * Evaluates the given input.
+     *
+     * @param facts   The datalog facts from the task group.
+     * @param rules   The datalog rules from the submission.
+     * @param queries The datalog queries from the task.
+     * @return The result of the datalog evaluation.
+     * @throws IOException        If an I/O error occurs.
+     * @throws ExecutionException If the execution fails.
+     * @throws SyntaxException    If the datalog execution fails with a syntax error.
+     */
+    @Override
+    public ExecutionResult query(String facts, String rules, List<String> queries) throws IOException, ExecutionException {
+        return this.query(facts, rules, queries, Collections.emptyList(), true);
+    }
+
+    /**
+     * Evaluates the given input.
+     *
+     * @param facts          The datalog facts from the task group.
+     * @param rules          The datalog rules from the submission.
+     * @param queries        The datalog queries from the task.
+     * @param uncheckedTerms The unchecked terms from the task.
+     * @param encodeFacts    Whether the facts (except in unchecked terms) should be encoded.
+     * @return The result of the datalog evaluation.
+     * @throws IOException        If an I/O error occurs.
+     * @throws ExecutionException If the execution fails.
+     * @throws SyntaxException    If the datalog execution fails with a syntax error.
+     */
+    @Override
+    public ExecutionResult query(String facts, String rules, List<String> queries, List<TermDescription> uncheckedTerms, boolean encodeFacts) throws IOException, ExecutionException {
+        return this.query(facts, rules, queries, uncheckedTerms, encodeFacts, Long.MAX_VALUE);
+    }
+
+    /**
+     * Evaluates the given input and aborts the evaluation as soon as more than the maximum number of facts are derived.
+     *
+     * @param facts          The datalog facts from the task group.
+     * @param rules          The datalog rules from the submission.
+     * @param queries        The datalog queries from the task.
+     * @param uncheckedTerms The unchecked terms from the task.
+     * @param encodeFacts    Whether the facts (except in unchecked terms) should be encoded.
+     * @param maxFacts       The maximum number of derived facts.
+     * @return The result of the datalog evaluation.
+     * @throws IOException                If an I/O error occurs.
+     * @throws ResultTooLargeException    If more than the maximum number of facts are derived.
+     * @throws ExecutionRejectedException If no execution slot is available.
+     * @throws ExecutionException         If the execution fails.
+     * @throws SyntaxException            If the datalog execution fails with a syntax error.
+     */
+    @Override
+    public ExecutionResult query(String facts, String rules, List<String> queries, List<TermDescription> uncheckedTerms, boolean encodeFacts, long maxFacts) throws IOException, ExecutionException {
+        try {
+            String input = (encodeFacts ? this.fallback.encodeFacts(facts, uncheckedTerms) : facts) + System.lineSeparator() +
+                           rules + System.lineSeparator();
+            Program program = ProgramParser.parse(input);
+            Map<String, Atom> atoms = new LinkedHashMap<>();
+            for (String query : queries)
+                atoms.put(DatalogExecutorImpl.getPredicateFromQuery(query), ProgramParser.parseQuery(query, program));
+
+            Model model;
+            try (var slot = this.scheduler.acquire()) {
+                LOG.debug("Acquired execution slot after {} ms", slot.getQueueTime().toMillis());
+                model = SemiNaiveEvaluator.evaluate(program, this.datalogSettings.maxExecutionTime() * 1000L, maxFacts);
+            }
+            Map<String, List<String>> result = new HashMap<>();
+            for (var entry : atoms.entrySet())
+                result.put(entry.getKey(), model.query(entry.getValue()));
+            return new ExecutionResult(model.format(true), result);
+        } catch (UnsupportedProgramException ex) {
+            // The slot is released before, as the datalog binary acquires its own one
+            LOG.debug("Executing program with datalog binary: {}", ex.getMessage());
+            return this.fallback.query(facts, rules, queries, uncheckedTerms, encodeFacts, maxFacts);
+        }
+    }
+
+    private Model evaluate(String input) throws ExecutionException {
+        Program program = ProgramParser.parse(input);
+        try (var slot = this.scheduler.acquire()) {
+            LOG.debug("Acquired execution slot after {} ms", slot.getQueueTime().toMillis());
+            return SemiNaiveEvaluator.evaluate(program, this.datalogSettings.maxExecutionTime() * 1000L);
+        }
+    }
+}
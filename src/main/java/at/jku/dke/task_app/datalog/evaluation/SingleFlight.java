@@ -0,0 +1,110 @@
+package at.jku.dke.task_app.datalog.evaluation;
+
+import at.jku.dke.task_app.datalog.evaluation.exceptions.ExecutionException;
+
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Coalesces concurrent executions with the same key into one execution.
+ * <p>
+ * The first caller of a key runs the execution, all concurrent callers with the same key wait for its result.
+ * Results and failures (e.g. syntax errors or timeouts) are passed to every waiting caller.
+ * If the running caller is interrupted (e.g. because its evaluation has been cancelled), the waiting callers do not
+ * receive the interruption, but one of them runs the execution again.
+ *
+ * @param <T> The type of the result.
+ */
+public final class SingleFlight<T> {
+    private final ConcurrentHashMap<String, CompletableFuture<T>> inFlight;
+    private final LongAdder coalesced;
+
+    /**
+     * Creates a new instance of class {@link SingleFlight}.
+     */
+    public SingleFlight() {
+        this.inFlight = new ConcurrentHashMap<>();
+        this.coalesced = new LongAdder();
+    }
+
+    /**
+     * Runs the execution or waits for the running execution with the same key.
+     *
+     * @param key       The key identifying equal executions.
+     * @param execution The execution.
+     * @return The result of the execution.
+     * @throws IOException        If an I/O error occurs.
+     * @throws ExecutionException If the execution fails or the current thread is interrupted while waiting.
+     */
+    public T execute(String key, ExecutionScope.Execution<T> execution) throws IOException, ExecutionException {
+        while (true) {
+            var future = new CompletableFuture<T>();
+            var running = this.inFlight.putIfAbsent(key, future);
+            if (running == null)
+                return this.run(key, future, execution);
+
+            this.coalesced.increment();
+            try {
+                return running.get();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new ExecutionException("Execution interrupted", ex);
+            } catch (java.util.concurrent.ExecutionException ex) {
+                switch (ex.getCause()) {
+                    case Abandoned ignored -> {
+                        // The running caller has been interrupted, try again
+                    }
+                    case IOException ioException -> throw ioException;
+                    case ExecutionException executionException -> throw executionException;
+                    case RuntimeException runtimeException -> throw runtimeException;
+                    case Error error -> throw error;
+                    default -> throw new ExecutionException("Execution failed", ex.getCause());
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the number of executions that waited for a running execution instead of running themselves.
+     *
+     * @return The number of coalesced executions.
+     */
+    public long getCoalesced() {
+        return this.coalesced.sum();
+    }
+
+    /**
+     * Returns the number of currently running executions.
+     *
+     * @return The number of running executions.
+     */
+    public int getInFlight() {
+        return this.inFlight.size();
+    }
+
+    private T run(String key, CompletableFuture<T> future, ExecutionScope.Execution<T> execution) throws IOException, ExecutionException {
+        // The key is removed before the future is completed, so that callers arriving later do not wait for an abandoned execution
+        T result;
+        try {
+            result = execution.call();
+        } catch (IOException | ExecutionException | RuntimeException | Error ex) {
+            this.inFlight.remove(key, future);
+            future.completeExceptionally(Thread.currentThread().isInterrupted() ? new Abandoned() : ex);
+            throw ex;
+        }
+        this.inFlight.remove(key, future);
+        future.complete(result);
+        return result;
+    }
+
+    /**
+     * Signals waiting callers that the running caller has been interrupted.
+     */
+    private static final class Abandoned extends RuntimeException {
+        private Abandoned() {
+            super(null, null, false, false);
+        }
+    }
+}
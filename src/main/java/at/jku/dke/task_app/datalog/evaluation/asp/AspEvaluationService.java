@@ -4,19 +4,29 @@
 import at.jku.dke.etutor.task_app.dto.GradingDto;
 import at.jku.dke.etutor.task_app.dto.SubmissionMode;
 import at.jku.dke.etutor.task_app.dto.SubmitSubmissionDto;
+import at.jku.dke.task_app.datalog.data.entities.AspTask;
 import at.jku.dke.task_app.datalog.data.repositories.AspTaskRepository;
 import at.jku.dke.task_app.datalog.dto.AspSubmissionDto;
 import at.jku.dke.task_app.datalog.dto.DatalogSubmissionDto;
 import at.jku.dke.task_app.datalog.evaluation.DatalogExecutor;
+import at.jku.dke.task_app.datalog.evaluation.EvaluationContext;
+import at.jku.dke.task_app.datalog.evaluation.EvaluationMetrics;
 import at.jku.dke.task_app.datalog.evaluation.EvaluationService;
+import at.jku.dke.task_app.datalog.evaluation.ExecutionPriority;
+import at.jku.dke.task_app.datalog.evaluation.ExecutionScope;
 import at.jku.dke.task_app.datalog.evaluation.asp.analysis.AspAnalysisImpl;
+import at.jku.dke.task_app.datalog.evaluation.asp.analysis.AspConsequences;
 import at.jku.dke.task_app.datalog.evaluation.exceptions.AnalysisException;
 import at.jku.dke.task_app.datalog.evaluation.exceptions.ExecutionException;
+import at.jku.dke.task_app.datalog.evaluation.exceptions.ExecutionRejectedException;
+import at.jku.dke.task_app.datalog.evaluation.exceptions.ResultTooLargeException;
 import at.jku.dke.task_app.datalog.evaluation.exceptions.SyntaxException;
 import jakarta.persistence.EntityNotFoundException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.MessageSource;
+import org.springframework.dao.DataAccessException;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.web.server.ResponseStatusException;
@@ -35,29 +45,58 @@
 @Service
 public class AspEvaluationService implements EvaluationService<AspSubmissionDto> {
     private static final Logger LOG = LoggerFactory.getLogger(AspEvaluationService.class);
+    private static final String TASK_TYPE = "asp";
 
     private final AspTaskRepository taskRepository;
     private final MessageSource messageSource;
     private final DatalogExecutor executor;
+    private final EvaluationMetrics metrics;
 
     /**
-     * Creates a new instance of class {@link AspEvaluationService}.
+     * Creates a new instance of class {@link AspEvaluationService} without metrics.
      *
      * @param taskRepository The task repository.
      * @param messageSource  The message source.
      * @param executor       The datalog executor.
      */
     public AspEvaluationService(AspTaskRepository taskRepository, MessageSource messageSource, DatalogExecutor executor) {
+        this(taskRepository, messageSource, executor, EvaluationMetrics.disabled());
+    }
+
+    /**
+     * Creates a new instance of class {@link AspEvaluationService}.
+     *
+     * @param taskRepository The task repository.
+     * @param messageSource  The message source.
+     * @param executor       The datalog executor.
+     * @param metrics        The metrics recording the stages of the evaluations.
+     */
+    @Autowired
+    public AspEvaluationService(AspTaskRepository taskRepository, MessageSource messageSource, DatalogExecutor executor, EvaluationMetrics metrics) {
         this.taskRepository = taskRepository;
         this.messageSource = messageSource;
         this.executor = executor;
+        this.metrics = metrics;
     }
 
     @Override
     public GradingDto evaluate(SubmitSubmissionDto<AspSubmissionDto> submission) {
+        try (var ignored = ExecutionPriority.enter(ExecutionPriority.of(submission.mode()));
+             var context = EvaluationContext.enter(new EvaluationContext(TASK_TYPE, submission.mode(), submission.taskId()))) {
+            return this.evaluateSubmission(submission);
+        }
+    }
+
+    /**
+     * Evaluates the submission with the priority of the current thread.
+     *
+     * @param submission The input to evaluate.
+     * @return The evaluation result.
+     * @throws ResponseStatusException If an internal error occurs.
+     */
+    private GradingDto evaluateSubmission(SubmitSubmissionDto<AspSubmissionDto> submission) {
         // find task
-        var task = this.taskRepository.findByIdWithTaskGroup(submission.taskId())
-            .orElseThrow(() -> new EntityNotFoundException("Task " + submission.taskId() + " does not exist."));
+        var task = this.findTask(submission.taskId());
 
         // prepare
         LOG.info("Evaluating input for asp-task {} with mode {} and feedback-level {}", submission.taskId(), submission.mode(), submission.feedbackLevel());
@@ -68,48 +107,170 @@ public GradingDto evaluate(SubmitSubmissionDto<AspSubmissionDto> submission) {
             task.getTaskGroup().getDiagnoseFacts();
         String solutionResult;
         String submissionResult;
+        var storedSolutionResult = submission.mode() == SubmissionMode.SUBMIT ?
+            task.getSubmissionSolutionResult() :
+            task.getDiagnoseSolutionResult();
+        // the number of models is only limited in submit mode, as diagnose shows the output and the missing and superfluous models
+        Integer solutionModels = submission.mode() == SubmissionMode.SUBMIT && storedSolutionResult != null ?
+            AspAnalysisImpl.countModels(storedSolutionResult) :
+            null;
 
-        // execute submission
-        try {
-            submissionResult = this.executor.execute(facts, submission.submission().input(), task.getMaxN());
-        } catch (SyntaxException ex) {
-            LOG.warn("Syntax error in input for task {}", submission.taskId());
+        // compare brave and cautious consequences first (only in submit mode, as the consequences do not tell which models differ)
+        if (submission.mode() == SubmissionMode.SUBMIT && solutionModels != null && solutionModels > 1 &&
+            !this.consequencesMatch(facts, submission.submission().input(), task.getMaxN(), AspConsequences.of(storedSolutionResult))) {
+            LOG.info("Consequences of input for task {} differ from the solution", submission.taskId());
             List<CriterionDto> criteria = new ArrayList<>();
             criteria.add(new CriterionDto(
                 this.messageSource.getMessage("criterium.syntax", null, locale),
                 null,
-                false,
-                "<pre>" + HtmlUtils.htmlEscape(ex.getMessage().replaceFirst("line \\d+: ", "").trim()) + "</pre>"));
-            return new GradingDto(task.getMaxPoints(), BigDecimal.ZERO, this.messageSource.getMessage("syntaxError", null, locale), criteria);
-        } catch (ExecutionException | IOException ex) {
-            LOG.error("Error while evaluating input for task {}", submission.taskId(), ex);
-            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Error while evaluating input for task " + submission.taskId(), ex);
+                true,
+                this.messageSource.getMessage("criterium.syntax.valid", null, locale)));
+            if (submission.feedbackLevel() > 0) {
+                criteria.add(new CriterionDto(
+                    this.messageSource.getMessage("criterium.consequences", null, locale),
+                    null,
+                    false,
+                    this.messageSource.getMessage("criterium.consequences.invalid", null, locale)));
+            }
+            return new GradingDto(task.getMaxPoints(), BigDecimal.ZERO, this.messageSource.getMessage("incorrect", null, locale), criteria);
         }
 
-        // execute solution
-        if (submission.mode() == SubmissionMode.RUN) {
-            solutionResult = submissionResult;
-        } else {
+        // the solution (if not stored) runs concurrently with the submission and is cancelled if the submission fails
+        try (var scope = new ExecutionScope()) {
+            ExecutionScope.Fork<String> solutionFork = submission.mode() != SubmissionMode.RUN && storedSolutionResult == null ?
+                scope.fork(() -> this.executor.execute(facts, task.getSolution(), task.getMaxN())) :
+                null;
+
+            // execute submission (one model more than the solution has is enough to know that the submission is wrong)
             try {
-                solutionResult = this.executor.execute(facts, task.getSolution(), task.getMaxN());
+                submissionResult = solutionModels == null ?
+                    this.executor.execute(facts, submission.submission().input(), task.getMaxN()) :
+                    this.executor.execute(facts, submission.submission().input(), task.getMaxN(), solutionModels + 1);
+            } catch (SyntaxException ex) {
+                LOG.warn("Syntax error in input for task {}", submission.taskId());
+                List<CriterionDto> criteria = new ArrayList<>();
+                criteria.add(new CriterionDto(
+                    this.messageSource.getMessage("criterium.syntax", null, locale),
+                    null,
+                    false,
+                    "<pre>" + HtmlUtils.htmlEscape(ex.getMessage().replaceFirst("line \\d+: ", "").trim()) + "</pre>"));
+                return new GradingDto(task.getMaxPoints(), BigDecimal.ZERO, this.messageSource.getMessage("syntaxError", null, locale), criteria);
+            } catch (ExecutionRejectedException ex) {
+                LOG.warn("Rejected evaluation of input for task {}", submission.taskId());
+                throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, ex.getMessage(), ex);
+            } catch (ResultTooLargeException ex) {
+                LOG.warn("Result of input for task {} is too large: {}", submission.taskId(), ex.getMessage());
+                List<CriterionDto> criteria = new ArrayList<>();
+                criteria.add(new CriterionDto(
+                    this.messageSource.getMessage("criterium.resultTooLarge", null, locale),
+                    null,
+                    false,
+                    this.messageSource.getMessage("criterium.resultTooLarge.feedback", null, locale)));
+                return new GradingDto(task.getMaxPoints(), BigDecimal.ZERO, this.messageSource.getMessage("resultTooLarge", null, locale), criteria);
             } catch (ExecutionException | IOException ex) {
-                LOG.error("Error while evaluating solution for task {}", submission.taskId(), ex);
-                throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Error while evaluating solution for task " + submission.taskId(), ex);
+                LOG.error("Error while evaluating input for task {}", submission.taskId(), ex);
+                throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Error while evaluating input for task " + submission.taskId(), ex);
+            }
+
+            if (solutionModels != null && AspAnalysisImpl.countModels(submissionResult) > solutionModels) {
+                LOG.info("Input for task {} has more than {} models", submission.taskId(), solutionModels);
+                List<CriterionDto> criteria = new ArrayList<>();
+                criteria.add(new CriterionDto(
+                    this.messageSource.getMessage("criterium.syntax", null, locale),
+                    null,
+                    true,
+                    this.messageSource.getMessage("criterium.syntax.valid", null, locale)));
+                if (submission.feedbackLevel() > 0) {
+                    criteria.add(new CriterionDto(
+                        this.messageSource.getMessage("criterium.count", null, locale),
+                        null,
+                        false,
+                        this.messageSource.getMessage("criterium.count.tooMany", new Object[]{solutionModels}, locale)));
+                }
+                return new GradingDto(task.getMaxPoints(), BigDecimal.ZERO, this.messageSource.getMessage("incorrect", null, locale), criteria);
+            }
+
+            // execute solution (or wait for the concurrently running solution)
+            if (submission.mode() == SubmissionMode.RUN) {
+                solutionResult = submissionResult;
+            } else if (storedSolutionResult != null) {
+                solutionResult = storedSolutionResult;
+            } else {
+                try {
+                    solutionResult = solutionFork.get();
+                    this.storeSolutionResult(task, submission.mode(), solutionResult);
+                } catch (ExecutionRejectedException ex) {
+                    LOG.warn("Rejected evaluation of solution for task {}", submission.taskId());
+                    throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, ex.getMessage(), ex);
+                } catch (ExecutionException | IOException ex) {
+                    LOG.error("Error while evaluating solution for task {}", submission.taskId(), ex);
+                    throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Error while evaluating solution for task " + submission.taskId(), ex);
+                }
             }
         }
 
         // analyze, grade, feedback
         try {
-            var analysis = new AspAnalysisImpl(solutionResult, submissionResult);
-            var points = analysis.isCorrect() ? task.getMaxPoints() : BigDecimal.ZERO;
-            var reporter = new AspReport(this.messageSource, locale, submission.mode(), submission.feedbackLevel(), analysis, submissionResult);
-            return new GradingDto(task.getMaxPoints(), points, reporter.getGeneralFeedback(), reporter.getCriteria());
+            AspAnalysisImpl analysis;
+            try (var ignored = this.metrics.stage(EvaluationMetrics.Stage.ANALYSIS)) {
+                analysis = new AspAnalysisImpl(solutionResult, submissionResult);
+            }
+            BigDecimal points;
+            try (var ignored = this.metrics.stage(EvaluationMetrics.Stage.GRADING)) {
+                points = analysis.isCorrect() ? task.getMaxPoints() : BigDecimal.ZERO;
+            }
+            try (var ignored = this.metrics.stage(EvaluationMetrics.Stage.REPORT)) {
+                var reporter = new AspReport(this.messageSource, locale, submission.mode(), submission.feedbackLevel(), analysis, submissionResult);
+                return new GradingDto(task.getMaxPoints(), points, reporter.getGeneralFeedback(), reporter.getCriteria());
+            }
         } catch (AnalysisException ex) {
             LOG.error("Error while analyzing query result for task {}", submission.taskId(), ex);
             throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Error while analysing query result for task " + submission.taskId(), ex);
         }
     }
 
+    /**
+     * Compares the brave and cautious consequences of the submission with the consequences of the solution.
+     * <p>
+     * If the consequences cannot be computed (e.g. because of a syntax error or a predicate used with another arity than in the solution),
+     * the submission is treated as matching, so that the full enumeration of the models decides.
+     *
+     * @param facts        The datalog facts from the task group.
+     * @param rules        The datalog rules from the submission.
+     * @param maxN         Limit integers to [0,<maxN>] (-N option). (can be {@code null})
+     * @param consequences The consequences of the solution.
+     * @return {@code false} if the consequences differ, i.e. the models of the submission cannot match the models of the solution.
+     * @throws ResponseStatusException If the execution is rejected.
+     */
+    private boolean consequencesMatch(String facts, String rules, Integer maxN, AspConsequences consequences) {
+        if (consequences.isEmpty())
+            return true;
+
+        String input = facts + System.lineSeparator() + rules + System.lineSeparator() + consequences.getQueryProgram();
+        try (var scope = new ExecutionScope()) {
+            var cautiousFork = scope.fork(() -> this.executor.execute(input, maxN != null ? new String[]{"-nofacts", "-N=" + maxN, "-cautious"} : new String[]{"-nofacts", "-cautious"}));
+            var brave = this.executor.execute(input, maxN != null ? new String[]{"-nofacts", "-N=" + maxN, "-brave"} : new String[]{"-nofacts", "-brave"});
+            if (brave.exitCode() != 0)
+                return true;
+            var cautious = cautiousFork.get();
+            if (cautious.exitCode() != 0)
+                return true;
+            return consequences.matches(brave.output(), cautious.output());
+        } catch (ExecutionRejectedException ex) {
+            LOG.warn("Rejected computation of consequences");
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, ex.getMessage(), ex);
+        } catch (ExecutionException | IOException ex) {
+            LOG.debug("Could not compute consequences, enumerating all models", ex);
+            return true;
+        }
+    }
+
+    @Override
+    public GradingDto evaluationFailed(SubmitSubmissionDto<AspSubmissionDto> submission) {
+        BigDecimal maxPoints = this.taskRepository.findById(submission.taskId()).map(AspTask::getMaxPoints).orElse(BigDecimal.ZERO);
+        return new GradingDto(maxPoints, BigDecimal.ZERO, this.messageSource.getMessage("evaluationFailed", null, Locale.of(submission.language())), List.of());
+    }
+
     /**
      * Executes the submission and returns the query result.
      *
@@ -119,9 +280,22 @@ public GradingDto evaluate(SubmitSubmissionDto<AspSubmissionDto> submission) {
      */
     @Override
     public DatalogExecutor.ExecutionResult execute(SubmitSubmissionDto<DatalogSubmissionDto> submission) {
+        try (var ignored = ExecutionPriority.enter(ExecutionPriority.of(submission.mode()));
+             var context = EvaluationContext.enter(new EvaluationContext(TASK_TYPE, submission.mode(), submission.taskId()))) {
+            return this.executeSubmission(submission);
+        }
+    }
+
+    /**
+     * Executes the submission with the priority of the current thread.
+     *
+     * @param submission The submission data.
+     * @return The query result.
+     * @throws ResponseStatusException If an error occurs.
+     */
+    private DatalogExecutor.ExecutionResult executeSubmission(SubmitSubmissionDto<DatalogSubmissionDto> submission) {
         // find task
-        var task = this.taskRepository.findByIdWithTaskGroup(submission.taskId())
-            .orElseThrow(() -> new EntityNotFoundException("Task " + submission.taskId() + " does not exist."));
+        var task = this.findTask(submission.taskId());
 
         // prepare
         LOG.info("Executing input for asp-task {} with mode {}", submission.taskId(), submission.mode());
@@ -137,9 +311,43 @@ public DatalogExecutor.ExecutionResult execute(SubmitSubmissionDto<DatalogSubmis
         } catch (SyntaxException ex) {
             LOG.error("Error while executing input for task {}", submission.taskId(), ex);
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, ex.getMessage(), ex);
+        } catch (ExecutionRejectedException ex) {
+            LOG.warn("Rejected execution of input for task {}", submission.taskId());
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, ex.getMessage(), ex);
         } catch (ExecutionException | IOException ex) {
             LOG.error("Error while executing input for task {}", submission.taskId(), ex);
             throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Error while executing input for task " + submission.taskId(), ex);
         }
     }
+
+    /**
+     * Stores the solution result of a task that has no stored result yet (e.g. a task created before the results were stored
+     * or after the facts of its task group changed), so that later evaluations do not execute the solution again.
+     *
+     * @param task   The task.
+     * @param mode   The submission mode.
+     * @param result The DLV output of the solution.
+     */
+    private void storeSolutionResult(AspTask task, SubmissionMode mode, String result) {
+        try {
+            if (this.taskRepository.storeSolutionResult(task, mode, result))
+                LOG.info("Stored solution result of task {} for mode {}", task.getId(), mode);
+        } catch (DataAccessException ex) {
+            LOG.warn("Could not store solution result of task {} for mode {}", task.getId(), mode, ex);
+        }
+    }
+
+    /**
+     * Loads the task with its task group.
+     *
+     * @param taskId The task identifier.
+     * @return The task.
+     * @throws EntityNotFoundException If the task does not exist.
+     */
+    private AspTask findTask(long taskId) {
+        try (var ignored = this.metrics.stage(EvaluationMetrics.Stage.TASK_LOAD)) {
+            return this.taskRepository.findByIdWithTaskGroup(taskId)
+                .orElseThrow(() -> new EntityNotFoundException("Task " + taskId + " does not exist."));
+        }
+    }
 }
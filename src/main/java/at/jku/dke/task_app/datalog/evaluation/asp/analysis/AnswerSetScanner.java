@@ -0,0 +1,208 @@
+package at.jku.dke.task_app.datalog.evaluation.asp.analysis;
+
+import at.jku.dke.task_app.datalog.evaluation.DatalogPredicate;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.*;
+
+/**
+ * Scans the answer sets printed by the datalog binary in a single pass.
+ * <p>
+ * Every <code>{...}</code> is an answer set; its atoms are separated by commas or dots. Commas inside nested parentheses
+ * or quoted strings do not separate terms, e.g. {@code p(f(a,b),"x, y")} has the two terms {@code f(a,b)} and {@code "x, y"}.
+ * Atoms without terms (e.g. {@code a}) are facts of arity 0.
+ */
+final class AnswerSetScanner {
+    private final List<Set<DatalogPredicate>> models;
+    private final StringBuilder name;
+    private final StringBuilder term;
+    private final List<String> terms;
+    private Map<String, List<String[]>> model;
+    private String lastName;
+    private List<String[]> lastFacts;
+    private int depth;
+    private boolean quoted;
+    private boolean escaped;
+
+    /**
+     * Creates a new instance of class {@link AnswerSetScanner}.
+     */
+    AnswerSetScanner() {
+        this.models = new ArrayList<>();
+        this.name = new StringBuilder();
+        this.term = new StringBuilder();
+        this.terms = new ArrayList<>();
+    }
+
+    /**
+     * Scans the answer sets of the given output.
+     *
+     * @param output The output of the datalog binary.
+     * @return The answer sets.
+     */
+    static List<Set<DatalogPredicate>> scan(CharSequence output) {
+        var scanner = new AnswerSetScanner();
+        for (int i = 0; i < output.length(); i++)
+            scanner.accept(output.charAt(i));
+        return scanner.getModels();
+    }
+
+    /**
+     * Scans the answer sets read from the given reader.
+     *
+     * @param reader The reader providing the output of the datalog binary.
+     * @return The answer sets.
+     * @throws IOException If an I/O error occurs.
+     */
+    static List<Set<DatalogPredicate>> scan(Reader reader) throws IOException {
+        var scanner = new AnswerSetScanner();
+        char[] buffer = new char[8192];
+        int read;
+        while ((read = reader.read(buffer)) != -1) {
+            for (int i = 0; i < read; i++)
+                scanner.accept(buffer[i]);
+        }
+        return scanner.getModels();
+    }
+
+    /**
+     * Counts the answer sets of the given output without building them.
+     *
+     * @param output The output of the datalog binary.
+     * @return The number of answer sets.
+     */
+    static int count(CharSequence output) {
+        int count = 0;
+        boolean inModel = false;
+        boolean inString = false;
+        for (int i = 0; i < output.length(); i++) {
+            char c = output.charAt(i);
+            if (inString) {
+                if (c == '\\')
+                    i++;
+                else if (c == '"')
+                    inString = false;
+            } else if (c == '"' && inModel) {
+                inString = true;
+            } else if (c == '{' && !inModel) {
+                inModel = true;
+            } else if (c == '}' && inModel) {
+                inModel = false;
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Scans the next character of the output.
+     *
+     * @param c The character.
+     */
+    void accept(char c) {
+        if (this.model == null) {
+            if (c == '{')
+                this.model = new HashMap<>();
+            return;
+        }
+
+        if (this.depth == 0) {
+            switch (c) {
+                case '(' -> this.depth = 1;
+                case '}' -> {
+                    this.endAtom();
+                    this.endModel();
+                }
+                case ',', '.', ' ', '\t', '\r', '\n' -> this.endAtom();
+                default -> this.name.append(c);
+            }
+            return;
+        }
+
+        if (this.quoted) {
+            this.term.append(c);
+            if (this.escaped)
+                this.escaped = false;
+            else if (c == '\\')
+                this.escaped = true;
+            else if (c == '"')
+                this.quoted = false;
+            return;
+        }
+
+        switch (c) {
+            case '"' -> {
+                this.quoted = true;
+                this.term.append(c);
+            }
+            case '(' -> {
+                this.depth++;
+                this.term.append(c);
+            }
+            case ')' -> {
+                this.depth--;
+                if (this.depth == 0) {
+                    this.endTerm();
+                    this.endAtom();
+                } else {
+                    this.term.append(c);
+                }
+            }
+            case ',' -> {
+                if (this.depth == 1)
+                    this.endTerm();
+                else
+                    this.term.append(c);
+            }
+            default -> {
+                if (!this.term.isEmpty() || !Character.isWhitespace(c))
+                    this.term.append(c);
+            }
+        }
+    }
+
+    /**
+     * Returns the answer sets scanned so far.
+     *
+     * @return The completed answer sets.
+     */
+    List<Set<DatalogPredicate>> getModels() {
+        return this.models;
+    }
+
+    private void endTerm() {
+        int length = this.term.length();
+        while (length > 0 && Character.isWhitespace(this.term.charAt(length - 1)))
+            length--;
+        if (length > 0 || !this.terms.isEmpty())
+            this.terms.add(this.term.substring(0, length));
+        this.term.setLength(0);
+    }
+
+    private void endAtom() {
+        if (this.name.isEmpty())
+            return;
+
+        // atoms of the same predicate are usually printed one after another
+        if (this.lastFacts == null || !this.lastName.contentEquals(this.name)) {
+            this.lastName = this.name.toString();
+            this.lastFacts = this.model.computeIfAbsent(this.lastName, k -> new ArrayList<>());
+        }
+        this.lastFacts.add(this.terms.toArray(String[]::new));
+        this.name.setLength(0);
+        this.terms.clear();
+    }
+
+    private void endModel() {
+        // sorted, because the order of the atoms within a model is irrelevant
+        Set<DatalogPredicate> predicates = HashSet.newHashSet(this.model.size());
+        for (var entry : this.model.entrySet()) {
+            entry.getValue().sort(Arrays::compare);
+            predicates.add(DatalogPredicate.ofTerms(entry.getKey(), entry.getValue()));
+        }
+        this.models.add(predicates);
+        this.model = null;
+        this.lastFacts = null;
+    }
+}
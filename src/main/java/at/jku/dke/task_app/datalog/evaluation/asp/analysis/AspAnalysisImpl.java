@@ -4,16 +4,12 @@
 import at.jku.dke.task_app.datalog.evaluation.exceptions.AnalysisException;
 
 import java.util.*;
-import java.util.regex.Pattern;
-import java.util.stream.Collectors;
 
 /**
  * Service that evaluates the ASP execution results.
  */
 public class AspAnalysisImpl implements AspAnalysis {
 
-    private static final Pattern MODEL_PATTERN = Pattern.compile("\\{([^\\{\\}]*)\\}", Pattern.MULTILINE);
-    private static final Pattern PREDICATE_PATTERN = Pattern.compile("([\\w\\d]+?)\\((.*?)\\)", Pattern.MULTILINE);
     private boolean isCorrect;
     private boolean hasSameAmountOfModels;
     private List<Set<DatalogPredicate>> missingModels;
@@ -105,7 +101,7 @@ public List<Set<DatalogPredicate>> getSuperfluousModels() {
     /**
      * Analyzes the result.
      * <p>
-     * This is just a quite primitive implementation of the analysis.
+     * The models are compared as canonical answer sets, so the comparison takes linear time in the number of models.
      *
      * @throws AnalysisException If the analysis fails.
      */
@@ -124,20 +120,53 @@ private void analyze() throws AnalysisException {
             return;
         }
 
-        // Check equality of models
-        for (Set<DatalogPredicate> model : this.solutionResult) {
-            if (!this.submissionResult.contains(model)) {
-                this.missingModels.add(model);
+        // Check equality of models (multiset difference of the canonical answer sets)
+        var dictionary = new AtomDictionary();
+        var solutionSets = this.solutionResult.stream().map(dictionary::canonicalize).toList();
+        var submissionSets = this.submissionResult.stream().map(dictionary::canonicalize).toList();
+        var solutionCounts = count(solutionSets);
+        var submissionCounts = count(submissionSets);
+        for (int i = 0; i < solutionSets.size(); i++) {
+            if (!remove(submissionCounts, solutionSets.get(i))) {
+                this.missingModels.add(this.solutionResult.get(i));
             }
         }
-        for (Set<DatalogPredicate> model : this.submissionResult) {
-            if (!this.solutionResult.contains(model)) {
-                this.superfluousModels.add(model);
+        for (int i = 0; i < submissionSets.size(); i++) {
+            if (!remove(solutionCounts, submissionSets.get(i))) {
+                this.superfluousModels.add(this.submissionResult.get(i));
             }
         }
         this.isCorrect = this.missingModels.isEmpty() && this.superfluousModels.isEmpty();
     }
 
+    private static Map<AtomDictionary.AnswerSet, Integer> count(List<AtomDictionary.AnswerSet> answerSets) {
+        Map<AtomDictionary.AnswerSet, Integer> counts = HashMap.newHashMap(answerSets.size());
+        for (AtomDictionary.AnswerSet answerSet : answerSets)
+            counts.merge(answerSet, 1, Integer::sum);
+        return counts;
+    }
+
+    private static boolean remove(Map<AtomDictionary.AnswerSet, Integer> counts, AtomDictionary.AnswerSet answerSet) {
+        Integer count = counts.get(answerSet);
+        if (count == null)
+            return false;
+        if (count == 1)
+            counts.remove(answerSet);
+        else
+            counts.put(answerSet, count - 1);
+        return true;
+    }
+
+    /**
+     * Counts the models of the datalog output.
+     *
+     * @param result The result.
+     * @return The number of models.
+     */
+    public static int countModels(String result) {
+        return AnswerSetScanner.count(result);
+    }
+
     /**
      * Parses the datalog output to a set of predicates.
      *
@@ -145,32 +174,6 @@ private void analyze() throws AnalysisException {
      * @return The set of predicates.
      */
     private static List<Set<DatalogPredicate>> parseResult(String result) {
-        // Parse
-        List<Map<String, List<String>>> data = new ArrayList<>();
-        var modelMatcher = MODEL_PATTERN.matcher(result);
-        while (modelMatcher.find()) {
-            var group = modelMatcher.group(1);
-            var predicateMatcher = PREDICATE_PATTERN.matcher(group);
-            Map<String, List<String>> predicates = new HashMap<>();
-            while (predicateMatcher.find()) {
-                var predicate = predicateMatcher.group(1);
-                var args = predicateMatcher.group(2);
-
-                if (predicates.containsKey(predicate)) {
-                    predicates.get(predicate).add(args);
-                } else {
-                    predicates.put(predicate, new ArrayList<>(List.of(args)));
-                }
-            }
-            data.add(predicates);
-        }
-
-        // Convert
-        return data.stream()
-            .map(x -> x.entrySet()
-                .stream()
-                .map(e -> new DatalogPredicate(e.getKey(), e.getValue()))
-                .collect(Collectors.toSet()))
-            .toList();
+        return AnswerSetScanner.scan(result);
     }
 }
@@ -0,0 +1,150 @@
+package at.jku.dke.task_app.datalog.evaluation.asp.analysis;
+
+import at.jku.dke.task_app.datalog.evaluation.DatalogFact;
+import at.jku.dke.task_app.datalog.evaluation.DatalogPredicate;
+
+import java.util.*;
+
+/**
+ * The brave and cautious consequences of a solution, used to reject submissions without comparing every answer set.
+ * <p>
+ * The brave consequences are the atoms that are true in at least one answer set, the cautious consequences are the atoms
+ * that are true in all answer sets. If the consequences of a submission differ from the ones of the solution (restricted to the
+ * predicates of the solution), the answer sets cannot be equal. As the datalog binary only computes consequences of a query,
+ * {@link #getQueryProgram()} wraps every predicate of the solution into a single query predicate.
+ */
+public final class AspConsequences {
+    private static final String PREFIX = "etutor__c__";
+    private static final String NIL = PREFIX + "nil";
+
+    private final List<String> names;
+    private final List<Integer> arities;
+    private final int maxArity;
+    private final Set<String> brave;
+    private final Set<String> cautious;
+
+    private AspConsequences(Map<String, Integer> signature, Set<String> brave, Set<String> cautious) {
+        this.names = List.copyOf(signature.keySet());
+        this.arities = List.copyOf(signature.values());
+        this.maxArity = this.arities.stream().mapToInt(Integer::intValue).max().orElse(0);
+        this.brave = brave;
+        this.cautious = cautious;
+    }
+
+    /**
+     * Computes the consequences of the given solution result.
+     *
+     * @param solutionResult The answer sets of the solution, as printed by the datalog binary.
+     * @return The consequences of the solution.
+     */
+    public static AspConsequences of(String solutionResult) {
+        Map<String, Integer> signature = new LinkedHashMap<>();
+        Set<String> brave = new HashSet<>();
+        Set<String> cautious = null;
+        for (Set<DatalogPredicate> model : AnswerSetScanner.scan(solutionResult)) {
+            Set<String> atoms = new HashSet<>();
+            for (DatalogPredicate predicate : model) {
+                signature.putIfAbsent(predicate.getName(), predicate.getArity());
+                for (DatalogFact fact : predicate.getFacts())
+                    atoms.add(atom(predicate.getName(), Arrays.asList(fact.getTerms())));
+            }
+            brave.addAll(atoms);
+            if (cautious == null)
+                cautious = atoms;
+            else
+                cautious.retainAll(atoms);
+        }
+        return new AspConsequences(signature, brave, cautious == null ? Set.of() : cautious);
+    }
+
+    /**
+     * Returns the rules and the query that have to be appended to a program to compute its consequences
+     * with the {@code -brave} or {@code -cautious} option of the datalog binary.
+     *
+     * @return The program text.
+     */
+    public String getQueryProgram() {
+        var builder = new StringBuilder();
+        for (int i = 0; i < this.names.size(); i++) {
+            int arity = this.arities.get(i);
+            List<String> args = new ArrayList<>();
+            for (int j = 0; j < arity; j++)
+                args.add("X" + j);
+
+            builder.append(PREFIX).append('(').append(PREFIX).append('p').append(i);
+            for (int j = 0; j < this.maxArity; j++)
+                builder.append(", ").append(j < arity ? args.get(j) : NIL);
+            builder.append(") :- ").append(this.names.get(i));
+            if (arity > 0)
+                builder.append('(').append(String.join(", ", args)).append(')');
+            builder.append(".\n");
+        }
+
+        builder.append(PREFIX).append("(P");
+        for (int j = 0; j < this.maxArity; j++)
+            builder.append(", X").append(j);
+        return builder.append(")?\n").toString();
+    }
+
+    /**
+     * Returns whether the consequences of a submission equal the consequences of the solution.
+     *
+     * @param braveOutput    The output of the datalog binary for the submission with {@link #getQueryProgram()} and the {@code -brave} option.
+     * @param cautiousOutput The output of the datalog binary for the submission with {@link #getQueryProgram()} and the {@code -cautious} option.
+     * @return {@code true} if brave and cautious consequences are equal; {@code false} if the answer sets of the submission cannot match.
+     */
+    public boolean matches(String braveOutput, String cautiousOutput) {
+        return this.brave.equals(this.parse(braveOutput)) && this.cautious.equals(this.parse(cautiousOutput));
+    }
+
+    /**
+     * Returns whether the solution has any predicates the consequences can be computed for.
+     *
+     * @return {@code true} if the solution contains at least one atom.
+     */
+    public boolean isEmpty() {
+        return this.names.isEmpty();
+    }
+
+    private Set<String> parse(String output) {
+        Set<String> result = new HashSet<>();
+        for (String line : output.split("\\R")) {
+            List<String> tuple = split(line);
+            if (tuple.isEmpty() || !tuple.getFirst().startsWith(PREFIX + 'p'))
+                continue;
+
+            int index = Integer.parseInt(tuple.getFirst().substring(PREFIX.length() + 1));
+            int arity = this.arities.get(index);
+            result.add(atom(this.names.get(index), tuple.subList(1, 1 + arity)));
+        }
+        return result;
+    }
+
+    private static List<String> split(String line) {
+        List<String> terms = new ArrayList<>();
+        var term = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (c == '\\' && quoted && i + 1 < line.length()) {
+                term.append(c).append(line.charAt(++i));
+                continue;
+            }
+            if (c == '"')
+                quoted = !quoted;
+            if (c == ',' && !quoted) {
+                terms.add(term.toString().strip());
+                term.setLength(0);
+            } else {
+                term.append(c);
+            }
+        }
+        if (!term.isEmpty())
+            terms.add(term.toString().strip());
+        return terms;
+    }
+
+    private static String atom(String name, List<String> terms) {
+        return name + '(' + String.join(",", terms) + ')';
+    }
+}
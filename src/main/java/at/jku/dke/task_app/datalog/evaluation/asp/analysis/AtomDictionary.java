@@ -0,0 +1,110 @@
+package at.jku.dke.task_app.datalog.evaluation.asp.analysis;
+
+import at.jku.dke.task_app.datalog.evaluation.DatalogFact;
+import at.jku.dke.task_app.datalog.evaluation.DatalogPredicate;
+
+import java.util.*;
+
+/**
+ * Assigns an integer identifier to every distinct atom, so that answer sets can be compared as sorted arrays of identifiers.
+ * <p>
+ * The same dictionary has to be used for the solution and the submission result, so that equal atoms get the same identifier.
+ */
+final class AtomDictionary {
+    private final Map<String, Integer> ids;
+
+    /**
+     * Creates a new instance of class {@link AtomDictionary}.
+     */
+    AtomDictionary() {
+        this.ids = new HashMap<>();
+    }
+
+    /**
+     * Returns the canonical form of the given answer set.
+     *
+     * @param model The predicates of the answer set.
+     * @return The canonical answer set.
+     */
+    AnswerSet canonicalize(Set<DatalogPredicate> model) {
+        int size = 0;
+        for (DatalogPredicate predicate : model)
+            size += predicate.getFacts().size();
+
+        int[] atoms = new int[size];
+        int i = 0;
+        var key = new StringBuilder();
+        for (DatalogPredicate predicate : model) {
+            for (DatalogFact fact : predicate.getFacts()) {
+                key.setLength(0);
+                key.append(predicate.getName());
+                for (String term : fact.getTerms())
+                    key.append('\0').append(term);
+                Integer id = this.ids.putIfAbsent(key.toString(), this.ids.size());
+                atoms[i++] = id == null ? this.ids.size() - 1 : id;
+            }
+        }
+
+        // Sort and remove duplicate atoms
+        Arrays.sort(atoms);
+        int length = 0;
+        for (int j = 0; j < atoms.length; j++) {
+            if (j == 0 || atoms[j] != atoms[j - 1])
+                atoms[length++] = atoms[j];
+        }
+        return new AnswerSet(length == atoms.length ? atoms : Arrays.copyOf(atoms, length));
+    }
+
+    /**
+     * An answer set as sorted array of atom identifiers of an {@link AtomDictionary} with a 128-bit fingerprint.
+     * <p>
+     * Two answer sets of the same dictionary are equal if they contain the same atoms, regardless of the order in which they were printed.
+     */
+    static final class AnswerSet {
+        private final int[] atoms;
+        private final long fingerprintHigh;
+        private final long fingerprintLow;
+
+        private AnswerSet(int[] atoms) {
+            this.atoms = atoms;
+            long high = 0x9E3779B97F4A7C15L;
+            long low = 0xC2B2AE3D27D4EB4FL + atoms.length;
+            for (int atom : atoms) {
+                high = mix(high ^ atom);
+                low = mix(low + atom * 0xFF51AFD7ED558CCDL);
+            }
+            this.fingerprintHigh = high;
+            this.fingerprintLow = low;
+        }
+
+        /**
+         * Returns the number of atoms.
+         *
+         * @return The number of atoms.
+         */
+        int size() {
+            return this.atoms.length;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return this == o || o instanceof AnswerSet that &&
+                                this.fingerprintHigh == that.fingerprintHigh && this.fingerprintLow == that.fingerprintLow &&
+                                Arrays.equals(this.atoms, that.atoms);
+        }
+
+        @Override
+        public int hashCode() {
+            return (int) this.fingerprintHigh;
+        }
+
+        /**
+         * The finalizer of the SplitMix64 generator.
+         */
+        private static long mix(long z) {
+            z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+            z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+            return z ^ (z >>> 31);
+        }
+    }
+}
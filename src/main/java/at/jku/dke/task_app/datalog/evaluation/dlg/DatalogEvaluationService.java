@@ -4,19 +4,30 @@
 import at.jku.dke.etutor.task_app.dto.GradingDto;
 import at.jku.dke.etutor.task_app.dto.SubmissionMode;
 import at.jku.dke.etutor.task_app.dto.SubmitSubmissionDto;
+import at.jku.dke.task_app.datalog.config.DatalogSettings;
 import at.jku.dke.task_app.datalog.data.repositories.DatalogTaskRepository;
 import at.jku.dke.task_app.datalog.dto.DatalogSubmissionDto;
+import at.jku.dke.task_app.datalog.data.entities.DatalogTask;
 import at.jku.dke.task_app.datalog.evaluation.DatalogExecutor;
+import at.jku.dke.task_app.datalog.evaluation.EncodedFactsCache;
+import at.jku.dke.task_app.datalog.evaluation.EvaluationContext;
+import at.jku.dke.task_app.datalog.evaluation.EvaluationMetrics;
 import at.jku.dke.task_app.datalog.evaluation.EvaluationService;
+import at.jku.dke.task_app.datalog.evaluation.ExecutionPriority;
+import at.jku.dke.task_app.datalog.evaluation.ExecutionScope;
 import at.jku.dke.task_app.datalog.evaluation.dlg.analysis.DatalogAnalysisImpl;
 import at.jku.dke.task_app.datalog.evaluation.dlg.grading.DatalogGrading;
 import at.jku.dke.task_app.datalog.evaluation.exceptions.AnalysisException;
 import at.jku.dke.task_app.datalog.evaluation.exceptions.ExecutionException;
+import at.jku.dke.task_app.datalog.evaluation.exceptions.ExecutionRejectedException;
+import at.jku.dke.task_app.datalog.evaluation.exceptions.ResultTooLargeException;
 import at.jku.dke.task_app.datalog.evaluation.exceptions.SyntaxException;
 import jakarta.persistence.EntityNotFoundException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.MessageSource;
+import org.springframework.dao.DataAccessException;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.web.server.ResponseStatusException;
@@ -34,117 +45,274 @@
 @Service
 public class DatalogEvaluationService implements EvaluationService<DatalogSubmissionDto> {
     private static final Logger LOG = LoggerFactory.getLogger(DatalogEvaluationService.class);
+    private static final String TASK_TYPE = "dlg";
 
     private final DatalogTaskRepository taskRepository;
     private final MessageSource messageSource;
     private final DatalogExecutor executor;
+    private final EncodedFactsCache encodedFactsCache;
+    private final DatalogSettings datalogSettings;
+    private final EvaluationMetrics metrics;
+
+    /**
+     * Creates a new instance of class {@link DatalogEvaluationService} without metrics.
+     *
+     * @param taskRepository    The task repository.
+     * @param messageSource     The message source.
+     * @param executor          The datalog executor.
+     * @param encodedFactsCache The cache for the encoded submission facts.
+     * @param datalogSettings   The datalog settings.
+     */
+    public DatalogEvaluationService(DatalogTaskRepository taskRepository, MessageSource messageSource, DatalogExecutor executor, EncodedFactsCache encodedFactsCache, DatalogSettings datalogSettings) {
+        this(taskRepository, messageSource, executor, encodedFactsCache, datalogSettings, EvaluationMetrics.disabled());
+    }
 
     /**
      * Creates a new instance of class {@link DatalogEvaluationService}.
      *
-     * @param taskRepository The task repository.
-     * @param messageSource  The message source.
-     * @param executor       The datalog executor.
+     * @param taskRepository    The task repository.
+     * @param messageSource     The message source.
+     * @param executor          The datalog executor.
+     * @param encodedFactsCache The cache for the encoded submission facts.
+     * @param datalogSettings   The datalog settings.
+     * @param metrics           The metrics recording the stages of the evaluations.
      */
-    public DatalogEvaluationService(DatalogTaskRepository taskRepository, MessageSource messageSource, DatalogExecutor executor) {
+    @Autowired
+    public DatalogEvaluationService(DatalogTaskRepository taskRepository, MessageSource messageSource, DatalogExecutor executor, EncodedFactsCache encodedFactsCache, DatalogSettings datalogSettings, EvaluationMetrics metrics) {
         this.taskRepository = taskRepository;
         this.messageSource = messageSource;
         this.executor = executor;
+        this.encodedFactsCache = encodedFactsCache;
+        this.datalogSettings = datalogSettings;
+        this.metrics = metrics;
     }
 
     @Override
     public GradingDto evaluate(SubmitSubmissionDto<DatalogSubmissionDto> submission) {
+        try (var ignored = ExecutionPriority.enter(ExecutionPriority.of(submission.mode()));
+             var context = EvaluationContext.enter(new EvaluationContext(TASK_TYPE, submission.mode(), submission.taskId()))) {
+            return this.evaluateSubmission(submission);
+        }
+    }
+
+    /**
+     * Evaluates the submission with the priority of the current thread.
+     *
+     * @param submission The input to evaluate.
+     * @return The evaluation result.
+     * @throws ResponseStatusException If an internal error occurs.
+     */
+    private GradingDto evaluateSubmission(SubmitSubmissionDto<DatalogSubmissionDto> submission) {
         // find task
-        var task = this.taskRepository.findByIdWithTaskGroup(submission.taskId())
-            .orElseThrow(() -> new EntityNotFoundException("Task " + submission.taskId() + " does not exist."));
+        var task = this.findTask(submission.taskId());
 
         // prepare
         LOG.info("Evaluating input for task {} with mode {} and feedback-level {}", submission.taskId(), submission.mode(), submission.feedbackLevel());
         Locale locale = Locale.of(submission.language());
 
-        String facts = submission.mode() == SubmissionMode.SUBMIT ?
-            task.getTaskGroup().getSubmissionFacts() :
-            task.getTaskGroup().getDiagnoseFacts();
-        boolean encodeFacts = submission.mode() == SubmissionMode.SUBMIT;
+        String facts = this.getFacts(task, submission.mode());
         DatalogExecutor.ExecutionResult solutionResult;
         DatalogExecutor.ExecutionResult submissionResult;
 
-        // execute submission
-        try {
-            submissionResult = this.executor.query(facts, submission.submission().input(), task.getQuery(), task.getUncheckedTerms(), encodeFacts);
-        } catch (SyntaxException ex) {
-            LOG.warn("Syntax error in input for task {}", submission.taskId());
-            List<CriterionDto> criteria = new ArrayList<>();
-
-            criteria.add(new CriterionDto(
-                this.messageSource.getMessage("criterium.syntax", null, locale),
-                null,
-                false,
-                "<pre>" + HtmlUtils.htmlEscape(ex.getMessage().replaceFirst("line \\d+: ", "").trim()) + "</pre>"));
-            return new GradingDto(task.getMaxPoints(), BigDecimal.ZERO, this.messageSource.getMessage("syntaxError", null, locale), criteria);
-        } catch (ExecutionException ex) {
-            LOG.warn("Syntax error in input for task {}", submission.taskId());
-            List<CriterionDto> criteria = new ArrayList<>();
-            criteria.add(new CriterionDto(
-                this.messageSource.getMessage("criterium.syntax", null, locale),
-                null,
-                false,
-                "<pre>" + HtmlUtils.htmlEscape(ex.getMessage().replaceFirst("line \\d+: ", "").trim()) + "</pre>"));
-
-            LOG.error("Error while evaluating input for task {}", submission.taskId(), ex);
-            return new GradingDto(task.getMaxPoints(), BigDecimal.ZERO, this.messageSource.getMessage("syntaxError", null, locale), criteria);
-        } catch ( IOException ex){
-            LOG.error("Error while evaluating input for task {}", submission.taskId(), ex);
-            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Error while evaluating input for task " + submission.taskId(), ex);
-        }
+        var storedSolutionResult = submission.mode() == SubmissionMode.SUBMIT ?
+            task.getSubmissionSolutionResult() :
+            task.getDiagnoseSolutionResult();
 
-        // execute solution
-        if (submission.mode() == SubmissionMode.RUN) {
-            solutionResult = submissionResult;
-        } else {
+        // the solution (if not stored) runs concurrently with the submission and is cancelled if the submission fails
+        try (var scope = new ExecutionScope()) {
+            ExecutionScope.Fork<DatalogExecutor.ExecutionResult> solutionFork = submission.mode() != SubmissionMode.RUN && storedSolutionResult == null ?
+                scope.fork(() -> this.executor.query(facts, task.getSolution(), task.getQuery(), task.getUncheckedTerms(), false)) :
+                null;
+
+            // execute submission
             try {
-                solutionResult = this.executor.query(facts, task.getSolution(), task.getQuery(), task.getUncheckedTerms(), encodeFacts);
-            } catch (ExecutionException | IOException ex) {
-                LOG.error("Error while evaluating solution for task {}", submission.taskId(), ex);
-                throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Error while evaluating solution for task " + submission.taskId(), ex);
+                submissionResult = this.executor.query(facts, submission.submission().input(), task.getQuery(), task.getUncheckedTerms(), false, this.getMaxFacts(task, submission.mode()));
+            } catch (SyntaxException ex) {
+                LOG.warn("Syntax error in input for task {}", submission.taskId());
+                List<CriterionDto> criteria = new ArrayList<>();
+
+                criteria.add(new CriterionDto(
+                    this.messageSource.getMessage("criterium.syntax", null, locale),
+                    null,
+                    false,
+                    "<pre>" + HtmlUtils.htmlEscape(ex.getMessage().replaceFirst("line \\d+: ", "").trim()) + "</pre>"));
+                return new GradingDto(task.getMaxPoints(), BigDecimal.ZERO, this.messageSource.getMessage("syntaxError", null, locale), criteria);
+            } catch (ExecutionRejectedException ex) {
+                LOG.warn("Rejected evaluation of input for task {}", submission.taskId());
+                throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, ex.getMessage(), ex);
+            } catch (ResultTooLargeException ex) {
+                LOG.warn("Result of input for task {} is too large: {}", submission.taskId(), ex.getMessage());
+                List<CriterionDto> criteria = new ArrayList<>();
+                criteria.add(new CriterionDto(
+                    this.messageSource.getMessage("criterium.resultTooLarge", null, locale),
+                    null,
+                    false,
+                    this.messageSource.getMessage("criterium.resultTooLarge.feedback", null, locale)));
+                return new GradingDto(task.getMaxPoints(), BigDecimal.ZERO, this.messageSource.getMessage("resultTooLarge", null, locale), criteria);
+            } catch (ExecutionException ex) {
+                LOG.warn("Syntax error in input for task {}", submission.taskId());
+                List<CriterionDto> criteria = new ArrayList<>();
+                criteria.add(new CriterionDto(
+                    this.messageSource.getMessage("criterium.syntax", null, locale),
+                    null,
+                    false,
+                    "<pre>" + HtmlUtils.htmlEscape(ex.getMessage().replaceFirst("line \\d+: ", "").trim()) + "</pre>"));
+
+                LOG.error("Error while evaluating input for task {}", submission.taskId(), ex);
+                return new GradingDto(task.getMaxPoints(), BigDecimal.ZERO, this.messageSource.getMessage("syntaxError", null, locale), criteria);
+            } catch ( IOException ex){
+                LOG.error("Error while evaluating input for task {}", submission.taskId(), ex);
+                throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Error while evaluating input for task " + submission.taskId(), ex);
+            }
+
+            // execute solution (or wait for the concurrently running solution)
+            if (submission.mode() == SubmissionMode.RUN) {
+                solutionResult = submissionResult;
+            } else if (storedSolutionResult != null) {
+                solutionResult = new DatalogExecutor.ExecutionResult("", storedSolutionResult);
+            } else {
+                try {
+                    solutionResult = solutionFork.get();
+                    this.storeSolutionResult(task, submission.mode(), solutionResult);
+                } catch (ExecutionRejectedException ex) {
+                    LOG.warn("Rejected evaluation of solution for task {}", submission.taskId());
+                    throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, ex.getMessage(), ex);
+                } catch (ExecutionException | IOException ex) {
+                    LOG.error("Error while evaluating solution for task {}", submission.taskId(), ex);
+                    throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Error while evaluating solution for task " + submission.taskId(), ex);
+                }
             }
         }
 
         // analyze, grade, feedback
         try {
-            var analysis = new DatalogAnalysisImpl(solutionResult.result(), submissionResult.result());
-            var grading = new DatalogGrading(task, analysis);
-            var reporter = new DatalogReport(this.messageSource, locale, submission.mode(), submission.feedbackLevel(), analysis, submissionResult.output(), grading);
-            return new GradingDto(task.getMaxPoints(), grading.getPoints(), reporter.getGeneralFeedback(), reporter.getCriteria());
+            DatalogAnalysisImpl analysis;
+            try (var ignored = this.metrics.stage(EvaluationMetrics.Stage.ANALYSIS)) {
+                analysis = new DatalogAnalysisImpl(solutionResult.result(), submissionResult.result());
+            }
+            DatalogGrading grading;
+            try (var ignored = this.metrics.stage(EvaluationMetrics.Stage.GRADING)) {
+                grading = new DatalogGrading(task, analysis);
+            }
+            try (var ignored = this.metrics.stage(EvaluationMetrics.Stage.REPORT)) {
+                var reporter = new DatalogReport(this.messageSource, locale, submission.mode(), submission.feedbackLevel(), analysis, submissionResult.output(), grading);
+                return new GradingDto(task.getMaxPoints(), grading.getPoints(), reporter.getGeneralFeedback(), reporter.getCriteria());
+            }
         } catch (AnalysisException ex) {
             LOG.error("Error while analyzing query result for task {}", submission.taskId(), ex);
             throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Error while analysing query result for task " + submission.taskId(), ex);
         }
     }
 
+    @Override
+    public GradingDto evaluationFailed(SubmitSubmissionDto<DatalogSubmissionDto> submission) {
+        BigDecimal maxPoints = this.taskRepository.findById(submission.taskId()).map(DatalogTask::getMaxPoints).orElse(BigDecimal.ZERO);
+        return new GradingDto(maxPoints, BigDecimal.ZERO, this.messageSource.getMessage("evaluationFailed", null, Locale.of(submission.language())), List.of());
+    }
+
     @Override
     public DatalogExecutor.ExecutionResult execute(SubmitSubmissionDto<DatalogSubmissionDto> submission) {
+        try (var ignored = ExecutionPriority.enter(ExecutionPriority.of(submission.mode()));
+             var context = EvaluationContext.enter(new EvaluationContext(TASK_TYPE, submission.mode(), submission.taskId()))) {
+            return this.executeSubmission(submission);
+        }
+    }
+
+    /**
+     * Executes the submission with the priority of the current thread.
+     *
+     * @param submission The submission data.
+     * @return The query result.
+     * @throws ResponseStatusException If an error occurs.
+     */
+    private DatalogExecutor.ExecutionResult executeSubmission(SubmitSubmissionDto<DatalogSubmissionDto> submission) {
         // find task
-        var task = this.taskRepository.findByIdWithTaskGroup(submission.taskId())
-            .orElseThrow(() -> new EntityNotFoundException("Task " + submission.taskId() + " does not exist."));
+        var task = this.findTask(submission.taskId());
 
         // prepare
         LOG.info("Executing input for task {} with mode {}", submission.taskId(), submission.mode());
 
-        String facts = submission.mode() == SubmissionMode.SUBMIT ?
-            task.getTaskGroup().getSubmissionFacts() :
-            task.getTaskGroup().getDiagnoseFacts();
-        boolean encodeFacts = submission.mode() == SubmissionMode.SUBMIT;
+        String facts = this.getFacts(task, submission.mode());
 
         // execute
         try {
-            return this.executor.query(facts, submission.submission().input(), task.getQuery(), task.getUncheckedTerms(), encodeFacts);
+            return this.executor.query(facts, submission.submission().input(), task.getQuery(), task.getUncheckedTerms(), false);
         } catch (SyntaxException ex) {
             LOG.error("Error while executing input for task {}", submission.taskId(), ex);
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, ex.getMessage(), ex);
+        } catch (ExecutionRejectedException ex) {
+            LOG.warn("Rejected execution of input for task {}", submission.taskId());
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, ex.getMessage(), ex);
         } catch (ExecutionException | IOException ex) {
             LOG.error("Error while executing input for task {}", submission.taskId(), ex);
             throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Error while executing input for task " + submission.taskId(), ex);
         }
     }
+
+    /**
+     * Loads the task with its task group.
+     *
+     * @param taskId The task identifier.
+     * @return The task.
+     * @throws EntityNotFoundException If the task does not exist.
+     */
+    private DatalogTask findTask(long taskId) {
+        try (var ignored = this.metrics.stage(EvaluationMetrics.Stage.TASK_LOAD)) {
+            return this.taskRepository.findByIdWithTaskGroup(taskId)
+                .orElseThrow(() -> new EntityNotFoundException("Task " + taskId + " does not exist."));
+        }
+    }
+
+    /**
+     * Stores the solution result of a task that has no stored result yet (e.g. a task created before the results were stored
+     * or after the facts of its task group changed), so that later evaluations do not execute the solution again.
+     *
+     * @param task   The task.
+     * @param mode   The submission mode.
+     * @param result The result of the solution.
+     */
+    private void storeSolutionResult(DatalogTask task, SubmissionMode mode, DatalogExecutor.ExecutionResult result) {
+        try {
+            if (this.taskRepository.storeSolutionResult(task, mode, result.result(), result.countFacts()))
+                LOG.info("Stored solution result of task {} for mode {}", task.getId(), mode);
+        } catch (DataAccessException ex) {
+            LOG.warn("Could not store solution result of task {} for mode {}", task.getId(), mode, ex);
+        }
+    }
+
+    /**
+     * Returns the maximum number of facts in the result of a submission.
+     * <p>
+     * The limit depends on the number of facts in the stored output of the solution, which includes the facts of auxiliary relations
+     * as the facts of the submission are counted in the same way; if there is none (e.g. in run mode), the result is not limited.
+     *
+     * @param task The task.
+     * @param mode The submission mode.
+     * @return The maximum number of facts.
+     */
+    private long getMaxFacts(DatalogTask task, SubmissionMode mode) {
+        var solutionFacts = switch (mode) {
+            case SUBMIT -> task.getSubmissionSolutionResult() == null ? null : task.getSubmissionSolutionFacts();
+            case DIAGNOSE -> task.getDiagnoseSolutionResult() == null ? null : task.getDiagnoseSolutionFacts();
+            default -> null;
+        };
+        if (solutionFacts == null)
+            return Long.MAX_VALUE;
+        return this.datalogSettings.process().getMaxFacts(solutionFacts);
+    }
+
+    /**
+     * Returns the facts for the given submission mode; the submission facts are returned encoded.
+     *
+     * @param task The task.
+     * @param mode The submission mode.
+     * @return The facts.
+     */
+    private String getFacts(DatalogTask task, SubmissionMode mode) {
+        if (mode != SubmissionMode.SUBMIT)
+            return task.getTaskGroup().getDiagnoseFacts();
+        try (var ignored = this.metrics.stage(EvaluationMetrics.Stage.FACT_ENCODING)) {
+            return this.encodedFactsCache.getEncodedFacts(task.getId(), task.getTaskGroup().getSubmissionFacts(), task.getUncheckedTerms());
+        }
+    }
 }
@@ -4,10 +4,7 @@
 import at.jku.dke.task_app.datalog.evaluation.DatalogPredicate;
 import at.jku.dke.task_app.datalog.evaluation.exceptions.AnalysisException;
 
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.List;
-import java.util.Map;
+import java.util.*;
 
 /**
  * Service that evaluates the datalog execution results.
@@ -116,12 +113,13 @@ private void analyze() throws AnalysisException {
             throw new AnalysisException("Analysis stopped, as one of the results is inconsistent.");
         }
 
+        var dictionary = new TermDictionary();
         for (DatalogPredicate predSolution : solutionModel.getPredicates()) {
             var predSubmission = submissionModel.getPredicate(predSolution.getName());
             if (predSubmission.isEmpty() || predSubmission.get().getFacts().isEmpty()) {
                 this.missingPredicates.add(predSolution);
             } else {
-                this.comparePredicates(predSolution, predSubmission.get());
+                this.comparePredicates(predSolution, predSubmission.get(), dictionary);
             }
         }
 
@@ -130,23 +128,33 @@ private void analyze() throws AnalysisException {
 
     /**
      * Compares two predicates with regard to differences concerning their facts.
+     * <p>
+     * The facts are encoded with the term dictionary and compared with hash sets, so the comparison takes linear time.
      *
      * @param predSolution   The solution predicate.
      * @param predSubmission The submission predicate.
+     * @param dictionary     The term dictionary shared by the solution and the submission.
      */
-    private void comparePredicates(DatalogPredicate predSolution, DatalogPredicate predSubmission) {
-        for (DatalogFact factSolution : predSolution.getFacts()) {
-            var factSubmission = predSubmission.getFact(factSolution);
-            if (factSubmission.isEmpty()) {
-                this.missingFacts.add(factSolution);
-            }
+    private void comparePredicates(DatalogPredicate predSolution, DatalogPredicate predSubmission, TermDictionary dictionary) {
+        var solutionFacts = dictionary.encodeAll(predSolution.getFacts());
+        var submissionFacts = dictionary.encodeAll(predSubmission.getFacts());
+
+        var submissionSet = toSet(submissionFacts);
+        for (int i = 0; i < solutionFacts.length; i++) {
+            if (!submissionSet.contains(solutionFacts[i]))
+                this.missingFacts.add(predSolution.getFacts().get(i));
         }
 
-        for (DatalogFact factSubmission : predSubmission.getFacts()) {
-            var factSolution = predSolution.getFact(factSubmission);
-            if (factSolution.isEmpty()) {
-                this.redundantFacts.add(factSubmission);
-            }
+        var solutionSet = toSet(solutionFacts);
+        for (int i = 0; i < submissionFacts.length; i++) {
+            if (!solutionSet.contains(submissionFacts[i]))
+                this.redundantFacts.add(predSubmission.getFacts().get(i));
         }
     }
+
+    private static Set<TermDictionary.EncodedFact> toSet(TermDictionary.EncodedFact[] facts) {
+        Set<TermDictionary.EncodedFact> set = HashSet.newHashSet(facts.length);
+        Collections.addAll(set, facts);
+        return set;
+    }
 }
@@ -2,6 +2,7 @@
 
 import at.jku.dke.task_app.datalog.evaluation.DatalogPredicate;
 
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -12,6 +13,7 @@
 class DatalogModel {
     private final List<DatalogPredicate> predicates;
     private final List<String> predicatesNames;
+    private final Map<String, DatalogPredicate> predicatesByName;
 
     /**
      * Creates a new instance of class {@link DatalogModel}.
@@ -23,6 +25,9 @@ class DatalogModel {
             .filter(x -> !x.getValue().isEmpty())
             .map(e -> new DatalogPredicate(e.getKey(), e.getValue())).toList();
         this.predicatesNames = this.predicates.stream().map(DatalogPredicate::getName).toList();
+        this.predicatesByName = HashMap.newHashMap(this.predicates.size());
+        for (DatalogPredicate predicate : this.predicates)
+            this.predicatesByName.putIfAbsent(predicate.getName(), predicate);
     }
 
     /**
@@ -59,6 +64,6 @@ public List<String> getPredicatesNames() {
      * @return The predicate with the specified name.
      */
     public Optional<DatalogPredicate> getPredicate(String name) {
-        return this.predicates.stream().filter(p -> p.getName().equals(name)).findFirst();
+        return Optional.ofNullable(this.predicatesByName.get(name));
     }
 }
@@ -0,0 +1,82 @@
+package at.jku.dke.task_app.datalog.evaluation.dlg.analysis;
+
+import at.jku.dke.task_app.datalog.evaluation.DatalogFact;
+
+import java.util.*;
+
+/**
+ * Assigns an integer identifier to every distinct term, so that facts can be compared as arrays of identifiers.
+ * <p>
+ * The same dictionary has to be used for the solution and the submission result, so that equal terms get the same identifier.
+ */
+final class TermDictionary {
+    private final Map<String, Integer> ids;
+
+    /**
+     * Creates a new instance of class {@link TermDictionary}.
+     */
+    TermDictionary() {
+        this.ids = new HashMap<>();
+    }
+
+    /**
+     * Encodes the facts.
+     *
+     * @param facts The facts.
+     * @return The encoded facts in the same order.
+     */
+    EncodedFact[] encodeAll(List<DatalogFact> facts) {
+        EncodedFact[] result = new EncodedFact[facts.size()];
+        for (int i = 0; i < result.length; i++)
+            result[i] = this.encode(facts.get(i));
+        return result;
+    }
+
+    /**
+     * Encodes the terms of the fact.
+     *
+     * @param fact The fact.
+     * @return The encoded fact.
+     */
+    EncodedFact encode(DatalogFact fact) {
+        String[] terms = fact.getTerms();
+        int[] encoded = new int[terms.length];
+        for (int i = 0; i < terms.length; i++) {
+            Integer id = this.ids.putIfAbsent(terms[i], this.ids.size());
+            encoded[i] = id == null ? this.ids.size() - 1 : id;
+        }
+        return new EncodedFact(encoded);
+    }
+
+    /**
+     * Returns the number of distinct terms.
+     *
+     * @return The number of terms.
+     */
+    int size() {
+        return this.ids.size();
+    }
+
+    /**
+     * The terms of a fact encoded as identifiers of a {@link TermDictionary}.
+     */
+    static final class EncodedFact {
+        private final int[] terms;
+        private final int hash;
+
+        private EncodedFact(int[] terms) {
+            this.terms = terms;
+            this.hash = Arrays.hashCode(terms);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return this == o || o instanceof EncodedFact that && this.hash == that.hash && Arrays.equals(this.terms, that.terms);
+        }
+
+        @Override
+        public int hashCode() {
+            return this.hash;
+        }
+    }
+}
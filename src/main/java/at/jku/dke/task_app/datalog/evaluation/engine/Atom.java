@@ -0,0 +1,58 @@
+package at.jku.dke.task_app.datalog.evaluation.engine;
+
+import java.util.List;
+
+/**
+ * Represents an atom, e.g. {@code path(X, Y)}.
+ *
+ * @param predicate The predicate.
+ * @param terms     The terms.
+ */
+public record Atom(String predicate, List<Term> terms) {
+
+    /**
+     * Creates a new instance of class {@link Atom}.
+     *
+     * @param predicate The predicate.
+     * @param terms     The terms.
+     */
+    public Atom {
+        terms = List.copyOf(terms);
+    }
+
+    /**
+     * Returns the arity of the atom.
+     *
+     * @return The number of terms.
+     */
+    public int arity() {
+        return this.terms.size();
+    }
+
+    /**
+     * Returns whether the atom does not contain variables.
+     *
+     * @return {@code true} if all terms are constants; {@code false} otherwise.
+     */
+    public boolean isGround() {
+        return this.terms.stream().noneMatch(Term::variable);
+    }
+
+    /**
+     * Formats a ground atom the way DLV prints it in a model.
+     *
+     * @param predicate The predicate.
+     * @param tuple     The constants.
+     * @return The formatted atom, e.g. {@code path(a,b)}.
+     */
+    public static String format(String predicate, List<String> tuple) {
+        if (tuple.isEmpty())
+            return predicate;
+        return predicate + '(' + String.join(",", tuple) + ')';
+    }
+
+    @Override
+    public String toString() {
+        return format(this.predicate, this.terms.stream().map(Term::value).toList());
+    }
+}
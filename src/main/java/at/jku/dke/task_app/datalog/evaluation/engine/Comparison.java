@@ -0,0 +1,52 @@
+package at.jku.dke.task_app.datalog.evaluation.engine;
+
+import at.jku.dke.task_app.datalog.evaluation.exceptions.UnsupportedProgramException;
+
+/**
+ * Represents a built-in comparison, e.g. {@code X != Y}.
+ *
+ * @param left     The left term.
+ * @param operator The operator, one of {@code =, ==, !=, <>, <, <=, >, >=}.
+ * @param right    The right term.
+ */
+public record Comparison(Term left, String operator, Term right) {
+
+    /**
+     * Evaluates the comparison for the given constants.
+     * <p>
+     * Ordering comparisons are only supported for integers, because the order DLV uses for symbols and strings is not replicated.
+     *
+     * @param leftValue  The value of the left term.
+     * @param rightValue The value of the right term.
+     * @return {@code true} if the comparison holds; {@code false} otherwise.
+     * @throws UnsupportedProgramException If the values cannot be compared by the engine.
+     */
+    public boolean test(String leftValue, String rightValue) throws UnsupportedProgramException {
+        return switch (this.operator) {
+            case "=", "==" -> leftValue.equals(rightValue);
+            case "!=", "<>" -> !leftValue.equals(rightValue);
+            default -> {
+                if (!isInteger(leftValue) || !isInteger(rightValue))
+                    throw new UnsupportedProgramException("Comparison of non-integer constants " + leftValue + " " + this.operator + " " + rightValue);
+
+                int result = Long.compare(Long.parseLong(leftValue), Long.parseLong(rightValue));
+                yield switch (this.operator) {
+                    case "<" -> result < 0;
+                    case "<=" -> result <= 0;
+                    case ">" -> result > 0;
+                    case ">=" -> result >= 0;
+                    default -> throw new UnsupportedProgramException("Unsupported operator " + this.operator);
+                };
+            }
+        };
+    }
+
+    private static boolean isInteger(String value) {
+        return !value.isEmpty() && value.chars().allMatch(Character::isDigit);
+    }
+
+    @Override
+    public String toString() {
+        return this.left + this.operator + this.right;
+    }
+}
@@ -0,0 +1,113 @@
+package at.jku.dke.task_app.datalog.evaluation.engine;
+
+import at.jku.dke.task_app.datalog.evaluation.exceptions.UnsupportedProgramException;
+
+import java.util.*;
+
+/**
+ * The unique model of a stratified program as computed by {@link SemiNaiveEvaluator}.
+ */
+public final class Model {
+    private final Program program;
+    private final Map<String, Relation> relations;
+    private final Set<String> derivedPredicates;
+
+    /**
+     * Creates a new instance of class {@link Model}.
+     *
+     * @param program           The evaluated program.
+     * @param relations         The relations of all predicates.
+     * @param derivedPredicates The predicates that occur in the head of at least one rule with a body.
+     */
+    Model(Program program, Map<String, Relation> relations, Set<String> derivedPredicates) {
+        this.program = program;
+        this.relations = relations;
+        this.derivedPredicates = derivedPredicates;
+    }
+
+    /**
+     * Returns the relation of the given predicate.
+     *
+     * @param predicate The predicate.
+     * @return The relation or an empty optional if the predicate does not occur in the program.
+     */
+    public Optional<Relation> getRelation(String predicate) {
+        return Optional.ofNullable(this.relations.get(predicate));
+    }
+
+    /**
+     * Formats the model like DLV does with {@code -silent} (and {@code -nofacts}).
+     * <p>
+     * Predicates are printed in the order of their first occurrence in the program, the atoms of a predicate in the order they were derived.
+     *
+     * @param noFacts Whether predicates that are only defined by facts should be omitted (like {@code -nofacts}).
+     * @return The formatted model.
+     */
+    public String format(boolean noFacts) {
+        var joiner = new StringJoiner(", ", "{", "}" + System.lineSeparator());
+        for (String predicate : this.program.predicates()) {
+            if (noFacts && !this.derivedPredicates.contains(predicate))
+                continue;
+
+            var relation = this.relations.get(predicate);
+            if (relation == null)
+                continue;
+            for (List<String> tuple : relation.tuples())
+                joiner.add(Atom.format(predicate, tuple));
+        }
+        return joiner.toString();
+    }
+
+    /**
+     * Answers the query like DLV does with {@code -cautious}.
+     * <p>
+     * For a ground query, the only line is {@code <query> is cautiously true.} or {@code <query> is cautiously false.};
+     * otherwise, each line contains the distinct values of the variables (in the order of their first occurrence), separated by a comma.
+     *
+     * @param query The queried atom.
+     * @return The lines of the output.
+     * @throws UnsupportedProgramException If the arity of the query does not match the program.
+     */
+    public List<String> query(Atom query) throws UnsupportedProgramException {
+        var arity = this.program.arities().get(query.predicate());
+        if (arity != null && arity != query.arity())
+            throw new UnsupportedProgramException("Predicate " + query.predicate() + " is used with arity " + arity + " and " + query.arity());
+
+        var relation = this.relations.get(query.predicate());
+        if (query.isGround()) {
+            var tuple = query.terms().stream().map(Term::value).toList();
+            boolean contained = relation != null && relation.contains(tuple);
+            return List.of(query + " is cautiously " + contained + ".");
+        }
+        if (relation == null)
+            return List.of();
+
+        List<String> variables = query.terms().stream().filter(Term::variable).map(Term::value).distinct().toList();
+        Set<String> lines = new LinkedHashSet<>();
+        for (List<String> tuple : relation.tuples()) {
+            Map<String, String> binding = new HashMap<>();
+            if (matches(query, tuple, binding)) {
+                var joiner = new StringJoiner(", ");
+                variables.forEach(v -> joiner.add(binding.get(v)));
+                lines.add(joiner.toString());
+            }
+        }
+        return new ArrayList<>(lines);
+    }
+
+    private static boolean matches(Atom query, List<String> tuple, Map<String, String> binding) {
+        for (int i = 0; i < tuple.size(); i++) {
+            var term = query.terms().get(i);
+            var value = tuple.get(i);
+            if (!term.variable()) {
+                if (!term.value().equals(value))
+                    return false;
+            } else {
+                var previous = binding.putIfAbsent(term.value(), value);
+                if (previous != null && !previous.equals(value))
+                    return false;
+            }
+        }
+        return true;
+    }
+}
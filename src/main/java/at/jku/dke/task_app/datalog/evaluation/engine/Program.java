@@ -0,0 +1,27 @@
+package at.jku.dke.task_app.datalog.evaluation.engine;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Represents a parsed Datalog program.
+ *
+ * @param rules      The rules and facts.
+ * @param predicates The predicates in the order of their first occurrence (which is the order DLV prints them).
+ * @param arities    The arity of each predicate.
+ */
+public record Program(List<Rule> rules, List<String> predicates, Map<String, Integer> arities) {
+
+    /**
+     * Creates a new instance of class {@link Program}.
+     *
+     * @param rules      The rules and facts.
+     * @param predicates The predicates in the order of their first occurrence.
+     * @param arities    The arity of each predicate.
+     */
+    public Program {
+        rules = List.copyOf(rules);
+        predicates = List.copyOf(predicates);
+        arities = Map.copyOf(arities);
+    }
+}
@@ -0,0 +1,278 @@
+package at.jku.dke.task_app.datalog.evaluation.engine;
+
+import at.jku.dke.task_app.datalog.evaluation.exceptions.UnsupportedProgramException;
+
+import java.util.*;
+
+/**
+ * Parses the subset of the DLV language supported by the JVM engine.
+ * <p>
+ * Supported are facts and rules with positive and negated ({@code not}) body atoms and built-in comparisons.
+ * Everything else (disjunction, constraints, weak constraints, aggregates, arithmetic, strong negation, ...) as well as
+ * syntax errors and unsafe rules result in an {@link UnsupportedProgramException}, so that the program can be executed by DLV,
+ * which reports errors in its own words.
+ */
+public final class ProgramParser {
+    private static final Set<String> COMPARISON_OPERATORS = Set.of("=", "==", "!=", "<>", "<", "<=", ">", ">=");
+
+    private final List<Token> tokens;
+    private final Map<String, Integer> arities;
+    private final Set<String> predicates;
+    private int position;
+    private int anonymousVariables;
+
+    private ProgramParser(String text) throws UnsupportedProgramException {
+        this.tokens = tokenize(text);
+        this.arities = new HashMap<>();
+        this.predicates = new LinkedHashSet<>();
+        this.position = 0;
+        this.anonymousVariables = 0;
+    }
+
+    /**
+     * Parses the given program.
+     *
+     * @param text The program text.
+     * @return The parsed program.
+     * @throws UnsupportedProgramException If the program is invalid or uses features not supported by the engine.
+     */
+    public static Program parse(String text) throws UnsupportedProgramException {
+        var parser = new ProgramParser(text);
+        List<Rule> rules = new ArrayList<>();
+        while (!parser.atEnd())
+            rules.add(parser.parseRule());
+        return new Program(rules, new ArrayList<>(parser.predicates), parser.arities);
+    }
+
+    /**
+     * Parses the given query (e.g. {@code path(X, Y)?}) in the context of the given program.
+     * <p>
+     * Only queries consisting of a single atom are supported.
+     *
+     * @param query   The query.
+     * @param program The program the query is asked against.
+     * @return The queried atom.
+     * @throws UnsupportedProgramException If the query is invalid or uses features not supported by the engine.
+     */
+    public static Atom parseQuery(String query, Program program) throws UnsupportedProgramException {
+        var parser = new ProgramParser(query);
+        parser.arities.putAll(program.arities());
+        var atom = parser.parseAtom();
+        parser.expect("?");
+        if (!parser.atEnd())
+            throw new UnsupportedProgramException("Unsupported query " + query);
+        return atom;
+    }
+
+    //#region --- Parser ---
+    private Rule parseRule() throws UnsupportedProgramException {
+        if (this.peek("?") || this.peek(":-"))
+            throw new UnsupportedProgramException("Queries and constraints are not supported");
+
+        var head = this.parseAtom();
+        List<Atom> positive = new ArrayList<>();
+        List<Atom> negative = new ArrayList<>();
+        List<Comparison> comparisons = new ArrayList<>();
+        if (this.accept(":-")) {
+            do {
+                this.parseLiteral(positive, negative, comparisons);
+            } while (this.accept(","));
+        }
+        this.expect(".");
+
+        var rule = new Rule(head, positive, negative, comparisons);
+        checkSafety(rule);
+        return rule;
+    }
+
+    private void parseLiteral(List<Atom> positive, List<Atom> negative, List<Comparison> comparisons) throws UnsupportedProgramException {
+        var token = this.current();
+        if (token.type() == TokenType.IDENTIFIER && token.text().equals("not") && this.lookahead(1).type() == TokenType.IDENTIFIER) {
+            this.position++;
+            negative.add(this.parseAtom());
+        } else if (token.type() == TokenType.IDENTIFIER && !COMPARISON_OPERATORS.contains(this.lookahead(1).text())) {
+            positive.add(this.parseAtom());
+        } else {
+            var left = this.parseTerm();
+            var operator = this.current();
+            if (!COMPARISON_OPERATORS.contains(operator.text()))
+                throw new UnsupportedProgramException("Unexpected token " + operator.text());
+            this.position++;
+            comparisons.add(new Comparison(left, operator.text(), this.parseTerm()));
+        }
+    }
+
+    private Atom parseAtom() throws UnsupportedProgramException {
+        var token = this.current();
+        if (token.type() != TokenType.IDENTIFIER)
+            throw new UnsupportedProgramException("Expected predicate but found " + token.text());
+        this.position++;
+
+        List<Term> terms = new ArrayList<>();
+        if (this.accept("(")) {
+            do {
+                terms.add(this.parseTerm());
+            } while (this.accept(","));
+            this.expect(")");
+        }
+
+        var predicate = token.text();
+        var arity = this.arities.putIfAbsent(predicate, terms.size());
+        if (arity != null && arity != terms.size())
+            throw new UnsupportedProgramException("Predicate " + predicate + " is used with arity " + arity + " and " + terms.size());
+        this.predicates.add(predicate);
+        return new Atom(predicate, terms);
+    }
+
+    private Term parseTerm() throws UnsupportedProgramException {
+        var token = this.current();
+        this.position++;
+        return switch (token.type()) {
+            case IDENTIFIER, STRING, NUMBER -> Term.constant(token.text());
+            case VARIABLE -> token.text().equals("_") ?
+                Term.variable("_#" + this.anonymousVariables++) :
+                Term.variable(token.text());
+            default -> throw new UnsupportedProgramException("Expected term but found " + token.text());
+        };
+    }
+
+    private static void checkSafety(Rule rule) throws UnsupportedProgramException {
+        Set<String> bound = new HashSet<>();
+        rule.positiveBody().forEach(a -> a.terms().stream().filter(Term::variable).forEach(t -> bound.add(t.value())));
+
+        List<Term> restricted = new ArrayList<>(rule.head().terms());
+        rule.negativeBody().forEach(a -> restricted.addAll(a.terms()));
+        rule.comparisons().forEach(c -> {
+            restricted.add(c.left());
+            restricted.add(c.right());
+        });
+        for (Term term : restricted) {
+            if (term.variable() && (term.value().startsWith("_#") || !bound.contains(term.value())))
+                throw new UnsupportedProgramException("Rule with head " + rule.head() + " is not safe");
+        }
+
+        // DLV also rejects rules in which a variable of a negated atom is equated with a constant;
+        // equalities are propagated in the order they are written
+        Set<String> constantVariables = new HashSet<>();
+        for (Comparison comparison : rule.comparisons()) {
+            if (!comparison.operator().equals("=") && !comparison.operator().equals("=="))
+                continue;
+            if (comparison.right().variable() && isConstant(comparison.left(), constantVariables))
+                constantVariables.add(comparison.right().value());
+            if (comparison.left().variable() && isConstant(comparison.right(), constantVariables))
+                constantVariables.add(comparison.left().value());
+        }
+        for (Atom atom : rule.negativeBody()) {
+            if (atom.terms().stream().anyMatch(t -> t.variable() && constantVariables.contains(t.value())))
+                throw new UnsupportedProgramException("Rule with head " + rule.head() + " is not safe");
+        }
+    }
+
+    private static boolean isConstant(Term term, Set<String> constantVariables) {
+        return !term.variable() || constantVariables.contains(term.value());
+    }
+    //#endregion
+
+    //#region --- Token helpers ---
+    private boolean atEnd() {
+        return this.position >= this.tokens.size();
+    }
+
+    private Token current() throws UnsupportedProgramException {
+        if (this.atEnd())
+            throw new UnsupportedProgramException("Unexpected end of program");
+        return this.tokens.get(this.position);
+    }
+
+    private Token lookahead(int offset) {
+        int index = this.position + offset;
+        return index < this.tokens.size() ? this.tokens.get(index) : new Token(TokenType.SYMBOL, "");
+    }
+
+    private boolean peek(String symbol) {
+        return !this.atEnd() && this.tokens.get(this.position).type() == TokenType.SYMBOL && this.tokens.get(this.position).text().equals(symbol);
+    }
+
+    private boolean accept(String symbol) {
+        if (!this.peek(symbol))
+            return false;
+        this.position++;
+        return true;
+    }
+
+    private void expect(String symbol) throws UnsupportedProgramException {
+        if (!this.accept(symbol))
+            throw new UnsupportedProgramException("Expected " + symbol + " but found " + (this.atEnd() ? "end of program" : this.current().text()));
+    }
+    //#endregion
+
+    //#region --- Tokenizer ---
+    private static List<Token> tokenize(String text) throws UnsupportedProgramException {
+        List<Token> tokens = new ArrayList<>();
+        int i = 0;
+        while (i < text.length()) {
+            char c = text.charAt(i);
+            if (Character.isWhitespace(c)) {
+                i++;
+            } else if (c == '%') {
+                while (i < text.length() && text.charAt(i) != '\n')
+                    i++;
+            } else if (isLetter(c) || c == '_') {
+                int start = i;
+                while (i < text.length() && (isLetter(text.charAt(i)) || isDigit(text.charAt(i)) || text.charAt(i) == '_'))
+                    i++;
+                var word = text.substring(start, i);
+                tokens.add(new Token(Character.isUpperCase(c) || c == '_' ? TokenType.VARIABLE : TokenType.IDENTIFIER, word));
+            } else if (isDigit(c)) {
+                int start = i;
+                while (i < text.length() && isDigit(text.charAt(i)))
+                    i++;
+                var number = text.substring(start, i);
+                if ((number.length() > 1 && number.charAt(0) == '0') || number.length() > 9)
+                    throw new UnsupportedProgramException("Unsupported integer " + number);
+                tokens.add(new Token(TokenType.NUMBER, number));
+            } else if (c == '"') {
+                int end = text.indexOf('"', i + 1);
+                if (end < 0 || text.substring(i, end).indexOf('\n') >= 0)
+                    throw new UnsupportedProgramException("Unterminated string");
+                tokens.add(new Token(TokenType.STRING, text.substring(i, end + 1)));
+                i = end + 1;
+            } else {
+                var symbol = readSymbol(text, i);
+                tokens.add(new Token(TokenType.SYMBOL, symbol));
+                i += symbol.length();
+            }
+        }
+        return tokens;
+    }
+
+    private static boolean isLetter(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z');
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static String readSymbol(String text, int i) throws UnsupportedProgramException {
+        var twoCharacters = i + 2 <= text.length() ? text.substring(i, i + 2) : "";
+        if (twoCharacters.equals(":~"))
+            throw new UnsupportedProgramException("Weak constraints are not supported");
+        if (twoCharacters.equals(":-") || (COMPARISON_OPERATORS.contains(twoCharacters)))
+            return twoCharacters;
+
+        var oneCharacter = text.substring(i, i + 1);
+        if (oneCharacter.equals("(") || oneCharacter.equals(")") || oneCharacter.equals(",") || oneCharacter.equals(".") ||
+            oneCharacter.equals("?") || COMPARISON_OPERATORS.contains(oneCharacter))
+            return oneCharacter;
+        throw new UnsupportedProgramException("Unsupported character " + oneCharacter);
+    }
+
+    private enum TokenType {
+        IDENTIFIER, VARIABLE, NUMBER, STRING, SYMBOL
+    }
+
+    private record Token(TokenType type, String text) {
+    }
+    //#endregion
+}
@@ -0,0 +1,95 @@
+package at.jku.dke.task_app.datalog.evaluation.engine;
+
+import java.util.*;
+
+/**
+ * Stores the tuples of a predicate.
+ * <p>
+ * Hash indexes on single positions are created on first use and maintained for all tuples added afterward.
+ */
+public final class Relation {
+    private final Set<List<String>> tuples;
+    private final List<Map<String, List<List<String>>>> indexes;
+
+    /**
+     * Creates a new instance of class {@link Relation}.
+     *
+     * @param arity The arity of the predicate.
+     */
+    public Relation(int arity) {
+        this.tuples = new LinkedHashSet<>();
+        this.indexes = new ArrayList<>(Collections.nCopies(arity, null));
+    }
+
+    /**
+     * Adds the tuple to the relation.
+     *
+     * @param tuple The tuple.
+     * @return {@code true} if the tuple was not contained before; {@code false} otherwise.
+     */
+    public boolean add(List<String> tuple) {
+        if (!this.tuples.add(tuple))
+            return false;
+        for (int i = 0; i < this.indexes.size(); i++) {
+            var index = this.indexes.get(i);
+            if (index != null)
+                index.computeIfAbsent(tuple.get(i), k -> new ArrayList<>()).add(tuple);
+        }
+        return true;
+    }
+
+    /**
+     * Returns whether the relation contains the tuple.
+     *
+     * @param tuple The tuple.
+     * @return {@code true} if the tuple is contained; {@code false} otherwise.
+     */
+    public boolean contains(List<String> tuple) {
+        return this.tuples.contains(tuple);
+    }
+
+    /**
+     * Returns the tuples that have the given value at the given position.
+     *
+     * @param position The position (zero-based).
+     * @param value    The value.
+     * @return The matching tuples.
+     */
+    public Collection<List<String>> lookup(int position, String value) {
+        var index = this.indexes.get(position);
+        if (index == null) {
+            index = new HashMap<>();
+            for (List<String> tuple : this.tuples)
+                index.computeIfAbsent(tuple.get(position), k -> new ArrayList<>()).add(tuple);
+            this.indexes.set(position, index);
+        }
+        return index.getOrDefault(value, List.of());
+    }
+
+    /**
+     * Returns all tuples in insertion order.
+     *
+     * @return The tuples.
+     */
+    public Collection<List<String>> tuples() {
+        return Collections.unmodifiableSet(this.tuples);
+    }
+
+    /**
+     * Returns the number of tuples.
+     *
+     * @return The number of tuples.
+     */
+    public int size() {
+        return this.tuples.size();
+    }
+
+    /**
+     * Returns whether the relation does not contain any tuples.
+     *
+     * @return {@code true} if the relation is empty; {@code false} otherwise.
+     */
+    public boolean isEmpty() {
+        return this.tuples.isEmpty();
+    }
+}
@@ -0,0 +1,37 @@
+package at.jku.dke.task_app.datalog.evaluation.engine;
+
+import java.util.List;
+
+/**
+ * Represents a rule or a fact of a program.
+ *
+ * @param head         The head of the rule.
+ * @param positiveBody The positive body atoms.
+ * @param negativeBody The atoms negated by {@code not}.
+ * @param comparisons  The built-in comparisons.
+ */
+public record Rule(Atom head, List<Atom> positiveBody, List<Atom> negativeBody, List<Comparison> comparisons) {
+
+    /**
+     * Creates a new instance of class {@link Rule}.
+     *
+     * @param head         The head of the rule.
+     * @param positiveBody The positive body atoms.
+     * @param negativeBody The atoms negated by {@code not}.
+     * @param comparisons  The built-in comparisons.
+     */
+    public Rule {
+        positiveBody = List.copyOf(positiveBody);
+        negativeBody = List.copyOf(negativeBody);
+        comparisons = List.copyOf(comparisons);
+    }
+
+    /**
+     * Returns whether the rule is a fact, i.e. has no body.
+     *
+     * @return {@code true} if the rule is a fact; {@code false} otherwise.
+     */
+    public boolean isFact() {
+        return this.positiveBody.isEmpty() && this.negativeBody.isEmpty() && this.comparisons.isEmpty();
+    }
+}
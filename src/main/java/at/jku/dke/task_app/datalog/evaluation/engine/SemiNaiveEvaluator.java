@@ -0,0 +1,411 @@
+package at.jku.dke.task_app.datalog.evaluation.engine;
+
+import at.jku.dke.task_app.datalog.evaluation.exceptions.ExecutionException;
+import at.jku.dke.task_app.datalog.evaluation.exceptions.ResultTooLargeException;
+import at.jku.dke.task_app.datalog.evaluation.exceptions.UnsupportedProgramException;
+
+import java.util.*;
+import java.util.stream.IntStream;
+
+/**
+ * Evaluates stratified Datalog programs bottom-up.
+ * <p>
+ * The predicates are grouped into strongly connected components of the dependency graph, which are evaluated in dependency order.
+ * Within a component, rules are evaluated semi-naively: after the first round, each rule is only joined with the tuples
+ * derived in the previous round for one of its recursive body atoms at a time.
+ * Programs with negation inside a recursive component are not stratified and result in an {@link UnsupportedProgramException}.
+ */
+public final class SemiNaiveEvaluator {
+    private static final int DEADLINE_CHECK_INTERVAL = 4096;
+
+    private final long deadline;
+    private final long maxFacts;
+    private final Map<String, Relation> relations;
+    private int steps;
+    private long derivedFacts;
+
+    private SemiNaiveEvaluator(Program program, long deadline, long maxFacts) {
+        this.deadline = deadline;
+        this.maxFacts = maxFacts;
+        this.relations = new HashMap<>();
+        for (String predicate : program.predicates())
+            this.relations.put(predicate, new Relation(program.arities().get(predicate)));
+    }
+
+    /**
+     * Evaluates the program.
+     *
+     * @param program     The program.
+     * @param maxDuration The maximum evaluation time in milliseconds.
+     * @return The model of the program.
+     * @throws UnsupportedProgramException If the program is not stratified or uses unsupported comparisons.
+     * @throws ExecutionException          If the evaluation takes longer than the maximum evaluation time.
+     */
+    public static Model evaluate(Program program, long maxDuration) throws ExecutionException {
+        return evaluate(program, maxDuration, Long.MAX_VALUE);
+    }
+
+    /**
+     * Evaluates the program and aborts the evaluation as soon as the rules derive more than the maximum number of facts.
+     *
+     * @param program     The program.
+     * @param maxDuration The maximum evaluation time in milliseconds.
+     * @param maxFacts    The maximum number of facts derived by the rules.
+     * @return The model of the program.
+     * @throws UnsupportedProgramException If the program is not stratified or uses unsupported comparisons.
+     * @throws ResultTooLargeException     If the rules derive more than the maximum number of facts.
+     * @throws ExecutionException          If the evaluation takes longer than the maximum evaluation time.
+     */
+    public static Model evaluate(Program program, long maxDuration, long maxFacts) throws ExecutionException {
+        var evaluator = new SemiNaiveEvaluator(program, System.nanoTime() + maxDuration * 1_000_000, maxFacts);
+        Set<String> derivedPredicates = new HashSet<>();
+
+        // Facts
+        List<Rule> rules = new ArrayList<>();
+        for (Rule rule : program.rules()) {
+            if (rule.isFact()) {
+                evaluator.relations.get(rule.head().predicate()).add(rule.head().terms().stream().map(Term::value).toList());
+            } else {
+                rules.add(rule);
+                derivedPredicates.add(rule.head().predicate());
+            }
+        }
+
+        // Rules, one component after another
+        for (Set<String> component : stratify(program, rules)) {
+            var componentRules = rules.stream().filter(r -> component.contains(r.head().predicate())).toList();
+            if (!componentRules.isEmpty())
+                evaluator.evaluateComponent(component, componentRules);
+        }
+
+        return new Model(program, evaluator.relations, derivedPredicates);
+    }
+
+    //#region --- Stratification ---
+
+    /**
+     * Returns the strongly connected components of the predicate dependency graph so that each component comes after all components it depends on.
+     *
+     * @param program The program.
+     * @param rules   The rules (without facts).
+     * @return The components in evaluation order.
+     * @throws UnsupportedProgramException If a predicate depends negatively on its own component.
+     */
+    private static List<Set<String>> stratify(Program program, List<Rule> rules) throws UnsupportedProgramException {
+        Map<String, Set<String>> dependencies = new HashMap<>();
+        for (String predicate : program.predicates())
+            dependencies.put(predicate, new LinkedHashSet<>());
+        for (Rule rule : rules) {
+            var edges = dependencies.get(rule.head().predicate());
+            rule.positiveBody().forEach(a -> edges.add(a.predicate()));
+            rule.negativeBody().forEach(a -> edges.add(a.predicate()));
+        }
+
+        var components = new Tarjan(dependencies).run(program.predicates());
+        for (Set<String> component : components) {
+            for (Rule rule : rules) {
+                if (component.contains(rule.head().predicate()) && rule.negativeBody().stream().anyMatch(a -> component.contains(a.predicate())))
+                    throw new UnsupportedProgramException("Program is not stratified, " + rule.head().predicate() + " depends negatively on itself");
+            }
+        }
+        return components;
+    }
+
+    /**
+     * Tarjan's algorithm for strongly connected components (iterative, to avoid deep recursion on long dependency chains).
+     */
+    private static final class Tarjan {
+        private final Map<String, Set<String>> edges;
+        private final Map<String, Integer> index = new HashMap<>();
+        private final Map<String, Integer> lowLink = new HashMap<>();
+        private final Deque<String> stack = new ArrayDeque<>();
+        private final Set<String> onStack = new HashSet<>();
+        private final List<Set<String>> components = new ArrayList<>();
+        private int counter;
+
+        Tarjan(Map<String, Set<String>> edges) {
+            this.edges = edges;
+        }
+
+        List<Set<String>> run(List<String> nodes) {
+            for (String node : nodes) {
+                if (!this.index.containsKey(node))
+                    this.visit(node);
+            }
+            return this.components;
+        }
+
+        private void visit(String root) {
+            Deque<Map.Entry<String, Iterator<String>>> work = new ArrayDeque<>();
+            this.open(root);
+            work.push(Map.entry(root, this.edges.get(root).iterator()));
+
+            while (!work.isEmpty()) {
+                var frame = work.peek();
+                var node = frame.getKey();
+                var iterator = frame.getValue();
+                if (iterator.hasNext()) {
+                    var next = iterator.next();
+                    if (!this.index.containsKey(next)) {
+                        this.open(next);
+                        work.push(Map.entry(next, this.edges.get(next).iterator()));
+                    } else if (this.onStack.contains(next)) {
+                        this.lowLink.put(node, Math.min(this.lowLink.get(node), this.index.get(next)));
+                    }
+                    continue;
+                }
+
+                work.pop();
+                if (!work.isEmpty()) {
+                    var parent = work.peek().getKey();
+                    this.lowLink.put(parent, Math.min(this.lowLink.get(parent), this.lowLink.get(node)));
+                }
+                if (this.lowLink.get(node).equals(this.index.get(node))) {
+                    Set<String> component = new HashSet<>();
+                    String member;
+                    do {
+                        member = this.stack.pop();
+                        this.onStack.remove(member);
+                        component.add(member);
+                    } while (!member.equals(node));
+                    this.components.add(component);
+                }
+            }
+        }
+
+        private void open(String node) {
+            this.index.put(node, this.counter);
+            this.lowLink.put(node, this.counter);
+            this.counter++;
+            this.stack.push(node);
+            this.onStack.add(node);
+        }
+    }
+    //#endregion
+
+    //#region --- Evaluation ---
+    private void evaluateComponent(Set<String> component, List<Rule> rules) throws ExecutionException {
+        List<CompiledRule> compiled = new ArrayList<>();
+        for (Rule rule : rules)
+            compiled.add(new CompiledRule(rule, component));
+
+        // First round: all rules on the full relations
+        Map<String, Relation> delta = new HashMap<>();
+        for (CompiledRule rule : compiled)
+            this.join(rule, -1, null, delta);
+
+        // Further rounds: recursive rules on the tuples derived in the previous round
+        while (!delta.isEmpty()) {
+            Map<String, Relation> nextDelta = new HashMap<>();
+            for (CompiledRule rule : compiled) {
+                for (int i : rule.recursiveAtoms) {
+                    var atomDelta = delta.get(rule.positive[i].predicate);
+                    if (atomDelta != null)
+                        this.join(rule, i, atomDelta, nextDelta);
+                }
+            }
+            delta = nextDelta;
+        }
+    }
+
+    /**
+     * Evaluates the rule and collects the derived tuples that are new.
+     * <p>
+     * The new tuples are only added to the relations after the rule has been evaluated, so that the relations are not modified while they are joined.
+     *
+     * @param rule      The rule.
+     * @param deltaAtom The index of the positive body atom that is joined with the delta relation or -1 to use the full relations only.
+     * @param delta     The delta relation.
+     * @param newTuples The relations receiving the new tuples per predicate.
+     */
+    private void join(CompiledRule rule, int deltaAtom, Relation delta, Map<String, Relation> newTuples) throws ExecutionException {
+        Set<List<String>> derived = new LinkedHashSet<>();
+        this.join(rule, 0, new String[rule.variableCount], deltaAtom, delta, derived);
+
+        var relation = this.relations.get(rule.head.predicate);
+        for (List<String> tuple : derived) {
+            if (relation.add(tuple)) {
+                newTuples.computeIfAbsent(rule.head.predicate, p -> new Relation(tuple.size())).add(tuple);
+                if (++this.derivedFacts > this.maxFacts)
+                    throw new ResultTooLargeException("Evaluation derived more than " + this.maxFacts + " facts");
+            }
+        }
+    }
+
+    private void join(CompiledRule rule, int step, String[] binding, int deltaAtom, Relation delta, Set<List<String>> derived) throws ExecutionException {
+        if (++this.steps % DEADLINE_CHECK_INTERVAL == 0 && System.nanoTime() > this.deadline)
+            throw new ExecutionException("Evaluation did not finish in time");
+
+        if (step == rule.positive.length) {
+            if ((step > 0 || this.passesFilters(rule, 0, binding)) && derived.add(rule.head.instantiate(binding)) && derived.size() > this.maxFacts)
+                throw new ResultTooLargeException("Evaluation derived more than " + this.maxFacts + " facts");
+            return;
+        }
+
+        var atom = rule.positive[step];
+        var relation = step == deltaAtom ? delta : this.relations.get(atom.predicate);
+        for (List<String> tuple : atom.candidates(relation, binding)) {
+            int[] bound = atom.bind(tuple, binding);
+            if (bound != null) {
+                if (this.passesFilters(rule, step, binding))
+                    this.join(rule, step + 1, binding, deltaAtom, delta, derived);
+                for (int variable : bound)
+                    binding[variable] = null;
+            }
+        }
+    }
+
+    private boolean passesFilters(CompiledRule rule, int step, String[] binding) throws UnsupportedProgramException {
+        for (CompiledComparison comparison : rule.comparisonsAfter.get(step)) {
+            if (!comparison.comparison.test(comparison.left.value(binding), comparison.right.value(binding)))
+                return false;
+        }
+        for (CompiledAtom negated : rule.negativesAfter.get(step)) {
+            if (this.relations.get(negated.predicate).contains(negated.instantiate(binding)))
+                return false;
+        }
+        return true;
+    }
+
+    /**
+     * A rule whose variables are replaced by indexes into a binding array.
+     */
+    private static final class CompiledRule {
+        private final CompiledAtom head;
+        private final CompiledAtom[] positive;
+        private final int[] recursiveAtoms;
+        private final List<List<CompiledComparison>> comparisonsAfter;
+        private final List<List<CompiledAtom>> negativesAfter;
+        private final int variableCount;
+
+        CompiledRule(Rule rule, Set<String> component) {
+            Map<String, Integer> variables = new HashMap<>();
+            this.positive = rule.positiveBody().stream().map(a -> new CompiledAtom(a, variables)).toArray(CompiledAtom[]::new);
+            this.head = new CompiledAtom(rule.head(), variables);
+            this.recursiveAtoms = IntStream.range(0, this.positive.length)
+                .filter(i -> component.contains(this.positive[i].predicate))
+                .toArray();
+            this.variableCount = variables.size();
+
+            // Apply comparisons and negated atoms as soon as all their variables are bound (rules are safe, so this happens at the latest after the last atom)
+            int steps = Math.max(this.positive.length, 1);
+            this.comparisonsAfter = new ArrayList<>();
+            this.negativesAfter = new ArrayList<>();
+            for (int i = 0; i < steps; i++) {
+                this.comparisonsAfter.add(new ArrayList<>());
+                this.negativesAfter.add(new ArrayList<>());
+            }
+            int[] boundAfter = new int[variables.size()];
+            for (int i = this.positive.length - 1; i >= 0; i--) {
+                for (int variable : this.positive[i].variables)
+                    if (variable >= 0)
+                        boundAfter[variable] = i;
+            }
+            for (Comparison comparison : rule.comparisons()) {
+                var compiled = new CompiledComparison(comparison, new CompiledTerm(comparison.left(), variables), new CompiledTerm(comparison.right(), variables));
+                this.comparisonsAfter.get(Math.max(compiled.left.boundAfter(boundAfter), compiled.right.boundAfter(boundAfter))).add(compiled);
+            }
+            for (Atom atom : rule.negativeBody()) {
+                var compiled = new CompiledAtom(atom, variables);
+                int step = 0;
+                for (int variable : compiled.variables)
+                    if (variable >= 0)
+                        step = Math.max(step, boundAfter[variable]);
+                this.negativesAfter.get(step).add(compiled);
+            }
+        }
+    }
+
+    /**
+     * An atom whose variables are replaced by indexes into a binding array.
+     */
+    private static final class CompiledAtom {
+        private final String predicate;
+        private final int[] variables;
+        private final String[] constants;
+
+        CompiledAtom(Atom atom, Map<String, Integer> variableIndexes) {
+            this.predicate = atom.predicate();
+            this.variables = new int[atom.arity()];
+            this.constants = new String[atom.arity()];
+            for (int i = 0; i < atom.arity(); i++) {
+                var term = atom.terms().get(i);
+                if (term.variable()) {
+                    this.variables[i] = variableIndexes.computeIfAbsent(term.value(), k -> variableIndexes.size());
+                } else {
+                    this.variables[i] = -1;
+                    this.constants[i] = term.value();
+                }
+            }
+        }
+
+        /**
+         * Returns the tuples of the relation that may match, using an index if a position is already bound.
+         */
+        Collection<List<String>> candidates(Relation relation, String[] binding) {
+            for (int i = 0; i < this.variables.length; i++) {
+                if (this.variables[i] < 0)
+                    return relation.lookup(i, this.constants[i]);
+                if (binding[this.variables[i]] != null)
+                    return relation.lookup(i, binding[this.variables[i]]);
+            }
+            return relation.tuples();
+        }
+
+        /**
+         * Matches the tuple against the atom and binds the free variables.
+         *
+         * @return The indexes of the newly bound variables or {@code null} if the tuple does not match (in which case nothing is bound).
+         */
+        int[] bind(List<String> tuple, String[] binding) {
+            int[] bound = new int[this.variables.length];
+            int count = 0;
+            for (int i = 0; i < this.variables.length; i++) {
+                var value = tuple.get(i);
+                int variable = this.variables[i];
+                boolean matches;
+                if (variable < 0) {
+                    matches = this.constants[i].equals(value);
+                } else if (binding[variable] == null) {
+                    binding[variable] = value;
+                    bound[count++] = variable;
+                    matches = true;
+                } else {
+                    matches = binding[variable].equals(value);
+                }
+
+                if (!matches) {
+                    for (int j = 0; j < count; j++)
+                        binding[bound[j]] = null;
+                    return null;
+                }
+            }
+            return Arrays.copyOf(bound, count);
+        }
+
+        List<String> instantiate(String[] binding) {
+            String[] tuple = new String[this.variables.length];
+            for (int i = 0; i < tuple.length; i++)
+                tuple[i] = this.variables[i] < 0 ? this.constants[i] : binding[this.variables[i]];
+            return List.of(tuple);
+        }
+    }
+
+    private record CompiledTerm(int variable, String constant) {
+        CompiledTerm(Term term, Map<String, Integer> variableIndexes) {
+            this(term.variable() ? variableIndexes.computeIfAbsent(term.value(), k -> variableIndexes.size()) : -1, term.variable() ? null : term.value());
+        }
+
+        String value(String[] binding) {
+            return this.variable < 0 ? this.constant : binding[this.variable];
+        }
+
+        int boundAfter(int[] boundAfter) {
+            return this.variable < 0 ? 0 : boundAfter[this.variable];
+        }
+    }
+
+    private record CompiledComparison(Comparison comparison, CompiledTerm left, CompiledTerm right) {
+    }
+    //#endregion
+}
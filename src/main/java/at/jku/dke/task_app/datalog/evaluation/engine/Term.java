@@ -0,0 +1,35 @@
+package at.jku.dke.task_app.datalog.evaluation.engine;
+
+/**
+ * Represents a term of an atom, either a constant or a variable.
+ *
+ * @param value    The constant as printed by DLV or the name of the variable.
+ * @param variable Whether the term is a variable.
+ */
+public record Term(String value, boolean variable) {
+
+    /**
+     * Creates a constant term.
+     *
+     * @param value The constant.
+     * @return The term.
+     */
+    public static Term constant(String value) {
+        return new Term(value, false);
+    }
+
+    /**
+     * Creates a variable term.
+     *
+     * @param name The name of the variable.
+     * @return The term.
+     */
+    public static Term variable(String name) {
+        return new Term(name, true);
+    }
+
+    @Override
+    public String toString() {
+        return this.value;
+    }
+}
@@ -0,0 +1,4 @@
+/**
+ * Contains a bottom-up Datalog engine that evaluates stratified programs inside the JVM.
+ */
+package at.jku.dke.task_app.datalog.evaluation.engine;
@@ -0,0 +1,49 @@
+package at.jku.dke.task_app.datalog.evaluation.events;
+
+import at.jku.dke.task_app.datalog.evaluation.EvaluationContext;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.StackTrace;
+
+import java.util.Locale;
+
+/**
+ * Base class of the JFR events that are attributed to the submission evaluated by the current thread.
+ * <p>
+ * The events are cheap if no recording is running: the fields are only set if the event will be committed
+ * (see {@link #shouldCommit()}), and no stack traces are recorded.
+ */
+@Category({"eTutor", "Datalog"})
+@StackTrace(false)
+public abstract class EvaluationEvent extends Event {
+    @Label("Task Type")
+    @Description("The type of the task (dlg or asp), empty outside of an evaluation")
+    String taskType;
+
+    @Label("Submission Mode")
+    @Description("The submission mode, empty outside of an evaluation")
+    String mode;
+
+    @Label("Task ID")
+    @Description("The task identifier, 0 outside of an evaluation")
+    long taskId;
+
+    /**
+     * Creates a new instance of class {@link EvaluationEvent}.
+     */
+    protected EvaluationEvent() {
+    }
+
+    /**
+     * Sets the task type, mode and task id from the {@link EvaluationContext} of the current thread.
+     */
+    protected void setContext() {
+        EvaluationContext.current().ifPresent(context -> {
+            this.taskType = context.taskType();
+            this.mode = context.mode().name().toLowerCase(Locale.ROOT);
+            this.taskId = context.taskId();
+        });
+    }
+}
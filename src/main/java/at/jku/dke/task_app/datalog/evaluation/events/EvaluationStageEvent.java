@@ -0,0 +1,28 @@
+package at.jku.dke.task_app.datalog.evaluation.events;
+
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * JFR event recording a stage of an evaluation (e.g. the analysis or the report).
+ */
+@Name("at.jku.dke.task_app.datalog.EvaluationStage")
+@Label("Evaluation Stage")
+public final class EvaluationStageEvent extends EvaluationEvent {
+    @Label("Stage")
+    String stage;
+
+    /**
+     * Commits the event if it is enabled and exceeds the threshold.
+     *
+     * @param stage The name of the stage.
+     */
+    public void commit(String stage) {
+        this.end();
+        if (this.shouldCommit()) {
+            this.setContext();
+            this.stage = stage;
+            this.commit();
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package at.jku.dke.task_app.datalog.evaluation.events;
+
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * JFR event recording a DLV process from its start until it exited or was killed.
+ */
+@Name("at.jku.dke.task_app.datalog.Process")
+@Label("DLV Process")
+public final class ProcessEvent extends EvaluationEvent {
+    @Label("Process ID")
+    @Description("The process identifier, 0 if the process could not be started")
+    long pid;
+
+    @Label("Outcome")
+    String outcome;
+
+    @Label("Exit Code")
+    @Description("The exit code, -1 if the process was killed")
+    int exitCode;
+
+    @Label("Bytes Read")
+    @DataAmount
+    long bytesRead;
+
+    /**
+     * Commits the event if it is enabled and exceeds the threshold.
+     *
+     * @param pid       The process identifier (0 if the process could not be started).
+     * @param outcome   The outcome.
+     * @param exitCode  The exit code (-1 if the process was killed).
+     * @param bytesRead The number of bytes read from the process.
+     */
+    public void commit(long pid, String outcome, int exitCode, long bytesRead) {
+        this.end();
+        if (this.shouldCommit()) {
+            this.setContext();
+            this.pid = pid;
+            this.outcome = outcome;
+            this.exitCode = exitCode;
+            this.bytesRead = bytesRead;
+            this.commit();
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package at.jku.dke.task_app.datalog.evaluation.events;
+
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * JFR event recording that a DLV process is killed (e.g. because it did not exit in time).
+ */
+@Name("at.jku.dke.task_app.datalog.ProcessKill")
+@Label("DLV Process Kill")
+public final class ProcessKillEvent extends EvaluationEvent {
+    @Label("Process ID")
+    long pid;
+
+    @Label("Reason")
+    String reason;
+
+    /**
+     * Commits an instant event if it is enabled.
+     *
+     * @param pid    The process identifier.
+     * @param reason The reason.
+     */
+    public static void emit(long pid, String reason) {
+        var event = new ProcessKillEvent();
+        if (event.isEnabled()) {
+            event.setContext();
+            event.pid = pid;
+            event.reason = reason;
+            event.commit();
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package at.jku.dke.task_app.datalog.evaluation.events;
+
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * JFR event recording the start of a DLV process; the duration is the time to spawn the process.
+ */
+@Name("at.jku.dke.task_app.datalog.ProcessStart")
+@Label("DLV Process Start")
+public final class ProcessStartEvent extends EvaluationEvent {
+    @Label("Process ID")
+    long pid;
+
+    /**
+     * Commits the event if it is enabled and exceeds the threshold.
+     *
+     * @param pid The process identifier.
+     */
+    public void commit(long pid) {
+        this.end();
+        if (this.shouldCommit()) {
+            this.setContext();
+            this.pid = pid;
+            this.commit();
+        }
+    }
+}
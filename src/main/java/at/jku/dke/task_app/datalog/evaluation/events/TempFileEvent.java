@@ -0,0 +1,51 @@
+package at.jku.dke.task_app.datalog.evaluation.events;
+
+import jdk.jfr.DataAmount;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+import java.io.File;
+
+/**
+ * JFR event recording a read or write of a temporary file passed to or written by DLV.
+ */
+@Name("at.jku.dke.task_app.datalog.TempFile")
+@Label("DLV Temporary File")
+public final class TempFileEvent extends EvaluationEvent {
+    /**
+     * The operation of an event writing a file.
+     */
+    public static final String WRITE = "write";
+
+    /**
+     * The operation of an event reading a file.
+     */
+    public static final String READ = "read";
+
+    @Label("Operation")
+    String operation;
+
+    @Label("Path")
+    String path;
+
+    @Label("Bytes")
+    @DataAmount
+    long bytes;
+
+    /**
+     * Commits the event if it is enabled and exceeds the threshold.
+     *
+     * @param operation The operation ({@link #WRITE} or {@link #READ}).
+     * @param file      The file.
+     */
+    public void commit(String operation, File file) {
+        this.end();
+        if (this.shouldCommit()) {
+            this.setContext();
+            this.operation = operation;
+            this.path = file.getPath();
+            this.bytes = file.length();
+            this.commit();
+        }
+    }
+}
@@ -0,0 +1,4 @@
+/**
+ * Contains the JFR events of the evaluations and DLV processes.
+ */
+package at.jku.dke.task_app.datalog.evaluation.events;
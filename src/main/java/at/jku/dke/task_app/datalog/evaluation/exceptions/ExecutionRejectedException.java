@@ -0,0 +1,27 @@
+package at.jku.dke.task_app.datalog.evaluation.exceptions;
+
+/**
+ * Exception that is thrown if an execution is rejected because too many executions are running or waiting.
+ */
+public class ExecutionRejectedException extends ExecutionException {
+
+    /**
+     * Creates a new instance of class {@linkplain ExecutionRejectedException}.
+     *
+     * @param message The message.
+     */
+    public ExecutionRejectedException(String message) {
+        super(message);
+    }
+
+    /**
+     * Creates a new instance of class {@linkplain ExecutionRejectedException}.
+     *
+     * @param message The message.
+     * @param cause   The cause.
+     */
+    public ExecutionRejectedException(String message, Throwable cause) {
+        super(message, cause);
+    }
+
+}
@@ -0,0 +1,27 @@
+package at.jku.dke.task_app.datalog.evaluation.exceptions;
+
+/**
+ * Exception that is thrown if the result of an execution exceeds the maximum output size or the maximum number of facts.
+ */
+public class ResultTooLargeException extends ExecutionException {
+
+    /**
+     * Creates a new instance of class {@linkplain ResultTooLargeException}.
+     *
+     * @param message The message.
+     */
+    public ResultTooLargeException(String message) {
+        super(message);
+    }
+
+    /**
+     * Creates a new instance of class {@linkplain ResultTooLargeException}.
+     *
+     * @param message The message.
+     * @param cause   The cause.
+     */
+    public ResultTooLargeException(String message, Throwable cause) {
+        super(message, cause);
+    }
+
+}
@@ -0,0 +1,27 @@
+package at.jku.dke.task_app.datalog.evaluation.exceptions;
+
+/**
+ * Exception that is thrown if a program cannot be evaluated by the JVM engine and has to be executed by the Datalog executable.
+ */
+public class UnsupportedProgramException extends ExecutionException {
+
+    /**
+     * Creates a new instance of class {@linkplain UnsupportedProgramException}.
+     *
+     * @param message The message.
+     */
+    public UnsupportedProgramException(String message) {
+        super(message);
+    }
+
+    /**
+     * Creates a new instance of class {@linkplain UnsupportedProgramException}.
+     *
+     * @param message The message.
+     * @param cause   The cause.
+     */
+    public UnsupportedProgramException(String message, Throwable cause) {
+        super(message, cause);
+    }
+
+}
@@ -2,7 +2,7 @@
 
 import at.jku.dke.etutor.task_app.dto.GradingDto;
 import at.jku.dke.etutor.task_app.dto.SubmitSubmissionDto;
-import at.jku.dke.etutor.task_app.services.BaseSubmissionService;
+import at.jku.dke.task_app.datalog.config.DatalogSettings;
 import at.jku.dke.task_app.datalog.data.entities.AspSubmission;
 import at.jku.dke.task_app.datalog.data.entities.AspTask;
 import at.jku.dke.task_app.datalog.data.repositories.AspSubmissionRepository;
@@ -11,11 +11,13 @@
 import at.jku.dke.task_app.datalog.evaluation.asp.AspEvaluationService;
 import org.springframework.stereotype.Service;
 
+import java.time.OffsetDateTime;
+
 /**
  * This class provides methods for managing {@link AspSubmission}s.
  */
 @Service
-public class AspSubmissionService extends BaseSubmissionService<AspTask, AspSubmission, AspSubmissionDto> {
+public class AspSubmissionService extends QueuedSubmissionService<AspTask, AspSubmission, AspSubmissionDto> {
 
     private final AspEvaluationService evaluationService;
 
@@ -25,9 +27,10 @@ public class AspSubmissionService extends BaseSubmissionService<AspTask, AspSubm
      * @param submissionRepository The input repository.
      * @param taskRepository       The task repository.
      * @param evaluationService    The evaluation service.
+     * @param settings             The datalog settings.
      */
-    public AspSubmissionService(AspSubmissionRepository submissionRepository, AspTaskRepository taskRepository, AspEvaluationService evaluationService) {
-        super(submissionRepository, taskRepository);
+    public AspSubmissionService(AspSubmissionRepository submissionRepository, AspTaskRepository taskRepository, AspEvaluationService evaluationService, DatalogSettings settings) {
+        super(submissionRepository, taskRepository, settings);
         this.evaluationService = evaluationService;
     }
 
@@ -41,6 +44,29 @@ protected GradingDto evaluate(SubmitSubmissionDto<AspSubmissionDto> submitSubmis
         return this.evaluationService.evaluate(submitSubmissionDto);
     }
 
+    @Override
+    protected AspSubmission createQueuedSubmissionEntity(SubmitSubmissionDto<AspSubmissionDto> submitSubmissionDto, AspTask task) {
+        var submission = new AspSubmission(submitSubmissionDto.userId(), submitSubmissionDto.assignmentId(), task, submitSubmissionDto.language(),
+            submitSubmissionDto.feedbackLevel(), submitSubmissionDto.mode(), submitSubmissionDto.submission().input());
+        submission.setQueuedAt(OffsetDateTime.now());
+        return submission;
+    }
+
+    @Override
+    protected Long getTaskId(AspSubmission submission) {
+        return submission.getTask().getId();
+    }
+
+    @Override
+    protected int getAttempts(AspSubmission submission) {
+        return submission.getAttempts();
+    }
+
+    @Override
+    protected GradingDto createFailedGrading(SubmitSubmissionDto<AspSubmissionDto> submitSubmissionDto) {
+        return this.evaluationService.evaluationFailed(submitSubmissionDto);
+    }
+
     @Override
     protected AspSubmissionDto mapSubmissionToSubmissionData(AspSubmission submission) {
         return new AspSubmissionDto(submission.getSubmission());
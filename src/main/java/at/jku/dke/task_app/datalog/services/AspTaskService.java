@@ -9,6 +9,7 @@
 import at.jku.dke.task_app.datalog.dto.AspSubmissionDto;
 import at.jku.dke.task_app.datalog.dto.DatalogSubmissionDto;
 import at.jku.dke.task_app.datalog.dto.ModifyAspTaskDto;
+import at.jku.dke.task_app.datalog.evaluation.ExecutionPriority;
 import at.jku.dke.task_app.datalog.evaluation.asp.AspEvaluationService;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
@@ -51,6 +52,8 @@ protected void updateTask(AspTask task, ModifyTaskDto<ModifyAspTaskDto> modifyTa
 
         task.setSolution(modifyTaskDto.additionalData().solution());
         task.setMaxN(modifyTaskDto.additionalData().maxN());
+        task.setDiagnoseSolutionResult(null);
+        task.setSubmissionSolutionResult(null);
     }
 
     @Override
@@ -60,36 +63,50 @@ protected TaskModificationResponseDto mapToReturnData(AspTask task, boolean crea
 
     @Override
     protected void afterCreate(AspTask task, ModifyTaskDto<ModifyAspTaskDto> dto) {
-        // Validate grading
-        var result = this.evaluationService.evaluate(new SubmitSubmissionDto<>("task-admin", "task-create", task.getId(), "en", SubmissionMode.DIAGNOSE, 3, new AspSubmissionDto(task.getSolution())));
-        if (!result.points().equals(result.maxPoints()))
-            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, convertGradingDtoToString(result));
-
-        // Validate not empty solution on diagnose and submit facts
-        var executionResult = this.evaluationService.execute(new SubmitSubmissionDto<>("task-admin", "task-create", task.getId(), "en", SubmissionMode.DIAGNOSE, 3, new DatalogSubmissionDto(task.getSolution())));
-        if (executionResult.output().isBlank())
-            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Query result for mode DIAGNOSE is empty!");
-
-        executionResult = this.evaluationService.execute(new SubmitSubmissionDto<>("task-admin", "task-create", task.getId(), "en", SubmissionMode.SUBMIT, 3, new DatalogSubmissionDto(task.getSolution())));
-        if (executionResult.output().isBlank())
-            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Query result for mode SUBMIT is empty!");
+        try (var ignored = ExecutionPriority.enter(ExecutionPriority.BACKGROUND)) {
+            // Validate grading
+            var result = this.evaluationService.evaluate(new SubmitSubmissionDto<>("task-admin", "task-create", task.getId(), "en", SubmissionMode.DIAGNOSE, 3, new AspSubmissionDto(task.getSolution())));
+            if (!result.points().equals(result.maxPoints()))
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, convertGradingDtoToString(result));
+
+            // Validate not empty solution on diagnose and submit facts
+            var diagnoseResult = this.evaluationService.execute(new SubmitSubmissionDto<>("task-admin", "task-create", task.getId(), "en", SubmissionMode.DIAGNOSE, 3, new DatalogSubmissionDto(task.getSolution())));
+            if (diagnoseResult.output().isBlank())
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Query result for mode DIAGNOSE is empty!");
+
+            var submitResult = this.evaluationService.execute(new SubmitSubmissionDto<>("task-admin", "task-create", task.getId(), "en", SubmissionMode.SUBMIT, 3, new DatalogSubmissionDto(task.getSolution())));
+            if (submitResult.output().isBlank())
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Query result for mode SUBMIT is empty!");
+
+            // Store solution results for grading
+            task.setDiagnoseSolutionResult(diagnoseResult.output());
+            task.setSubmissionSolutionResult(submitResult.output());
+            this.repository.save(task);
+        }
     }
 
     @Override
     protected void afterUpdate(AspTask task, ModifyTaskDto<ModifyAspTaskDto> dto) {
-        // Validate grading
-        var result = this.evaluationService.evaluate(new SubmitSubmissionDto<>("task-admin", "task-create", task.getId(), "en", SubmissionMode.DIAGNOSE, 3, new AspSubmissionDto(task.getSolution())));
-        if (!result.points().equals(result.maxPoints()))
-            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, convertGradingDtoToString(result));
-
-        // Validate not empty solution on diagnose and submit facts
-        var executionResult = this.evaluationService.execute(new SubmitSubmissionDto<>("task-admin", "task-create", task.getId(), "en", SubmissionMode.DIAGNOSE, 3, new DatalogSubmissionDto(task.getSolution())));
-        if (executionResult.output().isBlank())
-            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Query result for mode DIAGNOSE is empty!");
-
-        executionResult = this.evaluationService.execute(new SubmitSubmissionDto<>("task-admin", "task-create", task.getId(), "en", SubmissionMode.SUBMIT, 3, new DatalogSubmissionDto(task.getSolution())));
-        if (executionResult.output().isBlank())
-            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Query result for mode SUBMIT is empty!");
+        try (var ignored = ExecutionPriority.enter(ExecutionPriority.BACKGROUND)) {
+            // Validate grading
+            var result = this.evaluationService.evaluate(new SubmitSubmissionDto<>("task-admin", "task-create", task.getId(), "en", SubmissionMode.DIAGNOSE, 3, new AspSubmissionDto(task.getSolution())));
+            if (!result.points().equals(result.maxPoints()))
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, convertGradingDtoToString(result));
+
+            // Validate not empty solution on diagnose and submit facts
+            var diagnoseResult = this.evaluationService.execute(new SubmitSubmissionDto<>("task-admin", "task-create", task.getId(), "en", SubmissionMode.DIAGNOSE, 3, new DatalogSubmissionDto(task.getSolution())));
+            if (diagnoseResult.output().isBlank())
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Query result for mode DIAGNOSE is empty!");
+
+            var submitResult = this.evaluationService.execute(new SubmitSubmissionDto<>("task-admin", "task-create", task.getId(), "en", SubmissionMode.SUBMIT, 3, new DatalogSubmissionDto(task.getSolution())));
+            if (submitResult.output().isBlank())
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Query result for mode SUBMIT is empty!");
+
+            // Store solution results for grading
+            task.setDiagnoseSolutionResult(diagnoseResult.output());
+            task.setSubmissionSolutionResult(submitResult.output());
+            this.repository.save(task);
+        }
     }
 
     private static String convertGradingDtoToString(GradingDto grading) {
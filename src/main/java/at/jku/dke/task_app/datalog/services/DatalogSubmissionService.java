@@ -2,7 +2,7 @@
 
 import at.jku.dke.etutor.task_app.dto.GradingDto;
 import at.jku.dke.etutor.task_app.dto.SubmitSubmissionDto;
-import at.jku.dke.etutor.task_app.services.BaseSubmissionService;
+import at.jku.dke.task_app.datalog.config.DatalogSettings;
 import at.jku.dke.task_app.datalog.data.entities.DatalogSubmission;
 import at.jku.dke.task_app.datalog.data.entities.DatalogTask;
 import at.jku.dke.task_app.datalog.data.repositories.DatalogSubmissionRepository;
@@ -11,11 +11,13 @@
 import at.jku.dke.task_app.datalog.evaluation.dlg.DatalogEvaluationService;
 import org.springframework.stereotype.Service;
 
+import java.time.OffsetDateTime;
+
 /**
  * This class provides methods for managing {@link DatalogSubmission}s.
  */
 @Service
-public class DatalogSubmissionService extends BaseSubmissionService<DatalogTask, DatalogSubmission, DatalogSubmissionDto> {
+public class DatalogSubmissionService extends QueuedSubmissionService<DatalogTask, DatalogSubmission, DatalogSubmissionDto> {
 
     private final DatalogEvaluationService evaluationService;
 
@@ -25,9 +27,10 @@ public class DatalogSubmissionService extends BaseSubmissionService<DatalogTask,
      * @param submissionRepository The input repository.
      * @param taskRepository       The task repository.
      * @param evaluationService    The evaluation service.
+     * @param settings             The datalog settings.
      */
-    public DatalogSubmissionService(DatalogSubmissionRepository submissionRepository, DatalogTaskRepository taskRepository, DatalogEvaluationService evaluationService) {
-        super(submissionRepository, taskRepository);
+    public DatalogSubmissionService(DatalogSubmissionRepository submissionRepository, DatalogTaskRepository taskRepository, DatalogEvaluationService evaluationService, DatalogSettings settings) {
+        super(submissionRepository, taskRepository, settings);
         this.evaluationService = evaluationService;
     }
 
@@ -41,6 +44,29 @@ protected GradingDto evaluate(SubmitSubmissionDto<DatalogSubmissionDto> submitSu
         return this.evaluationService.evaluate(submitSubmissionDto);
     }
 
+    @Override
+    protected DatalogSubmission createQueuedSubmissionEntity(SubmitSubmissionDto<DatalogSubmissionDto> submitSubmissionDto, DatalogTask task) {
+        var submission = new DatalogSubmission(submitSubmissionDto.userId(), submitSubmissionDto.assignmentId(), task, submitSubmissionDto.language(),
+            submitSubmissionDto.feedbackLevel(), submitSubmissionDto.mode(), submitSubmissionDto.submission().input());
+        submission.setQueuedAt(OffsetDateTime.now());
+        return submission;
+    }
+
+    @Override
+    protected Long getTaskId(DatalogSubmission submission) {
+        return submission.getTask().getId();
+    }
+
+    @Override
+    protected int getAttempts(DatalogSubmission submission) {
+        return submission.getAttempts();
+    }
+
+    @Override
+    protected GradingDto createFailedGrading(SubmitSubmissionDto<DatalogSubmissionDto> submitSubmissionDto) {
+        return this.evaluationService.evaluationFailed(submitSubmissionDto);
+    }
+
     @Override
     protected DatalogSubmissionDto mapSubmissionToSubmissionData(DatalogSubmission submission) {
         return new DatalogSubmissionDto(submission.getSubmission());
@@ -5,10 +5,14 @@
 import at.jku.dke.etutor.task_app.services.BaseTaskGroupService;
 import at.jku.dke.task_app.datalog.config.DatalogSettings;
 import at.jku.dke.task_app.datalog.data.entities.DatalogTaskGroup;
+import at.jku.dke.task_app.datalog.data.repositories.AspTaskRepository;
 import at.jku.dke.task_app.datalog.data.repositories.DatalogTaskGroupRepository;
+import at.jku.dke.task_app.datalog.data.repositories.DatalogTaskRepository;
 import at.jku.dke.task_app.datalog.dto.ModifyDatalogTaskGroupDto;
 import at.jku.dke.task_app.datalog.evaluation.DatalogExecutor;
+import at.jku.dke.task_app.datalog.evaluation.ExecutionPriority;
 import at.jku.dke.task_app.datalog.evaluation.exceptions.ExecutionException;
+import at.jku.dke.task_app.datalog.evaluation.exceptions.ExecutionRejectedException;
 import at.jku.dke.task_app.datalog.evaluation.exceptions.SyntaxException;
 import jakarta.validation.ValidationException;
 import org.springframework.context.MessageSource;
@@ -31,20 +35,27 @@ public class DatalogTaskGroupService extends BaseTaskGroupService<DatalogTaskGro
     private final MessageSource messageSource;
     private final DatalogExecutor executor;
     private final DatalogSettings settings;
+    private final DatalogTaskRepository datalogTaskRepository;
+    private final AspTaskRepository aspTaskRepository;
 
     /**
      * Creates a new instance of class {@link DatalogTaskGroupService}.
      *
-     * @param repository    The task group repository.
-     * @param messageSource The message source.
-     * @param executor      The datalog executor.
-     * @param settings      The datalog settings.
+     * @param repository            The task group repository.
+     * @param messageSource         The message source.
+     * @param executor              The datalog executor.
+     * @param settings              The datalog settings.
+     * @param datalogTaskRepository The datalog task repository.
+     * @param aspTaskRepository     The ASP task repository.
      */
-    public DatalogTaskGroupService(DatalogTaskGroupRepository repository, MessageSource messageSource, DatalogExecutor executor, DatalogSettings settings) {
+    public DatalogTaskGroupService(DatalogTaskGroupRepository repository, MessageSource messageSource, DatalogExecutor executor, DatalogSettings settings,
+                                   DatalogTaskRepository datalogTaskRepository, AspTaskRepository aspTaskRepository) {
         super(repository);
         this.messageSource = messageSource;
         this.executor = executor;
         this.settings = settings;
+        this.datalogTaskRepository = datalogTaskRepository;
+        this.aspTaskRepository = aspTaskRepository;
     }
 
     @Override
@@ -63,11 +74,19 @@ protected void updateTaskGroup(DatalogTaskGroup taskGroup, ModifyTaskGroupDto<Mo
         if (!modifyTaskGroupDto.taskGroupType().equals("datalog"))
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid task group type.");
 
-        if (!taskGroup.getDiagnoseFacts().equals(modifyTaskGroupDto.additionalData().diagnoseFacts()))
+        boolean diagnoseChanged = !taskGroup.getDiagnoseFacts().equals(modifyTaskGroupDto.additionalData().diagnoseFacts());
+        boolean submitChanged = !taskGroup.getSubmissionFacts().equals(modifyTaskGroupDto.additionalData().submissionFacts());
+        if (diagnoseChanged)
             this.validate("diagnose", modifyTaskGroupDto.additionalData().diagnoseFacts());
-        if (!taskGroup.getSubmissionFacts().equals(modifyTaskGroupDto.additionalData().submissionFacts()))
+        if (submitChanged)
             this.validate("submit", modifyTaskGroupDto.additionalData().submissionFacts());
 
+        // Stored solution results depend on the facts (they are stored again by the next evaluation of each task)
+        if (diagnoseChanged || submitChanged) {
+            this.datalogTaskRepository.clearSolutionResults(taskGroup.getId());
+            this.aspTaskRepository.clearSolutionResults(taskGroup.getId());
+        }
+
         taskGroup.setDiagnoseFacts(modifyTaskGroupDto.additionalData().diagnoseFacts());
         taskGroup.setSubmissionFacts(modifyTaskGroupDto.additionalData().submissionFacts());
     }
@@ -138,11 +157,14 @@ public String getPublicUrl(long id) {
      * @throws ValidationException If the facts are not a valid datalog program.
      */
     private void validate(String part, String facts) {
-        try {
+        try (var ignored = ExecutionPriority.enter(ExecutionPriority.BACKGROUND)) {
             this.executor.execute(facts, new String[0]);
         } catch (SyntaxException ex) {
             LOG.warn("Failed to parse " + part + " datalog program.", ex);
             throw new ValidationException("Invalid " + part + " datalog program: " + ex.getMessage());
+        } catch (ExecutionRejectedException ex) {
+            LOG.warn("Rejected validation of " + part + " datalog program.", ex);
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, ex.getMessage(), ex);
         } catch (IOException | ExecutionException ex) {
             LOG.error("Failed to validate " + part + " datalog program.", ex);
             throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Failed to validate " + part + " datalog program.", ex);
@@ -8,6 +8,7 @@
 import at.jku.dke.task_app.datalog.data.repositories.DatalogTaskRepository;
 import at.jku.dke.task_app.datalog.dto.DatalogSubmissionDto;
 import at.jku.dke.task_app.datalog.dto.ModifyDatalogTaskDto;
+import at.jku.dke.task_app.datalog.evaluation.ExecutionPriority;
 import at.jku.dke.task_app.datalog.evaluation.dlg.DatalogEvaluationService;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
@@ -60,6 +61,10 @@ protected void updateTask(DatalogTask task, ModifyTaskDto<ModifyDatalogTaskDto>
         task.setQuery(this.convertStringToList(modifyTaskDto.additionalData().query()));
         task.setUncheckedTermsRaw(modifyTaskDto.additionalData().uncheckedTerms());
         setPenaltyProperties(modifyTaskDto, task);
+        task.setDiagnoseSolutionResult(null);
+        task.setSubmissionSolutionResult(null);
+        task.setDiagnoseSolutionFacts(null);
+        task.setSubmissionSolutionFacts(null);
     }
 
     @Override
@@ -69,36 +74,54 @@ protected TaskModificationResponseDto mapToReturnData(DatalogTask task, boolean
 
     @Override
     protected void afterCreate(DatalogTask task, ModifyTaskDto<ModifyDatalogTaskDto> dto) {
-        // Validate grading
-        var result = this.evaluationService.evaluate(new SubmitSubmissionDto<>("task-admin", "task-create", task.getId(), "en", SubmissionMode.DIAGNOSE, 3, new DatalogSubmissionDto(task.getSolution())));
-        if (!result.points().equals(result.maxPoints()))
-            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, convertGradingDtoToString(result));
-
-        // Validate not empty solution on diagnose and submit facts
-        var executionResult = this.evaluationService.execute(new SubmitSubmissionDto<>("task-admin", "task-create", task.getId(), "en", SubmissionMode.DIAGNOSE, 3, new DatalogSubmissionDto(task.getSolution())));
-        if (executionResult.result().values().stream().anyMatch(List::isEmpty))
-            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Query result for mode DIAGNOSE is empty!");
-
-        executionResult = this.evaluationService.execute(new SubmitSubmissionDto<>("task-admin", "task-create", task.getId(), "en", SubmissionMode.SUBMIT, 3, new DatalogSubmissionDto(task.getSolution())));
-        if (executionResult.result().values().stream().anyMatch(List::isEmpty))
-            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Query result for mode SUBMIT is empty!");
+        try (var ignored = ExecutionPriority.enter(ExecutionPriority.BACKGROUND)) {
+            // Validate grading
+            var result = this.evaluationService.evaluate(new SubmitSubmissionDto<>("task-admin", "task-create", task.getId(), "en", SubmissionMode.DIAGNOSE, 3, new DatalogSubmissionDto(task.getSolution())));
+            if (!result.points().equals(result.maxPoints()))
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, convertGradingDtoToString(result));
+
+            // Validate not empty solution on diagnose and submit facts
+            var diagnoseResult = this.evaluationService.execute(new SubmitSubmissionDto<>("task-admin", "task-create", task.getId(), "en", SubmissionMode.DIAGNOSE, 3, new DatalogSubmissionDto(task.getSolution())));
+            if (diagnoseResult.result().values().stream().anyMatch(List::isEmpty))
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Query result for mode DIAGNOSE is empty!");
+
+            var submitResult = this.evaluationService.execute(new SubmitSubmissionDto<>("task-admin", "task-create", task.getId(), "en", SubmissionMode.SUBMIT, 3, new DatalogSubmissionDto(task.getSolution())));
+            if (submitResult.result().values().stream().anyMatch(List::isEmpty))
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Query result for mode SUBMIT is empty!");
+
+            // Store solution results for grading
+            task.setDiagnoseSolutionResult(diagnoseResult.result());
+            task.setSubmissionSolutionResult(submitResult.result());
+            task.setDiagnoseSolutionFacts(diagnoseResult.countFacts());
+            task.setSubmissionSolutionFacts(submitResult.countFacts());
+            this.repository.save(task);
+        }
     }
 
     @Override
     protected void afterUpdate(DatalogTask task, ModifyTaskDto<ModifyDatalogTaskDto> dto) {
-        // Validate grading
-        var result = this.evaluationService.evaluate(new SubmitSubmissionDto<>("task-admin", "task-create", task.getId(), "en", SubmissionMode.DIAGNOSE, 3, new DatalogSubmissionDto(task.getSolution())));
-        if (!result.points().equals(result.maxPoints()))
-            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, convertGradingDtoToString(result));
-
-        // Validate not empty solution on diagnose and submit facts
-        var executionResult = this.evaluationService.execute(new SubmitSubmissionDto<>("task-admin", "task-create", task.getId(), "en", SubmissionMode.DIAGNOSE, 3, new DatalogSubmissionDto(task.getSolution())));
-        if (executionResult.result().values().stream().anyMatch(List::isEmpty))
-            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Query result for mode DIAGNOSE is empty!");
-
-        executionResult = this.evaluationService.execute(new SubmitSubmissionDto<>("task-admin", "task-create", task.getId(), "en", SubmissionMode.SUBMIT, 3, new DatalogSubmissionDto(task.getSolution())));
-        if (executionResult.result().values().stream().anyMatch(List::isEmpty))
-            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Query result for mode SUBMIT is empty!");
+        try (var ignored = ExecutionPriority.enter(ExecutionPriority.BACKGROUND)) {
+            // Validate grading
+            var result = this.evaluationService.evaluate(new SubmitSubmissionDto<>("task-admin", "task-create", task.getId(), "en", SubmissionMode.DIAGNOSE, 3, new DatalogSubmissionDto(task.getSolution())));
+            if (!result.points().equals(result.maxPoints()))
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, convertGradingDtoToString(result));
+
+            // Validate not empty solution on diagnose and submit facts
+            var diagnoseResult = this.evaluationService.execute(new SubmitSubmissionDto<>("task-admin", "task-create", task.getId(), "en", SubmissionMode.DIAGNOSE, 3, new DatalogSubmissionDto(task.getSolution())));
+            if (diagnoseResult.result().values().stream().anyMatch(List::isEmpty))
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Query result for mode DIAGNOSE is empty!");
+
+            var submitResult = this.evaluationService.execute(new SubmitSubmissionDto<>("task-admin", "task-create", task.getId(), "en", SubmissionMode.SUBMIT, 3, new DatalogSubmissionDto(task.getSolution())));
+            if (submitResult.result().values().stream().anyMatch(List::isEmpty))
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Query result for mode SUBMIT is empty!");
+
+            // Store solution results for grading
+            task.setDiagnoseSolutionResult(diagnoseResult.result());
+            task.setSubmissionSolutionResult(submitResult.result());
+            task.setDiagnoseSolutionFacts(diagnoseResult.countFacts());
+            task.setSubmissionSolutionFacts(submitResult.countFacts());
+            this.repository.save(task);
+        }
     }
 
     /**
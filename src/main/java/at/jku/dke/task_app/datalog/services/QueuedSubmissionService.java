@@ -0,0 +1,176 @@
+package at.jku.dke.task_app.datalog.services;
+
+import at.jku.dke.etutor.task_app.data.entities.BaseSubmission;
+import at.jku.dke.etutor.task_app.data.repositories.SubmissionRepository;
+import at.jku.dke.etutor.task_app.data.repositories.TaskRepository;
+import at.jku.dke.etutor.task_app.dto.GradingDto;
+import at.jku.dke.etutor.task_app.dto.SubmitSubmissionDto;
+import at.jku.dke.etutor.task_app.services.BaseSubmissionService;
+import at.jku.dke.task_app.datalog.config.DatalogSettings;
+import at.jku.dke.task_app.datalog.data.repositories.QueuedSubmissionRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Base class for submission services that support the asynchronous submission queue.
+ * <p>
+ * Queued submissions are persisted without evaluation result and evaluated by the {@link SubmissionQueueWorker}s of any application instance.
+ * The result can be polled via the result endpoint of the submission.
+ *
+ * @param <T> The task type.
+ * @param <S> The submission entity type.
+ * @param <D> The submission data type.
+ */
+public abstract class QueuedSubmissionService<T, S extends BaseSubmission<T>, D> extends BaseSubmissionService<T, S, D> {
+    private static final Logger QUEUE_LOG = LoggerFactory.getLogger(QueuedSubmissionService.class);
+
+    private final SubmissionRepository<S> submissions;
+    private final QueuedSubmissionRepository queue;
+    private final TaskRepository<T> tasks;
+    private final DatalogSettings settings;
+
+    /**
+     * Creates a new instance of class {@link QueuedSubmissionService}.
+     *
+     * @param submissionRepository The input repository.
+     * @param taskRepository       The task repository.
+     * @param settings             The datalog settings.
+     * @param <R>                  The type of the input repository.
+     */
+    protected <R extends SubmissionRepository<S> & QueuedSubmissionRepository> QueuedSubmissionService(R submissionRepository, TaskRepository<T> taskRepository, DatalogSettings settings) {
+        super(submissionRepository, taskRepository);
+        this.submissions = submissionRepository;
+        this.queue = submissionRepository;
+        this.tasks = taskRepository;
+        this.settings = settings;
+    }
+
+    /**
+     * Adds the submission to the submission queue.
+     *
+     * @param submission The submission.
+     * @return The id of the queued submission.
+     * @throws ResponseStatusException If the submission queue is disabled or the task does not exist.
+     */
+    @Transactional
+    public UUID enqueue(SubmitSubmissionDto<D> submission) {
+        if (!this.settings.queue().enabled())
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "The submission queue is disabled.");
+
+        T task = this.tasks.findById(submission.taskId())
+            .orElseThrow(() -> new ResponseStatusException(HttpStatus.BAD_REQUEST, "Task " + submission.taskId() + " does not exist."));
+        var id = this.submissions.save(this.createQueuedSubmissionEntity(submission, task)).getId();
+        QUEUE_LOG.info("Queued submission {} for task {}", id, submission.taskId());
+        return id;
+    }
+
+    /**
+     * Claims the oldest pending submissions for the lease of the queue settings.
+     * <p>
+     * Submissions claimed by other workers are skipped.
+     *
+     * @param limit The maximum number of submissions.
+     * @return The ids of the claimed submissions.
+     */
+    @Transactional
+    public List<UUID> claimQueued(int limit) {
+        var queueSettings = this.settings.queue();
+        List<UUID> ids = this.queue.lockPending(limit, queueSettings.maxAttempts());
+        if (!ids.isEmpty())
+            this.queue.reserve(ids, queueSettings.lease().toSeconds());
+        return ids;
+    }
+
+    /**
+     * Evaluates a claimed submission and stores its evaluation result.
+     * <p>
+     * The database transaction is not held open while the submission is evaluated.
+     * If the evaluation is rejected because of overload, the claim is released and the submission is evaluated later.
+     * If the evaluation fails in the last of the allowed attempts, a failure result is stored, so that the submission leaves the queue.
+     *
+     * @param id The id of the claimed submission.
+     * @return {@code true} if the submission has been evaluated; {@code false} if it does not exist anymore, has already been evaluated or has been rejected.
+     * @throws RuntimeException If the evaluation fails and the submission will be claimed again after the lease has expired.
+     */
+    public boolean evaluateQueued(UUID id) {
+        S submission = this.submissions.findById(id).orElse(null);
+        if (submission == null || submission.getEvaluationResult() != null)
+            return false;
+
+        var dto = new SubmitSubmissionDto<>(submission.getUserId(), submission.getAssignmentId(), this.getTaskId(submission),
+            submission.getLanguage(), submission.getMode(), submission.getFeedbackLevel(), this.mapSubmissionToSubmissionData(submission));
+        GradingDto grading;
+        try {
+            grading = this.evaluate(dto);
+        } catch (RuntimeException ex) {
+            if (ex instanceof ResponseStatusException rse && rse.getStatusCode().value() == HttpStatus.SERVICE_UNAVAILABLE.value()) {
+                QUEUE_LOG.info("Evaluation of queued submission {} has been rejected, releasing submission", id);
+                this.queue.release(id);
+                return false;
+            }
+            grading = this.evaluationFailed(id, submission, dto, ex);
+        }
+
+        submission.setEvaluationResult(grading);
+        this.submissions.save(submission);
+        return true;
+    }
+
+    /**
+     * Returns the failure result of a submission whose evaluation failed in its last attempt.
+     *
+     * @param id         The id of the submission.
+     * @param submission The submission entity.
+     * @param dto        The submission data.
+     * @param ex         The cause of the failure.
+     * @return The failure result.
+     * @throws RuntimeException The cause of the failure if the submission will be claimed again.
+     */
+    private GradingDto evaluationFailed(UUID id, S submission, SubmitSubmissionDto<D> dto, RuntimeException ex) {
+        // An interrupted worker has been stopped, so the evaluation is not counted as failed
+        if (Thread.currentThread().isInterrupted() || this.getAttempts(submission) < this.settings.queue().maxAttempts())
+            throw ex;
+
+        QUEUE_LOG.error("Evaluation of queued submission {} failed in the last of {} attempts, storing failure result", id, this.settings.queue().maxAttempts(), ex);
+        return this.createFailedGrading(dto);
+    }
+
+    /**
+     * Creates the submission entity of a queued submission.
+     *
+     * @param submission The submission.
+     * @param task       The task of the submission.
+     * @return The submission entity with the queue time set.
+     */
+    protected abstract S createQueuedSubmissionEntity(SubmitSubmissionDto<D> submission, T task);
+
+    /**
+     * Returns the id of the task of the submission.
+     *
+     * @param submission The submission entity.
+     * @return The task id.
+     */
+    protected abstract Long getTaskId(S submission);
+
+    /**
+     * Returns the number of times the submission has been claimed from the queue.
+     *
+     * @param submission The submission entity.
+     * @return The number of evaluation attempts.
+     */
+    protected abstract int getAttempts(S submission);
+
+    /**
+     * Creates the evaluation result of a submission that could not be evaluated.
+     *
+     * @param submission The submission data.
+     * @return The failure result.
+     */
+    protected abstract GradingDto createFailedGrading(SubmitSubmissionDto<D> submission);
+}
@@ -0,0 +1,116 @@
+package at.jku.dke.task_app.datalog.services;
+
+import at.jku.dke.task_app.datalog.config.DatalogSettings;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Evaluates the submissions of the asynchronous submission queue.
+ * <p>
+ * If the queue is enabled, the configured number of workers run on virtual threads. Each worker claims one pending submission at a time
+ * and waits for the poll interval if no submission has been evaluated. As the submissions are claimed with {@code FOR UPDATE SKIP LOCKED},
+ * the workers of several application instances can share one queue. Stopping the application interrupts the workers, which kills their
+ * running processes; the interrupted submissions are claimed again after their lease has expired.
+ */
+@Component
+public class SubmissionQueueWorker implements SmartLifecycle {
+    private static final Logger LOG = LoggerFactory.getLogger(SubmissionQueueWorker.class);
+
+    private final List<QueuedSubmissionService<?, ?, ?>> services;
+    private final DatalogSettings.QueueSettings settings;
+    private final List<Thread> workers;
+    private volatile boolean running;
+
+    /**
+     * Creates a new instance of class {@link SubmissionQueueWorker}.
+     *
+     * @param services The submission services whose queues are processed.
+     * @param settings The datalog settings.
+     */
+    public SubmissionQueueWorker(List<QueuedSubmissionService<?, ?, ?>> services, DatalogSettings settings) {
+        this.services = services;
+        this.settings = settings.queue();
+        this.workers = new ArrayList<>();
+    }
+
+    /**
+     * Starts the workers if the submission queue is enabled.
+     */
+    @Override
+    public void start() {
+        if (!this.settings.enabled() || this.running)
+            return;
+
+        LOG.info("Starting {} submission queue workers", this.settings.workers());
+        this.running = true;
+        for (int i = 0; i < this.settings.workers(); i++)
+            this.workers.add(Thread.ofVirtual().name("submission-queue-" + i).start(this::work));
+    }
+
+    /**
+     * Stops the workers and waits for their termination.
+     */
+    @Override
+    public void stop() {
+        this.running = false;
+        this.workers.forEach(Thread::interrupt);
+        for (Thread worker : this.workers) {
+            try {
+                worker.join();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        this.workers.clear();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return this.running;
+    }
+
+    /**
+     * Claims and evaluates one pending submission of each queue.
+     *
+     * @return {@code true} if at least one submission has been evaluated.
+     */
+    boolean poll() {
+        boolean evaluated = false;
+        for (QueuedSubmissionService<?, ?, ?> service : this.services) {
+            for (UUID id : service.claimQueued(1)) {
+                try {
+                    evaluated |= service.evaluateQueued(id);
+                } catch (RuntimeException ex) {
+                    // The submission is claimed again after the lease has expired
+                    LOG.error("Could not evaluate queued submission {}", id, ex);
+                }
+            }
+        }
+        return evaluated;
+    }
+
+    private void work() {
+        while (this.running) {
+            try {
+                if (!this.poll())
+                    Thread.sleep(this.settings.pollInterval());
+            } catch (InterruptedException ex) {
+                return;
+            } catch (RuntimeException ex) {
+                LOG.error("Could not claim queued submissions", ex);
+                try {
+                    Thread.sleep(this.settings.pollInterval());
+                } catch (InterruptedException interruptedException) {
+                    return;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,7 @@
+ALTER TABLE task
+    ADD COLUMN diagnose_solution_result   JSONB,
+    ADD COLUMN submission_solution_result JSONB;
+
+ALTER TABLE asp_task
+    ADD COLUMN diagnose_solution_result   TEXT,
+    ADD COLUMN submission_solution_result TEXT;
@@ -0,0 +1,13 @@
+ALTER TABLE submission
+    ADD COLUMN queued_at     TIMESTAMP WITH TIME ZONE,
+    ADD COLUMN claimed_until TIMESTAMP WITH TIME ZONE,
+    ADD COLUMN attempts      INT NOT NULL DEFAULT 0;
+
+ALTER TABLE asp_submission
+    ADD COLUMN queued_at     TIMESTAMP WITH TIME ZONE,
+    ADD COLUMN claimed_until TIMESTAMP WITH TIME ZONE,
+    ADD COLUMN attempts      INT NOT NULL DEFAULT 0;
+
+-- Only pending submissions of the queue are indexed
+CREATE INDEX submission_queue_ix ON submission (queued_at) WHERE queued_at IS NOT NULL AND evaluation_result IS NULL;
+CREATE INDEX asp_submission_queue_ix ON asp_submission (queued_at) WHERE queued_at IS NOT NULL AND evaluation_result IS NULL;
@@ -0,0 +1,8 @@
+ALTER TABLE task
+    ADD COLUMN diagnose_solution_facts   BIGINT,
+    ADD COLUMN submission_solution_facts BIGINT;
+
+-- The stored results are computed again on the next evaluation, together with their number of facts
+UPDATE task
+SET diagnose_solution_result   = NULL,
+    submission_solution_result = NULL;
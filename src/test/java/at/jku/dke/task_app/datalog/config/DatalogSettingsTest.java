@@ -18,6 +18,9 @@ void emptyConstructor() {
         assertEquals("", settings.exe());
         assertEquals(10, settings.maxExecutionTime());
         assertEquals("0", settings.factEncodingSuffix());
+        assertEquals(DatalogSettings.SchedulerSettings.DEFAULT, settings.scheduler());
+        assertEquals(DatalogSettings.CacheSettings.DEFAULT, settings.cache());
+        assertEquals(DatalogSettings.Engine.DLV, settings.engine());
     }
 
     @Test
@@ -85,4 +88,16 @@ void getExecutable_unknown() throws Exception {
         });
     }
 
+    @Test
+    void getTaskIdBucket() {
+        // Arrange
+        var settings = new DatalogSettings.MetricsSettings(100);
+
+        // Act & Assert
+        assertEquals(0, settings.getTaskIdBucket(99));
+        assertEquals(100, settings.getTaskIdBucket(100));
+        assertEquals(1200, settings.getTaskIdBucket(1234));
+        assertEquals(1234, new DatalogSettings.MetricsSettings(1).getTaskIdBucket(1234));
+    }
+
 }
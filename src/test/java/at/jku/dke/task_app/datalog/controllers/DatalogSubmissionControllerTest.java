@@ -34,7 +34,7 @@
 import static org.hamcrest.Matchers.*;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 
-@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = "datalog.queue.enabled=true")
 @ExtendWith({DatabaseSetupExtension.class, ClientSetupExtension.class})
 class DatalogSubmissionControllerTest {
 
@@ -209,6 +209,76 @@ void submitParallel() {
     }
     //#endregion
 
+    //#region --- QUEUE ---
+    @Test
+    void enqueueReturnsAccepted() {
+        var id = given()
+            .port(port)
+            .header(AuthConstants.AUTH_TOKEN_HEADER_NAME, ClientSetupExtension.SUBMIT_API_KEY)
+            .contentType(ContentType.JSON)
+            .body(new SubmitSubmissionDto<>("test-user", "test-id", this.taskId, "de", SubmissionMode.SUBMIT, 3, new DatalogSubmissionDto("human(X) :- person(X).")))
+            // WHEN
+            .when()
+            .post("/api/submission/dlg/queue")
+            // THEN
+            .then()
+            .log().ifValidationFails()
+            .statusCode(202)
+            .contentType(ContentType.TEXT)
+            .header("Location", containsString("/api/submission/dlg/"))
+            .body(hasLength(36))
+            .extract().asString();
+
+        given()
+            .port(port)
+            .header(AuthConstants.AUTH_TOKEN_HEADER_NAME, ClientSetupExtension.SUBMIT_API_KEY)
+            .accept(ContentType.JSON)
+            .header("X-API-TIMEOUT", 10)
+            // WHEN
+            .when()
+            .get("/api/submission/dlg/{id}/result", id)
+            // THEN
+            .then()
+            .log().ifValidationFails()
+            .statusCode(200)
+            .contentType(ContentType.JSON)
+            .body("maxPoints", equalTo(2))
+            .body("points", equalTo(2));
+    }
+
+    @Test
+    void enqueueShouldReturnBadRequestOnInvalidTaskId() {
+        given()
+            .port(port)
+            .header(AuthConstants.AUTH_TOKEN_HEADER_NAME, ClientSetupExtension.SUBMIT_API_KEY)
+            .contentType(ContentType.JSON)
+            .body(new SubmitSubmissionDto<>("test-user", "test-id", this.taskId + 1, "de", SubmissionMode.SUBMIT, 3, new DatalogSubmissionDto("human(X) :- person(X).")))
+            // WHEN
+            .when()
+            .post("/api/submission/dlg/queue")
+            // THEN
+            .then()
+            .log().ifValidationFails()
+            .statusCode(400);
+    }
+
+    @Test
+    void enqueueShouldReturnForbidden() {
+        given()
+            .port(port)
+            .header(AuthConstants.AUTH_TOKEN_HEADER_NAME, ClientSetupExtension.CRUD_API_KEY)
+            .contentType(ContentType.JSON)
+            .body(new SubmitSubmissionDto<>("test-user", "test-id", this.taskId, "de", SubmissionMode.SUBMIT, 3, new DatalogSubmissionDto("human(X) :- person(X).")))
+            // WHEN
+            .when()
+            .post("/api/submission/dlg/queue")
+            // THEN
+            .then()
+            .log().ifValidationFails()
+            .statusCode(403);
+    }
+    //#endregion
+
     //#region --- GET ALL ---
     @Test
     void getAllShouldReturnOk() {
@@ -0,0 +1,78 @@
+package at.jku.dke.task_app.datalog.corpus;
+
+import at.jku.dke.etutor.task_app.dto.ModifyTaskDto;
+import at.jku.dke.etutor.task_app.dto.ModifyTaskGroupDto;
+import at.jku.dke.etutor.task_app.dto.SubmitSubmissionDto;
+import at.jku.dke.task_app.datalog.dto.AspSubmissionDto;
+import at.jku.dke.task_app.datalog.dto.DatalogSubmissionDto;
+import at.jku.dke.task_app.datalog.dto.ModifyAspTaskDto;
+import at.jku.dke.task_app.datalog.dto.ModifyDatalogTaskDto;
+import at.jku.dke.task_app.datalog.dto.ModifyDatalogTaskGroupDto;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * A generated corpus of task groups, tasks and submissions.
+ * <p>
+ * The corpus consists of the request bodies of the REST API, so that it can be loaded through the API or,
+ * with the {@link CorpusWriter}, directly into the database.
+ *
+ * @param settings   The settings the corpus has been generated with.
+ * @param taskGroups The task groups.
+ */
+public record Corpus(CorpusSettings settings, List<TaskGroup> taskGroups) {
+    /**
+     * Returns the Datalog tasks of all task groups.
+     *
+     * @return The Datalog tasks.
+     */
+    public Stream<Task<ModifyDatalogTaskDto, DatalogSubmissionDto>> datalogTasks() {
+        return this.taskGroups.stream().flatMap(g -> g.datalogTasks().stream());
+    }
+
+    /**
+     * Returns the ASP tasks of all task groups.
+     *
+     * @return The ASP tasks.
+     */
+    public Stream<Task<ModifyAspTaskDto, AspSubmissionDto>> aspTasks() {
+        return this.taskGroups.stream().flatMap(g -> g.aspTasks().stream());
+    }
+
+    /**
+     * A generated task group.
+     *
+     * @param id           The id.
+     * @param dto          The request body to create the task group.
+     * @param datalogTasks The Datalog tasks of the group.
+     * @param aspTasks     The ASP tasks of the group.
+     */
+    public record TaskGroup(long id, ModifyTaskGroupDto<ModifyDatalogTaskGroupDto> dto,
+                            List<Task<ModifyDatalogTaskDto, DatalogSubmissionDto>> datalogTasks,
+                            List<Task<ModifyAspTaskDto, AspSubmissionDto>> aspTasks) {
+    }
+
+    /**
+     * A generated task.
+     *
+     * @param id          The id.
+     * @param template    The name of the template the solution has been generated from (e.g. {@code JOIN}).
+     * @param dto         The request body to create the task.
+     * @param submissions The submissions for the task.
+     * @param <T>         The type of the task data.
+     * @param <S>         The type of the submission data.
+     */
+    public record Task<T, S>(long id, String template, ModifyTaskDto<T> dto, List<Submission<S>> submissions) {
+    }
+
+    /**
+     * A generated submission.
+     *
+     * @param mutation The mutation the submission has been derived with from the solution.
+     * @param dto      The request body to submit the submission.
+     * @param <S>      The type of the submission data.
+     */
+    public record Submission<S>(Mutation mutation, SubmitSubmissionDto<S> dto) {
+    }
+}
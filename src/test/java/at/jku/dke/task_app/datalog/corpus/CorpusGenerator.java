@@ -0,0 +1,316 @@
+package at.jku.dke.task_app.datalog.corpus;
+
+import at.jku.dke.etutor.task_app.dto.ModifyTaskDto;
+import at.jku.dke.etutor.task_app.dto.ModifyTaskGroupDto;
+import at.jku.dke.etutor.task_app.dto.SubmissionMode;
+import at.jku.dke.etutor.task_app.dto.SubmitSubmissionDto;
+import at.jku.dke.etutor.task_app.dto.TaskStatus;
+import at.jku.dke.task_app.datalog.data.entities.GradingStrategy;
+import at.jku.dke.task_app.datalog.dto.AspSubmissionDto;
+import at.jku.dke.task_app.datalog.dto.DatalogSubmissionDto;
+import at.jku.dke.task_app.datalog.dto.ModifyAspTaskDto;
+import at.jku.dke.task_app.datalog.dto.ModifyDatalogTaskDto;
+import at.jku.dke.task_app.datalog.dto.ModifyDatalogTaskGroupDto;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Generates a reproducible corpus of task groups, tasks and student-like submissions for scale and load tests.
+ * <p>
+ * Each task group gets its own fact bases of predicates {@code p1, p2, ...}. The solutions of the tasks are generated from templates
+ * (projection, join, transitive closure, negation, union and selection for Datalog; choice and reachability for ASP).
+ * For each task, a few witness facts with a fresh symbol are added to both fact bases, so that the result of the solution is never empty
+ * and the number of answer sets of an ASP task stays small. The submissions are derived from the solution by a {@link Mutation}.
+ */
+public final class CorpusGenerator {
+    private static final BigDecimal[] PENALTIES = {BigDecimal.ZERO, new BigDecimal("0.25"), new BigDecimal("0.5"), BigDecimal.ONE};
+
+    private final CorpusSettings settings;
+    private final Random random;
+    private long nextId;
+
+    /**
+     * Creates a new instance of class {@link CorpusGenerator}.
+     *
+     * @param settings The corpus settings.
+     */
+    public CorpusGenerator(CorpusSettings settings) {
+        this.settings = settings;
+        this.random = new Random(settings.seed());
+        this.nextId = settings.firstId();
+    }
+
+    /**
+     * Generates a corpus.
+     *
+     * @param settings The corpus settings.
+     * @return The corpus.
+     */
+    public static Corpus generate(CorpusSettings settings) {
+        return new CorpusGenerator(settings).generate();
+    }
+
+    /**
+     * Generates the corpus.
+     *
+     * @return The corpus.
+     */
+    public Corpus generate() {
+        List<Corpus.TaskGroup> taskGroups = new ArrayList<>(this.settings.taskGroups());
+        for (int i = 0; i < this.settings.taskGroups(); i++)
+            taskGroups.add(this.generateTaskGroup());
+        return new Corpus(this.settings, taskGroups);
+    }
+
+    /**
+     * Returns the predicates of the fact bases; the arities cycle through {@code 2, 3, ..., maxArity, 1}.
+     *
+     * @param settings The corpus settings.
+     * @return The predicates.
+     */
+    public static List<FactBaseGenerator.Predicate> predicates(CorpusSettings settings) {
+        List<FactBaseGenerator.Predicate> predicates = new ArrayList<>(settings.predicates());
+        for (int i = 0; i < settings.predicates(); i++) {
+            int arity = 2 + i % settings.maxArity();
+            predicates.add(new FactBaseGenerator.Predicate("p" + (i + 1), arity > settings.maxArity() ? 1 : arity));
+        }
+        return predicates;
+    }
+
+    private Corpus.TaskGroup generateTaskGroup() {
+        long id = this.nextId++;
+        var predicates = predicates(this.settings);
+        int diagnoseDomain = (int) Math.max(2, (long) this.settings.domainSize() * this.settings.diagnoseFacts() / this.settings.submissionFacts());
+        var group = new Group(
+            id,
+            new FactBaseGenerator(predicates, diagnoseDomain, this.settings.skew()),
+            new FactBaseGenerator(predicates, this.settings.domainSize(), this.settings.skew()));
+        group.diagnose = group.diagnoseGenerator.generate(this.random, this.settings.diagnoseFacts());
+        group.submission = group.submissionGenerator.generate(this.random, this.settings.submissionFacts());
+
+        List<Corpus.Task<ModifyDatalogTaskDto, DatalogSubmissionDto>> datalogTasks = new ArrayList<>();
+        for (int i = 0; i < this.settings.datalogTasks(); i++)
+            datalogTasks.add(this.generateDatalogTask(group));
+        List<Corpus.Task<ModifyAspTaskDto, AspSubmissionDto>> aspTasks = new ArrayList<>();
+        for (int i = 0; i < this.settings.aspTasks(); i++)
+            aspTasks.add(this.generateAspTask(group));
+
+        // the fact bases are rendered last, as the tasks add their witness facts
+        var dto = new ModifyTaskGroupDto<>("datalog", TaskStatus.APPROVED, new ModifyDatalogTaskGroupDto(
+            FactBaseGenerator.render(group.diagnose),
+            FactBaseGenerator.render(group.submission)));
+        return new Corpus.TaskGroup(id, dto, datalogTasks, aspTasks);
+    }
+
+    //#region --- Datalog ---
+    private Corpus.Task<ModifyDatalogTaskDto, DatalogSubmissionDto> generateDatalogTask(Group group) {
+        long id = this.nextId++;
+        int n = ++group.tasks;
+        String head = "q" + n;
+        String witness = "w" + n;
+        var binary = this.pick(group.predicates(2));
+        var other = this.pick(group.predicates(2));
+
+        List<DatalogTemplate> templates = new ArrayList<>(Arrays.asList(DatalogTemplate.values()));
+        if (group.predicates(3).isEmpty())
+            templates.remove(DatalogTemplate.SELECTION);
+        var template = this.pick(templates);
+
+        Mutation.Program program = switch (template) {
+            case PROJECTION -> {
+                group.plant(this.random, binary, "c0", witness);
+                yield new Mutation.Program(List.of(
+                    head + "(X) :- " + atom(binary, "_", "X") + "."
+                ), head, binary.name(), group.similar(binary));
+            }
+            case JOIN -> {
+                group.plant(this.random, binary, "c0", witness);
+                group.plant(this.random, other, witness, "c1");
+                yield new Mutation.Program(List.of(
+                    head + "(X, Z) :- " + atom(binary, "X", "Y") + ", " + atom(other, "Y", "Z") + "."
+                ), head, binary.name(), group.similar(binary));
+            }
+            case CLOSURE -> {
+                group.plant(this.random, binary, "c0", witness);
+                group.plant(this.random, binary, witness, "c1");
+                yield new Mutation.Program(List.of(
+                    head + "(X, Y) :- " + atom(binary, "X", "Y") + ".",
+                    head + "(X, Z) :- " + head + "(X, Y), " + atom(binary, "Y", "Z") + "."
+                ), head, binary.name(), group.similar(binary));
+            }
+            case NEGATION -> {
+                // the witness never occurs as second term of the other predicate
+                group.plant(this.random, binary, witness, "c0");
+                yield new Mutation.Program(List.of(
+                    head + "(X) :- " + atom(binary, "X", "_") + ", not h" + n + "(X).",
+                    "h" + n + "(X) :- " + atom(other, "_", "X") + "."
+                ), head, binary.name(), group.similar(binary));
+            }
+            case UNION -> {
+                group.plant(this.random, binary, witness, "c0");
+                yield new Mutation.Program(List.of(
+                    head + "(X) :- " + atom(binary, "X", "_") + ".",
+                    head + "(X) :- " + atom(other, "_", "X") + "."
+                ), head, binary.name(), group.similar(binary));
+            }
+            case SELECTION -> {
+                var ternary = this.pick(group.predicates(3));
+                group.plant(this.random, ternary, witness, "c0", "75");
+                yield new Mutation.Program(List.of(
+                    head + "(X, V) :- " + atom(ternary, "X", "_", "V") + ", V > 50."
+                ), head, ternary.name(), group.similar(ternary));
+            }
+        };
+
+        int arity = program.rules().getFirst().substring(0, program.rules().getFirst().indexOf(')')).split(",").length;
+        String query = head + (arity == 1 ? "(X)?" : "(X, Y)?");
+
+        // some tasks do not check the terms of a fact of the body predicate
+        String uncheckedTerms = null;
+        var candidates = group.diagnose.get(program.bodyPredicate());
+        if (this.random.nextDouble() < 0.3 && !candidates.isEmpty())
+            uncheckedTerms = program.bodyPredicate() + "(" + this.pick(List.copyOf(candidates)) + ").";
+
+        var dto = new ModifyTaskDto<>(group.id, BigDecimal.valueOf(1 + this.random.nextInt(5)), "datalog", TaskStatus.APPROVED,
+            new ModifyDatalogTaskDto(String.join("\n", program.rules()), query, uncheckedTerms,
+                this.pick(PENALTIES), this.pick(PENALTIES), this.pick(PENALTIES),
+                this.pick(GradingStrategy.values()), this.pick(GradingStrategy.values()), this.pick(GradingStrategy.values())));
+        return new Corpus.Task<>(id, template.name(), dto, this.generateSubmissions(group, id, program, DatalogSubmissionDto::new));
+    }
+
+    private enum DatalogTemplate {
+        PROJECTION, JOIN, CLOSURE, NEGATION, UNION, SELECTION
+    }
+    //#endregion
+
+    //#region --- ASP ---
+    private Corpus.Task<ModifyAspTaskDto, AspSubmissionDto> generateAspTask(Group group) {
+        long id = this.nextId++;
+        int n = ++group.tasks;
+        String witness = "w" + n;
+        var binary = this.pick(group.predicates(2));
+        var template = this.pick(AspTemplate.values());
+
+        Mutation.Program program = switch (template) {
+            case CHOICE -> {
+                // the witness has 2 to 4 successors, each of them is picked in one answer set
+                int successors = 2 + this.random.nextInt(3);
+                for (int i = 0; i < successors; i++)
+                    group.plant(this.random, binary, witness, "c" + i);
+                yield new Mutation.Program(List.of(
+                    "pick" + n + "(Y) v skip" + n + "(Y) :- " + atom(binary, witness, "Y") + ".",
+                    ":- pick" + n + "(Y), pick" + n + "(Z), Y != Z.",
+                    "some" + n + " :- pick" + n + "(Y).",
+                    ":- not some" + n + "."
+                ), "pick" + n, binary.name(), group.similar(binary));
+            }
+            case REACHABILITY -> {
+                group.plant(this.random, binary, witness, "c0");
+                yield new Mutation.Program(List.of(
+                    "reach" + n + "(Y) :- " + atom(binary, witness, "Y") + ".",
+                    "reach" + n + "(Z) :- reach" + n + "(Y), " + atom(binary, "Y", "Z") + "."
+                ), "reach" + n, binary.name(), group.similar(binary));
+            }
+        };
+
+        var dto = new ModifyTaskDto<>(group.id, BigDecimal.valueOf(1 + this.random.nextInt(5)), "asp", TaskStatus.APPROVED,
+            new ModifyAspTaskDto(String.join("\n", program.rules()), null));
+        return new Corpus.Task<>(id, template.name(), dto, this.generateSubmissions(group, id, program, AspSubmissionDto::new));
+    }
+
+    private enum AspTemplate {
+        CHOICE, REACHABILITY
+    }
+    //#endregion
+
+    //#region --- Submissions ---
+    private <S> List<Corpus.Submission<S>> generateSubmissions(Group group, long taskId, Mutation.Program program, Function<String, S> factory) {
+        List<Mutation> correct = Arrays.stream(Mutation.values()).filter(m -> m.isCorrect() && m.appliesTo(program)).toList();
+        List<Mutation> wrong = Arrays.stream(Mutation.values()).filter(m -> !m.isCorrect() && m.appliesTo(program)).toList();
+
+        List<Corpus.Submission<S>> submissions = new ArrayList<>(this.settings.submissionsPerTask());
+        for (int i = 0; i < this.settings.submissionsPerTask(); i++) {
+            var mutation = this.random.nextDouble() < this.settings.correctSubmissions() ? this.pick(correct) : this.pick(wrong);
+            double r = this.random.nextDouble();
+            var mode = r < 0.2 ? SubmissionMode.RUN : r < 0.7 ? SubmissionMode.DIAGNOSE : SubmissionMode.SUBMIT;
+            submissions.add(new Corpus.Submission<>(mutation, new SubmitSubmissionDto<>(
+                "student-" + this.random.nextInt(1000),
+                "assignment-" + group.id,
+                taskId,
+                this.random.nextBoolean() ? "en" : "de",
+                mode,
+                this.random.nextInt(4),
+                factory.apply(mutation.apply(program)))));
+        }
+        return submissions;
+    }
+    //#endregion
+
+    //#region --- Helpers ---
+    private static String atom(FactBaseGenerator.Predicate predicate, String... terms) {
+        List<String> result = new ArrayList<>(Arrays.asList(terms));
+        while (result.size() < predicate.arity())
+            result.add("_");
+        return predicate.name() + "(" + String.join(", ", result) + ")";
+    }
+
+    private <T> T pick(List<T> values) {
+        return values.get(this.random.nextInt(values.size()));
+    }
+
+    private <T> T pick(T[] values) {
+        return values[this.random.nextInt(values.length)];
+    }
+
+    /**
+     * The state of a task group while its tasks are generated.
+     */
+    private static final class Group {
+        private final long id;
+        private final FactBaseGenerator diagnoseGenerator;
+        private final FactBaseGenerator submissionGenerator;
+        private Map<String, Set<String>> diagnose;
+        private Map<String, Set<String>> submission;
+        private int tasks;
+
+        private Group(long id, FactBaseGenerator diagnoseGenerator, FactBaseGenerator submissionGenerator) {
+            this.id = id;
+            this.diagnoseGenerator = diagnoseGenerator;
+            this.submissionGenerator = submissionGenerator;
+        }
+
+        /**
+         * Returns the predicates with at least the given arity.
+         */
+        private List<FactBaseGenerator.Predicate> predicates(int minArity) {
+            return this.submissionGenerator.getPredicates().stream().filter(p -> p.arity() >= minArity).toList();
+        }
+
+        /**
+         * Returns another predicate with the same arity or {@code null} if there is none.
+         */
+        private String similar(FactBaseGenerator.Predicate predicate) {
+            return this.submissionGenerator.getPredicates().stream()
+                .filter(p -> p.arity() == predicate.arity() && !p.equals(predicate))
+                .map(FactBaseGenerator.Predicate::name)
+                .findFirst()
+                .orElse(null);
+        }
+
+        /**
+         * Adds a witness fact to both fact bases.
+         */
+        private void plant(Random random, FactBaseGenerator.Predicate predicate, String... leading) {
+            this.diagnose.get(predicate.name()).add(this.diagnoseGenerator.terms(random, predicate, leading));
+            this.submission.get(predicate.name()).add(this.submissionGenerator.terms(random, predicate, leading));
+        }
+    }
+    //#endregion
+}
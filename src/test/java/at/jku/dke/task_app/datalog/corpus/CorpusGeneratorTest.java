@@ -0,0 +1,157 @@
+package at.jku.dke.task_app.datalog.corpus;
+
+import at.jku.dke.task_app.datalog.config.DatalogSettings;
+import at.jku.dke.task_app.datalog.evaluation.DatalogExecutorImpl;
+import at.jku.dke.task_app.datalog.evaluation.asp.analysis.AspAnalysisImpl;
+import at.jku.dke.task_app.datalog.evaluation.exceptions.ExecutionException;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CorpusGeneratorTest {
+
+    private static final CorpusSettings SETTINGS = new CorpusSettings(7, 100, 3, 6, 2, 4, 3, 20, 300, 60, 1.0, 10, 0.3);
+
+    @Test
+    void generate_sameSeed_sameCorpus() {
+        // Act
+        var first = CorpusGenerator.generate(SETTINGS);
+        var second = CorpusGenerator.generate(SETTINGS);
+
+        // Assert
+        assertThat(second).isEqualTo(first);
+    }
+
+    @Test
+    void generate_counts() {
+        // Act
+        var corpus = CorpusGenerator.generate(SETTINGS);
+
+        // Assert
+        assertThat(corpus.taskGroups()).hasSize(3);
+        assertThat(corpus.datalogTasks()).hasSize(18);
+        assertThat(corpus.aspTasks()).hasSize(6);
+        assertThat(Stream.concat(corpus.datalogTasks(), corpus.aspTasks()).flatMap(t -> t.submissions().stream())).hasSize(240);
+        var ids = Stream.concat(corpus.taskGroups().stream().map(Corpus.TaskGroup::id), Stream.concat(corpus.datalogTasks(), corpus.aspTasks()).map(Corpus.Task::id)).toList();
+        assertThat(ids).doesNotHaveDuplicates().allMatch(id -> id >= 100 && id < 100 + ids.size());
+    }
+
+    @Test
+    void generate_factBaseSizes() {
+        // Act
+        var corpus = CorpusGenerator.generate(SETTINGS);
+
+        // Assert: the witness facts of the tasks are added to the generated facts
+        for (var group : corpus.taskGroups()) {
+            assertThat(group.dto().additionalData().submissionFacts().lines().count()).isBetween(270L, 330L);
+            assertThat(group.dto().additionalData().diagnoseFacts().lines().count()).isBetween(10L, 40L);
+        }
+    }
+
+    @Test
+    void generate_skew() {
+        // Arrange
+        var predicates = List.of(new FactBaseGenerator.Predicate("p", 2));
+
+        // Act
+        var uniform = new FactBaseGenerator(predicates, 100, 0).generate(new Random(1), 2000).get("p");
+        var skewed = new FactBaseGenerator(predicates, 100, 1.5).generate(new Random(1), 2000).get("p");
+
+        // Assert
+        assertThat(skewed.stream().filter(t -> t.startsWith("c0,")).count())
+            .isGreaterThan(3 * uniform.stream().filter(t -> t.startsWith("c0,")).count());
+    }
+
+    @Test
+    void generate_datalogSolutions() throws IOException, ExecutionException {
+        // Arrange
+        var corpus = CorpusGenerator.generate(SETTINGS);
+        var executor = new DatalogExecutorImpl(DatalogSettings.EMPTY);
+
+        for (var group : corpus.taskGroups()) {
+            for (var task : group.datalogTasks()) {
+                var data = task.dto().additionalData();
+
+                // Act
+                var diagnose = executor.query(group.dto().additionalData().diagnoseFacts(), data.solution(), List.of(data.query()));
+                var submit = executor.query(group.dto().additionalData().submissionFacts(), data.solution(), List.of(data.query()));
+
+                // Assert
+                assertThat(diagnose.result().values()).as(task.template() + ": " + data.solution()).allMatch(r -> !r.isEmpty());
+                assertThat(submit.result().values()).as(task.template() + ": " + data.solution()).allMatch(r -> !r.isEmpty());
+            }
+        }
+    }
+
+    @Test
+    void generate_aspSolutions() throws IOException, ExecutionException {
+        // Arrange
+        var corpus = CorpusGenerator.generate(SETTINGS);
+        var executor = new DatalogExecutorImpl(DatalogSettings.EMPTY);
+
+        for (var group : corpus.taskGroups()) {
+            for (var task : group.aspTasks()) {
+                var data = task.dto().additionalData();
+
+                // Act
+                var models = AspAnalysisImpl.countModels(executor.execute(group.dto().additionalData().diagnoseFacts(), data.solution(), data.maxN()));
+
+                // Assert
+                assertThat(models).as(task.template() + ": " + data.solution()).isBetween(1, 4);
+            }
+        }
+    }
+
+    @Test
+    void generate_submissions() {
+        // Act
+        var corpus = CorpusGenerator.generate(SETTINGS);
+
+        // Assert
+        for (var task : corpus.datalogTasks().toList()) {
+            for (var submission : task.submissions()) {
+                assertThat(submission.dto().taskId()).isEqualTo(task.id());
+                if (submission.mutation() == Mutation.CORRECT)
+                    assertThat(submission.dto().submission().input()).isEqualTo(task.dto().additionalData().solution());
+                else
+                    assertThat(submission.dto().submission().input()).isNotEqualTo(task.dto().additionalData().solution());
+            }
+        }
+        assertThat(corpus.datalogTasks().flatMap(t -> t.submissions().stream()).map(Corpus.Submission::mutation))
+            .contains(Mutation.CORRECT, Mutation.RENAMED_VARIABLES, Mutation.SYNTAX_ERROR, Mutation.WRONG_HEAD_PREDICATE, Mutation.MISSING_RULE);
+    }
+
+    @Test
+    void mutation_apply() {
+        // Arrange
+        var program = new Mutation.Program(List.of("q(X, Y) :- p(X, Y).", "q(X, Z) :- q(X, Y), p(Y, Z)."), "q", "p", "r");
+
+        // Act & Assert
+        assertThat(Mutation.CORRECT.apply(program)).isEqualTo("q(X, Y) :- p(X, Y).\nq(X, Z) :- q(X, Y), p(Y, Z).");
+        assertThat(Mutation.RENAMED_VARIABLES.apply(program)).isEqualTo("q(A, B) :- p(A, B).\nq(A, C) :- q(A, B), p(B, C).");
+        assertThat(Mutation.SWAPPED_ARGUMENTS.apply(program)).isEqualTo("q(X, Y) :- p(Y, X).\nq(X, Z) :- q(X, Y), p(Y, Z).");
+        assertThat(Mutation.WRONG_HEAD_PREDICATE.apply(program)).isEqualTo("qs(X, Y) :- p(X, Y).\nqs(X, Z) :- qs(X, Y), p(Y, Z).");
+        assertThat(Mutation.WRONG_BODY_PREDICATE.apply(program)).isEqualTo("q(X, Y) :- r(X, Y).\nq(X, Z) :- q(X, Y), p(Y, Z).");
+        assertThat(Mutation.MISSING_RULE.apply(program)).isEqualTo("q(X, Y) :- p(X, Y).");
+        assertThat(Mutation.SYNTAX_ERROR.apply(program)).isEqualTo("q(X, Y) :- p(X, Y).\nq(X, Z) :- q(X, Y), p(Y, Z)");
+        assertThat(Mutation.MISSING_NEGATION.appliesTo(program)).isFalse();
+    }
+
+    @Test
+    void mutation_missingNegation() {
+        // Arrange
+        var program = new Mutation.Program(List.of("q(X) :- p(X, _), not h(X).", "h(X) :- r(_, X)."), "q", "p", null);
+
+        // Act
+        var result = Mutation.MISSING_NEGATION.apply(program);
+
+        // Assert
+        assertThat(result).isEqualTo("q(X) :- p(X, _).\nh(X) :- r(_, X).");
+        assertThat(Mutation.WRONG_BODY_PREDICATE.appliesTo(program)).isFalse();
+    }
+}
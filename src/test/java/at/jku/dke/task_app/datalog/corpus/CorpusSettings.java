@@ -0,0 +1,76 @@
+package at.jku.dke.task_app.datalog.corpus;
+
+/**
+ * The settings of a generated corpus.
+ *
+ * @param seed                The seed of the random generator; the same settings always generate the same corpus.
+ * @param firstId             The id of the first task group and task; ids are assigned consecutively.
+ * @param taskGroups          The number of task groups.
+ * @param datalogTasks        The number of Datalog tasks per task group.
+ * @param aspTasks            The number of ASP tasks per task group.
+ * @param predicates          The number of predicates per fact base.
+ * @param maxArity            The maximum arity of the predicates (at least 2).
+ * @param diagnoseFacts       The number of facts of the diagnose fact base.
+ * @param submissionFacts     The number of facts of the submission fact base.
+ * @param domainSize          The number of distinct symbols of the submission fact base; the diagnose fact base uses a proportionally smaller domain.
+ * @param skew                The exponent of the Zipf distribution of the symbols ({@code 0} for a uniform distribution).
+ * @param submissionsPerTask  The number of submissions per task.
+ * @param correctSubmissions  The ratio of correct submissions (between 0 and 1).
+ */
+public record CorpusSettings(long seed, long firstId, int taskGroups, int datalogTasks, int aspTasks, int predicates, int maxArity,
+                             int diagnoseFacts, int submissionFacts, int domainSize, double skew, int submissionsPerTask, double correctSubmissions) {
+    /**
+     * The default settings: a small corpus that is generated and loaded within seconds.
+     */
+    public static final CorpusSettings DEFAULT = new CorpusSettings(42, 1_000_000, 5, 4, 2, 5, 3, 50, 2_000, 400, 1.0, 20, 0.3);
+
+    /**
+     * Creates a new instance of class {@link CorpusSettings}.
+     *
+     * @param seed               The seed of the random generator.
+     * @param firstId            The id of the first task group and task.
+     * @param taskGroups         The number of task groups.
+     * @param datalogTasks       The number of Datalog tasks per task group.
+     * @param aspTasks           The number of ASP tasks per task group.
+     * @param predicates         The number of predicates per fact base.
+     * @param maxArity           The maximum arity of the predicates.
+     * @param diagnoseFacts      The number of facts of the diagnose fact base.
+     * @param submissionFacts    The number of facts of the submission fact base.
+     * @param domainSize         The number of distinct symbols of the submission fact base.
+     * @param skew               The exponent of the Zipf distribution of the symbols.
+     * @param submissionsPerTask The number of submissions per task.
+     * @param correctSubmissions The ratio of correct submissions.
+     */
+    public CorpusSettings {
+        if (firstId < 1 || taskGroups < 0 || datalogTasks < 0 || aspTasks < 0 || submissionsPerTask < 0)
+            throw new IllegalArgumentException("Ids must be positive and counts must not be negative.");
+        if (predicates < 1 || maxArity < 2)
+            throw new IllegalArgumentException("At least one predicate and a maximum arity of at least 2 are required.");
+        if (diagnoseFacts < 1 || submissionFacts < 1 || domainSize < 1)
+            throw new IllegalArgumentException("Fact bases and domain must not be empty.");
+        if (skew < 0 || correctSubmissions < 0 || correctSubmissions > 1)
+            throw new IllegalArgumentException("The skew must not be negative and the ratio of correct submissions must be between 0 and 1.");
+    }
+
+    /**
+     * Returns the settings with values overridden by system properties prefixed with {@code corpus.} (e.g. {@code -Dcorpus.taskGroups=100}).
+     *
+     * @return The settings.
+     */
+    public CorpusSettings withSystemProperties() {
+        return new CorpusSettings(
+            Long.getLong("corpus.seed", this.seed),
+            Long.getLong("corpus.firstId", this.firstId),
+            Integer.getInteger("corpus.taskGroups", this.taskGroups),
+            Integer.getInteger("corpus.datalogTasks", this.datalogTasks),
+            Integer.getInteger("corpus.aspTasks", this.aspTasks),
+            Integer.getInteger("corpus.predicates", this.predicates),
+            Integer.getInteger("corpus.maxArity", this.maxArity),
+            Integer.getInteger("corpus.diagnoseFacts", this.diagnoseFacts),
+            Integer.getInteger("corpus.submissionFacts", this.submissionFacts),
+            Integer.getInteger("corpus.domainSize", this.domainSize),
+            Double.parseDouble(System.getProperty("corpus.skew", String.valueOf(this.skew))),
+            Integer.getInteger("corpus.submissionsPerTask", this.submissionsPerTask),
+            Double.parseDouble(System.getProperty("corpus.correctSubmissions", String.valueOf(this.correctSubmissions))));
+    }
+}
@@ -0,0 +1,182 @@
+package at.jku.dke.task_app.datalog.corpus;
+
+import at.jku.dke.etutor.task_app.dto.ModifyTaskDto;
+import at.jku.dke.task_app.datalog.data.entities.DatalogTask;
+import at.jku.dke.task_app.datalog.dto.AspSubmissionDto;
+import at.jku.dke.task_app.datalog.dto.DatalogSubmissionDto;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Writes a {@link Corpus} as requests for the REST API or as SQL script for the database.
+ * <p>
+ * The requests are written as JSON lines ({@code {"method": ..., "path": ..., "body": ...}}) in the order they have to be sent:
+ * task groups first, then tasks, then submissions.
+ * The SQL script inserts the same rows the API would create; as the inserts skip existing rows, it can be run as Flyway
+ * {@code afterMigrate} callback on every start. Tasks loaded via SQL have no stored solution results yet;
+ * they are computed on the first evaluation.
+ */
+public final class CorpusWriter {
+    private static final Logger LOG = LoggerFactory.getLogger(CorpusWriter.class);
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private CorpusWriter() {
+    }
+
+    /**
+     * Generates a corpus with the default settings overridden by system properties (see {@link CorpusSettings#withSystemProperties()})
+     * and writes the files {@code requests.jsonl} and {@code afterMigrate__LoadCorpus.sql} to the given directory.
+     * <p>
+     * If the system property {@code corpus.queueSubmissions} is {@code true}, the submissions are inserted into the submission queue.
+     *
+     * @param args The output directory (default: {@code target/corpus}).
+     * @throws IOException If the files could not be written.
+     */
+    public static void main(String[] args) throws IOException {
+        Path directory = Path.of(args.length > 0 ? args[0] : "target/corpus");
+        var corpus = CorpusGenerator.generate(CorpusSettings.DEFAULT.withSystemProperties());
+
+        Files.createDirectories(directory);
+        try (var writer = Files.newBufferedWriter(directory.resolve("requests.jsonl"), StandardCharsets.UTF_8)) {
+            writeRequests(corpus, writer);
+        }
+        try (var writer = Files.newBufferedWriter(directory.resolve("afterMigrate__LoadCorpus.sql"), StandardCharsets.UTF_8)) {
+            writeSql(corpus, writer, Boolean.getBoolean("corpus.queueSubmissions"));
+        }
+        LOG.info("Corpus written to {}", directory.toAbsolutePath());
+    }
+
+    /**
+     * Writes the corpus as requests for the REST API.
+     *
+     * @param corpus The corpus.
+     * @param writer The writer.
+     * @throws IOException If the requests could not be written.
+     */
+    public static void writeRequests(Corpus corpus, Writer writer) throws IOException {
+        for (var group : corpus.taskGroups())
+            writeRequest(writer, "/api/taskGroup/" + group.id(), group.dto());
+        for (var task : corpus.datalogTasks().toList())
+            writeRequest(writer, "/api/task/dlg/" + task.id(), task.dto());
+        for (var task : corpus.aspTasks().toList())
+            writeRequest(writer, "/api/task/asp/" + task.id(), task.dto());
+        for (var task : corpus.datalogTasks().toList()) {
+            for (var submission : task.submissions())
+                writeRequest(writer, "/api/submission/dlg", submission.dto());
+        }
+        for (var task : corpus.aspTasks().toList()) {
+            for (var submission : task.submissions())
+                writeRequest(writer, "/api/submission/asp", submission.dto());
+        }
+    }
+
+    /**
+     * Writes the corpus as SQL script.
+     *
+     * @param corpus           The corpus.
+     * @param writer           The writer.
+     * @param queueSubmissions Whether the submissions are added to the submission queue; otherwise they are stored as not evaluated.
+     * @throws IOException If the script could not be written.
+     */
+    public static void writeSql(Corpus corpus, Writer writer, boolean queueSubmissions) throws IOException {
+        writer.write("-- Generated corpus: " + corpus.settings() + "\n");
+        for (var group : corpus.taskGroups()) {
+            var data = group.dto().additionalData();
+            writer.write("INSERT INTO task_group (id, status, diagnose_facts, submission_facts) VALUES (" +
+                group.id() + ", " +
+                literal(group.dto().status().name().toLowerCase()) + ", " +
+                literal(data.diagnoseFacts()) + ", " +
+                literal(data.submissionFacts()) + ") ON CONFLICT (id) DO NOTHING;\n");
+        }
+
+        for (var task : corpus.datalogTasks().toList()) {
+            var data = task.dto().additionalData();
+            var entity = new DatalogTask(data.solution(), Arrays.stream(data.query().split(";")).map(String::strip).toList(), data.uncheckedTerms());
+            writer.write("INSERT INTO task (id, max_points, status, task_group_id, solution, query, unchecked_term_raw, unchecked_terms, " +
+                "missing_predicate_penalty, missing_predicate_strategy, missing_fact_penalty, missing_fact_strategy, " +
+                "superfluous_fact_penalty, superfluous_fact_strategy) VALUES (" +
+                commonTaskValues(task.id(), task.dto()) + ", " +
+                literal(data.solution()) + ", " +
+                entity.getQuery().stream().map(CorpusWriter::literal).collect(Collectors.joining(", ", "ARRAY[", "]")) + ", " +
+                literal(data.uncheckedTerms()) + ", " +
+                literal(json(entity.getUncheckedTerms())) + ", " +
+                data.missingPredicatePenalty() + ", " + literal(data.missingPredicateStrategy().name().toLowerCase()) + ", " +
+                data.missingFactPenalty() + ", " + literal(data.missingFactStrategy().name().toLowerCase()) + ", " +
+                data.superfluousFactPenalty() + ", " + literal(data.superfluousFactStrategy().name().toLowerCase()) +
+                ") ON CONFLICT (id) DO NOTHING;\n");
+        }
+
+        for (var task : corpus.aspTasks().toList()) {
+            var data = task.dto().additionalData();
+            writer.write("INSERT INTO asp_task (id, max_points, status, task_group_id, solution, max_n) VALUES (" +
+                commonTaskValues(task.id(), task.dto()) + ", " +
+                literal(data.solution()) + ", " +
+                (data.maxN() == null ? "NULL" : data.maxN()) + ") ON CONFLICT (id) DO NOTHING;\n");
+        }
+
+        for (var task : corpus.datalogTasks().toList())
+            writeSubmissionsSql(writer, corpus.settings(), "submission", task, DatalogSubmissionDto::input, queueSubmissions);
+        for (var task : corpus.aspTasks().toList())
+            writeSubmissionsSql(writer, corpus.settings(), "asp_submission", task, AspSubmissionDto::input, queueSubmissions);
+    }
+
+    private static <S> void writeSubmissionsSql(Writer writer, CorpusSettings settings, String table, Corpus.Task<?, S> task,
+                                                Function<S, String> input, boolean queue) throws IOException {
+        int i = 0;
+        for (var submission : task.submissions()) {
+            var dto = submission.dto();
+            // deterministic ids, so that the script does not insert the submissions again on the next start
+            var id = UUID.nameUUIDFromBytes((settings.seed() + ":" + table + ":" + task.id() + ":" + i++).getBytes(StandardCharsets.UTF_8));
+            writer.write("INSERT INTO " + table + " (id, user_id, assignment_id, task_id, language, mode, feedback_level, submission, queued_at) VALUES (" +
+                literal(id.toString()) + ", " +
+                literal(dto.userId()) + ", " +
+                literal(dto.assignmentId()) + ", " +
+                dto.taskId() + ", " +
+                literal(dto.language()) + ", " +
+                literal(dto.mode().name().toLowerCase()) + ", " +
+                dto.feedbackLevel() + ", " +
+                literal(input.apply(dto.submission())) + ", " +
+                (queue ? "CURRENT_TIMESTAMP" : "NULL") + ") ON CONFLICT (id) DO NOTHING;\n");
+        }
+    }
+
+    private static String commonTaskValues(long id, ModifyTaskDto<?> dto) {
+        return id + ", " + dto.maxPoints() + ", " + literal(dto.status().name().toLowerCase()) + ", " + dto.taskGroupId();
+    }
+
+    private static void writeRequest(Writer writer, String path, Object body) throws IOException {
+        Map<String, Object> request = new LinkedHashMap<>();
+        request.put("method", "POST");
+        request.put("path", path);
+        request.put("body", body);
+        writer.write(json(request));
+        writer.write('\n');
+    }
+
+    private static String json(Object value) {
+        try {
+            return MAPPER.writeValueAsString(value);
+        } catch (JsonProcessingException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private static String literal(String value) {
+        return value == null ? "NULL" : "'" + value.replace("'", "''") + "'";
+    }
+}
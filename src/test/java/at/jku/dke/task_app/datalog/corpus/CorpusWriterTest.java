@@ -0,0 +1,92 @@
+package at.jku.dke.task_app.datalog.corpus;
+
+import at.jku.dke.etutor.task_app.dto.ModifyTaskGroupDto;
+import at.jku.dke.etutor.task_app.dto.TaskStatus;
+import at.jku.dke.task_app.datalog.dto.ModifyDatalogTaskGroupDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CorpusWriterTest {
+
+    private static final CorpusSettings SETTINGS = new CorpusSettings(11, 900_000, 1, 4, 2, 4, 3, 20, 200, 40, 1.0, 5, 0.5);
+
+    @Test
+    void writeRequests() throws IOException {
+        // Arrange
+        var corpus = CorpusGenerator.generate(SETTINGS);
+        var writer = new StringWriter();
+
+        // Act
+        CorpusWriter.writeRequests(corpus, writer);
+
+        // Assert
+        var mapper = new ObjectMapper();
+        var lines = writer.toString().lines().toList();
+        assertThat(lines).hasSize(1 + 6 + 30);
+        var group = mapper.readTree(lines.getFirst());
+        assertThat(group.get("method").asText()).isEqualTo("POST");
+        assertThat(group.get("path").asText()).isEqualTo("/api/taskGroup/900000");
+        assertThat(group.at("/body/taskGroupType").asText()).isEqualTo("datalog");
+        assertThat(group.at("/body/additionalData/submissionFacts").asText()).contains("p1(");
+        var task = mapper.readTree(lines.get(1));
+        assertThat(task.get("path").asText()).isEqualTo("/api/task/dlg/900001");
+        assertThat(task.at("/body/additionalData/query").asText()).startsWith("q1(");
+        var submission = mapper.readTree(lines.getLast());
+        assertThat(submission.get("path").asText()).isEqualTo("/api/submission/asp");
+        assertThat(submission.at("/body/submission/input").asText()).isNotBlank();
+    }
+
+    @Test
+    void writeSql() throws IOException {
+        // Arrange
+        var corpus = CorpusGenerator.generate(SETTINGS);
+        var writer = new StringWriter();
+
+        // Act
+        CorpusWriter.writeSql(corpus, writer, false);
+
+        // Assert
+        var sql = writer.toString();
+        assertThat(sql).startsWith("-- Generated corpus: ");
+        assertThat(sql.split("ON CONFLICT \\(id\\) DO NOTHING;\n", -1)).hasSize(1 + 6 + 30 + 1);
+        assertThat(sql).contains("INSERT INTO task_group (id, status, diagnose_facts, submission_facts) VALUES (900000, 'approved', 'p1(");
+        assertThat(sql).contains("ARRAY['q1(");
+        assertThat(sql).contains("INSERT INTO asp_task (id, max_points, status, task_group_id, solution, max_n) VALUES (900005, ");
+        assertThat(sql).contains("INSERT INTO asp_submission (id, user_id, assignment_id, task_id, language, mode, feedback_level, submission, queued_at) VALUES (");
+        assertThat(sql).doesNotContain("CURRENT_TIMESTAMP");
+    }
+
+    @Test
+    void writeSql_sameCorpus_sameScript() throws IOException {
+        // Arrange
+        var first = new StringWriter();
+        var second = new StringWriter();
+
+        // Act
+        CorpusWriter.writeSql(CorpusGenerator.generate(SETTINGS), first, true);
+        CorpusWriter.writeSql(CorpusGenerator.generate(SETTINGS), second, true);
+
+        // Assert
+        assertThat(second.toString()).isEqualTo(first.toString()).contains("CURRENT_TIMESTAMP");
+    }
+
+    @Test
+    void writeSql_escapesQuotes() throws IOException {
+        // Arrange
+        var group = new Corpus.TaskGroup(1, new ModifyTaskGroupDto<>("datalog", TaskStatus.APPROVED,
+            new ModifyDatalogTaskGroupDto("name('ab').", "name(\"cd\").")), List.of(), List.of());
+        var writer = new StringWriter();
+
+        // Act
+        CorpusWriter.writeSql(new Corpus(SETTINGS, List.of(group)), writer, false);
+
+        // Assert
+        assertThat(writer.toString()).contains("VALUES (1, 'approved', 'name(''ab'').', 'name(\"cd\").')");
+    }
+}
@@ -0,0 +1,155 @@
+package at.jku.dke.task_app.datalog.corpus;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Generates fact bases with a configurable schema, cardinality and skew.
+ * <p>
+ * The first two terms of a fact are symbols of a shared domain, so that predicates can be joined on them;
+ * the third term is an integer between 0 and 99 and all further terms are quoted strings.
+ * The symbols are drawn from a Zipf distribution: with a skew of {@code 0} all symbols are equally likely,
+ * with a skew of {@code 1} the symbol {@code c0} is twice as likely as {@code c1} and so on, as in the fact bases of real task groups
+ * where a few persons, courses or nodes occur in most facts.
+ */
+public final class FactBaseGenerator {
+    private final List<Predicate> predicates;
+    private final double[] cumulative;
+
+    /**
+     * Creates a new instance of class {@link FactBaseGenerator}.
+     *
+     * @param predicates The predicates of the fact base.
+     * @param domainSize The number of distinct symbols.
+     * @param skew       The exponent of the Zipf distribution of the symbols ({@code 0} for a uniform distribution).
+     */
+    public FactBaseGenerator(List<Predicate> predicates, int domainSize, double skew) {
+        if (predicates.isEmpty())
+            throw new IllegalArgumentException("At least one predicate is required.");
+        if (domainSize < 1)
+            throw new IllegalArgumentException("The domain must contain at least one symbol.");
+        if (skew < 0)
+            throw new IllegalArgumentException("The skew must not be negative.");
+
+        this.predicates = List.copyOf(predicates);
+        this.cumulative = new double[domainSize];
+        double sum = 0;
+        for (int i = 0; i < domainSize; i++) {
+            sum += 1 / Math.pow(i + 1, skew);
+            this.cumulative[i] = sum;
+        }
+        for (int i = 0; i < domainSize; i++)
+            this.cumulative[i] /= sum;
+    }
+
+    /**
+     * Returns the predicates of the fact base.
+     *
+     * @return The predicates.
+     */
+    public List<Predicate> getPredicates() {
+        return predicates;
+    }
+
+    /**
+     * Generates a fact base with the given number of facts, which are distributed evenly over the predicates.
+     * <p>
+     * The facts of a predicate are distinct; if the domain is too small for the requested number of facts, fewer facts are generated.
+     *
+     * @param random The random generator.
+     * @param facts  The number of facts.
+     * @return The fact base; the key is the predicate name, the value contains the terms of the facts (e.g. {@code c1, c7, 42}).
+     */
+    public Map<String, Set<String>> generate(Random random, int facts) {
+        Map<String, Set<String>> result = new LinkedHashMap<>();
+        for (int i = 0; i < this.predicates.size(); i++) {
+            var predicate = this.predicates.get(i);
+            int cardinality = facts / this.predicates.size() + (i < facts % this.predicates.size() ? 1 : 0);
+            Set<String> terms = new LinkedHashSet<>(cardinality * 2);
+
+            // duplicates are drawn again, but only a bounded number of times, as unary predicates cannot exceed the domain size
+            for (long attempts = 10L * cardinality; terms.size() < cardinality && attempts > 0; attempts--)
+                terms.add(this.terms(random, predicate.arity()));
+            result.put(predicate.name(), terms);
+        }
+        return result;
+    }
+
+    /**
+     * Returns the terms of a fact whose leading terms are given and whose remaining terms are filled with random values.
+     *
+     * @param random    The random generator.
+     * @param predicate The predicate of the fact.
+     * @param leading   The leading terms.
+     * @return The terms of the fact.
+     */
+    public String terms(Random random, Predicate predicate, String... leading) {
+        var terms = new ArrayList<>(Arrays.asList(leading).subList(0, Math.min(leading.length, predicate.arity())));
+        for (int i = terms.size(); i < predicate.arity(); i++)
+            terms.add(this.term(random, i));
+        return String.join(", ", terms);
+    }
+
+    /**
+     * Renders the given fact base as a Datalog program, one fact per line.
+     *
+     * @param factBase The fact base.
+     * @return The Datalog program.
+     */
+    public static String render(Map<String, ? extends Iterable<String>> factBase) {
+        var builder = new StringBuilder();
+        for (var entry : factBase.entrySet()) {
+            for (String terms : entry.getValue())
+                builder.append(entry.getKey()).append('(').append(terms).append(").\n");
+        }
+        return builder.toString();
+    }
+
+    private String terms(Random random, int arity) {
+        var builder = new StringBuilder();
+        for (int i = 0; i < arity; i++) {
+            if (i > 0)
+                builder.append(", ");
+            builder.append(this.term(random, i));
+        }
+        return builder.toString();
+    }
+
+    private String term(Random random, int position) {
+        return switch (position) {
+            case 0, 1 -> "c" + this.symbol(random);
+            case 2 -> String.valueOf(random.nextInt(100));
+            default -> "\"s" + random.nextInt(100) + '"';
+        };
+    }
+
+    private int symbol(Random random) {
+        int index = Arrays.binarySearch(this.cumulative, random.nextDouble());
+        return Math.min(index < 0 ? -index - 1 : index, this.cumulative.length - 1);
+    }
+
+    /**
+     * A predicate of a fact base.
+     *
+     * @param name  The name.
+     * @param arity The number of terms.
+     */
+    public record Predicate(String name, int arity) {
+        /**
+         * Creates a new instance of class {@link Predicate}.
+         *
+         * @param name  The name.
+         * @param arity The number of terms.
+         */
+        public Predicate {
+            if (arity < 1)
+                throw new IllegalArgumentException("The arity must be positive.");
+        }
+    }
+}
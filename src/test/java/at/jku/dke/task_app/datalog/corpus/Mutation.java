@@ -0,0 +1,134 @@
+package at.jku.dke.task_app.datalog.corpus;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * The mistakes applied to a solution to derive student-like submissions.
+ * <p>
+ * Besides correct submissions, each mutation reproduces a typical mistake; a mutated submission is intended to be wrong,
+ * but may coincidentally produce the same result as the solution on a particular fact base.
+ */
+public enum Mutation {
+    /**
+     * The solution itself.
+     */
+    CORRECT,
+    /**
+     * The solution with other variable names, which produces the same result but a different program text.
+     */
+    RENAMED_VARIABLES,
+    /**
+     * The first two arguments of the first body atom are swapped.
+     */
+    SWAPPED_ARGUMENTS,
+    /**
+     * The head predicate is misspelled.
+     */
+    WRONG_HEAD_PREDICATE,
+    /**
+     * The first body atom uses another predicate of the same arity.
+     */
+    WRONG_BODY_PREDICATE,
+    /**
+     * The last rule is missing (e.g. the recursive rule of a transitive closure).
+     */
+    MISSING_RULE,
+    /**
+     * The negated body literal is missing.
+     */
+    MISSING_NEGATION,
+    /**
+     * The final dot is missing.
+     */
+    SYNTAX_ERROR;
+
+    private static final Pattern VARIABLE = Pattern.compile("\\b[A-Z]\\b");
+    private static final Map<String, String> RENAMED = Map.of("X", "A", "Y", "B", "Z", "C", "V", "D");
+    private static final Pattern FIRST_BODY_ATOM = Pattern.compile("(:-\\s*\\w+\\()([^,()]+), ([^,()]+)");
+    private static final Pattern NEGATION = Pattern.compile(",\\s*not \\w+\\([^)]*\\)");
+
+    /**
+     * Returns whether submissions with this mutation are correct.
+     *
+     * @return {@code true} for {@link #CORRECT} and {@link #RENAMED_VARIABLES}.
+     */
+    public boolean isCorrect() {
+        return this == CORRECT || this == RENAMED_VARIABLES;
+    }
+
+    /**
+     * Returns whether the mutation can be applied to the given program.
+     *
+     * @param program The program.
+     * @return {@code true} if the mutation changes the program.
+     */
+    public boolean appliesTo(Program program) {
+        String text = String.join("\n", program.rules());
+        return switch (this) {
+            case CORRECT, WRONG_HEAD_PREDICATE, SYNTAX_ERROR -> true;
+            case RENAMED_VARIABLES -> VARIABLE.matcher(text).find();
+            case SWAPPED_ARGUMENTS -> FIRST_BODY_ATOM.matcher(program.rules().getFirst()).find();
+            case WRONG_BODY_PREDICATE -> program.similarPredicate() != null && program.rules().getFirst().contains(program.bodyPredicate() + "(");
+            case MISSING_RULE -> program.rules().size() > 1;
+            case MISSING_NEGATION -> NEGATION.matcher(text).find();
+        };
+    }
+
+    /**
+     * Applies the mutation to the given program.
+     *
+     * @param program The program.
+     * @return The mutated program text.
+     */
+    public String apply(Program program) {
+        List<String> rules = program.rules();
+        List<String> mutated = switch (this) {
+            case CORRECT -> rules;
+            case RENAMED_VARIABLES -> rules.stream()
+                .map(rule -> VARIABLE.matcher(rule).replaceAll(m -> RENAMED.getOrDefault(m.group(), m.group())))
+                .toList();
+            case SWAPPED_ARGUMENTS -> replaceFirst(rules, FIRST_BODY_ATOM.matcher(rules.getFirst()).replaceFirst("$1$3, $2"));
+            case WRONG_HEAD_PREDICATE -> rules.stream()
+                .map(rule -> rule.replaceAll("\\b" + program.head() + "\\(", program.head() + "s("))
+                .toList();
+            case WRONG_BODY_PREDICATE -> replaceFirst(rules, rules.getFirst().replaceFirst(":-(.*?)\\b" + program.bodyPredicate() + "\\(",
+                ":-$1" + Matcher.quoteReplacement(program.similarPredicate()) + "("));
+            case MISSING_RULE -> rules.subList(0, rules.size() - 1);
+            case MISSING_NEGATION -> rules.stream()
+                .map(rule -> NEGATION.matcher(rule).replaceAll(""))
+                .toList();
+            case SYNTAX_ERROR -> {
+                String last = rules.getLast();
+                yield replaceLast(rules, last.endsWith(".") ? last.substring(0, last.length() - 1) : last);
+            }
+        };
+        return String.join("\n", mutated);
+    }
+
+    private static List<String> replaceFirst(List<String> rules, String first) {
+        var result = new ArrayList<>(rules);
+        result.set(0, first);
+        return result;
+    }
+
+    private static List<String> replaceLast(List<String> rules, String last) {
+        var result = new ArrayList<>(rules);
+        result.set(result.size() - 1, last);
+        return result;
+    }
+
+    /**
+     * A generated program that can be mutated.
+     *
+     * @param rules            The rules of the program, each ending with a dot.
+     * @param head             The predicate defined by the program (the predicate of the query).
+     * @param bodyPredicate    The fact base predicate of the first body atom.
+     * @param similarPredicate Another fact base predicate with the same arity as the body predicate or {@code null} if there is none.
+     */
+    public record Program(List<String> rules, String head, String bodyPredicate, String similarPredicate) {
+    }
+}
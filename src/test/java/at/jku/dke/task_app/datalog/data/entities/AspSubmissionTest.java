@@ -3,6 +3,8 @@
 import at.jku.dke.etutor.task_app.dto.SubmissionMode;
 import org.junit.jupiter.api.Test;
 
+import java.time.OffsetDateTime;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNull;
 
@@ -68,4 +70,18 @@ void getSetSubmission() {
         assertEquals(expected, actual);
     }
 
+    @Test
+    void getSetQueuedAt() {
+        // Arrange
+        var submission = new AspSubmission();
+        var expected = OffsetDateTime.now();
+
+        // Act
+        submission.setQueuedAt(expected);
+        var actual = submission.getQueuedAt();
+
+        // Assert
+        assertEquals(expected, actual);
+    }
+
 }
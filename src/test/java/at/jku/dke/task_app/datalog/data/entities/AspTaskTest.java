@@ -105,4 +105,31 @@ void getSetMaxN() {
         assertEquals(expected, result);
     }
 
+    @Test
+    void getSetDiagnoseSolutionResult() {
+        // Arrange
+        var task = new AspTask();
+        var expected = "{a, b}";
+
+        // Act
+        task.setDiagnoseSolutionResult(expected);
+        var result = task.getDiagnoseSolutionResult();
+
+        // Assert
+        assertEquals(expected, result);
+    }
+
+    @Test
+    void getSetSubmissionSolutionResult() {
+        // Arrange
+        var task = new AspTask();
+        var expected = "{a, b}";
+
+        // Act
+        task.setSubmissionSolutionResult(expected);
+        var result = task.getSubmissionSolutionResult();
+
+        // Assert
+        assertEquals(expected, result);
+    }
 }
@@ -105,4 +105,13 @@ void getSetSubmissionFacts() {
         assertEquals(submissionFacts, result);
     }
 
+    @Test
+    void hashFacts() {
+        // Act
+        String result = DatalogTaskGroup.hashFacts("a(1).");
+
+        // Assert
+        assertEquals("5e81758e45d8cf44f9f420c18a591a44", result);
+    }
+
 }
@@ -6,6 +6,7 @@
 import java.math.BigDecimal;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -247,4 +248,60 @@ void getSetSuperfluousFactStrategy() {
         assertEquals(expected, result);
     }
 
+    @Test
+    void getSetDiagnoseSolutionResult() {
+        // Arrange
+        var task = new DatalogTask();
+        var expected = Map.of("query?", List.of("a", "b"));
+
+        // Act
+        task.setDiagnoseSolutionResult(expected);
+        var result = task.getDiagnoseSolutionResult();
+
+        // Assert
+        assertEquals(expected, result);
+    }
+
+    @Test
+    void getSetSubmissionSolutionResult() {
+        // Arrange
+        var task = new DatalogTask();
+        var expected = Map.of("query?", List.of("a", "b"));
+
+        // Act
+        task.setSubmissionSolutionResult(expected);
+        var result = task.getSubmissionSolutionResult();
+
+        // Assert
+        assertEquals(expected, result);
+    }
+
+    @Test
+    void getSetDiagnoseSolutionFacts() {
+        // Arrange
+        var task = new DatalogTask();
+        var expected = 42L;
+
+        // Act
+        task.setDiagnoseSolutionFacts(expected);
+        var result = task.getDiagnoseSolutionFacts();
+
+        // Assert
+        assertEquals(expected, result);
+    }
+
+    @Test
+    void getSetSubmissionSolutionFacts() {
+        // Arrange
+        var task = new DatalogTask();
+        var expected = 42L;
+
+        // Act
+        task.setSubmissionSolutionFacts(expected);
+        var result = task.getSubmissionSolutionFacts();
+
+        // Assert
+        assertEquals(expected, result);
+    }
+
 }
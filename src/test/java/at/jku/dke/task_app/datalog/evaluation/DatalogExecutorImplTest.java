@@ -1,13 +1,28 @@
 package at.jku.dke.task_app.datalog.evaluation;
 
+import at.jku.dke.etutor.task_app.dto.SubmissionMode;
 import at.jku.dke.task_app.datalog.config.DatalogSettings;
+import at.jku.dke.task_app.datalog.evaluation.events.ProcessEvent;
+import at.jku.dke.task_app.datalog.evaluation.events.TempFileEvent;
 import at.jku.dke.task_app.datalog.evaluation.exceptions.ExecutionException;
+import at.jku.dke.task_app.datalog.evaluation.exceptions.ResultTooLargeException;
 import at.jku.dke.task_app.datalog.evaluation.exceptions.SyntaxException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
 import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
 
 import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
@@ -15,6 +30,11 @@
 
 class DatalogExecutorImplTest {
 
+    private static DatalogSettings createSettings(DatalogSettings.InputMode inputMode, DataSize maxOutputSize) {
+        return new DatalogSettings("", 10, "0", "", DatalogSettings.SchedulerSettings.DEFAULT, DatalogSettings.CacheSettings.DEFAULT,
+            DatalogSettings.Engine.DLV, new DatalogSettings.ProcessSettings(inputMode, maxOutputSize, 100, 10000), DatalogSettings.QueueSettings.DEFAULT, DatalogSettings.MetricsSettings.DEFAULT);
+    }
+
     @Test
     void execute() throws IOException, ExecutionException {
         // Arrange
@@ -58,6 +78,59 @@ void execute_syntaxError() throws IOException, ExecutionException {
         assertThat(result.output()).contains("syntax error").contains("submission.dlv");
     }
 
+    @Test
+    void execute_cached() throws IOException, ExecutionException {
+        // Arrange
+        var cache = new ExecutionCache(DatalogSettings.EMPTY);
+        var executor = new DatalogExecutorImpl(DatalogSettings.EMPTY, new ExecutionScheduler(DatalogSettings.EMPTY), cache);
+        var input = "arc(a1, a2). path(X,Y) :- arc(X,Y).";
+
+        // Act
+        var first = executor.execute(input, new String[0]);
+        var second = executor.execute(input, new String[0]);
+        var other = executor.execute(input, new String[]{"-nofacts"});
+
+        // Assert
+        assertThat(second).isEqualTo(first);
+        assertThat(other.output()).doesNotContain("arc(");
+        assertThat(cache.getStatistics().hits()).isEqualTo(1);
+        assertThat(cache.getStatistics().misses()).isEqualTo(2);
+    }
+
+    @Test
+    void execute_fileInputMode() throws IOException, ExecutionException {
+        // Arrange
+        var executor = new DatalogExecutorImpl(createSettings(DatalogSettings.InputMode.FILE, DataSize.ofMegabytes(16)));
+
+        // Act
+        var result = executor.execute("arc(a1, a2). path(X,Y) :- arc(X,Y).", new String[0]);
+        var error = executor.execute("arc(a1, a2) path(X,Y) :- arc(X,Y).", new String[0]);
+
+        // Assert
+        assertThat(result.exitCode()).isEqualTo(0);
+        assertThat(result.output()).contains("arc(a1,a2)").contains("path(a1,a2)");
+        assertThat(error.exitCode()).isNotEqualTo(0);
+        assertThat(error.output()).contains("syntax error").contains("submission.dlv");
+    }
+
+    @Test
+    void execute_outputTooLarge() {
+        // Arrange
+        var executor = new DatalogExecutorImpl(createSettings(DatalogSettings.InputMode.PIPE, DataSize.ofBytes(20)));
+
+        // Act & Assert
+        assertThrows(ResultTooLargeException.class, () -> executor.execute("arc(a1, a2). arc(a2, a3). path(X,Y) :- arc(X,Y).", new String[0]));
+    }
+
+    @Test
+    void execute_fileInputMode_outputTooLarge() {
+        // Arrange
+        var executor = new DatalogExecutorImpl(createSettings(DatalogSettings.InputMode.FILE, DataSize.ofBytes(20)));
+
+        // Act & Assert
+        assertThrows(ResultTooLargeException.class, () -> executor.execute("arc(a1, a2). arc(a2, a3). path(X,Y) :- arc(X,Y).", new String[0]));
+    }
+
     @Test
     void execute_invalidExePath() {
         // Arrange
@@ -89,6 +162,110 @@ void execute_timeout() {
             """, new String[0]));
     }
 
+    @Test
+    void execute_metrics() throws IOException, ExecutionException {
+        // Arrange
+        var registry = new SimpleMeterRegistry();
+        var executor = new DatalogExecutorImpl(DatalogSettings.EMPTY, new ExecutionScheduler(DatalogSettings.EMPTY), new ExecutionCache(DatalogSettings.EMPTY),
+            new EvaluationMetrics(registry, DatalogSettings.EMPTY));
+
+        // Act
+        try (var ignored = EvaluationContext.enter(new EvaluationContext("dlg", SubmissionMode.SUBMIT, 1234))) {
+            executor.execute("arc(a1, a2). path(X,Y) :- arc(X,Y).", new String[0]);
+        }
+
+        // Assert
+        var duration = registry.get("datalog.process.duration").tags("task.type", "dlg", "mode", "submit", "task.bucket", "1200", "outcome", "exited", "exit.code", "0").timer();
+        assertThat(duration.count()).isEqualTo(1);
+        assertThat(registry.get("datalog.process.spawn").tags("task.type", "dlg").timer().count()).isEqualTo(1);
+        assertThat(registry.get("datalog.process.output").tags("task.type", "dlg").summary().totalAmount()).isPositive();
+    }
+
+    @Test
+    void execute_timeout_metrics() {
+        // Arrange
+        var registry = new SimpleMeterRegistry();
+        var settings = new DatalogSettings("", 0, "1", "");
+        var executor = new DatalogExecutorImpl(settings, new ExecutionScheduler(settings), new ExecutionCache(settings), new EvaluationMetrics(registry, settings));
+        var facts = IntStream.range(0, 300).mapToObj(i -> "arc(a" + i + ", a" + (i + 1) + ").").collect(Collectors.joining());
+
+        // Act
+        assertThrows(ExecutionException.class, () -> executor.execute(facts + " path(X,Y) :- arc(X,Y). path(X,Y) :- path(X,Z), arc(Z,Y).", new String[0]));
+
+        // Assert
+        var duration = registry.get("datalog.process.duration").tags("task.type", "none", "outcome", "timeout", "exit.code", "none").timer();
+        assertThat(duration.count()).isEqualTo(1);
+    }
+
+    @Test
+    void execute_outputTooLarge_metrics() {
+        // Arrange
+        var registry = new SimpleMeterRegistry();
+        var settings = createSettings(DatalogSettings.InputMode.PIPE, DataSize.ofBytes(20));
+        var executor = new DatalogExecutorImpl(settings, new ExecutionScheduler(settings), new ExecutionCache(settings), new EvaluationMetrics(registry, settings));
+
+        // Act
+        assertThrows(ResultTooLargeException.class, () -> executor.execute("arc(a1, a2). arc(a2, a3). path(X,Y) :- arc(X,Y).", new String[0]));
+
+        // Assert
+        assertThat(registry.get("datalog.process.duration").tags("outcome", "killed").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void execute_file_events() throws IOException, ExecutionException {
+        // Arrange
+        var executor = new DatalogExecutorImpl(createSettings(DatalogSettings.InputMode.FILE, DataSize.ofMegabytes(16)));
+        List<RecordedEvent> events;
+
+        // Act
+        try (var recording = new Recording()) {
+            recording.enable(TempFileEvent.class);
+            recording.enable(ProcessEvent.class);
+            recording.start();
+            executor.execute("arc(a1, a2). path(X,Y) :- arc(X,Y).", new String[0]);
+            recording.stop();
+            var file = Files.createTempFile("executor", ".jfr");
+            recording.dump(file);
+            events = RecordingFile.readAllEvents(file);
+            Files.delete(file);
+        }
+
+        // Assert
+        assertThat(events).filteredOn(e -> e.getEventType().getName().equals("at.jku.dke.task_app.datalog.TempFile"))
+            .extracting(e -> e.getString("operation"))
+            .containsExactlyInAnyOrder("write", "read");
+        assertThat(events).filteredOn(e -> e.getEventType().getName().equals("at.jku.dke.task_app.datalog.Process"))
+            .singleElement()
+            .satisfies(e -> {
+                assertThat(e.getString("outcome")).isEqualTo("exited");
+                assertThat(e.getInt("exitCode")).isZero();
+                assertThat(e.getLong("pid")).isPositive();
+            });
+    }
+
+    @Test
+    void execute_virtualThreads() throws InterruptedException, java.util.concurrent.ExecutionException {
+        // Arrange
+        var executor = new DatalogExecutorImpl(DatalogSettings.EMPTY);
+        int executions = 64; // the default scheduler admits 104 executions at once (4 running, 100 waiting)
+        List<Future<DatalogExecutor.ExecutionOutput>> results = new ArrayList<>();
+
+        // Act
+        try (var threads = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < executions; i++) {
+                String input = "arc(a" + i + ", b). path(X,Y) :- arc(X,Y).";
+                results.add(threads.submit(() -> executor.execute(input, new String[0])));
+            }
+        }
+
+        // Assert
+        for (int i = 0; i < executions; i++) {
+            var result = results.get(i).get();
+            assertThat(result.exitCode()).isEqualTo(0);
+            assertThat(result.output()).contains("path(a" + i + ",b)");
+        }
+    }
+
     @Test
     void executeRules_valid() throws IOException, ExecutionException {
         // Arrange
@@ -110,6 +287,20 @@ void executeRules_valid() throws IOException, ExecutionException {
             .contains("path(a2,a3)");
     }
 
+    @Test
+    void executeRules_maxModels() throws IOException, ExecutionException {
+        // Arrange
+        var executor = new DatalogExecutorImpl(DatalogSettings.EMPTY);
+
+        // Act
+        var all = executor.execute("item(1). item(2). item(3).", "in(X) v out(X) :- item(X).", null, null);
+        var limited = executor.execute("item(1). item(2). item(3).", "in(X) v out(X) :- item(X).", null, 3);
+
+        // Assert
+        assertThat(all.lines().filter(l -> l.startsWith("{"))).hasSize(8);
+        assertThat(limited.lines().filter(l -> l.startsWith("{"))).hasSize(3);
+    }
+
     @Test
     void executeRules_syntaxError() {
         // Arrange
@@ -151,6 +342,162 @@ void executeQuery_twoQueries() throws IOException, ExecutionException {
             .containsEntry("arc", Arrays.asList("a1, a2", "a2, a3"));
     }
 
+    @Test
+    void executeQuery_projection_rawOutputWithoutProjectionAtoms() throws IOException, ExecutionException {
+        // Arrange
+        var executor = new DatalogExecutorImpl(DatalogSettings.EMPTY);
+
+        // Act
+        var result = executor.query("arc(a1, a2).arc(a2, a3).", "path(X,Y) :- arc(X,Y).path(X,Y) :- path(X,Z), arc(Z,Y).", List.of("path(X,Y)?", "arc(X,Y)?"), List.of(), false);
+
+        // Assert
+        assertThat(result.output())
+            .contains("path(a1,a2)")
+            .doesNotContain("arc(")
+            .doesNotContain("etutor__q__");
+    }
+
+    @Test
+    void executeQuery_projection_weakConstraints() throws IOException, ExecutionException {
+        // Arrange
+        var executor = new DatalogExecutorImpl(DatalogSettings.EMPTY);
+        String facts = "a(1). a(2).";
+        String rules = "p(X) v q(X) :- a(X). :~ p(X). [1:1]";
+        String expected = executor.query(facts, rules, List.of(), List.of(), false).output();
+
+        // Act
+        var result = executor.query(facts, rules, List.of("q(X)?"), List.of(), false);
+
+        // Assert
+        assertThat(expected).contains("Best model: {q(1), q(2)}").contains("Cost ([Weight:Level]): <[0:1]>");
+        assertThat(result.output()).isEqualTo(expected);
+        assertThat(result.result()).containsEntry("q", Arrays.asList("1", "2"));
+    }
+
+    @Test
+    void removeProjectionAtoms() {
+        // Act
+        var output = DatalogExecutorImpl.removeProjectionAtoms("""
+            Best model: {a("{x}, y"), etutor__q__0(1), b(f(1,2))}
+            Cost ([Weight:Level]): <[1:1]>
+            {etutor__q__0(1)}
+            """);
+
+        // Assert
+        assertThat(output).isEqualTo("""
+            Best model: {a("{x}, y"), b(f(1,2))}
+            Cost ([Weight:Level]): <[1:1]>
+            {}
+            """);
+    }
+
+    @Test
+    void executeQuery_projection_complexTerms() throws IOException, ExecutionException {
+        // Arrange
+        var executor = new DatalogExecutorImpl(DatalogSettings.EMPTY);
+
+        // Act
+        var result = executor.query("arc(a1, \"x, y\"). arc(a2, f(a,b)).", "path(X,Y) :- arc(X,Y).", List.of("path(X,Y)?"), List.of(), false);
+
+        // Assert
+        assertThat(result.result()).containsEntry("path", Arrays.asList("a1, \"x, y\"", "a2, f(a,b)"));
+    }
+
+    @Test
+    void executeQuery_boundArguments() throws IOException, ExecutionException {
+        // Arrange
+        var executor = new DatalogExecutorImpl(DatalogSettings.EMPTY);
+
+        // Act
+        var result = executor.query("arc(a1, a2).arc(a2, a3).", "path(X,Y) :- arc(X,Y).path(X,Y) :- path(X,Z), arc(Z,Y).", List.of("path(a1,Y)?", "path(X,X)?"), List.of(), false);
+
+        // Assert
+        assertThat(result.result())
+            .containsEntry("path", List.of());
+    }
+
+    @Test
+    void executeQuery_concurrentQueries() throws IOException, ExecutionException {
+        // Arrange
+        var executor = new DatalogExecutorImpl(DatalogSettings.EMPTY);
+
+        // Act
+        var result = executor.query("arc(a1, a2).arc(a2, a3).", "path(X,Y) :- arc(X,Y).path(X,Y) :- path(X,Z), arc(Z,Y).", List.of("path(a1,Y)?", "arc(a2,Y)?", "arc(X,X)?"), List.of(), false);
+
+        // Assert
+        assertThat(result.result())
+            .containsEntry("path", List.of("a2", "a3"))
+            .containsEntry("arc", List.of());
+    }
+
+    @Test
+    void executeQuery_concurrentQueries_syntaxError() {
+        // Arrange
+        var executor = new DatalogExecutorImpl(DatalogSettings.EMPTY);
+
+        // Act & Assert
+        assertThrows(ExecutionException.class, () -> executor.query("arc(a1, a2).", "path(X,Y) :- arc(X,Y).", List.of("path(a1,Y)?", "arc(a1,Y?", "arc(X,X)?"), List.of(), false));
+    }
+
+    @Test
+    void executeQuery_multipleModels() throws IOException, ExecutionException {
+        // Arrange
+        var executor = new DatalogExecutorImpl(DatalogSettings.EMPTY);
+
+        // Act
+        var result = executor.query("node(n1). node(n2).", "in(X) :- node(X), not out(X). out(X) :- node(X), not in(X). both(X) :- node(X).", List.of("both(X)?", "in(X)?"), List.of(), false);
+
+        // Assert
+        assertThat(result.output()).doesNotContain("etutor__q__");
+        assertThat(result.result())
+            .containsEntry("both", Arrays.asList("n1", "n2"))
+            .containsEntry("in", List.of());
+    }
+
+    @Test
+    void executeQuery_resultTooLarge() {
+        // Arrange
+        var executor = new DatalogExecutorImpl(DatalogSettings.EMPTY);
+        var facts = "n(1). n(2). n(3). n(4). n(5).";
+        var rules = "pair(X,Y) :- n(X), n(Y).";
+
+        // Act & Assert
+        assertThrows(ResultTooLargeException.class, () -> executor.query(facts, rules, List.of("pair(X,Y)?"), List.of(), false, 24));
+    }
+
+    @Test
+    void executeQuery_resultTooLarge_cached() throws IOException, ExecutionException {
+        // Arrange
+        var executor = new DatalogExecutorImpl(DatalogSettings.EMPTY);
+        var facts = "n(1). n(2). n(3). n(4). n(5).";
+        var rules = "pair(X,Y) :- n(X), n(Y).";
+
+        // Act
+        var result = executor.query(facts, rules, List.of("pair(X,Y)?"), List.of(), false, 25);
+
+        // Assert
+        assertThat(result.result().get("pair")).hasSize(25);
+        assertThrows(ResultTooLargeException.class, () -> executor.query(facts, rules, List.of("pair(X,Y)?"), List.of(), false, 24));
+    }
+
+    @Test
+    void executeQuery_maxFacts_auxiliaryRelations() throws IOException, ExecutionException {
+        // Arrange
+        var executor = new DatalogExecutorImpl(DatalogSettings.EMPTY);
+        var facts = IntStream.range(1, 150).mapToObj(i -> "arc(n" + i + ", n" + (i + 1) + ").").collect(Collectors.joining(" "));
+        var rules = "path(X,Y) :- arc(X,Y). path(X,Y) :- path(X,Z), arc(Z,Y). hasNext(X) :- arc(X,_). last(Y) :- path(n1,Y), not hasNext(Y).";
+        var solution = executor.query(facts, rules, List.of("last(X)?"), List.of(), false);
+
+        // Act
+        var result = executor.query(facts, rules, List.of("last(X)?"), List.of(), false, DatalogSettings.EMPTY.process().getMaxFacts(solution.countFacts()));
+
+        // Assert
+        assertThat(solution.result().get("last")).containsExactly("n150");
+        assertThat(solution.countFacts()).isEqualTo(149 * 150 / 2 + 149 + 1);
+        assertThat(result.result()).isEqualTo(solution.result());
+        assertThrows(ResultTooLargeException.class, () -> executor.query(facts, rules, List.of("last(X)?"), List.of(), false, DatalogSettings.EMPTY.process().getMaxFacts(1)));
+    }
+
     @Test
     void executeQuery_syntaxError() {
         // Arrange
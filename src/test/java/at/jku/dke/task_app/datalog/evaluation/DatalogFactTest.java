@@ -3,6 +3,8 @@
 import at.jku.dke.task_app.datalog.evaluation.DatalogFact;
 import at.jku.dke.task_app.datalog.evaluation.DatalogPredicate;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
 
 import java.util.List;
 
@@ -50,6 +52,20 @@ void getTerms() {
         assertThat(result).containsExactly("term1", "term2");
     }
 
+    @ParameterizedTest
+    @ValueSource(strings = {"", "a", "a,b", "a,  b,\tc", " a , b", "a,,b", "a,", "a, ,", ",", ",a", "\"x y\", f(1, 2)"})
+    void getTerms_sameAsRegexSplit(String terms) {
+        // Arrange
+        DatalogPredicate predicate = new DatalogPredicate("predicate", List.of());
+        DatalogFact fact = new DatalogFact(predicate, terms);
+
+        // Act
+        String[] result = fact.getTerms();
+
+        // Assert
+        assertArrayEquals(terms.split(",\\s*"), result);
+    }
+
     @Test
     void testToString() {
         // Arrange
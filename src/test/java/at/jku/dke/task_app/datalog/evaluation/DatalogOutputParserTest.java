@@ -0,0 +1,56 @@
+package at.jku.dke.task_app.datalog.evaluation;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class DatalogOutputParserTest {
+
+    @Test
+    void parseModels() {
+        // Act
+        var result = DatalogOutputParser.parseModels("{a(1), b(\"x, y\"), c(f(1,2),3)}\n{}\n{d}\n");
+
+        // Assert
+        assertEquals(List.of(List.of("a(1)", "b(\"x, y\")", "c(f(1,2),3)"), List.of(), List.of("d")), result);
+    }
+
+    @Test
+    void countFacts_models() {
+        // Act
+        var result = DatalogOutputParser.countFacts("{a(1), etutor__q__a(1), b(\"}, {\")}\n{a(2)}\n", "etutor__q__");
+
+        // Assert
+        assertEquals(3, result);
+    }
+
+    @Test
+    void countFacts_cautiousOutput() {
+        // Act
+        var result = DatalogOutputParser.countFacts("a, b\n\nc, d\r\ne, f", "");
+
+        // Assert
+        assertEquals(3, result);
+    }
+
+    @Test
+    void accept_chunks() {
+        // Arrange
+        var parser = new DatalogOutputParser("", false);
+        byte[] output = "{name(\"Jürgen\"), name(\"Zoë\")}\n".getBytes(StandardCharsets.UTF_8);
+
+        // Act
+        for (int i = 0; i < output.length; i += 3)
+            parser.accept(Arrays.copyOfRange(output, i, Math.min(i + 3, output.length)), Math.min(3, output.length - i));
+        parser.finish();
+
+        // Assert
+        assertEquals(2, parser.getFacts());
+        assertThat(parser.getModels()).hasSize(1);
+    }
+}
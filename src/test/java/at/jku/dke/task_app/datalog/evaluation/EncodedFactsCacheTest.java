@@ -0,0 +1,178 @@
+package at.jku.dke.task_app.datalog.evaluation;
+
+import at.jku.dke.task_app.datalog.config.DatalogSettings;
+import at.jku.dke.task_app.datalog.data.entities.TermDescription;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class EncodedFactsCacheTest {
+
+    private static final String NL = System.lineSeparator();
+
+    private static EncodedFactsCache createCache(int maxEncodedFacts) {
+        return createCache(maxEncodedFacts, DataSize.ofMegabytes(64));
+    }
+
+    private static EncodedFactsCache createCache(int maxEncodedFacts, DataSize maxEncodedFactsSize) {
+        return new EncodedFactsCache(new DatalogSettings("", 10, "0", "", DatalogSettings.SchedulerSettings.DEFAULT,
+            new DatalogSettings.CacheSettings(1000, DataSize.ofMegabytes(64), maxEncodedFacts, maxEncodedFactsSize), DatalogSettings.Engine.DLV, DatalogSettings.ProcessSettings.DEFAULT, DatalogSettings.QueueSettings.DEFAULT, DatalogSettings.MetricsSettings.DEFAULT));
+    }
+
+    private static long sizeOf(String encodedFacts) {
+        return 256 + 2L * encodedFacts.length();
+    }
+
+    @Test
+    void getEncodedFacts() {
+        // Arrange
+        var cache = createCache(10);
+
+        // Act
+        var result = cache.getEncodedFacts(1, "p(a). p(b).", List.of(new TermDescription("p", "b", 1)));
+
+        // Assert
+        assertEquals("p(a0)." + NL + "p(b)." + NL, result);
+        assertEquals(new EncodedFactsCache.Statistics(1, sizeOf(result), 0, 1, 0), cache.getStatistics());
+    }
+
+    @Test
+    void getEncodedFacts_cached() {
+        // Arrange
+        var cache = createCache(10);
+        var first = cache.getEncodedFacts(1, "p(a).", List.of());
+
+        // Act
+        var result = cache.getEncodedFacts(1, new String("p(a)."), List.of());
+
+        // Assert
+        assertSame(first, result);
+        assertEquals(new EncodedFactsCache.Statistics(1, sizeOf(result), 1, 1, 0), cache.getStatistics());
+    }
+
+    @Test
+    void getEncodedFacts_changedFacts() {
+        // Arrange
+        var cache = createCache(10);
+        cache.getEncodedFacts(1, "p(a).", List.of());
+
+        // Act
+        var result = cache.getEncodedFacts(1, "p(b).", List.of());
+
+        // Assert
+        assertEquals("p(b0)." + NL, result);
+        assertEquals(new EncodedFactsCache.Statistics(1, sizeOf(result), 0, 2, 0), cache.getStatistics());
+    }
+
+    @Test
+    void getEncodedFacts_changedUncheckedTerms() {
+        // Arrange
+        var cache = createCache(10);
+        cache.getEncodedFacts(1, "p(a).", List.of());
+
+        // Act
+        var result = cache.getEncodedFacts(1, "p(a).", List.of(new TermDescription("p", "a", 1)));
+
+        // Assert
+        assertEquals("p(a)." + NL, result);
+        assertEquals(new EncodedFactsCache.Statistics(1, sizeOf(result), 0, 2, 0), cache.getStatistics());
+    }
+
+    @Test
+    void getEncodedFacts_evictsLeastRecentlyUsed() {
+        // Arrange
+        var cache = createCache(2);
+        cache.getEncodedFacts(1, "p(a).", List.of());
+        cache.getEncodedFacts(2, "p(b).", List.of());
+        cache.getEncodedFacts(1, "p(a).", List.of());
+
+        // Act
+        cache.getEncodedFacts(3, "p(c).", List.of());
+        cache.getEncodedFacts(1, "p(a).", List.of());
+        cache.getEncodedFacts(2, "p(b).", List.of());
+
+        // Assert
+        assertEquals(new EncodedFactsCache.Statistics(2, 2 * sizeOf("p(a0)." + NL), 2, 4, 2), cache.getStatistics());
+    }
+
+    @Test
+    void getEncodedFacts_evictsWhenExceedingMaxSize() {
+        // Arrange
+        var cache = createCache(10, DataSize.ofBytes(2 * sizeOf("p(a0)." + NL)));
+        cache.getEncodedFacts(1, "p(a).", List.of());
+        cache.getEncodedFacts(2, "p(b).", List.of());
+
+        // Act
+        cache.getEncodedFacts(3, "p(c).", List.of());
+
+        // Assert
+        assertEquals(new EncodedFactsCache.Statistics(2, 2 * sizeOf("p(a0)." + NL), 0, 3, 1), cache.getStatistics());
+    }
+
+    @Test
+    void getEncodedFacts_exceedingMaxSize() {
+        // Arrange
+        var cache = createCache(10, DataSize.ofBytes(sizeOf("p(a0)." + NL)));
+        cache.getEncodedFacts(1, "p(a).", List.of());
+
+        // Act
+        var result = cache.getEncodedFacts(1, "p(a). p(b).", List.of());
+
+        // Assert
+        assertEquals("p(a0)." + NL + "p(b0)." + NL, result);
+        assertEquals(new EncodedFactsCache.Statistics(0, 0, 0, 2, 0), cache.getStatistics());
+    }
+
+    @Test
+    void getEncodedFacts_disabled() {
+        // Arrange
+        var cache = createCache(0);
+        cache.getEncodedFacts(1, "p(a).", List.of());
+
+        // Act
+        var result = cache.getEncodedFacts(1, "p(a).", List.of());
+
+        // Assert
+        assertEquals("p(a0)." + NL, result);
+        assertEquals(new EncodedFactsCache.Statistics(0, 0, 0, 2, 0), cache.getStatistics());
+    }
+
+    @Test
+    void clear() {
+        // Arrange
+        var cache = createCache(10);
+        cache.getEncodedFacts(1, "p(a).", List.of());
+
+        // Act
+        cache.clear();
+
+        // Assert
+        assertEquals(0, cache.getStatistics().entries());
+        assertEquals(0, cache.getStatistics().bytes());
+    }
+
+    @Test
+    void bindTo() {
+        // Arrange
+        var cache = createCache(10);
+        var registry = new SimpleMeterRegistry();
+
+        // Act
+        cache.bindTo(registry);
+        cache.getEncodedFacts(1, "p(a).", List.of());
+        cache.getEncodedFacts(1, "p(a).", List.of());
+        cache.getEncodedFacts(2, "p(b).", List.of());
+
+        // Assert
+        assertEquals(1, registry.get("datalog.cache.gets").tags("cache", "encoded-facts", "result", "hit").functionCounter().count());
+        assertEquals(2, registry.get("datalog.cache.gets").tags("cache", "encoded-facts", "result", "miss").functionCounter().count());
+        assertEquals(0, registry.get("datalog.cache.evictions").tag("cache", "encoded-facts").functionCounter().count());
+        assertEquals(2, registry.get("datalog.cache.entries").tag("cache", "encoded-facts").gauge().value());
+        assertEquals(2 * sizeOf("p(a0)." + NL), registry.get("datalog.cache.size").tag("cache", "encoded-facts").gauge().value());
+    }
+}
@@ -0,0 +1,153 @@
+package at.jku.dke.task_app.datalog.evaluation;
+
+import at.jku.dke.etutor.task_app.dto.SubmissionMode;
+import at.jku.dke.task_app.datalog.config.DatalogSettings;
+import at.jku.dke.task_app.datalog.evaluation.events.EvaluationStageEvent;
+import at.jku.dke.task_app.datalog.evaluation.events.ProcessEvent;
+import at.jku.dke.task_app.datalog.evaluation.events.ProcessKillEvent;
+import at.jku.dke.task_app.datalog.evaluation.events.ProcessStartEvent;
+import at.jku.dke.task_app.datalog.evaluation.exceptions.ExecutionException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EvaluationMetricsTest {
+
+    @Test
+    void stage() {
+        // Arrange
+        var registry = new SimpleMeterRegistry();
+        var metrics = new EvaluationMetrics(registry, DatalogSettings.EMPTY);
+
+        // Act
+        try (var ignored = EvaluationContext.enter(new EvaluationContext("asp", SubmissionMode.DIAGNOSE, 42));
+             var timer = metrics.stage(EvaluationMetrics.Stage.FACT_ENCODING)) {
+            assertThat(timer).isNotNull();
+        }
+
+        // Assert
+        var timer = registry.get("datalog.evaluation.stage").tags("stage", "fact-encoding", "task.type", "asp", "mode", "diagnose", "task.bucket", "0").timer();
+        assertThat(timer.count()).isEqualTo(1);
+    }
+
+    @Test
+    void stage_withoutContext() {
+        // Arrange
+        var registry = new SimpleMeterRegistry();
+        var metrics = new EvaluationMetrics(registry, DatalogSettings.EMPTY);
+
+        // Act
+        metrics.stage(EvaluationMetrics.Stage.ANALYSIS).close();
+
+        // Assert
+        var timer = registry.get("datalog.evaluation.stage").tags("stage", "analysis", "task.type", "none", "mode", "none", "task.bucket", "none").timer();
+        assertThat(timer.count()).isEqualTo(1);
+    }
+
+    @Test
+    void stage_contextInheritedByScope() throws IOException, ExecutionException {
+        // Arrange
+        var registry = new SimpleMeterRegistry();
+        var metrics = new EvaluationMetrics(registry, DatalogSettings.EMPTY);
+
+        // Act
+        try (var ignored = EvaluationContext.enter(new EvaluationContext("dlg", SubmissionMode.RUN, 250));
+             var scope = new ExecutionScope()) {
+            scope.fork(() -> {
+                metrics.stage(EvaluationMetrics.Stage.REPORT).close();
+                return null;
+            }).get();
+        }
+
+        // Assert
+        assertThat(registry.get("datalog.evaluation.stage").tags("task.type", "dlg", "mode", "run", "task.bucket", "200").timer().count()).isEqualTo(1);
+        assertThat(EvaluationContext.current()).isEmpty();
+    }
+
+    @Test
+    void process() {
+        // Arrange
+        var registry = new SimpleMeterRegistry();
+        var metrics = new EvaluationMetrics(registry, DatalogSettings.EMPTY);
+
+        // Act
+        try (var observation = metrics.process()) {
+            observation.started(1234);
+            observation.exited(1);
+            observation.outputRead(128);
+        }
+        metrics.process().close();
+
+        // Assert
+        assertThat(registry.get("datalog.process.spawn").timer().count()).isEqualTo(1);
+        assertThat(registry.get("datalog.process.duration").tags("outcome", "exited", "exit.code", "1").timer().count()).isEqualTo(1);
+        assertThat(registry.get("datalog.process.duration").tags("outcome", "error", "exit.code", "none").timer().count()).isEqualTo(1);
+        assertThat(registry.get("datalog.process.output").summary().totalAmount()).isEqualTo(128);
+    }
+
+    @Test
+    void disabled() {
+        // Act
+        var metrics = EvaluationMetrics.disabled();
+
+        // Assert: no exception
+        metrics.stage(EvaluationMetrics.Stage.TASK_LOAD).close();
+        metrics.process().close();
+    }
+
+    @Test
+    void events() throws IOException {
+        // Arrange
+        var metrics = EvaluationMetrics.disabled();
+        List<RecordedEvent> events;
+
+        // Act
+        try (var recording = new Recording()) {
+            recording.enable(EvaluationStageEvent.class);
+            recording.enable(ProcessStartEvent.class);
+            recording.enable(ProcessEvent.class);
+            recording.enable(ProcessKillEvent.class);
+            recording.start();
+            try (var ignored = EvaluationContext.enter(new EvaluationContext("dlg", SubmissionMode.SUBMIT, 7))) {
+                metrics.stage(EvaluationMetrics.Stage.REPORT).close();
+                try (var observation = metrics.process()) {
+                    observation.started(1234);
+                    observation.killed(EvaluationMetrics.ProcessOutcome.TIMEOUT);
+                    observation.outputRead(64);
+                }
+            }
+            recording.stop();
+            var file = Files.createTempFile("evaluation", ".jfr");
+            recording.dump(file);
+            events = RecordingFile.readAllEvents(file);
+            Files.delete(file);
+        }
+
+        // Assert
+        assertThat(events).extracting(e -> e.getEventType().getName()).containsExactlyInAnyOrder(
+            "at.jku.dke.task_app.datalog.EvaluationStage",
+            "at.jku.dke.task_app.datalog.ProcessStart",
+            "at.jku.dke.task_app.datalog.ProcessKill",
+            "at.jku.dke.task_app.datalog.Process");
+        assertThat(events).allSatisfy(e -> {
+            assertThat(e.getString("taskType")).isEqualTo("dlg");
+            assertThat(e.getString("mode")).isEqualTo("submit");
+            assertThat(e.getLong("taskId")).isEqualTo(7);
+        });
+        var process = events.stream().filter(e -> e.getEventType().getName().equals("at.jku.dke.task_app.datalog.Process")).findFirst().orElseThrow();
+        assertThat(process.getLong("pid")).isEqualTo(1234);
+        assertThat(process.getString("outcome")).isEqualTo("timeout");
+        assertThat(process.getInt("exitCode")).isEqualTo(-1);
+        assertThat(process.getLong("bytesRead")).isEqualTo(64);
+        var stage = events.stream().filter(e -> e.getEventType().getName().equals("at.jku.dke.task_app.datalog.EvaluationStage")).findFirst().orElseThrow();
+        assertThat(stage.getString("stage")).isEqualTo("report");
+    }
+}
@@ -0,0 +1,142 @@
+package at.jku.dke.task_app.datalog.evaluation;
+
+import at.jku.dke.task_app.datalog.config.DatalogSettings;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ExecutionCacheTest {
+
+    private static DatalogSettings settings(int maxEntries, DataSize maxSize) {
+        return new DatalogSettings("", 10, "0", "", DatalogSettings.SchedulerSettings.DEFAULT, new DatalogSettings.CacheSettings(maxEntries, maxSize, 100, DataSize.ofMegabytes(64)), DatalogSettings.Engine.DLV, DatalogSettings.ProcessSettings.DEFAULT, DatalogSettings.QueueSettings.DEFAULT, DatalogSettings.MetricsSettings.DEFAULT);
+    }
+
+    @Test
+    void computeKey_differentArguments() {
+        // Act
+        var key1 = ExecutionCache.computeKey("a.", new String[]{"-nofacts"});
+        var key2 = ExecutionCache.computeKey("a.", new String[]{"-cautious"});
+        var key3 = ExecutionCache.computeKey("a.", new String[]{"-nofacts"});
+
+        // Assert
+        assertNotEquals(key1, key2);
+        assertEquals(key1, key3);
+        assertEquals(64, key1.length());
+    }
+
+    @Test
+    void get_hitAndMiss() {
+        // Arrange
+        var cache = new ExecutionCache(DatalogSettings.EMPTY);
+        var output = new DatalogExecutor.ExecutionOutput("{a}", 0);
+        cache.put("key", output);
+
+        // Act
+        var hit = cache.get("key");
+        var miss = cache.get("other");
+
+        // Assert
+        assertEquals(output, hit.orElseThrow());
+        assertTrue(miss.isEmpty());
+        assertEquals(1, cache.getStatistics().hits());
+        assertEquals(1, cache.getStatistics().misses());
+        assertEquals(0.5, cache.getStatistics().hitRatio());
+    }
+
+    @Test
+    void put_evictsLeastRecentlyUsedByEntries() {
+        // Arrange
+        var cache = new ExecutionCache(settings(2, DataSize.ofMegabytes(1)));
+        cache.put("k1", new DatalogExecutor.ExecutionOutput("1", 0));
+        cache.put("k2", new DatalogExecutor.ExecutionOutput("2", 0));
+        cache.get("k1");
+
+        // Act
+        cache.put("k3", new DatalogExecutor.ExecutionOutput("3", 0));
+
+        // Assert
+        assertTrue(cache.get("k1").isPresent());
+        assertTrue(cache.get("k2").isEmpty());
+        assertTrue(cache.get("k3").isPresent());
+        assertEquals(1, cache.getStatistics().evictions());
+    }
+
+    @Test
+    void put_evictsBySize() {
+        // Arrange
+        var cache = new ExecutionCache(settings(100, DataSize.ofBytes(1000)));
+        cache.put("k1", new DatalogExecutor.ExecutionOutput("x".repeat(300), 0));
+
+        // Act
+        cache.put("k2", new DatalogExecutor.ExecutionOutput("y".repeat(300), 0));
+
+        // Assert
+        assertTrue(cache.get("k1").isEmpty());
+        assertTrue(cache.get("k2").isPresent());
+        assertTrue(cache.getStatistics().bytes() <= 1000);
+    }
+
+    @Test
+    void put_tooLarge() {
+        // Arrange
+        var cache = new ExecutionCache(settings(100, DataSize.ofBytes(100)));
+
+        // Act
+        cache.put("k1", new DatalogExecutor.ExecutionOutput("x".repeat(300), 0));
+
+        // Assert
+        assertTrue(cache.get("k1").isEmpty());
+        assertEquals(0, cache.getStatistics().entries());
+    }
+
+    @Test
+    void disabled() {
+        // Arrange
+        var cache = new ExecutionCache(settings(0, DataSize.ofMegabytes(1)));
+
+        // Act
+        cache.put("k1", new DatalogExecutor.ExecutionOutput("1", 0));
+
+        // Assert
+        assertFalse(cache.isEnabled());
+        assertTrue(cache.get("k1").isEmpty());
+        assertEquals(0, cache.getStatistics().misses());
+    }
+
+    @Test
+    void clear() {
+        // Arrange
+        var cache = new ExecutionCache(DatalogSettings.EMPTY);
+        cache.put("k1", new DatalogExecutor.ExecutionOutput("1", 0));
+
+        // Act
+        cache.clear();
+
+        // Assert
+        assertTrue(cache.get("k1").isEmpty());
+        assertEquals(0, cache.getStatistics().bytes());
+    }
+
+    @Test
+    void bindTo() {
+        // Arrange
+        var cache = new ExecutionCache(settings(1, DataSize.ofMegabytes(1)));
+        var registry = new SimpleMeterRegistry();
+
+        // Act
+        cache.bindTo(registry);
+        cache.put("a", new DatalogExecutor.ExecutionOutput("{a}", 0));
+        cache.put("b", new DatalogExecutor.ExecutionOutput("{b}", 0));
+        cache.get("b");
+        cache.get("a");
+
+        // Assert
+        assertEquals(1, registry.get("datalog.cache.gets").tags("cache", "execution", "result", "hit").functionCounter().count());
+        assertEquals(1, registry.get("datalog.cache.gets").tags("cache", "execution", "result", "miss").functionCounter().count());
+        assertEquals(1, registry.get("datalog.cache.evictions").tag("cache", "execution").functionCounter().count());
+        assertEquals(1, registry.get("datalog.cache.entries").tag("cache", "execution").gauge().value());
+        assertEquals(cache.getStatistics().bytes(), registry.get("datalog.cache.size").tag("cache", "execution").gauge().value());
+    }
+}
@@ -0,0 +1,62 @@
+package at.jku.dke.task_app.datalog.evaluation;
+
+import at.jku.dke.etutor.task_app.dto.SubmissionMode;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ExecutionPriorityTest {
+
+    @Test
+    void of() {
+        // Act & Assert
+        assertEquals(ExecutionPriority.INTERACTIVE, ExecutionPriority.of(SubmissionMode.RUN));
+        assertEquals(ExecutionPriority.INTERACTIVE, ExecutionPriority.of(SubmissionMode.DIAGNOSE));
+        assertEquals(ExecutionPriority.SUBMISSION, ExecutionPriority.of(SubmissionMode.SUBMIT));
+    }
+
+    @Test
+    void current_default() {
+        // Act & Assert
+        assertEquals(ExecutionPriority.SUBMISSION, ExecutionPriority.current());
+    }
+
+    @Test
+    void enter_restoresPreviousPriority() {
+        // Act
+        try (var ignored = ExecutionPriority.enter(ExecutionPriority.INTERACTIVE)) {
+            // Assert
+            assertEquals(ExecutionPriority.INTERACTIVE, ExecutionPriority.current());
+        }
+        assertEquals(ExecutionPriority.SUBMISSION, ExecutionPriority.current());
+    }
+
+    @Test
+    void enter_keepsLowerPriority() {
+        // Act
+        try (var outer = ExecutionPriority.enter(ExecutionPriority.BACKGROUND)) {
+            try (var inner = ExecutionPriority.enter(ExecutionPriority.INTERACTIVE)) {
+                // Assert
+                assertEquals(ExecutionPriority.BACKGROUND, ExecutionPriority.current());
+            }
+            assertEquals(ExecutionPriority.BACKGROUND, ExecutionPriority.current());
+        }
+    }
+
+    @Test
+    void enter_inheritedByNewThreads() throws Exception {
+        // Arrange
+        var priority = new AtomicReference<ExecutionPriority>();
+
+        // Act
+        try (var ignored = ExecutionPriority.enter(ExecutionPriority.BACKGROUND); var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            executor.submit(() -> priority.set(ExecutionPriority.current())).get();
+        }
+
+        // Assert
+        assertEquals(ExecutionPriority.BACKGROUND, priority.get());
+    }
+}
@@ -0,0 +1,244 @@
+package at.jku.dke.task_app.datalog.evaluation;
+
+import at.jku.dke.task_app.datalog.config.DatalogSettings;
+import at.jku.dke.task_app.datalog.evaluation.exceptions.ExecutionException;
+import at.jku.dke.task_app.datalog.evaluation.exceptions.ExecutionRejectedException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ExecutionSchedulerTest {
+
+    private static DatalogSettings settings(int maxConcurrent, int maxQueued, int maxQueueTime) {
+        return settings(maxConcurrent, maxQueued, maxQueueTime, 4);
+    }
+
+    private static DatalogSettings settings(int maxConcurrent, int maxQueued, int maxQueueTime, int maxBypasses) {
+        return new DatalogSettings("", 10, "0", "", new DatalogSettings.SchedulerSettings(maxConcurrent, maxQueued, maxQueueTime, maxBypasses), DatalogSettings.CacheSettings.DEFAULT, DatalogSettings.Engine.DLV, DatalogSettings.ProcessSettings.DEFAULT, DatalogSettings.QueueSettings.DEFAULT, DatalogSettings.MetricsSettings.DEFAULT);
+    }
+
+    @Test
+    void acquire_freeSlot() throws ExecutionException {
+        // Arrange
+        var scheduler = new ExecutionScheduler(settings(1, 0, 0));
+
+        // Act
+        try (var slot = scheduler.acquire()) {
+            // Assert
+            assertEquals(Duration.ZERO, slot.getQueueTime());
+            assertEquals(0, scheduler.getStatistics().availableSlots());
+        }
+        assertEquals(1, scheduler.getStatistics().availableSlots());
+        assertEquals(1, scheduler.getStatistics().admitted());
+    }
+
+    @Test
+    void acquire_queueFull() throws ExecutionException {
+        // Arrange
+        var scheduler = new ExecutionScheduler(settings(1, 0, 10));
+
+        // Act & Assert
+        try (var ignored = scheduler.acquire()) {
+            assertThrows(ExecutionRejectedException.class, scheduler::acquire);
+        }
+        assertEquals(1, scheduler.getStatistics().rejected());
+        assertEquals(0, scheduler.getStatistics().queued());
+    }
+
+    @Test
+    void acquire_queueTimeExceeded() throws ExecutionException {
+        // Arrange
+        var scheduler = new ExecutionScheduler(settings(1, 1, 0));
+
+        // Act & Assert
+        try (var ignored = scheduler.acquire()) {
+            assertThrows(ExecutionRejectedException.class, scheduler::acquire);
+        }
+        assertEquals(1, scheduler.getStatistics().rejected());
+    }
+
+    @Test
+    void acquire_waitsForSlot() throws Exception {
+        // Arrange
+        var scheduler = new ExecutionScheduler(settings(1, 1, 10));
+        var started = new CountDownLatch(1);
+
+        try (var executor = Executors.newSingleThreadExecutor()) {
+            var slot = scheduler.acquire();
+
+            // Act
+            var future = executor.submit(() -> {
+                started.countDown();
+                try (var s = scheduler.acquire()) {
+                    return s.getQueueTime();
+                }
+            });
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+            Thread.sleep(50);
+            slot.close();
+
+            // Assert
+            assertFalse(future.get(5, TimeUnit.SECONDS).isZero());
+            assertEquals(2, scheduler.getStatistics().admitted());
+            assertEquals(0, scheduler.getStatistics().rejected());
+        }
+    }
+
+    @Test
+    void close_releasesOnlyOnce() throws ExecutionException {
+        // Arrange
+        var scheduler = new ExecutionScheduler(settings(2, 0, 0));
+        var slot = scheduler.acquire();
+
+        // Act
+        slot.close();
+        slot.close();
+
+        // Assert
+        assertEquals(2, scheduler.getStatistics().availableSlots());
+    }
+
+    @Test
+    void acquire_prefersHigherPriority() throws Exception {
+        // Arrange
+        var scheduler = new ExecutionScheduler(settings(1, 10, 10));
+        List<ExecutionPriority> order = Collections.synchronizedList(new ArrayList<>());
+
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            var slot = scheduler.acquire(ExecutionPriority.INTERACTIVE);
+            enqueue(executor, scheduler, ExecutionPriority.BACKGROUND, order);
+            enqueue(executor, scheduler, ExecutionPriority.SUBMISSION, order);
+            enqueue(executor, scheduler, ExecutionPriority.INTERACTIVE, order);
+
+            // Act
+            slot.close();
+        }
+
+        // Assert
+        assertEquals(List.of(ExecutionPriority.INTERACTIVE, ExecutionPriority.SUBMISSION, ExecutionPriority.BACKGROUND), order);
+    }
+
+    @Test
+    void acquire_boundedStarvation() throws Exception {
+        // Arrange
+        var scheduler = new ExecutionScheduler(settings(1, 10, 10, 1));
+        List<ExecutionPriority> order = Collections.synchronizedList(new ArrayList<>());
+
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            var slot = scheduler.acquire(ExecutionPriority.INTERACTIVE);
+            enqueue(executor, scheduler, ExecutionPriority.BACKGROUND, order);
+            enqueue(executor, scheduler, ExecutionPriority.INTERACTIVE, order);
+            enqueue(executor, scheduler, ExecutionPriority.INTERACTIVE, order);
+
+            // Act
+            slot.close();
+        }
+
+        // Assert
+        assertEquals(List.of(ExecutionPriority.INTERACTIVE, ExecutionPriority.BACKGROUND, ExecutionPriority.INTERACTIVE), order);
+    }
+
+    @Test
+    void acquire_usesPriorityOfCurrentThread() throws ExecutionException {
+        // Arrange
+        var scheduler = new ExecutionScheduler(settings(1, 0, 0));
+
+        // Act
+        try (var ignored = ExecutionPriority.enter(ExecutionPriority.BACKGROUND); var slot = scheduler.acquire()) {
+            assertThrows(ExecutionRejectedException.class, scheduler::acquire);
+        }
+
+        // Assert
+        var statistics = scheduler.getStatistics().priorities().get(ExecutionPriority.BACKGROUND);
+        assertEquals(1, statistics.admitted());
+        assertEquals(1, statistics.rejected());
+        assertEquals(0, scheduler.getStatistics().priorities().get(ExecutionPriority.SUBMISSION).admitted());
+    }
+
+    @Test
+    void getStatistics_perPriority() throws Exception {
+        // Arrange
+        var scheduler = new ExecutionScheduler(settings(1, 10, 10));
+        List<ExecutionPriority> order = Collections.synchronizedList(new ArrayList<>());
+
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            var slot = scheduler.acquire(ExecutionPriority.INTERACTIVE);
+            enqueue(executor, scheduler, ExecutionPriority.SUBMISSION, order);
+            enqueue(executor, scheduler, ExecutionPriority.SUBMISSION, order);
+
+            // Act
+            var statistics = scheduler.getStatistics();
+            slot.close();
+
+            // Assert
+            assertEquals(2, statistics.queued());
+            assertEquals(2, statistics.priorities().get(ExecutionPriority.SUBMISSION).queued());
+            assertEquals(0, statistics.priorities().get(ExecutionPriority.INTERACTIVE).queued());
+            assertEquals(1, statistics.priorities().get(ExecutionPriority.INTERACTIVE).admitted());
+        }
+        var statistics = scheduler.getStatistics().priorities().get(ExecutionPriority.SUBMISSION);
+        assertEquals(2, statistics.admitted());
+        assertFalse(statistics.maxQueueTime().isZero());
+        assertTrue(statistics.maxQueueTime().compareTo(statistics.averageQueueTime()) >= 0);
+    }
+
+    @Test
+    void bindTo_perPriority() throws Exception {
+        // Arrange
+        var scheduler = new ExecutionScheduler(settings(1, 1, 10));
+        var registry = new SimpleMeterRegistry();
+        List<ExecutionPriority> order = Collections.synchronizedList(new ArrayList<>());
+
+        // Act
+        scheduler.bindTo(registry);
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            var slot = scheduler.acquire(ExecutionPriority.INTERACTIVE);
+            enqueue(executor, scheduler, ExecutionPriority.SUBMISSION, order);
+            assertThrows(ExecutionRejectedException.class, () -> scheduler.acquire(ExecutionPriority.BACKGROUND));
+
+            // Assert
+            assertEquals(0, registry.get("datalog.scheduler.available").gauge().value());
+            assertEquals(1, registry.get("datalog.scheduler.queued").tag("priority", "submission").gauge().value());
+            assertEquals(0, registry.get("datalog.scheduler.queued").tag("priority", "interactive").gauge().value());
+            slot.close();
+        }
+        assertEquals(1, registry.get("datalog.scheduler.admitted").tag("priority", "interactive").functionCounter().count());
+        assertEquals(1, registry.get("datalog.scheduler.admitted").tag("priority", "submission").functionCounter().count());
+        assertEquals(1, registry.get("datalog.scheduler.rejected").tag("priority", "background").functionCounter().count());
+        assertEquals(0, registry.get("datalog.scheduler.queued").tag("priority", "submission").gauge().value());
+        var wait = registry.get("datalog.scheduler.wait").tag("priority", "submission").functionTimer();
+        assertEquals(1, wait.count());
+        assertTrue(wait.totalTime(TimeUnit.NANOSECONDS) > 0);
+        assertTrue(registry.get("datalog.scheduler.wait.max").tag("priority", "submission").timeGauge().value(TimeUnit.NANOSECONDS) > 0);
+        assertEquals(0, registry.get("datalog.scheduler.wait").tag("priority", "interactive").functionTimer().totalTime(TimeUnit.NANOSECONDS));
+    }
+
+    private static void enqueue(ExecutorService executor, ExecutionScheduler scheduler, ExecutionPriority priority, List<ExecutionPriority> order) throws InterruptedException {
+        int queued = scheduler.getStatistics().queued();
+        executor.submit(() -> {
+            try (var ignored = scheduler.acquire(priority)) {
+                order.add(priority);
+            }
+            return null;
+        });
+        waitUntil(() -> scheduler.getStatistics().queued() == queued + 1);
+    }
+
+    private static void waitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean() && System.nanoTime() < deadline)
+            Thread.sleep(5);
+        assertTrue(condition.getAsBoolean());
+    }
+}
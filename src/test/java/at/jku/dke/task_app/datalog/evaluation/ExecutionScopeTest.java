@@ -0,0 +1,92 @@
+package at.jku.dke.task_app.datalog.evaluation;
+
+import at.jku.dke.task_app.datalog.evaluation.exceptions.ExecutionException;
+import at.jku.dke.task_app.datalog.evaluation.exceptions.SyntaxException;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ExecutionScopeTest {
+
+    @Test
+    void fork_runsConcurrently() throws IOException, ExecutionException {
+        // Arrange
+        var started = new CountDownLatch(2);
+
+        // Act
+        try (var scope = new ExecutionScope()) {
+            var first = scope.fork(() -> await(started, "first"));
+            var second = scope.fork(() -> await(started, "second"));
+
+            // Assert
+            assertEquals("first", first.get());
+            assertEquals("second", second.get());
+        }
+    }
+
+    @Test
+    void get_rethrowsOriginalException() {
+        // Arrange
+        var exception = new SyntaxException("line 1: syntax error");
+
+        // Act & Assert
+        try (var scope = new ExecutionScope()) {
+            var fork = scope.<String>fork(() -> {
+                throw exception;
+            });
+            var thrown = assertThrows(SyntaxException.class, fork::get);
+            assertSame(exception, thrown);
+        }
+    }
+
+    @Test
+    void get_rethrowsIOException() {
+        // Act & Assert
+        try (var scope = new ExecutionScope()) {
+            var fork = scope.<String>fork(() -> {
+                throw new IOException("not found");
+            });
+            assertThrows(IOException.class, fork::get);
+        }
+    }
+
+    @Test
+    void close_cancelsUnfinishedExecutions() throws InterruptedException {
+        // Arrange
+        var started = new CountDownLatch(1);
+        var interrupted = new AtomicBoolean();
+
+        // Act
+        try (var scope = new ExecutionScope()) {
+            scope.fork(() -> {
+                started.countDown();
+                try {
+                    Thread.sleep(60_000);
+                } catch (InterruptedException ex) {
+                    interrupted.set(true);
+                }
+                return null;
+            });
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+        }
+
+        // Assert
+        assertTrue(interrupted.get());
+    }
+
+    private static String await(CountDownLatch latch, String result) throws ExecutionException {
+        latch.countDown();
+        try {
+            if (!latch.await(5, TimeUnit.SECONDS))
+                throw new ExecutionException("Executions did not run concurrently");
+        } catch (InterruptedException ex) {
+            throw new ExecutionException("Interrupted", ex);
+        }
+        return result;
+    }
+}
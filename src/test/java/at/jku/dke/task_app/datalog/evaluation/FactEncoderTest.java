@@ -0,0 +1,90 @@
+package at.jku.dke.task_app.datalog.evaluation;
+
+import at.jku.dke.task_app.datalog.data.entities.TermDescription;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class FactEncoderTest {
+
+    private static String lines(String... facts) {
+        return String.join(System.lineSeparator(), facts) + System.lineSeparator();
+    }
+
+    @Test
+    void encode() {
+        // Arrange
+        var encoder = new FactEncoder("0", List.of());
+
+        // Act
+        var result = encoder.encode("parent(mike, anna). parent( steve ,tom ).\nage(anna, 12).");
+
+        // Assert
+        assertEquals(lines("parent(mike0,anna0).", "parent(steve0,tom0).", "age(anna0,120)."), result);
+    }
+
+    @Test
+    void encode_uncheckedTerms() {
+        // Arrange
+        var encoder = new FactEncoder("42", List.of(
+            new TermDescription("parent", "mike", 1),
+            new TermDescription("parent", "anna", 1),
+            new TermDescription("age", "\"Anna Smith\"", 1)));
+
+        // Act
+        var result = encoder.encode("parent(mike, anna). parent(anna, mike). age(\"Anna  Smith\", 12). age(\"Anna Smith\", 13).");
+
+        // Assert
+        assertEquals(lines("parent(mike,anna42).", "parent(anna,mike42).", "age(\"Anna  Smith\",1242).", "age(\"Anna Smith\",1342)."), result);
+    }
+
+    @Test
+    void encode_quotedStrings() {
+        // Arrange
+        var encoder = new FactEncoder("0", List.of());
+
+        // Act
+        var result = encoder.encode("title(b1, \"Hello, World.\"). title(b2, \"100% (sure)\").");
+
+        // Assert
+        assertEquals(lines("title(b10,\"Hello, World.0\").", "title(b20,\"100% (sure)0\")."), result);
+    }
+
+    @Test
+    void encode_propositionalFacts() {
+        // Arrange
+        var encoder = new FactEncoder("0", List.of());
+
+        // Act
+        var result = encoder.encode("raining. wet(street).\nsunny .");
+
+        // Assert
+        assertEquals(lines("raining.", "wet(street0).", "sunny."), result);
+    }
+
+    @Test
+    void encode_comments() {
+        // Arrange
+        var encoder = new FactEncoder("0", List.of());
+
+        // Act
+        var result = encoder.encode("% persons\nperson(a). % first person\n\n% second person\nperson(b).\n%");
+
+        // Assert
+        assertEquals(lines("person(a0).", "person(b0)."), result);
+    }
+
+    @Test
+    void encode_empty() {
+        // Arrange
+        var encoder = new FactEncoder("0", List.of());
+
+        // Act
+        var result = encoder.encode("  \n% nothing\n");
+
+        // Assert
+        assertEquals("", result);
+    }
+}
@@ -0,0 +1,169 @@
+package at.jku.dke.task_app.datalog.evaluation;
+
+import at.jku.dke.task_app.datalog.config.DatalogSettings;
+import at.jku.dke.task_app.datalog.data.entities.TermDescription;
+import at.jku.dke.task_app.datalog.evaluation.engine.ProgramParser;
+import at.jku.dke.task_app.datalog.evaluation.engine.SemiNaiveEvaluator;
+import at.jku.dke.task_app.datalog.evaluation.exceptions.ExecutionException;
+import at.jku.dke.task_app.datalog.evaluation.exceptions.ExecutionRejectedException;
+import at.jku.dke.task_app.datalog.evaluation.exceptions.ResultTooLargeException;
+import at.jku.dke.task_app.datalog.evaluation.exceptions.SyntaxException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class JvmDatalogExecutorTest {
+
+    private static final String FACTS = """
+        node(a). node(b). node(c). node(d).
+        edge(a, b). edge(b, c). edge(c, b). edge(c, d).
+        weight(a, 3). weight(b, 12). weight(c, 7). weight(d, 1).
+        """;
+
+    private final DatalogExecutorImpl dlv = new DatalogExecutorImpl(DatalogSettings.EMPTY);
+    private final JvmDatalogExecutor jvm = new JvmDatalogExecutor(DatalogSettings.EMPTY, this.dlv);
+
+    private static ExecutionScheduler createScheduler(int maxConcurrent) {
+        return new ExecutionScheduler(new DatalogSettings("", 10, "0", "", new DatalogSettings.SchedulerSettings(maxConcurrent, 0, 0, 4), DatalogSettings.CacheSettings.DEFAULT, DatalogSettings.Engine.JVM, DatalogSettings.ProcessSettings.DEFAULT, DatalogSettings.QueueSettings.DEFAULT, DatalogSettings.MetricsSettings.DEFAULT));
+    }
+
+    private static Set<String> atoms(String output) {
+        var line = output.strip();
+        return new HashSet<>(Arrays.asList(line.substring(1, line.length() - 1).split(", (?![^(]*\\))")));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+        "path(X, Y) :- edge(X, Y). path(X, Z) :- path(X, Y), edge(Y, Z).",
+        "path(X, Y) :- edge(X, Y). path(X, Z) :- path(X, Y), path(Y, Z). unreachable(X, Y) :- node(X), node(Y), X != Y, not path(X, Y).",
+        "heavy(X) :- weight(X, W), W > 5. light(X) :- node(X), not heavy(X). both :- heavy(b), light(a).",
+        "path(X, Y) :- edge(X, Y). path(X, Z) :- path(X, Y), edge(Y, Z). cycle(X) :- path(X, X). start(X) :- node(X), not target(X). target(Y) :- edge(_, Y)."
+    })
+    void query_sameResultAsDlv(String rules) throws IOException, ExecutionException {
+        // Arrange
+        var queries = List.of("path(X, Y)?", "unreachable(X, Y)?", "heavy(X)?", "light(X)?", "both?", "cycle(X)?", "start(X)?", "path(a, X)?");
+
+        // Act
+        var expected = this.dlv.query(FACTS, rules, queries, List.of(), false);
+        var actual = this.jvm.query(FACTS, rules, queries, List.of(), false);
+
+        // Assert
+        assertDoesNotThrow(() -> SemiNaiveEvaluator.evaluate(ProgramParser.parse(FACTS + rules), 10_000));
+        assertEquals(atoms(expected.output()), atoms(actual.output()));
+        assertEquals(expected.result().keySet(), actual.result().keySet());
+        for (var entry : expected.result().entrySet())
+            assertThat(actual.result().get(entry.getKey())).containsExactlyInAnyOrderElementsOf(entry.getValue());
+    }
+
+    @Test
+    void query_encodedFacts() throws IOException, ExecutionException {
+        // Arrange
+        var rules = "parent(X) :- hasChild(X, _).";
+        var queries = List.of("parent(X)?");
+        var uncheckedTerms = List.of(new TermDescription("hasChild", "mike", 1));
+
+        // Act
+        var expected = this.dlv.query("hasChild(mike, anna). hasChild(steve, tom).", rules, queries, uncheckedTerms, true);
+        var actual = this.jvm.query("hasChild(mike, anna). hasChild(steve, tom).", rules, queries, uncheckedTerms, true);
+
+        // Assert
+        assertThat(actual.result().get("parent")).containsExactlyInAnyOrderElementsOf(expected.result().get("parent"));
+        assertThat(actual.result().get("parent")).containsExactlyInAnyOrder("mike", "steve0");
+    }
+
+    @Test
+    void query_fallbackForDisjunction() throws IOException, ExecutionException {
+        // Act
+        var result = this.jvm.query(FACTS, "in(X) v out(X) :- node(X).", List.of("in(X)?"));
+
+        // Assert
+        assertEquals(this.dlv.query(FACTS, "in(X) v out(X) :- node(X).", List.of("in(X)?")), result);
+    }
+
+    @Test
+    void query_resultTooLarge() {
+        // Act & Assert
+        assertThrows(ResultTooLargeException.class, () -> this.jvm.query(FACTS, "pair(X, Y) :- node(X), node(Y).", List.of("pair(X, Y)?"), List.of(), false, 15));
+    }
+
+    @Test
+    void query_syntaxError() {
+        // Act & Assert
+        assertThrows(SyntaxException.class, () -> this.jvm.query(FACTS, "path(X, Y) :- edge(X, Y)", List.of("path(X, Y)?")));
+    }
+
+    @Test
+    void query_acquiresSlot() throws IOException, ExecutionException {
+        // Arrange
+        var scheduler = createScheduler(1);
+        var jvm = new JvmDatalogExecutor(DatalogSettings.EMPTY, scheduler, this.dlv);
+
+        // Act
+        try (var ignored = ExecutionPriority.enter(ExecutionPriority.INTERACTIVE)) {
+            jvm.query(FACTS, "reach(X) :- edge(a, X).", List.of("reach(X)?"));
+        }
+
+        // Assert
+        var statistics = scheduler.getStatistics();
+        assertEquals(1, statistics.availableSlots());
+        assertEquals(1, statistics.priorities().get(ExecutionPriority.INTERACTIVE).admitted());
+    }
+
+    @Test
+    void query_noSlotAvailable() throws ExecutionException {
+        // Arrange
+        var scheduler = createScheduler(1);
+        var jvm = new JvmDatalogExecutor(DatalogSettings.EMPTY, scheduler, this.dlv);
+
+        // Act & Assert
+        try (var slot = scheduler.acquire()) {
+            assertThrows(ExecutionRejectedException.class, () -> jvm.query(FACTS, "reach(X) :- edge(a, X).", List.of("reach(X)?")));
+            assertThrows(ExecutionRejectedException.class, () -> jvm.execute(FACTS, "reach(X) :- edge(a, X).", null));
+        }
+        assertEquals(2, scheduler.getStatistics().priorities().get(ExecutionPriority.SUBMISSION).rejected());
+    }
+
+    @Test
+    void query_fallbackReleasesSlot() throws IOException, ExecutionException {
+        // Arrange
+        var scheduler = createScheduler(1);
+        var dlv = new DatalogExecutorImpl(DatalogSettings.EMPTY, scheduler, new ExecutionCache(DatalogSettings.EMPTY));
+        var jvm = new JvmDatalogExecutor(DatalogSettings.EMPTY, scheduler, dlv);
+
+        // Act
+        var result = jvm.query(FACTS, "in(X) v out(X) :- node(X).", List.of("in(X)?"));
+
+        // Assert
+        assertEquals(this.dlv.query(FACTS, "in(X) v out(X) :- node(X).", List.of("in(X)?")), result);
+        assertEquals(1, scheduler.getStatistics().availableSlots());
+    }
+
+    @Test
+    void execute() throws IOException, ExecutionException {
+        // Act
+        var result = this.jvm.execute(FACTS, "reach(X) :- edge(a, X). reach(Y) :- reach(X), edge(X, Y).", null);
+
+        // Assert
+        assertEquals(atoms(this.dlv.execute(FACTS, "reach(X) :- edge(a, X). reach(Y) :- reach(X), edge(X, Y).", null)), atoms(result));
+    }
+
+    @Test
+    void execute_fallbackForMaxN() throws IOException, ExecutionException {
+        // Act
+        var result = this.jvm.execute("p(1).", "q(Y) :- p(X), Y = X + 1.", 5);
+
+        // Assert
+        assertEquals("{q(2)}", result.strip());
+    }
+}
@@ -0,0 +1,167 @@
+package at.jku.dke.task_app.datalog.evaluation;
+
+import at.jku.dke.task_app.datalog.evaluation.exceptions.ExecutionException;
+import at.jku.dke.task_app.datalog.evaluation.exceptions.SyntaxException;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SingleFlightTest {
+
+    @Test
+    void execute_sequential() throws IOException, ExecutionException {
+        // Arrange
+        var singleFlight = new SingleFlight<String>();
+        var calls = new AtomicInteger();
+
+        // Act
+        singleFlight.execute("key", () -> "result" + calls.incrementAndGet());
+        var result = singleFlight.execute("key", () -> "result" + calls.incrementAndGet());
+
+        // Assert
+        assertEquals("result2", result);
+        assertEquals(0, singleFlight.getCoalesced());
+        assertEquals(0, singleFlight.getInFlight());
+    }
+
+    @Test
+    void execute_concurrent() throws Exception {
+        // Arrange
+        var singleFlight = new SingleFlight<String>();
+        var calls = new AtomicInteger();
+        var release = new CountDownLatch(1);
+        List<Future<String>> results = new ArrayList<>();
+
+        // Act
+        try (var threads = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < 10; i++) {
+                results.add(threads.submit(() -> singleFlight.execute("key", () -> {
+                    calls.incrementAndGet();
+                    await(release);
+                    return "result";
+                })));
+            }
+            waitUntil(() -> singleFlight.getCoalesced() == 9);
+            release.countDown();
+        }
+
+        // Assert
+        assertEquals(1, calls.get());
+        for (var result : results)
+            assertEquals("result", result.get());
+        assertEquals(0, singleFlight.getInFlight());
+    }
+
+    @Test
+    void execute_concurrent_differentKeys() throws Exception {
+        // Arrange
+        var singleFlight = new SingleFlight<String>();
+        var started = new CountDownLatch(2);
+
+        // Act
+        try (var threads = Executors.newVirtualThreadPerTaskExecutor()) {
+            var first = threads.submit(() -> singleFlight.execute("a", () -> {
+                started.countDown();
+                await(started);
+                return "a";
+            }));
+            var second = threads.submit(() -> singleFlight.execute("b", () -> {
+                started.countDown();
+                await(started);
+                return "b";
+            }));
+
+            // Assert
+            assertEquals("a", first.get());
+            assertEquals("b", second.get());
+        }
+        assertEquals(0, singleFlight.getCoalesced());
+    }
+
+    @Test
+    void execute_concurrent_failure() throws Exception {
+        // Arrange
+        var singleFlight = new SingleFlight<String>();
+        var release = new CountDownLatch(1);
+        var exception = new SyntaxException("line 1: syntax error");
+        List<Future<String>> results = new ArrayList<>();
+
+        // Act
+        try (var threads = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < 5; i++) {
+                results.add(threads.submit(() -> singleFlight.execute("key", () -> {
+                    await(release);
+                    throw exception;
+                })));
+            }
+            waitUntil(() -> singleFlight.getCoalesced() == 4);
+            release.countDown();
+        }
+
+        // Assert
+        for (var result : results) {
+            var thrown = assertThrows(java.util.concurrent.ExecutionException.class, result::get);
+            assertSame(exception, thrown.getCause());
+        }
+    }
+
+    @Test
+    void execute_concurrent_interrupted() throws Exception {
+        // Arrange
+        var singleFlight = new SingleFlight<String>();
+        var started = new CountDownLatch(1);
+        var calls = new AtomicInteger();
+
+        // Act
+        try (var threads = Executors.newVirtualThreadPerTaskExecutor()) {
+            var running = threads.submit(() -> singleFlight.execute("key", () -> {
+                calls.incrementAndGet();
+                started.countDown();
+                try {
+                    Thread.sleep(60_000);
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                    throw new ExecutionException("Process interrupted", ex);
+                }
+                return "cancelled";
+            }));
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+            var waiting = threads.submit(() -> singleFlight.execute("key", () -> {
+                calls.incrementAndGet();
+                return "result";
+            }));
+            waitUntil(() -> singleFlight.getCoalesced() == 1);
+            running.cancel(true);
+
+            // Assert
+            assertEquals("result", waiting.get());
+        }
+        assertEquals(2, calls.get());
+    }
+
+    private static void await(CountDownLatch latch) throws ExecutionException {
+        try {
+            if (!latch.await(5, TimeUnit.SECONDS))
+                throw new ExecutionException("Timeout");
+        } catch (InterruptedException ex) {
+            throw new ExecutionException("Interrupted", ex);
+        }
+    }
+
+    private static void waitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean() && System.nanoTime() < deadline)
+            Thread.sleep(5);
+        assertTrue(condition.getAsBoolean());
+    }
+}
@@ -8,6 +8,7 @@
 import at.jku.dke.task_app.datalog.dto.AspSubmissionDto;
 import at.jku.dke.task_app.datalog.evaluation.DatalogExecutor;
 import at.jku.dke.task_app.datalog.evaluation.exceptions.ExecutionException;
+import at.jku.dke.task_app.datalog.evaluation.exceptions.ResultTooLargeException;
 import at.jku.dke.task_app.datalog.evaluation.exceptions.SyntaxException;
 import jakarta.persistence.EntityNotFoundException;
 import org.junit.jupiter.api.Test;
@@ -41,6 +42,46 @@ void evaluate_notExistingTask() {
         assertThrows(EntityNotFoundException.class, () -> service.evaluate(new SubmitSubmissionDto<>(null, null, 1L, "de", SubmissionMode.SUBMIT, 1, new AspSubmissionDto(""))));
     }
 
+    @Test
+    void evaluationFailed() {
+        // Arrange
+        var repository = mock(AspTaskRepository.class);
+        var ms = mock(MessageSource.class);
+        var exec = Mockito.mock(DatalogExecutor.class);
+        var service = new AspEvaluationService(repository, ms, exec);
+
+        when(repository.findById(1L)).thenReturn(Optional.of(new AspTask(1L, BigDecimal.TEN, null, null, "solution", 10)));
+        when(ms.getMessage(eq("evaluationFailed"), any(), any())).thenReturn("failed");
+
+        // Act
+        var result = service.evaluationFailed(new SubmitSubmissionDto<>(null, null, 1L, "de", SubmissionMode.SUBMIT, 1, new AspSubmissionDto("")));
+
+        // Assert
+        assertEquals(BigDecimal.TEN, result.maxPoints());
+        assertEquals(BigDecimal.ZERO, result.points());
+        assertEquals("failed", result.generalFeedback());
+        assertTrue(result.criteria().isEmpty());
+    }
+
+    @Test
+    void evaluationFailed_notExistingTask() {
+        // Arrange
+        var repository = mock(AspTaskRepository.class);
+        var ms = mock(MessageSource.class);
+        var exec = Mockito.mock(DatalogExecutor.class);
+        var service = new AspEvaluationService(repository, ms, exec);
+
+        when(repository.findById(1L)).thenReturn(Optional.empty());
+        when(ms.getMessage(eq("evaluationFailed"), any(), any())).thenReturn("failed");
+
+        // Act
+        var result = service.evaluationFailed(new SubmitSubmissionDto<>(null, null, 1L, "de", SubmissionMode.SUBMIT, 1, new AspSubmissionDto("")));
+
+        // Assert
+        assertEquals(BigDecimal.ZERO, result.maxPoints());
+        assertEquals("failed", result.generalFeedback());
+    }
+
     @Test
     void evaluate_solution_executionError() throws IOException, ExecutionException {
         // Arrange
@@ -106,6 +147,31 @@ void evaluate_submission_syntaxError() throws IOException, ExecutionException {
         assertEquals("<pre>Syntax</pre>", result.criteria().getFirst().feedback());
     }
 
+    @Test
+    void evaluate_submission_resultTooLarge() throws IOException, ExecutionException {
+        // Arrange
+        var repository = mock(AspTaskRepository.class);
+        var ms = mock(MessageSource.class);
+        var exec = mock(DatalogExecutor.class);
+        var service = new AspEvaluationService(repository, ms, exec);
+        var task = new AspTask("mySolution", null);
+        task.setTaskGroup(new DatalogTaskGroup("diagnose", "submit"));
+        task.setId(1L);
+
+        when(repository.findByIdWithTaskGroup(any())).thenReturn(Optional.of(task));
+        when(ms.getMessage(eq("criterium.resultTooLarge.feedback"), any(), any())).thenReturn("Too many facts");
+        when(exec.execute(anyString(), eq("myInput"), any())).thenThrow(new ResultTooLargeException("Output exceeds the maximum size of 16MB"));
+
+        // Act
+        var result = service.evaluate(new SubmitSubmissionDto<>(null, null, 1L, "de", SubmissionMode.DIAGNOSE, 1, new AspSubmissionDto("myInput")));
+
+        // Assert
+        assertEquals(BigDecimal.ZERO, result.points());
+        assertEquals(1, result.criteria().size());
+        assertFalse(result.criteria().getFirst().passed());
+        assertEquals("Too many facts", result.criteria().getFirst().feedback());
+    }
+
     @Test
     void evaluate_analysisError() throws IOException, ExecutionException {
         // Arrange
@@ -192,4 +258,216 @@ void evaluate_run() throws IOException, ExecutionException {
         verify(exec, times(1)).execute(eq("diagnose"), eq("myInput"), eq(10));
     }
 
+    @Test
+    void evaluate_storedSolutionResult() throws IOException, ExecutionException {
+        // Arrange
+        var repository = mock(AspTaskRepository.class);
+        var ms = mock(MessageSource.class);
+        var exec = mock(DatalogExecutor.class);
+        var service = new AspEvaluationService(repository, ms, exec);
+        var task = new AspTask("mySolution", 10);
+        task.setTaskGroup(new DatalogTaskGroup("diagnose", "submit"));
+        task.setId(1L);
+        task.setSubmissionSolutionResult("{}");
+
+        when(repository.findByIdWithTaskGroup(any())).thenReturn(Optional.of(task));
+        when(exec.execute(anyString(), anyString(), any(), any())).thenReturn("{}");
+
+        // Act
+        service.evaluate(new SubmitSubmissionDto<>(null, null, 1L, "de", SubmissionMode.SUBMIT, 1, new AspSubmissionDto("myInput")));
+
+        // Assert
+        verify(exec, never()).execute(anyString(), eq("mySolution"), any());
+        verify(exec, never()).execute(anyString(), eq("mySolution"), any(), any());
+        verify(exec, times(1)).execute(eq("submit"), eq("myInput"), eq(10), eq(2));
+        verify(repository, never()).storeSolutionResult(any(), any(), any());
+    }
+
+    @Test
+    void evaluate_solutionResultNotStored_storesSolutionResult() throws IOException, ExecutionException {
+        // Arrange
+        var repository = mock(AspTaskRepository.class);
+        var ms = mock(MessageSource.class);
+        var exec = mock(DatalogExecutor.class);
+        var service = new AspEvaluationService(repository, ms, exec);
+        var task = new AspTask("mySolution", 10);
+        task.setTaskGroup(new DatalogTaskGroup("diagnose", "submit"));
+        task.setId(1L);
+
+        when(repository.findByIdWithTaskGroup(any())).thenReturn(Optional.of(task));
+        when(exec.execute(anyString(), eq("mySolution"), any())).thenReturn("{p1(a).}");
+        when(exec.execute(anyString(), eq("myInput"), any())).thenReturn("{p1(b).}");
+
+        // Act
+        service.evaluate(new SubmitSubmissionDto<>(null, null, 1L, "de", SubmissionMode.SUBMIT, 1, new AspSubmissionDto("myInput")));
+
+        // Assert
+        verify(repository, times(1)).storeSolutionResult(task, SubmissionMode.SUBMIT, "{p1(a).}");
+    }
+
+    @Test
+    void evaluate_storedSolutionResult_diagnose_allModels() throws IOException, ExecutionException {
+        // Arrange
+        var repository = mock(AspTaskRepository.class);
+        var ms = mock(MessageSource.class);
+        var exec = mock(DatalogExecutor.class);
+        var service = new AspEvaluationService(repository, ms, exec);
+        var task = new AspTask("mySolution", 10);
+        task.setTaskGroup(new DatalogTaskGroup("diagnose", "submit"));
+        task.setId(1L);
+        task.setMaxPoints(BigDecimal.TEN);
+        task.setDiagnoseSolutionResult("{p1(a).}");
+
+        when(repository.findByIdWithTaskGroup(any())).thenReturn(Optional.of(task));
+        when(ms.getMessage(eq("criterium.result"), any(), any())).thenReturn("Result");
+        when(exec.execute(anyString(), anyString(), any())).thenReturn("{p1(a).}\n{p1(b).}");
+
+        // Act
+        var result = service.evaluate(new SubmitSubmissionDto<>(null, null, 1L, "de", SubmissionMode.DIAGNOSE, 1, new AspSubmissionDto("myInput")));
+
+        // Assert
+        verify(exec, never()).execute(anyString(), anyString(), any(), any());
+        verify(exec, never()).execute(anyString(), eq("mySolution"), any());
+        verify(exec, times(1)).execute(eq("diagnose"), eq("myInput"), eq(10));
+        assertEquals(BigDecimal.ZERO, result.points());
+        assertTrue(result.criteria().stream().anyMatch(c -> "Result".equals(c.name()) && c.feedback().contains("p1(b)")));
+    }
+
+    @Test
+    void evaluate_storedSolutionResult_tooManyModels() throws IOException, ExecutionException {
+        // Arrange
+        var repository = mock(AspTaskRepository.class);
+        var ms = mock(MessageSource.class);
+        var exec = mock(DatalogExecutor.class);
+        var service = new AspEvaluationService(repository, ms, exec);
+        var task = new AspTask("mySolution", 10);
+        task.setTaskGroup(new DatalogTaskGroup("diagnose", "submit"));
+        task.setId(1L);
+        task.setMaxPoints(BigDecimal.TEN);
+        task.setSubmissionSolutionResult("{p1(a).}\n{p1(b).}");
+
+        when(repository.findByIdWithTaskGroup(any())).thenReturn(Optional.of(task));
+        when(ms.getMessage(eq("criterium.count.tooMany"), any(), any())).thenReturn("Too many models");
+        when(exec.execute(anyString(), eq(new String[]{"-nofacts", "-N=10", "-brave"}))).thenReturn(new DatalogExecutor.ExecutionOutput("etutor__c__p0, a\netutor__c__p0, b", 0));
+        when(exec.execute(anyString(), eq(new String[]{"-nofacts", "-N=10", "-cautious"}))).thenReturn(new DatalogExecutor.ExecutionOutput("", 0));
+        when(exec.execute(anyString(), anyString(), any(), any())).thenReturn("{p1(a).}\n{p1(b).}\n{p1(c).}");
+
+        // Act
+        var result = service.evaluate(new SubmitSubmissionDto<>(null, null, 1L, "de", SubmissionMode.SUBMIT, 1, new AspSubmissionDto("myInput")));
+
+        // Assert
+        verify(exec, times(1)).execute(eq("submit"), eq("myInput"), eq(10), eq(3));
+        assertEquals(BigDecimal.ZERO, result.points());
+        assertEquals(2, result.criteria().size());
+        assertTrue(result.criteria().getFirst().passed());
+        assertFalse(result.criteria().getLast().passed());
+        assertEquals("Too many models", result.criteria().getLast().feedback());
+    }
+
+    @Test
+    void evaluate_storedSolutionResult_tooManyModels_noFeedback() throws IOException, ExecutionException {
+        // Arrange
+        var repository = mock(AspTaskRepository.class);
+        var ms = mock(MessageSource.class);
+        var exec = mock(DatalogExecutor.class);
+        var service = new AspEvaluationService(repository, ms, exec);
+        var task = new AspTask("mySolution", 10);
+        task.setTaskGroup(new DatalogTaskGroup("diagnose", "submit"));
+        task.setId(1L);
+        task.setMaxPoints(BigDecimal.TEN);
+        task.setSubmissionSolutionResult("{p1(a).}\n{p1(b).}");
+
+        when(repository.findByIdWithTaskGroup(any())).thenReturn(Optional.of(task));
+        when(exec.execute(anyString(), eq(new String[]{"-nofacts", "-N=10", "-brave"}))).thenReturn(new DatalogExecutor.ExecutionOutput("etutor__c__p0, a\netutor__c__p0, b", 0));
+        when(exec.execute(anyString(), eq(new String[]{"-nofacts", "-N=10", "-cautious"}))).thenReturn(new DatalogExecutor.ExecutionOutput("", 0));
+        when(exec.execute(anyString(), anyString(), any(), any())).thenReturn("{p1(a).}\n{p1(b).}\n{p1(c).}");
+
+        // Act
+        var result = service.evaluate(new SubmitSubmissionDto<>(null, null, 1L, "de", SubmissionMode.SUBMIT, 0, new AspSubmissionDto("myInput")));
+
+        // Assert
+        assertEquals(BigDecimal.ZERO, result.points());
+        assertEquals(1, result.criteria().size());
+        assertTrue(result.criteria().getFirst().passed());
+        verify(ms, never()).getMessage(eq("criterium.count.tooMany"), any(), any());
+    }
+
+    @Test
+    void evaluate_submit_consequencesDiffer() throws IOException, ExecutionException {
+        // Arrange
+        var repository = mock(AspTaskRepository.class);
+        var ms = mock(MessageSource.class);
+        var exec = mock(DatalogExecutor.class);
+        var service = new AspEvaluationService(repository, ms, exec);
+        var task = new AspTask("mySolution", 10);
+        task.setTaskGroup(new DatalogTaskGroup("diagnose", "submit"));
+        task.setId(1L);
+        task.setMaxPoints(BigDecimal.TEN);
+        task.setSubmissionSolutionResult("{p1(a).}\n{p1(b).}");
+
+        when(repository.findByIdWithTaskGroup(any())).thenReturn(Optional.of(task));
+        when(ms.getMessage(eq("criterium.consequences.invalid"), any(), any())).thenReturn("Consequences differ");
+        when(exec.execute(anyString(), any(String[].class))).thenReturn(new DatalogExecutor.ExecutionOutput("etutor__c__p0, a", 0));
+
+        // Act
+        var result = service.evaluate(new SubmitSubmissionDto<>(null, null, 1L, "de", SubmissionMode.SUBMIT, 1, new AspSubmissionDto("myInput")));
+
+        // Assert
+        verify(exec, times(1)).execute(argThat(s -> s.startsWith("submit\nmyInput") || s.startsWith("submit\r\nmyInput")), eq(new String[]{"-nofacts", "-N=10", "-brave"}));
+        verify(exec, never()).execute(anyString(), anyString(), any(), any());
+        assertEquals(BigDecimal.ZERO, result.points());
+        assertEquals(2, result.criteria().size());
+        assertEquals("Consequences differ", result.criteria().getLast().feedback());
+    }
+
+    @Test
+    void evaluate_submit_consequencesMatch() throws IOException, ExecutionException {
+        // Arrange
+        var repository = mock(AspTaskRepository.class);
+        var ms = mock(MessageSource.class);
+        var exec = mock(DatalogExecutor.class);
+        var service = new AspEvaluationService(repository, ms, exec);
+        var task = new AspTask("mySolution", null);
+        task.setTaskGroup(new DatalogTaskGroup("diagnose", "submit"));
+        task.setId(1L);
+        task.setMaxPoints(BigDecimal.TEN);
+        task.setSubmissionSolutionResult("{p1(a).}\n{p1(b).}");
+
+        when(repository.findByIdWithTaskGroup(any())).thenReturn(Optional.of(task));
+        when(exec.execute(anyString(), eq(new String[]{"-nofacts", "-brave"}))).thenReturn(new DatalogExecutor.ExecutionOutput("etutor__c__p0, a\netutor__c__p0, b", 0));
+        when(exec.execute(anyString(), eq(new String[]{"-nofacts", "-cautious"}))).thenReturn(new DatalogExecutor.ExecutionOutput("", 0));
+        when(exec.execute(anyString(), anyString(), any(), any())).thenReturn("{p1(b).}\n{p1(a).}");
+
+        // Act
+        var result = service.evaluate(new SubmitSubmissionDto<>(null, null, 1L, "de", SubmissionMode.SUBMIT, 1, new AspSubmissionDto("myInput")));
+
+        // Assert
+        verify(exec, times(1)).execute(eq("submit"), eq("myInput"), isNull(), eq(3));
+        assertEquals(BigDecimal.TEN, result.points());
+    }
+
+    @Test
+    void evaluate_submit_consequencesNotComputable() throws IOException, ExecutionException {
+        // Arrange
+        var repository = mock(AspTaskRepository.class);
+        var ms = mock(MessageSource.class);
+        var exec = mock(DatalogExecutor.class);
+        var service = new AspEvaluationService(repository, ms, exec);
+        var task = new AspTask("mySolution", null);
+        task.setTaskGroup(new DatalogTaskGroup("diagnose", "submit"));
+        task.setId(1L);
+        task.setMaxPoints(BigDecimal.TEN);
+        task.setSubmissionSolutionResult("{p1(a).}\n{p1(b).}");
+
+        when(repository.findByIdWithTaskGroup(any())).thenReturn(Optional.of(task));
+        when(exec.execute(anyString(), any(String[].class))).thenReturn(new DatalogExecutor.ExecutionOutput("p1, first used with arity 1, now seen with arity 2.", 1));
+        when(exec.execute(anyString(), anyString(), any(), any())).thenReturn("{p1(c).}\n{p1(a).}");
+
+        // Act
+        var result = service.evaluate(new SubmitSubmissionDto<>(null, null, 1L, "de", SubmissionMode.SUBMIT, 1, new AspSubmissionDto("myInput")));
+
+        // Assert
+        verify(exec, times(1)).execute(eq("submit"), eq("myInput"), isNull(), eq(3));
+        assertEquals(BigDecimal.ZERO, result.points());
+    }
 }
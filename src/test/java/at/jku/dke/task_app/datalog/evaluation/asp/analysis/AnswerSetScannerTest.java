@@ -0,0 +1,102 @@
+package at.jku.dke.task_app.datalog.evaluation.asp.analysis;
+
+import at.jku.dke.task_app.datalog.evaluation.DatalogPredicate;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.*;
+
+class AnswerSetScannerTest {
+
+    @Test
+    void scan() {
+        // Act
+        var result = AnswerSetScanner.scan("{p1(a,b), p1(c, d), p2(a)}\n{p1(a,b). p2(b).}\n{}\n");
+
+        // Assert
+        assertEquals(3, result.size());
+        assertThat(result.getFirst()).hasSize(2);
+        var p1 = predicate(result.getFirst(), "p1");
+        assertEquals(2, p1.getArity());
+        assertArrayEquals(new String[]{"a", "b"}, p1.getFacts().getFirst().getTerms());
+        assertArrayEquals(new String[]{"c", "d"}, p1.getFacts().getLast().getTerms());
+        assertThat(result.get(2)).isEmpty();
+    }
+
+    @Test
+    void scan_nestedParenthesesAndQuotes() {
+        // Act
+        var result = AnswerSetScanner.scan("{p(f(a,b),\"x, (y\"), q(\"a \\\"}\\\" b\")}");
+
+        // Assert
+        assertEquals(1, result.size());
+        assertArrayEquals(new String[]{"f(a,b)", "\"x, (y\""}, predicate(result.getFirst(), "p").getFacts().getFirst().getTerms());
+        assertArrayEquals(new String[]{"\"a \\\"}\\\" b\""}, predicate(result.getFirst(), "q").getFacts().getFirst().getTerms());
+    }
+
+    @Test
+    void scan_atomsWithoutTerms() {
+        // Act
+        var result = AnswerSetScanner.scan("{a, b, -c(1)}\n{a}");
+
+        // Assert
+        assertEquals(2, result.size());
+        assertEquals(0, predicate(result.getFirst(), "a").getArity());
+        assertEquals("a", predicate(result.getFirst(), "a").getFacts().getFirst().toString());
+        assertArrayEquals(new String[]{"1"}, predicate(result.getFirst(), "-c").getFacts().getFirst().getTerms());
+        assertThat(result.getLast()).hasSize(1);
+    }
+
+    @Test
+    void scan_sortsFacts() {
+        // Act
+        var result = AnswerSetScanner.scan("{p(c,d), p(a,b)}");
+
+        // Assert
+        var p = predicate(result.getFirst(), "p");
+        assertArrayEquals(new String[]{"a", "b"}, p.getFacts().getFirst().getTerms());
+        assertArrayEquals(new String[]{"c", "d"}, p.getFacts().getLast().getTerms());
+    }
+
+    @Test
+    void scan_reader() throws IOException {
+        // Arrange
+        var output = new StringBuilder();
+        for (int i = 0; i < 2000; i++)
+            output.append("{p(").append(i).append(",\"a\"), q(").append(i).append(")}\n");
+
+        // Act
+        var result = AnswerSetScanner.scan(new StringReader(output.toString()));
+
+        // Assert
+        assertEquals(AnswerSetScanner.scan(output), result);
+        assertEquals(2000, result.size());
+    }
+
+    @Test
+    void scan_incompleteModel() {
+        // Act
+        var result = AnswerSetScanner.scan("text before {p(a)} {p(b)");
+
+        // Assert
+        assertEquals(1, result.size());
+    }
+
+    @Test
+    void count() {
+        // Act
+        var result = AnswerSetScanner.count("{p(\"}\")}\n{}\n{a, b}\n{p(c)");
+
+        // Assert
+        assertEquals(3, result);
+    }
+
+    private static DatalogPredicate predicate(Set<DatalogPredicate> model, String name) {
+        return model.stream().filter(p -> p.getName().equals(name)).findFirst().orElseThrow();
+    }
+}
@@ -47,6 +47,20 @@ void isCorrect_validResult() throws AnalysisException {
         assertTrue(result);
     }
 
+    @Test
+    void isCorrect_differentAtomOrder() throws AnalysisException {
+        // Arrange
+        String solutionResult = "{p1(a,b), p1(c,d), p2(e)}";
+        String submissionResult = "{p2(e), p1(c,d), p1(a,b)}";
+        AspAnalysis analysis = new AspAnalysisImpl(solutionResult, submissionResult);
+
+        // Act
+        boolean result = analysis.isCorrect();
+
+        // Assert
+        assertTrue(result);
+    }
+
     @Test
     void isCorrect_invalidResult() throws AnalysisException {
         // Arrange
@@ -163,4 +177,69 @@ void getSuperfluousModels() throws AnalysisException {
             .anyMatch(p -> p.getName().equals("p1") && p.getFacts().stream().anyMatch(f -> Arrays.asList(f.getTerms()).contains("c") && Arrays.asList(f.getTerms()).contains("b")))
             .anyMatch(p -> p.getName().equals("p1") && p.getFacts().stream().anyMatch(f -> Arrays.asList(f.getTerms()).contains("a") && Arrays.asList(f.getTerms()).contains("d")));
     }
+
+    @Test
+    void isCorrect_differentOrder_true() throws AnalysisException {
+        // Arrange
+        String solutionResult = "{p1(a,b). p1(c,d). p2(a).}{p1(b,c).}";
+        String submissionResult = "{p1(b,c).}{p2(a). p1(c,d). p1(a,b).}";
+
+        // Act
+        AspAnalysis analysis = new AspAnalysisImpl(solutionResult, submissionResult);
+
+        // Assert
+        assertTrue(analysis.isCorrect());
+        assertThat(analysis.getMissingModels()).isEmpty();
+        assertThat(analysis.getSuperfluousModels()).isEmpty();
+    }
+
+    @Test
+    void getMissingModels_duplicateModel() throws AnalysisException {
+        // Arrange
+        String solutionResult = "{p1(a).}{p1(a).}{p1(b).}";
+        String submissionResult = "{p1(b).}{p1(a).}{p1(c).}";
+        AspAnalysis analysis = new AspAnalysisImpl(solutionResult, submissionResult);
+
+        // Act
+        List<Set<DatalogPredicate>> missing = analysis.getMissingModels();
+        List<Set<DatalogPredicate>> superfluous = analysis.getSuperfluousModels();
+
+        // Assert
+        assertFalse(analysis.isCorrect());
+        assertThat(missing).hasSize(1);
+        assertThat(missing.getFirst()).allMatch(p -> p.getFacts().getFirst().getTerms()[0].equals("a"));
+        assertThat(superfluous).hasSize(1);
+        assertThat(superfluous.getFirst()).allMatch(p -> p.getFacts().getFirst().getTerms()[0].equals("c"));
+    }
+
+    @Test
+    void getMissingModels_manyModels() throws AnalysisException {
+        // Arrange
+        var solutionResult = new StringBuilder();
+        var submissionResult = new StringBuilder();
+        for (int i = 0; i < 5000; i++) {
+            solutionResult.append("{p1(").append(i).append(",a). p2(").append(i).append(").}");
+            submissionResult.insert(0, "{p2(" + (i + 1) + "). p1(" + (i + 1) + ",a).}");
+        }
+        AspAnalysis analysis = new AspAnalysisImpl(solutionResult.toString(), submissionResult.toString());
+
+        // Act
+        List<Set<DatalogPredicate>> missing = analysis.getMissingModels();
+        List<Set<DatalogPredicate>> superfluous = analysis.getSuperfluousModels();
+
+        // Assert
+        assertThat(missing).hasSize(1);
+        assertThat(missing.getFirst()).anyMatch(p -> p.getName().equals("p2") && p.getFacts().getFirst().getTerms()[0].equals("0"));
+        assertThat(superfluous).hasSize(1);
+        assertThat(superfluous.getFirst()).anyMatch(p -> p.getName().equals("p2") && p.getFacts().getFirst().getTerms()[0].equals("5000"));
+    }
+
+    @Test
+    void countModels() {
+        // Act
+        int result = AspAnalysisImpl.countModels("{p1(a,b). p1(c,d).}\n{}\n{p1(a,c).}");
+
+        // Assert
+        assertEquals(3, result);
+    }
 }
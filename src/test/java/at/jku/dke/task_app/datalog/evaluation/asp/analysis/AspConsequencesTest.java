@@ -0,0 +1,115 @@
+package at.jku.dke.task_app.datalog.evaluation.asp.analysis;
+
+import at.jku.dke.task_app.datalog.config.DatalogSettings;
+import at.jku.dke.task_app.datalog.evaluation.DatalogExecutorImpl;
+import at.jku.dke.task_app.datalog.evaluation.exceptions.ExecutionException;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AspConsequencesTest {
+    private static final String FACTS = "item(1). item(2). item(3).";
+    private static final String SOLUTION = "in(X) v out(X) :- item(X). ok :- item(1).";
+
+    @Test
+    void of_empty() {
+        // Act
+        var result = AspConsequences.of("{}\n{}");
+
+        // Assert
+        assertTrue(result.isEmpty());
+    }
+
+    @Test
+    void matches_sameProgram() throws IOException, ExecutionException {
+        // Arrange
+        var executor = new DatalogExecutorImpl(DatalogSettings.EMPTY);
+        var consequences = AspConsequences.of(executor.execute(FACTS, SOLUTION, null));
+
+        // Act
+        var result = matches(executor, consequences, "ok :- item(X). out(X) v in(X) :- item(X).");
+
+        // Assert
+        assertFalse(consequences.isEmpty());
+        assertTrue(result);
+    }
+
+    @Test
+    void matches_differentBraveConsequences() throws IOException, ExecutionException {
+        // Arrange
+        var executor = new DatalogExecutorImpl(DatalogSettings.EMPTY);
+        var consequences = AspConsequences.of(executor.execute(FACTS, SOLUTION, null));
+
+        // Act
+        var result = matches(executor, consequences, "in(X) v out(X) :- item(X), X > 1. out(1) :- item(1). ok :- item(1).");
+
+        // Assert
+        assertFalse(result);
+    }
+
+    @Test
+    void matches_differentCautiousConsequences() throws IOException, ExecutionException {
+        // Arrange
+        var executor = new DatalogExecutorImpl(DatalogSettings.EMPTY);
+        var consequences = AspConsequences.of(executor.execute(FACTS, SOLUTION, null));
+
+        // Act
+        var result = matches(executor, consequences, "in(X) v out(X) :- item(X). ok v nok.");
+
+        // Assert
+        assertFalse(result);
+    }
+
+    @Test
+    void matches_sameConsequencesDifferentModels() throws IOException, ExecutionException {
+        // Arrange
+        var executor = new DatalogExecutorImpl(DatalogSettings.EMPTY);
+        var consequences = AspConsequences.of(executor.execute(FACTS, SOLUTION, null));
+
+        // Act
+        var result = matches(executor, consequences, "in(X) v out(X) :- item(X). :- in(1), in(2), in(3). ok :- item(1).");
+
+        // Assert
+        assertTrue(result);
+    }
+
+    @Test
+    void matches_noModel() throws IOException, ExecutionException {
+        // Arrange
+        var executor = new DatalogExecutorImpl(DatalogSettings.EMPTY);
+        var consequences = AspConsequences.of(executor.execute(FACTS, SOLUTION, null));
+
+        // Act
+        var result = matches(executor, consequences, "in(X) v out(X) :- item(X). ok :- item(1). :- ok.");
+
+        // Assert
+        assertFalse(result);
+    }
+
+    @Test
+    void matches_quotedTerms() {
+        // Arrange
+        var consequences = AspConsequences.of("{p(\"a, b\",1), q}\n{p(\"c\",2), q}");
+
+        // Act
+        var result = consequences.matches("""
+            etutor__c__p0, "a, b", 1
+            etutor__c__p0, "c", 2
+            etutor__c__p1, etutor__c__nil, etutor__c__nil
+            """, "etutor__c__p1, etutor__c__nil, etutor__c__nil");
+
+        // Assert
+        assertTrue(result);
+    }
+
+    private static boolean matches(DatalogExecutorImpl executor, AspConsequences consequences, String submission) throws IOException, ExecutionException {
+        String input = FACTS + "\n" + submission + "\n" + consequences.getQueryProgram();
+        var brave = executor.execute(input, new String[]{"-nofacts", "-brave"});
+        var cautious = executor.execute(input, new String[]{"-nofacts", "-cautious"});
+        assertEquals(0, brave.exitCode(), brave.output());
+        assertEquals(0, cautious.exitCode(), cautious.output());
+        return consequences.matches(brave.output(), cautious.output());
+    }
+}
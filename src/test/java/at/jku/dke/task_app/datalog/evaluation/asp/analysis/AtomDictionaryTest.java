@@ -0,0 +1,56 @@
+package at.jku.dke.task_app.datalog.evaluation.asp.analysis;
+
+import at.jku.dke.task_app.datalog.evaluation.DatalogPredicate;
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AtomDictionaryTest {
+
+    @Test
+    void canonicalize_sameAtomsDifferentOrder_equal() {
+        // Arrange
+        var dictionary = new AtomDictionary();
+
+        // Act
+        var first = dictionary.canonicalize(new LinkedHashSet<>(List.of(new DatalogPredicate("p", List.of("a,b", "c,d")), new DatalogPredicate("q", List.of("a")))));
+        var second = dictionary.canonicalize(new LinkedHashSet<>(List.of(new DatalogPredicate("q", List.of("a")), new DatalogPredicate("p", List.of("c,d", "a,b")))));
+
+        // Assert
+        assertEquals(first, second);
+        assertEquals(first.hashCode(), second.hashCode());
+        assertEquals(3, first.size());
+    }
+
+    @Test
+    void canonicalize_differentAtoms_notEqual() {
+        // Arrange
+        var dictionary = new AtomDictionary();
+
+        // Act
+        var first = dictionary.canonicalize(new LinkedHashSet<>(List.of(new DatalogPredicate("p", List.of("a,b")))));
+        var second = dictionary.canonicalize(new LinkedHashSet<>(List.of(new DatalogPredicate("q", List.of("a,b")))));
+        var third = dictionary.canonicalize(new LinkedHashSet<>(List.of(new DatalogPredicate("p", List.of("a,b", "a,b")))));
+
+        // Assert
+        assertNotEquals(first, second);
+        assertEquals(first, third);
+        assertEquals(1, third.size());
+    }
+
+    @Test
+    void canonicalize_empty() {
+        // Arrange
+        var dictionary = new AtomDictionary();
+
+        // Act
+        var result = dictionary.canonicalize(new LinkedHashSet<>());
+
+        // Assert
+        assertEquals(0, result.size());
+        assertEquals(result, dictionary.canonicalize(new LinkedHashSet<>()));
+    }
+}
@@ -2,24 +2,35 @@
 
 import at.jku.dke.etutor.task_app.dto.SubmissionMode;
 import at.jku.dke.etutor.task_app.dto.SubmitSubmissionDto;
+import at.jku.dke.task_app.datalog.config.DatalogSettings;
 import at.jku.dke.task_app.datalog.data.entities.DatalogTask;
 import at.jku.dke.task_app.datalog.data.entities.DatalogTaskGroup;
 import at.jku.dke.task_app.datalog.data.repositories.DatalogTaskRepository;
 import at.jku.dke.task_app.datalog.dto.DatalogSubmissionDto;
 import at.jku.dke.task_app.datalog.evaluation.DatalogExecutor;
+import at.jku.dke.task_app.datalog.evaluation.EncodedFactsCache;
+import at.jku.dke.task_app.datalog.evaluation.ExecutionPriority;
 import at.jku.dke.task_app.datalog.evaluation.exceptions.ExecutionException;
+import at.jku.dke.task_app.datalog.evaluation.exceptions.ExecutionRejectedException;
+import at.jku.dke.task_app.datalog.evaluation.exceptions.ResultTooLargeException;
 import at.jku.dke.task_app.datalog.evaluation.exceptions.SyntaxException;
 import jakarta.persistence.EntityNotFoundException;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 import org.springframework.context.MessageSource;
+import org.springframework.http.HttpStatus;
 import org.springframework.web.server.ResponseStatusException;
 
 import java.io.IOException;
 import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -33,7 +44,7 @@ void evaluate_notExistingTask() {
         var repository = mock(DatalogTaskRepository.class);
         var ms = mock(MessageSource.class);
         var exec = Mockito.mock(DatalogExecutor.class);
-        var service = new DatalogEvaluationService(repository, ms, exec);
+        var service = new DatalogEvaluationService(repository, ms, exec, new EncodedFactsCache(DatalogSettings.EMPTY), DatalogSettings.EMPTY);
 
         when(repository.findByIdWithTaskGroup(any())).thenReturn(Optional.empty());
 
@@ -41,19 +52,59 @@ void evaluate_notExistingTask() {
         assertThrows(EntityNotFoundException.class, () -> service.evaluate(new SubmitSubmissionDto<>(null, null, 1L, "de", SubmissionMode.SUBMIT, 1, new DatalogSubmissionDto(""))));
     }
 
+    @Test
+    void evaluationFailed() {
+        // Arrange
+        var repository = mock(DatalogTaskRepository.class);
+        var ms = mock(MessageSource.class);
+        var exec = Mockito.mock(DatalogExecutor.class);
+        var service = new DatalogEvaluationService(repository, ms, exec, new EncodedFactsCache(DatalogSettings.EMPTY), DatalogSettings.EMPTY);
+
+        when(repository.findById(1L)).thenReturn(Optional.of(new DatalogTask(1L, BigDecimal.TEN, null, null, "solution", List.of("query"), null)));
+        when(ms.getMessage(eq("evaluationFailed"), any(), any())).thenReturn("failed");
+
+        // Act
+        var result = service.evaluationFailed(new SubmitSubmissionDto<>(null, null, 1L, "de", SubmissionMode.SUBMIT, 1, new DatalogSubmissionDto("")));
+
+        // Assert
+        assertEquals(BigDecimal.TEN, result.maxPoints());
+        assertEquals(BigDecimal.ZERO, result.points());
+        assertEquals("failed", result.generalFeedback());
+        assertTrue(result.criteria().isEmpty());
+    }
+
+    @Test
+    void evaluationFailed_notExistingTask() {
+        // Arrange
+        var repository = mock(DatalogTaskRepository.class);
+        var ms = mock(MessageSource.class);
+        var exec = Mockito.mock(DatalogExecutor.class);
+        var service = new DatalogEvaluationService(repository, ms, exec, new EncodedFactsCache(DatalogSettings.EMPTY), DatalogSettings.EMPTY);
+
+        when(repository.findById(1L)).thenReturn(Optional.empty());
+        when(ms.getMessage(eq("evaluationFailed"), any(), any())).thenReturn("failed");
+
+        // Act
+        var result = service.evaluationFailed(new SubmitSubmissionDto<>(null, null, 1L, "de", SubmissionMode.SUBMIT, 1, new DatalogSubmissionDto("")));
+
+        // Assert
+        assertEquals(BigDecimal.ZERO, result.maxPoints());
+        assertEquals("failed", result.generalFeedback());
+    }
+
     @Test
     void evaluate_solution_executionError() throws IOException, ExecutionException {
         // Arrange
         var repository = mock(DatalogTaskRepository.class);
         var ms = mock(MessageSource.class);
         var exec = mock(DatalogExecutor.class);
-        var service = new DatalogEvaluationService(repository, ms, exec);
+        var service = new DatalogEvaluationService(repository, ms, exec, new EncodedFactsCache(DatalogSettings.EMPTY), DatalogSettings.EMPTY);
         var task = new DatalogTask("mySolution", List.of("myquery"), null);
         task.setId(1L);
         task.setTaskGroup(new DatalogTaskGroup("diagnose", "submit"));
 
         when(repository.findByIdWithTaskGroup(any())).thenReturn(Optional.of(task));
-        when(exec.query(anyString(), eq("myInput"), any(), any(), anyBoolean())).thenReturn(new DatalogExecutor.ExecutionResult("", Map.of()));
+        when(exec.query(anyString(), eq("myInput"), any(), any(), anyBoolean(), anyLong())).thenReturn(new DatalogExecutor.ExecutionResult("", Map.of()));
         when(exec.query(anyString(), eq("mySolution"), any(), any(), anyBoolean())).thenThrow(new ExecutionException(""));
 
         // Act & Assert
@@ -68,13 +119,13 @@ void evaluate_submission_executionError() throws IOException, ExecutionException
         var repository = mock(DatalogTaskRepository.class);
         var ms = mock(MessageSource.class);
         var exec = mock(DatalogExecutor.class);
-        var service = new DatalogEvaluationService(repository, ms, exec);
+        var service = new DatalogEvaluationService(repository, ms, exec, new EncodedFactsCache(DatalogSettings.EMPTY), DatalogSettings.EMPTY);
         var task = new DatalogTask("mySolution", List.of("myquery"), null);
         task.setTaskGroup(new DatalogTaskGroup("diagnose", "submit"));
         task.setId(1L);
 
         when(repository.findByIdWithTaskGroup(any())).thenReturn(Optional.of(task));
-        when(exec.query(anyString(), eq("myInput"), any(), any(), anyBoolean())).thenThrow(new ExecutionException(""));
+        when(exec.query(anyString(), eq("myInput"), any(), any(), anyBoolean(), anyLong())).thenThrow(new ExecutionException(""));
 
         // Act & Assert
         assertThrows(ResponseStatusException.class,
@@ -82,19 +133,39 @@ void evaluate_submission_executionError() throws IOException, ExecutionException
             "Error while evaluating input for task 1");
     }
 
+    @Test
+    void evaluate_submission_rejected() throws IOException, ExecutionException {
+        // Arrange
+        var repository = mock(DatalogTaskRepository.class);
+        var ms = mock(MessageSource.class);
+        var exec = mock(DatalogExecutor.class);
+        var service = new DatalogEvaluationService(repository, ms, exec, new EncodedFactsCache(DatalogSettings.EMPTY), DatalogSettings.EMPTY);
+        var task = new DatalogTask("mySolution", List.of("myquery"), null);
+        task.setTaskGroup(new DatalogTaskGroup("diagnose", "submit"));
+        task.setId(1L);
+
+        when(repository.findByIdWithTaskGroup(any())).thenReturn(Optional.of(task));
+        when(exec.query(anyString(), eq("myInput"), any(), any(), anyBoolean(), anyLong())).thenThrow(new ExecutionRejectedException("Too many executions"));
+
+        // Act & Assert
+        var ex = assertThrows(ResponseStatusException.class,
+            () -> service.evaluate(new SubmitSubmissionDto<>(null, null, 1L, "de", SubmissionMode.SUBMIT, 1, new DatalogSubmissionDto("myInput"))));
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, ex.getStatusCode());
+    }
+
     @Test
     void evaluate_submission_syntaxError() throws IOException, ExecutionException {
         // Arrange
         var repository = mock(DatalogTaskRepository.class);
         var ms = mock(MessageSource.class);
         var exec = mock(DatalogExecutor.class);
-        var service = new DatalogEvaluationService(repository, ms, exec);
+        var service = new DatalogEvaluationService(repository, ms, exec, new EncodedFactsCache(DatalogSettings.EMPTY), DatalogSettings.EMPTY);
         var task = new DatalogTask("mySolution", List.of("myquery"), null);
         task.setTaskGroup(new DatalogTaskGroup("diagnose", "submit"));
         task.setId(1L);
 
         when(repository.findByIdWithTaskGroup(any())).thenReturn(Optional.of(task));
-        when(exec.query(anyString(), eq("myInput"), any(), any(), anyBoolean())).thenThrow(new SyntaxException("Syntax"));
+        when(exec.query(anyString(), eq("myInput"), any(), any(), anyBoolean(), anyLong())).thenThrow(new SyntaxException("Syntax"));
 
         // Act
         var result = service.evaluate(new SubmitSubmissionDto<>(null, null, 1L, "de", SubmissionMode.DIAGNOSE, 1, new DatalogSubmissionDto("myInput")));
@@ -106,19 +177,85 @@ void evaluate_submission_syntaxError() throws IOException, ExecutionException {
         assertEquals("<pre>Syntax</pre>", result.criteria().getFirst().feedback());
     }
 
+    @Test
+    void evaluate_submission_syntaxError_cancelsSolution() throws IOException, ExecutionException {
+        // Arrange
+        var repository = mock(DatalogTaskRepository.class);
+        var ms = mock(MessageSource.class);
+        var exec = mock(DatalogExecutor.class);
+        var service = new DatalogEvaluationService(repository, ms, exec, new EncodedFactsCache(DatalogSettings.EMPTY), DatalogSettings.EMPTY);
+        var task = new DatalogTask("mySolution", List.of("myquery"), null);
+        task.setTaskGroup(new DatalogTaskGroup("diagnose", "submit"));
+        task.setId(1L);
+        var solutionStarted = new CountDownLatch(1);
+        var solutionInterrupted = new AtomicBoolean();
+
+        when(repository.findByIdWithTaskGroup(any())).thenReturn(Optional.of(task));
+        when(exec.query(anyString(), eq("mySolution"), any(), any(), anyBoolean())).thenAnswer(invocation -> {
+            solutionStarted.countDown();
+            try {
+                Thread.sleep(60_000);
+            } catch (InterruptedException ex) {
+                solutionInterrupted.set(true);
+            }
+            throw new ExecutionException("Process interrupted");
+        });
+        when(exec.query(anyString(), eq("myInput"), any(), any(), anyBoolean(), anyLong())).thenAnswer(invocation -> {
+            assertTrue(solutionStarted.await(5, TimeUnit.SECONDS));
+            throw new SyntaxException("Syntax");
+        });
+
+        // Act
+        var result = service.evaluate(new SubmitSubmissionDto<>(null, null, 1L, "de", SubmissionMode.DIAGNOSE, 1, new DatalogSubmissionDto("myInput")));
+
+        // Assert
+        assertEquals("<pre>Syntax</pre>", result.criteria().getFirst().feedback());
+        assertTrue(solutionInterrupted.get());
+    }
+
+    @Test
+    void evaluate_submission_resultTooLarge() throws IOException, ExecutionException {
+        // Arrange
+        var repository = mock(DatalogTaskRepository.class);
+        var ms = mock(MessageSource.class);
+        var exec = mock(DatalogExecutor.class);
+        var service = new DatalogEvaluationService(repository, ms, exec, new EncodedFactsCache(DatalogSettings.EMPTY), DatalogSettings.EMPTY);
+        var task = new DatalogTask("mySolution", List.of("myquery"), null);
+        task.setTaskGroup(new DatalogTaskGroup("diagnose", "submit"));
+        task.setId(1L);
+        task.setDiagnoseSolutionResult(Map.of("myquery", List.of("a", "b")));
+        task.setDiagnoseSolutionFacts(2L);
+
+        when(repository.findByIdWithTaskGroup(any())).thenReturn(Optional.of(task));
+        when(ms.getMessage(eq("criterium.resultTooLarge.feedback"), any(), any())).thenReturn("Too many facts");
+        when(exec.query(anyString(), eq("myInput"), any(), any(), anyBoolean(), anyLong())).thenThrow(new ResultTooLargeException("Output exceeds the maximum number of 10000 facts"));
+
+        // Act
+        var result = service.evaluate(new SubmitSubmissionDto<>(null, null, 1L, "de", SubmissionMode.DIAGNOSE, 1, new DatalogSubmissionDto("myInput")));
+
+        // Assert
+        assertEquals(BigDecimal.ZERO, result.points());
+        assertEquals(1, result.criteria().size());
+        assertFalse(result.criteria().getFirst().passed());
+        assertEquals("Too many facts", result.criteria().getFirst().feedback());
+        verify(exec, times(1)).query(eq("diagnose"), eq("myInput"), eq(List.of("myquery")), eq(List.of()), eq(false), eq(10000L));
+        verify(exec, never()).query(anyString(), eq("mySolution"), any(), any(), anyBoolean());
+    }
+
     @Test
     void evaluate_analysisError() throws IOException, ExecutionException {
         // Arrange
         var repository = mock(DatalogTaskRepository.class);
         var ms = mock(MessageSource.class);
         var exec = mock(DatalogExecutor.class);
-        var service = new DatalogEvaluationService(repository, ms, exec);
+        var service = new DatalogEvaluationService(repository, ms, exec, new EncodedFactsCache(DatalogSettings.EMPTY), DatalogSettings.EMPTY);
         var task = new DatalogTask("mySolution", List.of("myquery"), null);
         task.setTaskGroup(new DatalogTaskGroup("diagnose", "submit"));
         task.setId(1L);
 
         when(repository.findByIdWithTaskGroup(any())).thenReturn(Optional.of(task));
         when(exec.query(anyString(), anyString(), any(), any(), anyBoolean())).thenReturn(new DatalogExecutor.ExecutionResult("", Map.of("p1", List.of("a", "a,b"))));
+        when(exec.query(anyString(), anyString(), any(), any(), anyBoolean(), anyLong())).thenReturn(new DatalogExecutor.ExecutionResult("", Map.of("p1", List.of("a", "a,b"))));
 
         // Act & Assert
         assertThrows(ResponseStatusException.class,
@@ -132,20 +269,21 @@ void evaluate_submit() throws IOException, ExecutionException {
         var repository = mock(DatalogTaskRepository.class);
         var ms = mock(MessageSource.class);
         var exec = mock(DatalogExecutor.class);
-        var service = new DatalogEvaluationService(repository, ms, exec);
+        var service = new DatalogEvaluationService(repository, ms, exec, new EncodedFactsCache(DatalogSettings.EMPTY), DatalogSettings.EMPTY);
         var task = new DatalogTask("mySolution", List.of("myquery"), null);
         task.setTaskGroup(new DatalogTaskGroup("diagnose", "submit"));
         task.setId(1L);
 
         when(repository.findByIdWithTaskGroup(any())).thenReturn(Optional.of(task));
         when(exec.query(anyString(), anyString(), any(), any(), anyBoolean())).thenReturn(new DatalogExecutor.ExecutionResult("", Map.of()));
+        when(exec.query(anyString(), anyString(), any(), any(), anyBoolean(), anyLong())).thenReturn(new DatalogExecutor.ExecutionResult("", Map.of()));
 
         // Act
         service.evaluate(new SubmitSubmissionDto<>(null, null, 1L, "de", SubmissionMode.SUBMIT, 1, new DatalogSubmissionDto("myInput")));
 
         // Assert
-        verify(exec, times(1)).query(eq("submit"), eq("mySolution"), eq(List.of("myquery")), eq(List.of()), eq(true));
-        verify(exec, times(1)).query(eq("submit"), eq("myInput"), eq(List.of("myquery")), eq(List.of()), eq(true));
+        verify(exec, times(1)).query(eq("submit." + System.lineSeparator()), eq("mySolution"), eq(List.of("myquery")), eq(List.of()), eq(false));
+        verify(exec, times(1)).query(eq("submit." + System.lineSeparator()), eq("myInput"), eq(List.of("myquery")), eq(List.of()), eq(false), eq(Long.MAX_VALUE));
     }
 
     @Test
@@ -154,20 +292,21 @@ void evaluate_diagnose() throws IOException, ExecutionException {
         var repository = mock(DatalogTaskRepository.class);
         var ms = mock(MessageSource.class);
         var exec = mock(DatalogExecutor.class);
-        var service = new DatalogEvaluationService(repository, ms, exec);
+        var service = new DatalogEvaluationService(repository, ms, exec, new EncodedFactsCache(DatalogSettings.EMPTY), DatalogSettings.EMPTY);
         var task = new DatalogTask("mySolution", List.of("myquery"), null);
         task.setTaskGroup(new DatalogTaskGroup("diagnose", "submit"));
         task.setId(1L);
 
         when(repository.findByIdWithTaskGroup(any())).thenReturn(Optional.of(task));
         when(exec.query(anyString(), anyString(), any(), any(), anyBoolean())).thenReturn(new DatalogExecutor.ExecutionResult("", Map.of()));
+        when(exec.query(anyString(), anyString(), any(), any(), anyBoolean(), anyLong())).thenReturn(new DatalogExecutor.ExecutionResult("", Map.of()));
 
         // Act
         service.evaluate(new SubmitSubmissionDto<>(null, null, 1L, "de", SubmissionMode.DIAGNOSE, 1, new DatalogSubmissionDto("myInput")));
 
         // Assert
         verify(exec, times(1)).query(eq("diagnose"), eq("mySolution"), eq(List.of("myquery")), eq(List.of()), eq(false));
-        verify(exec, times(1)).query(eq("diagnose"), eq("myInput"), eq(List.of("myquery")), eq(List.of()), eq(false));
+        verify(exec, times(1)).query(eq("diagnose"), eq("myInput"), eq(List.of("myquery")), eq(List.of()), eq(false), eq(Long.MAX_VALUE));
     }
 
     @Test
@@ -176,20 +315,173 @@ void evaluate_run() throws IOException, ExecutionException {
         var repository = mock(DatalogTaskRepository.class);
         var ms = mock(MessageSource.class);
         var exec = mock(DatalogExecutor.class);
-        var service = new DatalogEvaluationService(repository, ms, exec);
+        var service = new DatalogEvaluationService(repository, ms, exec, new EncodedFactsCache(DatalogSettings.EMPTY), DatalogSettings.EMPTY);
         var task = new DatalogTask("mySolution", List.of("myquery"), null);
         task.setTaskGroup(new DatalogTaskGroup("diagnose", "submit"));
         task.setId(1L);
 
         when(repository.findByIdWithTaskGroup(any())).thenReturn(Optional.of(task));
         when(exec.query(anyString(), anyString(), any(), any(), anyBoolean())).thenReturn(new DatalogExecutor.ExecutionResult("", Map.of()));
+        when(exec.query(anyString(), anyString(), any(), any(), anyBoolean(), anyLong())).thenReturn(new DatalogExecutor.ExecutionResult("", Map.of()));
 
         // Act
         service.evaluate(new SubmitSubmissionDto<>(null, null, 1L, "de", SubmissionMode.RUN, 1, new DatalogSubmissionDto("myInput")));
 
         // Assert
         verify(exec, times(0)).query(eq("diagnose"), eq("mySolution"), eq(List.of("myquery")), eq(List.of()), eq(false));
-        verify(exec, times(1)).query(eq("diagnose"), eq("myInput"), eq(List.of("myquery")), eq(List.of()), eq(false));
+        verify(exec, times(1)).query(eq("diagnose"), eq("myInput"), eq(List.of("myquery")), eq(List.of()), eq(false), eq(Long.MAX_VALUE));
+    }
+
+    @Test
+    void evaluate_diagnose_interactivePriority() throws IOException, ExecutionException {
+        // Arrange
+        var repository = mock(DatalogTaskRepository.class);
+        var ms = mock(MessageSource.class);
+        var exec = mock(DatalogExecutor.class);
+        var service = new DatalogEvaluationService(repository, ms, exec, new EncodedFactsCache(DatalogSettings.EMPTY), DatalogSettings.EMPTY);
+        var task = new DatalogTask("mySolution", List.of("myquery"), null);
+        task.setTaskGroup(new DatalogTaskGroup("diagnose", "submit"));
+        task.setId(1L);
+        List<ExecutionPriority> priorities = Collections.synchronizedList(new ArrayList<>());
+
+        when(repository.findByIdWithTaskGroup(any())).thenReturn(Optional.of(task));
+        when(exec.query(anyString(), anyString(), any(), any(), anyBoolean())).then(invocation -> {
+            priorities.add(ExecutionPriority.current());
+            return new DatalogExecutor.ExecutionResult("", Map.of());
+        });
+        when(exec.query(anyString(), anyString(), any(), any(), anyBoolean(), anyLong())).then(invocation -> {
+            priorities.add(ExecutionPriority.current());
+            return new DatalogExecutor.ExecutionResult("", Map.of());
+        });
+
+        // Act
+        service.evaluate(new SubmitSubmissionDto<>(null, null, 1L, "de", SubmissionMode.DIAGNOSE, 1, new DatalogSubmissionDto("myInput")));
+
+        // Assert
+        assertEquals(List.of(ExecutionPriority.INTERACTIVE, ExecutionPriority.INTERACTIVE), priorities);
+        assertEquals(ExecutionPriority.SUBMISSION, ExecutionPriority.current());
+    }
+
+    @Test
+    void execute_backgroundPriority() throws IOException, ExecutionException {
+        // Arrange
+        var repository = mock(DatalogTaskRepository.class);
+        var ms = mock(MessageSource.class);
+        var exec = mock(DatalogExecutor.class);
+        var service = new DatalogEvaluationService(repository, ms, exec, new EncodedFactsCache(DatalogSettings.EMPTY), DatalogSettings.EMPTY);
+        var task = new DatalogTask("mySolution", List.of("myquery"), null);
+        task.setTaskGroup(new DatalogTaskGroup("diagnose", "submit"));
+        task.setId(1L);
+        List<ExecutionPriority> priorities = Collections.synchronizedList(new ArrayList<>());
+
+        when(repository.findByIdWithTaskGroup(any())).thenReturn(Optional.of(task));
+        when(exec.query(anyString(), anyString(), any(), any(), anyBoolean())).then(invocation -> {
+            priorities.add(ExecutionPriority.current());
+            return new DatalogExecutor.ExecutionResult("", Map.of());
+        });
+
+        // Act
+        try (var ignored = ExecutionPriority.enter(ExecutionPriority.BACKGROUND)) {
+            service.execute(new SubmitSubmissionDto<>(null, null, 1L, "de", SubmissionMode.DIAGNOSE, 1, new DatalogSubmissionDto("myInput")));
+        }
+
+        // Assert
+        assertEquals(List.of(ExecutionPriority.BACKGROUND), priorities);
+    }
+
+    @Test
+    void evaluate_storedSolutionResult() throws IOException, ExecutionException {
+        // Arrange
+        var repository = mock(DatalogTaskRepository.class);
+        var ms = mock(MessageSource.class);
+        var exec = mock(DatalogExecutor.class);
+        var service = new DatalogEvaluationService(repository, ms, exec, new EncodedFactsCache(DatalogSettings.EMPTY), DatalogSettings.EMPTY);
+        var task = new DatalogTask("mySolution", List.of("myquery"), null);
+        task.setTaskGroup(new DatalogTaskGroup("diagnose", "submit"));
+        task.setId(1L);
+        task.setSubmissionSolutionResult(Map.of("myquery", List.of("a")));
+        task.setSubmissionSolutionFacts(1L);
+
+        when(repository.findByIdWithTaskGroup(any())).thenReturn(Optional.of(task));
+        when(exec.query(anyString(), anyString(), any(), any(), anyBoolean())).thenReturn(new DatalogExecutor.ExecutionResult("", Map.of("myquery", List.of("a"))));
+        when(exec.query(anyString(), anyString(), any(), any(), anyBoolean(), anyLong())).thenReturn(new DatalogExecutor.ExecutionResult("", Map.of("myquery", List.of("a"))));
+
+        // Act
+        var result = service.evaluate(new SubmitSubmissionDto<>(null, null, 1L, "de", SubmissionMode.SUBMIT, 1, new DatalogSubmissionDto("myInput")));
+
+        // Assert
+        assertEquals(task.getMaxPoints(), result.points());
+        verify(exec, never()).query(anyString(), eq("mySolution"), any(), any(), anyBoolean());
+        verify(exec, times(1)).query(eq("submit." + System.lineSeparator()), eq("myInput"), eq(List.of("myquery")), eq(List.of()), eq(false), eq(10000L));
+        verify(repository, never()).storeSolutionResult(any(), any(), any(), anyLong());
+    }
+
+    @Test
+    void evaluate_storedSolutionResult_maxFactsOfAuxiliaryRelations() throws IOException, ExecutionException {
+        // Arrange
+        var repository = mock(DatalogTaskRepository.class);
+        var ms = mock(MessageSource.class);
+        var exec = mock(DatalogExecutor.class);
+        var service = new DatalogEvaluationService(repository, ms, exec, new EncodedFactsCache(DatalogSettings.EMPTY), DatalogSettings.EMPTY);
+        var task = new DatalogTask("mySolution", List.of("myquery"), null);
+        task.setTaskGroup(new DatalogTaskGroup("diagnose", "submit"));
+        task.setId(1L);
+        task.setSubmissionSolutionResult(Map.of("myquery", List.of("a")));
+        task.setSubmissionSolutionFacts(50000L);
+
+        when(repository.findByIdWithTaskGroup(any())).thenReturn(Optional.of(task));
+        when(exec.query(anyString(), anyString(), any(), any(), anyBoolean(), anyLong())).thenReturn(new DatalogExecutor.ExecutionResult("", Map.of("myquery", List.of("a"))));
+
+        // Act
+        var result = service.evaluate(new SubmitSubmissionDto<>(null, null, 1L, "de", SubmissionMode.SUBMIT, 1, new DatalogSubmissionDto("myInput")));
+
+        // Assert
+        assertEquals(task.getMaxPoints(), result.points());
+        verify(exec, times(1)).query(eq("submit." + System.lineSeparator()), eq("myInput"), eq(List.of("myquery")), eq(List.of()), eq(false), eq(5000000L));
+    }
+
+    @Test
+    void evaluate_storedSolutionResult_unknownFacts() throws IOException, ExecutionException {
+        // Arrange
+        var repository = mock(DatalogTaskRepository.class);
+        var ms = mock(MessageSource.class);
+        var exec = mock(DatalogExecutor.class);
+        var service = new DatalogEvaluationService(repository, ms, exec, new EncodedFactsCache(DatalogSettings.EMPTY), DatalogSettings.EMPTY);
+        var task = new DatalogTask("mySolution", List.of("myquery"), null);
+        task.setTaskGroup(new DatalogTaskGroup("diagnose", "submit"));
+        task.setId(1L);
+        task.setSubmissionSolutionResult(Map.of("myquery", List.of("a")));
+
+        when(repository.findByIdWithTaskGroup(any())).thenReturn(Optional.of(task));
+        when(exec.query(anyString(), anyString(), any(), any(), anyBoolean(), anyLong())).thenReturn(new DatalogExecutor.ExecutionResult("", Map.of("myquery", List.of("a"))));
+
+        // Act
+        service.evaluate(new SubmitSubmissionDto<>(null, null, 1L, "de", SubmissionMode.SUBMIT, 1, new DatalogSubmissionDto("myInput")));
+
+        // Assert
+        verify(exec, times(1)).query(eq("submit." + System.lineSeparator()), eq("myInput"), eq(List.of("myquery")), eq(List.of()), eq(false), eq(Long.MAX_VALUE));
+    }
+
+    @Test
+    void evaluate_solutionResultNotStored_storesSolutionResult() throws IOException, ExecutionException {
+        // Arrange
+        var repository = mock(DatalogTaskRepository.class);
+        var ms = mock(MessageSource.class);
+        var exec = mock(DatalogExecutor.class);
+        var service = new DatalogEvaluationService(repository, ms, exec, new EncodedFactsCache(DatalogSettings.EMPTY), DatalogSettings.EMPTY);
+        var task = new DatalogTask("mySolution", List.of("myquery"), null);
+        task.setTaskGroup(new DatalogTaskGroup("diagnose", "submit"));
+        task.setId(1L);
+
+        when(repository.findByIdWithTaskGroup(any())).thenReturn(Optional.of(task));
+        when(exec.query(anyString(), anyString(), any(), any(), anyBoolean())).thenReturn(new DatalogExecutor.ExecutionResult("{path(a,b), path(b,c), myquery(a)}", Map.of("myquery", List.of("a"))));
+        when(exec.query(anyString(), anyString(), any(), any(), anyBoolean(), anyLong())).thenReturn(new DatalogExecutor.ExecutionResult("", Map.of("myquery", List.of("a"))));
+
+        // Act
+        service.evaluate(new SubmitSubmissionDto<>(null, null, 1L, "de", SubmissionMode.DIAGNOSE, 1, new DatalogSubmissionDto("myInput")));
+
+        // Assert
+        verify(repository, times(1)).storeSolutionResult(task, SubmissionMode.DIAGNOSE, Map.of("myquery", List.of("a")), 3L);
     }
 
 }
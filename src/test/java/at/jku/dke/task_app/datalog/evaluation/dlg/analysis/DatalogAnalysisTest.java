@@ -5,6 +5,7 @@
 import at.jku.dke.task_app.datalog.evaluation.exceptions.AnalysisException;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 
@@ -207,4 +208,48 @@ void getRedundantFacts() throws AnalysisException {
         assertEquals("p2(e, f)", result.getFirst().toString());
     }
 
+    @Test
+    void getMissingAndRedundantFacts_keepsOrderAndDuplicates() throws AnalysisException {
+        // Arrange
+        Map<String, List<String>> submissionResult = Map.of(
+            "p1", List.of("b, a", "x, y", "c, d", "x, y")
+        );
+        Map<String, List<String>> solutionResult = Map.of(
+            "p1", List.of("e, f", "a, b", "c,d", "e, f")
+        );
+        DatalogAnalysis analysis = new DatalogAnalysisImpl(solutionResult, submissionResult);
+
+        // Act
+        List<DatalogFact> missing = analysis.getMissingFacts();
+        List<DatalogFact> redundant = analysis.getSuperfluousFacts();
+
+        // Assert
+        assertEquals(List.of("p1(e, f)", "p1(a, b)", "p1(e, f)"), missing.stream().map(DatalogFact::toString).toList());
+        assertEquals(List.of("p1(b, a)", "p1(x, y)", "p1(x, y)"), redundant.stream().map(DatalogFact::toString).toList());
+    }
+
+    @Test
+    void getMissingFacts_largeResult() throws AnalysisException {
+        // Arrange
+        List<String> solution = new ArrayList<>();
+        List<String> submission = new ArrayList<>();
+        for (int i = 0; i < 100_000; i++) {
+            solution.add("n" + i + ", n" + (i + 1));
+            if (i % 1000 != 0)
+                submission.add("n" + i + ", n" + (i + 1));
+        }
+        submission.add("n0, n0");
+        DatalogAnalysis analysis = new DatalogAnalysisImpl(Map.of("p", solution), Map.of("p", submission));
+
+        // Act
+        List<DatalogFact> missing = analysis.getMissingFacts();
+        List<DatalogFact> redundant = analysis.getSuperfluousFacts();
+
+        // Assert
+        assertEquals(100, missing.size());
+        assertEquals("p(n1000, n1001)", missing.get(1).toString());
+        assertEquals(List.of("p(n0, n0)"), redundant.stream().map(DatalogFact::toString).toList());
+        assertFalse(analysis.isCorrect());
+    }
+
 }
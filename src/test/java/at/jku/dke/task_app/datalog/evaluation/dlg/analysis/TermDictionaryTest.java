@@ -0,0 +1,42 @@
+package at.jku.dke.task_app.datalog.evaluation.dlg.analysis;
+
+import at.jku.dke.task_app.datalog.evaluation.DatalogPredicate;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TermDictionaryTest {
+
+    @Test
+    void encode_sharedBetweenPredicates() {
+        // Arrange
+        var dictionary = new TermDictionary();
+        var solution = new DatalogPredicate("p", List.of("a, b", "b, c"));
+        var submission = new DatalogPredicate("p", List.of("b,c", "c, a"));
+
+        // Act
+        var solutionFacts = dictionary.encodeAll(solution.getFacts());
+        var submissionFacts = dictionary.encodeAll(submission.getFacts());
+
+        // Assert
+        assertEquals(3, dictionary.size());
+        assertEquals(solutionFacts[1], submissionFacts[0]);
+        assertEquals(solutionFacts[1].hashCode(), submissionFacts[0].hashCode());
+        assertNotEquals(solutionFacts[0], submissionFacts[1]);
+    }
+
+    @Test
+    void encode_termOrderMatters() {
+        // Arrange
+        var dictionary = new TermDictionary();
+        var predicate = new DatalogPredicate("p", List.of("a, b", "b, a"));
+
+        // Act
+        var facts = dictionary.encodeAll(predicate.getFacts());
+
+        // Assert
+        assertNotEquals(facts[0], facts[1]);
+    }
+}
@@ -0,0 +1,93 @@
+package at.jku.dke.task_app.datalog.evaluation.engine;
+
+import at.jku.dke.task_app.datalog.evaluation.exceptions.UnsupportedProgramException;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProgramParserTest {
+
+    @Test
+    void parse() throws UnsupportedProgramException {
+        // Act
+        var program = ProgramParser.parse("""
+            % comment
+            edge(a, "b c"). edge(b, 1).
+            path(X, Y) :- edge(X, Y).
+            unreachable(X, Y) :- node(X), node(Y), not path(X, Y), X != Y.
+            """);
+
+        // Assert
+        assertEquals(4, program.rules().size());
+        assertEquals(List.of("edge", "path", "unreachable", "node"), program.predicates());
+        assertEquals(2, program.arities().get("edge"));
+        assertTrue(program.rules().getFirst().isFact());
+        assertEquals("edge(a,\"b c\")", program.rules().getFirst().head().toString());
+
+        var rule = program.rules().getLast();
+        assertEquals(2, rule.positiveBody().size());
+        assertEquals(1, rule.negativeBody().size());
+        assertEquals(new Comparison(Term.variable("X"), "!=", Term.variable("Y")), rule.comparisons().getFirst());
+    }
+
+    @Test
+    void parse_anonymousVariables() throws UnsupportedProgramException {
+        // Act
+        var program = ProgramParser.parse("p(X) :- q(X, _, _).");
+
+        // Assert
+        var terms = program.rules().getFirst().positiveBody().getFirst().terms();
+        assertNotEquals(terms.get(1), terms.get(2));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+        "a v b.",
+        "a | b.",
+        ":- p(X).",
+        ":~ p(X). [1:1]",
+        "p(X) :- q(X), #count{Y : r(Y)} > 1.",
+        "p(Y) :- q(X), Y = X + 1.",
+        "-p(a).",
+        "p(a)",
+        "p(X).",
+        "p(X) :- not q(X).",
+        "p(X) :- q(X), X < Y.",
+        "p(a). p(a, b).",
+        "p(007).",
+        "p(\"a).",
+        "p(a) :- q(_), not r(_).",
+        "p(X) :- q(X, Y), not r(Y), Y = d.",
+        "p(X) :- q(X, Y), q(Z, W), not r(W), d = Y, Y = W."
+    })
+    void parse_unsupported(String program) {
+        // Act & Assert
+        assertThrows(UnsupportedProgramException.class, () -> ProgramParser.parse(program));
+    }
+
+    @Test
+    void parseQuery() throws UnsupportedProgramException {
+        // Arrange
+        var program = ProgramParser.parse("p(a, b).");
+
+        // Act
+        var query = ProgramParser.parseQuery(" p(X, b) ? ", program);
+
+        // Assert
+        assertEquals(new Atom("p", List.of(Term.variable("X"), Term.constant("b"))), query);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"p(X)?", "p(X, Y), X != Y?", "not p(a, b)?", "p(X, Y)"})
+    void parseQuery_unsupported(String query) throws UnsupportedProgramException {
+        // Arrange
+        var program = ProgramParser.parse("p(a, b).");
+
+        // Act & Assert
+        assertThrows(UnsupportedProgramException.class, () -> ProgramParser.parseQuery(query, program));
+    }
+}
@@ -0,0 +1,145 @@
+package at.jku.dke.task_app.datalog.evaluation.engine;
+
+import at.jku.dke.task_app.datalog.evaluation.exceptions.ExecutionException;
+import at.jku.dke.task_app.datalog.evaluation.exceptions.ResultTooLargeException;
+import at.jku.dke.task_app.datalog.evaluation.exceptions.UnsupportedProgramException;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.*;
+
+class SemiNaiveEvaluatorTest {
+
+    private static Model evaluate(String program) throws ExecutionException {
+        return SemiNaiveEvaluator.evaluate(ProgramParser.parse(program), 10_000);
+    }
+
+    @Test
+    void evaluate_transitiveClosure() throws ExecutionException {
+        // Act
+        var model = evaluate("""
+            edge(a, b). edge(b, c). edge(c, d). edge(d, b).
+            path(X, Y) :- edge(X, Y).
+            path(X, Z) :- path(X, Y), edge(Y, Z).
+            """);
+
+        // Assert
+        assertThat(model.getRelation("path").orElseThrow().tuples()).containsExactlyInAnyOrder(
+            List.of("a", "b"), List.of("a", "c"), List.of("a", "d"),
+            List.of("b", "b"), List.of("b", "c"), List.of("b", "d"),
+            List.of("c", "b"), List.of("c", "c"), List.of("c", "d"),
+            List.of("d", "b"), List.of("d", "c"), List.of("d", "d"));
+    }
+
+    @Test
+    void evaluate_mutualRecursion() throws ExecutionException {
+        // Act
+        var model = evaluate("""
+            succ(0, 1). succ(1, 2). succ(2, 3). succ(3, 4).
+            even(0).
+            odd(Y) :- even(X), succ(X, Y).
+            even(Y) :- odd(X), succ(X, Y).
+            """);
+
+        // Assert
+        assertThat(model.getRelation("even").orElseThrow().tuples()).containsExactlyInAnyOrder(List.of("0"), List.of("2"), List.of("4"));
+        assertThat(model.getRelation("odd").orElseThrow().tuples()).containsExactlyInAnyOrder(List.of("1"), List.of("3"));
+    }
+
+    @Test
+    void evaluate_stratifiedNegationAndComparisons() throws ExecutionException {
+        // Act
+        var model = evaluate("""
+            node(a). node(b). node(c). edge(a, b). size(a, 3). size(b, 10).
+            reach(X, Y) :- edge(X, Y).
+            reach(X, Z) :- reach(X, Y), edge(Y, Z).
+            unreachable(X, Y) :- node(X), node(Y), X != Y, not reach(X, Y).
+            large(X) :- size(X, S), S >= 5.
+            none :- not node(d).
+            """);
+
+        // Assert
+        assertThat(model.getRelation("unreachable").orElseThrow().tuples()).containsExactlyInAnyOrder(
+            List.of("a", "c"), List.of("b", "a"), List.of("b", "c"), List.of("c", "a"), List.of("c", "b"));
+        assertThat(model.getRelation("large").orElseThrow().tuples()).containsExactly(List.of("b"));
+        assertThat(model.getRelation("none").orElseThrow().tuples()).containsExactly(List.of());
+    }
+
+    @Test
+    void evaluate_notStratified() {
+        // Act & Assert
+        assertThrows(UnsupportedProgramException.class, () -> evaluate("""
+            node(a).
+            p(X) :- node(X), not q(X).
+            q(X) :- node(X), not p(X).
+            """));
+    }
+
+    @Test
+    void evaluate_nonIntegerOrdering() {
+        // Act & Assert
+        assertThrows(UnsupportedProgramException.class, () -> evaluate("""
+            node(a). node(b).
+            before(X, Y) :- node(X), node(Y), X < Y.
+            """));
+    }
+
+    @Test
+    void format() throws ExecutionException {
+        // Arrange
+        var model = evaluate("""
+            q(b). q(a). p(a). s("x y").
+            p(X) :- q(X).
+            r :- p(a).
+            t(X, 1) :- s(X).
+            """);
+
+        // Act
+        var withFacts = model.format(false);
+        var noFacts = model.format(true);
+
+        // Assert
+        assertEquals("{q(b), q(a), p(a), p(b), s(\"x y\"), r, t(\"x y\",1)}" + System.lineSeparator(), withFacts);
+        assertEquals("{p(a), p(b), r, t(\"x y\",1)}" + System.lineSeparator(), noFacts);
+    }
+
+    @Test
+    void query() throws ExecutionException {
+        // Arrange
+        var model = evaluate("p(a, b). p(a, c). p(b, b).");
+        var program = ProgramParser.parse("p(a, b).");
+
+        // Act & Assert
+        assertEquals(List.of("a, b", "a, c", "b, b"), model.query(ProgramParser.parseQuery("p(X, Y)?", program)));
+        assertEquals(List.of("b", "c"), model.query(ProgramParser.parseQuery("p(a, X)?", program)));
+        assertEquals(List.of("b"), model.query(ProgramParser.parseQuery("p(X, X)?", program)));
+        assertEquals(List.of("p(a,b) is cautiously true."), model.query(ProgramParser.parseQuery("p(a, b)?", program)));
+        assertEquals(List.of("p(c,a) is cautiously false."), model.query(ProgramParser.parseQuery("p(c, a)?", program)));
+        assertEquals(List.of(), model.query(ProgramParser.parseQuery("q(X)?", program)));
+    }
+
+    @Test
+    void evaluate_timeout() {
+        // Arrange
+        var builder = new StringBuilder();
+        for (int i = 0; i < 200; i++)
+            builder.append("edge(n").append(i).append(", n").append(i + 1).append(").");
+        builder.append("path(X, Y) :- edge(X, Y). path(X, Z) :- path(X, Y), path(Y, Z).");
+
+        // Act & Assert
+        var ex = assertThrows(ExecutionException.class, () -> SemiNaiveEvaluator.evaluate(ProgramParser.parse(builder.toString()), 0));
+        assertFalse(ex instanceof UnsupportedProgramException);
+    }
+
+    @Test
+    void evaluate_tooManyFacts() throws ExecutionException {
+        // Arrange
+        var program = ProgramParser.parse("n(1). n(2). n(3). n(4). n(5). pair(X, Y) :- n(X), n(Y). first(X) :- pair(X, _).");
+
+        // Act & Assert
+        assertThrows(ResultTooLargeException.class, () -> SemiNaiveEvaluator.evaluate(program, 10_000, 29));
+        assertThat(SemiNaiveEvaluator.evaluate(program, 10_000, 30).getRelation("pair").orElseThrow().tuples()).hasSize(25);
+    }
+}
@@ -0,0 +1,23 @@
+package at.jku.dke.task_app.datalog.evaluation.exceptions;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ExecutionRejectedExceptionTest {
+    @Test
+    void constructor1() {
+        final String msg = "test";
+        final ExecutionRejectedException ex = new ExecutionRejectedException(msg);
+        assertEquals(msg, ex.getMessage());
+    }
+
+    @Test
+    void constructor2() {
+        final String msg = "test";
+        final Throwable cause = new Throwable();
+        final ExecutionRejectedException ex = new ExecutionRejectedException(msg, cause);
+        assertEquals(msg, ex.getMessage());
+        assertEquals(cause, ex.getCause());
+    }
+}
@@ -0,0 +1,148 @@
+package at.jku.dke.task_app.datalog.evaluation.fuzz;
+
+import at.jku.dke.task_app.datalog.config.DatalogSettings;
+import at.jku.dke.task_app.datalog.data.entities.TermDescription;
+import at.jku.dke.task_app.datalog.evaluation.DatalogExecutor;
+import at.jku.dke.task_app.datalog.evaluation.DatalogExecutorImpl;
+import at.jku.dke.task_app.datalog.evaluation.JvmDatalogExecutor;
+import at.jku.dke.task_app.datalog.evaluation.fuzz.FuzzCase.Atom;
+import at.jku.dke.task_app.datalog.evaluation.fuzz.FuzzCase.Comparison;
+import at.jku.dke.task_app.datalog.evaluation.fuzz.FuzzCase.Rule;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Differential fuzzing of the executors against the {@link ReferenceEvaluator}.
+ * <p>
+ * By default the fuzzer runs time-boxed with a fixed seed, so that CI builds are reproducible.
+ * For longer local runs use e.g. {@code mvn test -Dtest=DatalogFuzzTest -Dfuzz.duration=PT4H -Dfuzz.seed=123}.
+ * Supported system properties:
+ * <ul>
+ *     <li>{@code fuzz.seed}: the seed of the first case, case {@code i} uses {@code seed + i} (default: 20240601)</li>
+ *     <li>{@code fuzz.duration}: the time box as ISO-8601 duration (default: PT20S)</li>
+ *     <li>{@code fuzz.cases}: the maximum number of cases (default: unlimited)</li>
+ * </ul>
+ * Failing cases are shrunk to a minimal reproduction, which is reported together with the seed of the case.
+ */
+@Tag("fuzz")
+class DatalogFuzzTest {
+    private static final Logger LOG = LoggerFactory.getLogger(DatalogFuzzTest.class);
+
+    private static DifferentialChecker createChecker() {
+        var dlv = new DatalogExecutorImpl(DatalogSettings.EMPTY);
+        Map<String, DatalogExecutor> executors = new LinkedHashMap<>();
+        executors.put("dlv", dlv);
+        executors.put("jvm", new JvmDatalogExecutor(DatalogSettings.EMPTY, dlv));
+        return new DifferentialChecker(DatalogSettings.EMPTY.factEncodingSuffix(), executors);
+    }
+
+    @Test
+    void fuzz() {
+        // Arrange
+        long seed = Long.getLong("fuzz.seed", 20240601L);
+        Duration duration = Duration.parse(System.getProperty("fuzz.duration", "PT20S"));
+        long maxCases = Long.getLong("fuzz.cases", Long.MAX_VALUE);
+        var checker = createChecker();
+        long deadline = System.nanoTime() + duration.toNanos();
+
+        // Act & Assert
+        long cases = 0;
+        while (cases < maxCases && System.nanoTime() < deadline) {
+            long caseSeed = seed + cases++;
+            var fuzzCase = new ProgramGenerator(caseSeed, DatalogSettings.EMPTY.factEncodingSuffix()).next();
+            var failure = checker.check(fuzzCase);
+            if (failure.isPresent()) {
+                var minimal = Shrinker.shrink(fuzzCase, c -> checker.check(c).isPresent(), 2_000);
+                fail("Case with seed " + caseSeed + " failed: " + checker.check(minimal).orElse(failure.get()) +
+                     System.lineSeparator() + "Minimal reproduction:" + System.lineSeparator() + minimal);
+            }
+        }
+        LOG.info("Checked {} cases starting with seed {}", cases, seed);
+        assertTrue(cases > 0);
+    }
+
+    @Test
+    void generator_deterministic() {
+        // Act
+        var first = new ProgramGenerator(42, "0").next();
+        var second = new ProgramGenerator(42, "0").next();
+
+        // Assert
+        assertEquals(first, second);
+        assertNotEquals(first, new ProgramGenerator(43, "0").next());
+    }
+
+    @Test
+    void generator_safeRules() {
+        for (long seed = 0; seed < 500; seed++) {
+            // Act
+            var fuzzCase = new ProgramGenerator(seed, "0").next();
+
+            // Assert
+            assertThat(fuzzCase.solutionRules()).allMatch(Rule::isSafe);
+            assertThat(fuzzCase.submissionRules()).allMatch(Rule::isSafe);
+        }
+    }
+
+    @Test
+    void reference_stratifiedProgram() {
+        // Arrange
+        var facts = List.of(
+            new Atom("edge", List.of("a", "b")), new Atom("edge", List.of("b", "c")),
+            new Atom("node", List.of("a")), new Atom("node", List.of("b")), new Atom("node", List.of("c")));
+        var rules = List.of(
+            new Rule(new Atom("path", List.of("X", "Y")), List.of(new Atom("edge", List.of("X", "Y"))), List.of(), List.of()),
+            new Rule(new Atom("path", List.of("X", "Z")), List.of(new Atom("path", List.of("X", "Y")), new Atom("edge", List.of("Y", "Z"))), List.of(), List.of()),
+            new Rule(new Atom("unreachable", List.of("X", "Y")), List.of(new Atom("node", List.of("X")), new Atom("node", List.of("Y"))),
+                List.of(new Atom("path", List.of("X", "Y"))), List.of(new Comparison("X", "!=", "Y"))));
+
+        // Act
+        var model = ReferenceEvaluator.evaluate(facts, rules);
+
+        // Assert
+        assertEquals(Set.of(List.of("a", "b"), List.of("b", "c"), List.of("a", "c")), model.get("path"));
+        assertEquals(Set.of(List.of("b", "a"), List.of("c", "a"), List.of("c", "b")), model.get("unreachable"));
+        assertThat(ReferenceEvaluator.query(model, new Atom("path", List.of("a", "X")))).containsExactlyInAnyOrder("b", "c");
+        assertEquals(List.of("path(a,c) is cautiously true."), ReferenceEvaluator.query(model, new Atom("path", List.of("a", "c"))));
+    }
+
+    @Test
+    void reference_encode() {
+        // Arrange
+        var facts = List.of(new Atom("parent", List.of("mike", "anna")), new Atom("parent", List.of("steve", "mike")));
+
+        // Act
+        var result = ReferenceEvaluator.encode(facts, List.of(new TermDescription("parent", "mike", 1)), "0");
+
+        // Assert
+        assertEquals(List.of(new Atom("parent", List.of("mike", "anna0")), new Atom("parent", List.of("steve0", "mike0"))), result);
+    }
+
+    @Test
+    void shrink_minimalCase() {
+        // Arrange
+        var fuzzCase = new ProgramGenerator(7, "0").next();
+        var rule = fuzzCase.solutionRules().getFirst();
+
+        // Act
+        var result = Shrinker.shrink(fuzzCase, c -> c.solutionRules().stream().anyMatch(r -> r.head().equals(rule.head())), 10_000);
+
+        // Assert
+        assertThat(result.facts()).isEmpty();
+        assertThat(result.submissionRules()).isEmpty();
+        assertThat(result.queries()).isEmpty();
+        assertThat(result.solutionRules()).hasSize(1);
+        assertEquals(rule.head(), result.solutionRules().getFirst().head());
+    }
+}
@@ -0,0 +1,138 @@
+package at.jku.dke.task_app.datalog.evaluation.fuzz;
+
+import at.jku.dke.task_app.datalog.data.entities.DatalogTask;
+import at.jku.dke.task_app.datalog.data.entities.GradingStrategy;
+import at.jku.dke.task_app.datalog.evaluation.DatalogExecutor;
+import at.jku.dke.task_app.datalog.evaluation.DatalogFact;
+import at.jku.dke.task_app.datalog.evaluation.DatalogPredicate;
+import at.jku.dke.task_app.datalog.evaluation.asp.analysis.AspAnalysisImpl;
+import at.jku.dke.task_app.datalog.evaluation.dlg.analysis.DatalogAnalysisImpl;
+import at.jku.dke.task_app.datalog.evaluation.dlg.grading.DatalogGrading;
+import at.jku.dke.task_app.datalog.evaluation.exceptions.AnalysisException;
+import at.jku.dke.task_app.datalog.evaluation.fuzz.FuzzCase.Rule;
+
+import java.math.BigDecimal;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Runs a case through the query, analysis and grading stack of the given executors and compares the outcomes
+ * with the outcomes computed from the {@link ReferenceEvaluator}.
+ */
+final class DifferentialChecker {
+    private final String suffix;
+    private final Map<String, DatalogExecutor> executors;
+
+    /**
+     * Creates a new instance of class {@link DifferentialChecker}.
+     *
+     * @param suffix    The fact encoding suffix used by the executors.
+     * @param executors The executors to check, by name.
+     */
+    DifferentialChecker(String suffix, Map<String, DatalogExecutor> executors) {
+        this.suffix = suffix;
+        this.executors = executors;
+    }
+
+    /**
+     * Checks the given case.
+     *
+     * @param fuzzCase The case.
+     * @return A description of the first disagreement or an empty optional if all executors agree with the reference.
+     */
+    Optional<String> check(FuzzCase fuzzCase) {
+        var encodedFacts = ReferenceEvaluator.encode(fuzzCase.facts(), fuzzCase.uncheckedTerms(), this.suffix);
+        var expectedSolution = this.referenceQuery(fuzzCase, encodedFacts, fuzzCase.solutionRules());
+        var expectedSubmission = this.referenceQuery(fuzzCase, encodedFacts, fuzzCase.submissionRules());
+        var expectedGrading = grade(expectedSolution, expectedSubmission);
+        var expectedAsp = aspOutcome(
+            ReferenceEvaluator.format(ReferenceEvaluator.evaluate(fuzzCase.facts(), fuzzCase.solutionRules()), fuzzCase.solutionRules()),
+            ReferenceEvaluator.format(ReferenceEvaluator.evaluate(fuzzCase.facts(), fuzzCase.submissionRules()), fuzzCase.submissionRules()));
+
+        for (var entry : this.executors.entrySet()) {
+            String name = entry.getKey();
+            DatalogExecutor executor = entry.getValue();
+            try {
+                var solution = this.query(executor, fuzzCase, fuzzCase.solutionRules());
+                if (!normalize(solution).equals(normalize(expectedSolution)))
+                    return Optional.of(name + ": solution query results differ, expected " + expectedSolution + " but was " + solution);
+
+                var submission = this.query(executor, fuzzCase, fuzzCase.submissionRules());
+                if (!normalize(submission).equals(normalize(expectedSubmission)))
+                    return Optional.of(name + ": submission query results differ, expected " + expectedSubmission + " but was " + submission);
+
+                var grading = grade(solution, submission);
+                if (!grading.equals(expectedGrading))
+                    return Optional.of(name + ": grading differs, expected " + expectedGrading + " but was " + grading);
+
+                var asp = aspOutcome(
+                    executor.execute(fuzzCase.factsText(), FuzzCase.rulesText(fuzzCase.solutionRules()), null),
+                    executor.execute(fuzzCase.factsText(), FuzzCase.rulesText(fuzzCase.submissionRules()), null));
+                if (!asp.equals(expectedAsp))
+                    return Optional.of(name + ": ASP analysis differs, expected " + expectedAsp + " but was " + asp);
+            } catch (Exception ex) {
+                return Optional.of(name + ": execution failed with " + ex);
+            }
+        }
+        return Optional.empty();
+    }
+
+    private Map<String, List<String>> referenceQuery(FuzzCase fuzzCase, List<FuzzCase.Atom> encodedFacts, List<Rule> rules) {
+        var model = ReferenceEvaluator.evaluate(encodedFacts, rules);
+        Map<String, List<String>> result = new HashMap<>();
+        // The executors key the results by the query text up to the opening parenthesis (propositional queries keep the "?")
+        fuzzCase.queries().forEach(q -> result.put(q.terms().isEmpty() ? q + "?" : q.predicate(), ReferenceEvaluator.query(model, q)));
+        return result;
+    }
+
+    private Map<String, List<String>> query(DatalogExecutor executor, FuzzCase fuzzCase, List<Rule> rules) throws Exception {
+        return executor.query(fuzzCase.factsText(), FuzzCase.rulesText(rules), fuzzCase.queryTexts(), fuzzCase.uncheckedTerms(), true).result();
+    }
+
+    private static Map<String, Set<String>> normalize(Map<String, List<String>> result) {
+        Map<String, Set<String>> normalized = new TreeMap<>();
+        result.forEach((k, v) -> normalized.put(k, new TreeSet<>(v)));
+        return normalized;
+    }
+
+    /**
+     * Analyzes and grades the results like the evaluation service does.
+     */
+    private static String grade(Map<String, List<String>> solution, Map<String, List<String>> submission) {
+        try {
+            var analysis = new DatalogAnalysisImpl(solution, submission);
+            var task = new DatalogTask();
+            task.setMaxPoints(BigDecimal.TEN);
+            task.setMissingPredicateStrategy(GradingStrategy.EACH);
+            task.setMissingPredicatePenalty(BigDecimal.ONE);
+            task.setMissingFactStrategy(GradingStrategy.EACH);
+            task.setMissingFactPenalty(new BigDecimal("0.5"));
+            task.setSuperfluousFactStrategy(GradingStrategy.GROUP);
+            task.setSuperfluousFactPenalty(BigDecimal.TWO);
+            var grading = new DatalogGrading(task, analysis);
+            return "correct=" + analysis.isCorrect() +
+                   ", points=" + grading.getPoints().stripTrailingZeros().toPlainString() +
+                   ", missingPredicates=" + analysis.getMissingPredicates().stream().map(DatalogPredicate::getName).sorted().toList() +
+                   ", missingFacts=" + facts(analysis.getMissingFacts()) +
+                   ", superfluousFacts=" + facts(analysis.getSuperfluousFacts());
+        } catch (AnalysisException ex) {
+            return "inconsistent";
+        }
+    }
+
+    private static String aspOutcome(String solution, String submission) {
+        try {
+            var analysis = new AspAnalysisImpl(solution, submission);
+            return "correct=" + analysis.isCorrect() +
+                   ", sameAmountOfModels=" + analysis.hasSameAmountOfModels() +
+                   ", missingModels=" + analysis.getMissingModels().size() +
+                   ", superfluousModels=" + analysis.getSuperfluousModels().size();
+        } catch (AnalysisException ex) {
+            return "inconsistent";
+        }
+    }
+
+    private static Set<String> facts(List<DatalogFact> facts) {
+        return facts.stream().map(f -> f.getPredicate().getName() + Arrays.toString(f.getTerms())).collect(Collectors.toCollection(TreeSet::new));
+    }
+}
@@ -0,0 +1,204 @@
+package at.jku.dke.task_app.datalog.evaluation.fuzz;
+
+import at.jku.dke.task_app.datalog.data.entities.TermDescription;
+
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * A generated test case: a fact base, a solution and a submission program and the queries of the task.
+ * <p>
+ * Variables start with an upper-case letter or are {@code _}, all other terms are constants.
+ *
+ * @param facts           The (unencoded) facts of the task group.
+ * @param solutionRules   The rules of the solution.
+ * @param submissionRules The rules of the submission.
+ * @param queries         The queries of the task.
+ * @param uncheckedTerms  The unchecked terms of the task.
+ */
+record FuzzCase(List<Atom> facts, List<Rule> solutionRules, List<Rule> submissionRules, List<Atom> queries,
+                List<TermDescription> uncheckedTerms) {
+
+    FuzzCase {
+        facts = List.copyOf(facts);
+        solutionRules = List.copyOf(solutionRules);
+        submissionRules = List.copyOf(submissionRules);
+        queries = List.copyOf(queries);
+        uncheckedTerms = List.copyOf(uncheckedTerms);
+    }
+
+    static boolean isVariable(String term) {
+        return Character.isUpperCase(term.charAt(0)) || term.charAt(0) == '_';
+    }
+
+    String factsText() {
+        return this.facts.stream().map(a -> a + ".").collect(Collectors.joining(System.lineSeparator()));
+    }
+
+    static String rulesText(List<Rule> rules) {
+        return rules.stream().map(Rule::toString).collect(Collectors.joining(System.lineSeparator()));
+    }
+
+    List<String> queryTexts() {
+        return this.queries.stream().map(q -> q + "?").toList();
+    }
+
+    /**
+     * Returns all cases that are one step smaller than this case and still valid.
+     *
+     * @return The reduced cases, roughly ordered from the biggest to the smallest reduction.
+     */
+    List<FuzzCase> reductions() {
+        List<FuzzCase> result = new ArrayList<>();
+        for (List<Rule> rules : removeEach(this.solutionRules))
+            result.add(new FuzzCase(this.facts, rules, this.submissionRules, this.queries, this.uncheckedTerms));
+        for (List<Rule> rules : removeEach(this.submissionRules))
+            result.add(new FuzzCase(this.facts, this.solutionRules, rules, this.queries, this.uncheckedTerms));
+        for (List<Atom> queries : removeEach(this.queries))
+            result.add(new FuzzCase(this.facts, this.solutionRules, this.submissionRules, queries, this.uncheckedTerms));
+        for (List<Atom> facts : removeEach(this.facts))
+            result.add(new FuzzCase(facts, this.solutionRules, this.submissionRules, this.queries, this.uncheckedTerms));
+        for (List<TermDescription> terms : removeEach(this.uncheckedTerms))
+            result.add(new FuzzCase(this.facts, this.solutionRules, this.submissionRules, this.queries, terms));
+        for (List<Rule> rules : simplifyEach(this.solutionRules))
+            result.add(new FuzzCase(this.facts, rules, this.submissionRules, this.queries, this.uncheckedTerms));
+        for (List<Rule> rules : simplifyEach(this.submissionRules))
+            result.add(new FuzzCase(this.facts, this.solutionRules, rules, this.queries, this.uncheckedTerms));
+        return result;
+    }
+
+    private static <T> List<List<T>> removeEach(List<T> list) {
+        List<List<T>> result = new ArrayList<>();
+        for (int i = 0; i < list.size(); i++) {
+            List<T> copy = new ArrayList<>(list);
+            copy.remove(i);
+            result.add(copy);
+        }
+        return result;
+    }
+
+    private static List<List<Rule>> simplifyEach(List<Rule> rules) {
+        List<List<Rule>> result = new ArrayList<>();
+        for (int i = 0; i < rules.size(); i++) {
+            for (Rule simplified : rules.get(i).simplifications()) {
+                List<Rule> copy = new ArrayList<>(rules);
+                copy.set(i, simplified);
+                result.add(copy);
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "% facts" + System.lineSeparator() + this.factsText() + System.lineSeparator() +
+               "% solution" + System.lineSeparator() + rulesText(this.solutionRules) + System.lineSeparator() +
+               "% submission" + System.lineSeparator() + rulesText(this.submissionRules) + System.lineSeparator() +
+               "% queries" + System.lineSeparator() + String.join(System.lineSeparator(), this.queryTexts()) + System.lineSeparator() +
+               "% unchecked terms" + System.lineSeparator() + this.uncheckedTerms;
+    }
+
+    /**
+     * An atom.
+     *
+     * @param predicate The predicate name.
+     * @param terms     The terms.
+     */
+    record Atom(String predicate, List<String> terms) {
+        Atom {
+            terms = List.copyOf(terms);
+        }
+
+        Atom map(Function<String, String> mapping) {
+            return new Atom(this.predicate, this.terms.stream().map(mapping).toList());
+        }
+
+        @Override
+        public String toString() {
+            return this.terms.isEmpty() ? this.predicate : this.predicate + "(" + String.join(",", this.terms) + ")";
+        }
+    }
+
+    /**
+     * A built-in comparison.
+     *
+     * @param left     The left term.
+     * @param operator The operator.
+     * @param right    The right term.
+     */
+    record Comparison(String left, String operator, String right) {
+        @Override
+        public String toString() {
+            return this.left + " " + this.operator + " " + this.right;
+        }
+    }
+
+    /**
+     * A rule; facts are not represented as rules.
+     *
+     * @param head         The head.
+     * @param positiveBody The positive body atoms.
+     * @param negativeBody The negated body atoms.
+     * @param comparisons  The comparisons.
+     */
+    record Rule(Atom head, List<Atom> positiveBody, List<Atom> negativeBody, List<Comparison> comparisons) {
+        Rule {
+            positiveBody = List.copyOf(positiveBody);
+            negativeBody = List.copyOf(negativeBody);
+            comparisons = List.copyOf(comparisons);
+        }
+
+        /**
+         * Returns whether every variable of the head, the negated atoms and the comparisons occurs in a positive body atom
+         * and no anonymous variable is used outside positive body atoms.
+         * <p>
+         * Rules in which a variable of a negated atom is equated with a constant (in the order the equalities are written) are not safe either, because DLV rejects them.
+         *
+         * @return {@code true} if the rule is safe.
+         */
+        boolean isSafe() {
+            Set<String> constantVariables = new HashSet<>();
+            for (Comparison comparison : this.comparisons) {
+                if (!comparison.operator().equals("=") && !comparison.operator().equals("=="))
+                    continue;
+                if (isVariable(comparison.right()) && (!isVariable(comparison.left()) || constantVariables.contains(comparison.left())))
+                    constantVariables.add(comparison.right());
+                if (isVariable(comparison.left()) && (!isVariable(comparison.right()) || constantVariables.contains(comparison.right())))
+                    constantVariables.add(comparison.left());
+            }
+            if (this.negativeBody.stream().anyMatch(a -> a.terms().stream().anyMatch(constantVariables::contains)))
+                return false;
+
+            Set<String> bound = this.positiveBody.stream().flatMap(a -> a.terms().stream()).filter(FuzzCase::isVariable).collect(Collectors.toSet());
+            List<String> restricted = new ArrayList<>(this.head.terms());
+            this.negativeBody.forEach(a -> restricted.addAll(a.terms()));
+            this.comparisons.forEach(c -> {
+                restricted.add(c.left());
+                restricted.add(c.right());
+            });
+            return restricted.stream().filter(FuzzCase::isVariable).allMatch(t -> !t.equals("_") && bound.contains(t));
+        }
+
+        List<Rule> simplifications() {
+            List<Rule> result = new ArrayList<>();
+            for (List<Atom> atoms : removeEach(this.positiveBody))
+                if (!atoms.isEmpty())
+                    result.add(new Rule(this.head, atoms, this.negativeBody, this.comparisons));
+            for (List<Atom> atoms : removeEach(this.negativeBody))
+                result.add(new Rule(this.head, this.positiveBody, atoms, this.comparisons));
+            for (List<Comparison> comparisons : removeEach(this.comparisons))
+                result.add(new Rule(this.head, this.positiveBody, this.negativeBody, comparisons));
+            return result.stream().filter(Rule::isSafe).toList();
+        }
+
+        @Override
+        public String toString() {
+            List<String> body = new ArrayList<>();
+            this.positiveBody.forEach(a -> body.add(a.toString()));
+            this.negativeBody.forEach(a -> body.add("not " + a));
+            this.comparisons.forEach(c -> body.add(c.toString()));
+            return this.head + " :- " + String.join(", ", body) + ".";
+        }
+    }
+}
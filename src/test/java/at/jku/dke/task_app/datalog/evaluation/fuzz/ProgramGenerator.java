@@ -0,0 +1,226 @@
+package at.jku.dke.task_app.datalog.evaluation.fuzz;
+
+import at.jku.dke.task_app.datalog.data.entities.TermDescription;
+import at.jku.dke.task_app.datalog.evaluation.fuzz.FuzzCase.Atom;
+import at.jku.dke.task_app.datalog.evaluation.fuzz.FuzzCase.Comparison;
+import at.jku.dke.task_app.datalog.evaluation.fuzz.FuzzCase.Rule;
+
+import java.util.*;
+
+/**
+ * Generates random stratified Datalog programs with fact bases from a seed.
+ * <p>
+ * Every position of a predicate is either symbolic or numeric, so that ordering comparisons are only generated
+ * for integers. Negated atoms only refer to predicates of lower strata; positive atoms may refer to the same stratum,
+ * which yields (mutually) recursive rules. The submission is derived from the solution by a few random mutations.
+ */
+final class ProgramGenerator {
+    private static final List<String> SYMBOLS = List.of("a", "b", "c", "d", "e", "f");
+    private static final List<String> NUMBERS = List.of("1", "2", "3", "4", "5", "6", "7", "8", "9");
+    private static final List<String> EQUALITY_OPERATORS = List.of("=", "!=");
+    private static final List<String> ORDERING_OPERATORS = List.of("=", "!=", "<", "<=", ">", ">=");
+
+    private final Random random;
+    private final String suffix;
+    private final Map<String, List<Boolean>> signatures;
+    private int variables;
+
+    /**
+     * Creates a new instance of class {@link ProgramGenerator}.
+     *
+     * @param seed   The seed.
+     * @param suffix The fact encoding suffix (used to generate constants that match encoded facts).
+     */
+    ProgramGenerator(long seed, String suffix) {
+        this.random = new Random(seed);
+        this.suffix = suffix;
+        this.signatures = new HashMap<>();
+    }
+
+    /**
+     * Generates a new case.
+     *
+     * @return The case.
+     */
+    FuzzCase next() {
+        this.signatures.clear();
+
+        // Fact base
+        List<String> edb = new ArrayList<>();
+        List<Atom> facts = new ArrayList<>();
+        int edbCount = 1 + this.random.nextInt(3);
+        for (int i = 0; i < edbCount; i++) {
+            String predicate = "e" + i;
+            edb.add(predicate);
+            this.signatures.put(predicate, this.randomSignature(this.random.nextInt(6) == 0 ? 0 : 1 + this.random.nextInt(3)));
+            Set<List<String>> tuples = new LinkedHashSet<>();
+            int count = this.random.nextInt(9);
+            for (int j = 0; j < count; j++)
+                tuples.add(this.signatures.get(predicate).stream().map(numeric -> this.pick(numeric ? NUMBERS.subList(0, 5) : SYMBOLS.subList(0, 4))).toList());
+            tuples.forEach(t -> facts.add(new Atom(predicate, t)));
+        }
+
+        List<TermDescription> uncheckedTerms = new ArrayList<>();
+        List<Atom> factsWithTerms = facts.stream().filter(f -> !f.terms().isEmpty()).toList();
+        if (!factsWithTerms.isEmpty() && this.random.nextInt(3) == 0) {
+            Atom fact = this.pick(factsWithTerms);
+            int position = this.random.nextInt(fact.terms().size());
+            uncheckedTerms.add(new TermDescription(fact.predicate(), fact.terms().get(position), position + 1));
+        }
+
+        // Rules, grouped by strata
+        List<String> idb = new ArrayList<>();
+        List<Rule> rules = new ArrayList<>();
+        int idbCount = 1 + this.random.nextInt(4);
+        for (int i = 0; i < idbCount; i++) {
+            String predicate = "p" + i;
+            idb.add(predicate);
+            this.signatures.put(predicate, this.randomSignature(this.random.nextInt(4)));
+
+            List<String> positive = new ArrayList<>(edb);
+            positive.addAll(idb);
+            List<String> negative = new ArrayList<>(edb);
+            negative.addAll(idb.subList(0, i));
+            int ruleCount = 1 + this.random.nextInt(2);
+            for (int j = 0; j < ruleCount; j++)
+                rules.add(this.randomRule(predicate, positive, negative));
+        }
+
+        // Queries (the executors key results by predicate, so at most one query per predicate)
+        List<Atom> queries = new ArrayList<>();
+        for (String predicate : idb) {
+            if (this.random.nextInt(3) != 0)
+                queries.add(this.randomQuery(predicate));
+        }
+        if (queries.isEmpty())
+            queries.add(this.randomQuery(idb.getLast()));
+
+        return new FuzzCase(facts, rules, this.mutate(rules, edb), queries, uncheckedTerms);
+    }
+
+    //#region --- Rules ---
+    private Rule randomRule(String headPredicate, List<String> positivePredicates, List<String> negativePredicates) {
+        this.variables = 0;
+        Map<String, Boolean> bound = new LinkedHashMap<>();
+
+        List<Atom> positive = new ArrayList<>();
+        int positiveCount = 1 + this.random.nextInt(3);
+        for (int i = 0; i < positiveCount; i++) {
+            String predicate = this.pick(positivePredicates);
+            List<String> terms = new ArrayList<>();
+            for (boolean numeric : this.signatures.get(predicate)) {
+                List<String> candidates = bound.entrySet().stream().filter(e -> e.getValue() == numeric).map(Map.Entry::getKey).toList();
+                int choice = this.random.nextInt(20);
+                if (choice == 0) {
+                    terms.add("_");
+                } else if (choice == 1) {
+                    terms.add(this.randomConstant(numeric));
+                } else if (choice < 10 && !candidates.isEmpty()) {
+                    terms.add(this.pick(candidates));
+                } else {
+                    String variable = "V" + this.variables++;
+                    bound.put(variable, numeric);
+                    terms.add(variable);
+                }
+            }
+            positive.add(new Atom(predicate, terms));
+        }
+
+        List<Comparison> comparisons = new ArrayList<>();
+        int comparisonCount = this.random.nextInt(3) == 0 ? 1 + this.random.nextInt(2) : 0;
+        for (int i = 0; i < comparisonCount && !bound.isEmpty(); i++) {
+            String left = this.pick(new ArrayList<>(bound.keySet()));
+            boolean numeric = bound.get(left);
+            List<String> candidates = bound.entrySet().stream().filter(e -> e.getValue() == numeric && !e.getKey().equals(left)).map(Map.Entry::getKey).toList();
+            String right = candidates.isEmpty() || this.random.nextInt(3) == 0 ? this.randomConstant(numeric) : this.pick(candidates);
+            comparisons.add(new Comparison(left, this.pick(numeric ? ORDERING_OPERATORS : EQUALITY_OPERATORS), right));
+        }
+
+        List<Atom> negative = new ArrayList<>();
+        if (this.random.nextInt(3) == 0) {
+            String predicate = this.pick(negativePredicates);
+            negative.add(new Atom(predicate, this.signatures.get(predicate).stream().map(numeric -> this.boundOrConstant(bound, numeric)).toList()));
+        }
+
+        Atom head = new Atom(headPredicate, this.signatures.get(headPredicate).stream().map(numeric -> this.boundOrConstant(bound, numeric)).toList());
+        Rule rule = new Rule(head, positive, negative, comparisons);
+        return rule.isSafe() ? rule : new Rule(head, positive, List.of(), comparisons);
+    }
+
+    private List<Rule> mutate(List<Rule> rules, List<String> edb) {
+        List<Rule> result = new ArrayList<>(rules);
+        int mutations = this.random.nextInt(3);
+        for (int i = 0; i < mutations && !result.isEmpty(); i++) {
+            int index = this.random.nextInt(result.size());
+            Rule rule = result.get(index);
+            switch (this.random.nextInt(4)) {
+                case 0 -> result.remove(index);
+                case 1 -> {
+                    List<Rule> simplifications = rule.simplifications();
+                    if (!simplifications.isEmpty())
+                        result.set(index, this.pick(simplifications));
+                }
+                case 2 -> {
+                    if (!rule.comparisons().isEmpty()) {
+                        List<Comparison> comparisons = new ArrayList<>(rule.comparisons());
+                        Comparison comparison = comparisons.removeFirst();
+                        boolean ordering = !EQUALITY_OPERATORS.contains(comparison.operator());
+                        comparisons.add(new Comparison(comparison.left(), this.pick(ordering ? ORDERING_OPERATORS : EQUALITY_OPERATORS), comparison.right()));
+                        Rule mutated = new Rule(rule.head(), rule.positiveBody(), rule.negativeBody(), comparisons);
+                        if (mutated.isSafe())
+                            result.set(index, mutated);
+                    }
+                }
+                default -> {
+                    String predicate = this.pick(edb);
+                    Map<String, Boolean> bound = new HashMap<>();
+                    for (Atom atom : rule.positiveBody()) {
+                        for (int j = 0; j < atom.terms().size(); j++) {
+                            if (FuzzCase.isVariable(atom.terms().get(j)) && !atom.terms().get(j).equals("_"))
+                                bound.put(atom.terms().get(j), this.signatures.get(atom.predicate()).get(j));
+                        }
+                    }
+                    List<Atom> negative = new ArrayList<>(rule.negativeBody());
+                    negative.add(new Atom(predicate, this.signatures.get(predicate).stream().map(numeric -> this.boundOrConstant(bound, numeric)).toList()));
+                    Rule mutated = new Rule(rule.head(), rule.positiveBody(), negative, rule.comparisons());
+                    if (mutated.isSafe())
+                        result.set(index, mutated);
+                }
+            }
+        }
+        return result;
+    }
+
+    private Atom randomQuery(String predicate) {
+        List<String> terms = new ArrayList<>();
+        List<String> variables = List.of("X", "Y", "Z");
+        for (boolean numeric : this.signatures.get(predicate))
+            terms.add(this.random.nextInt(4) == 0 ? this.randomConstant(numeric) : this.pick(variables));
+        return new Atom(predicate, terms);
+    }
+    //#endregion
+
+    //#region --- Helpers ---
+    private List<Boolean> randomSignature(int arity) {
+        List<Boolean> signature = new ArrayList<>();
+        for (int i = 0; i < arity; i++)
+            signature.add(this.random.nextInt(3) == 0);
+        return signature;
+    }
+
+    private String boundOrConstant(Map<String, Boolean> bound, boolean numeric) {
+        List<String> candidates = bound.entrySet().stream().filter(e -> e.getValue() == numeric).map(Map.Entry::getKey).toList();
+        return candidates.isEmpty() || this.random.nextInt(8) == 0 ? this.randomConstant(numeric) : this.pick(candidates);
+    }
+
+    private String randomConstant(boolean numeric) {
+        // Mostly encoded constants, so that rules can actually match the encoded facts
+        String value = this.pick(numeric ? NUMBERS.subList(0, 5) : SYMBOLS);
+        return this.random.nextInt(4) == 0 ? value : value + this.suffix;
+    }
+
+    private <T> T pick(List<T> list) {
+        return list.get(this.random.nextInt(list.size()));
+    }
+    //#endregion
+}
@@ -0,0 +1,200 @@
+package at.jku.dke.task_app.datalog.evaluation.fuzz;
+
+import at.jku.dke.task_app.datalog.data.entities.TermDescription;
+import at.jku.dke.task_app.datalog.evaluation.fuzz.FuzzCase.Atom;
+import at.jku.dke.task_app.datalog.evaluation.fuzz.FuzzCase.Comparison;
+import at.jku.dke.task_app.datalog.evaluation.fuzz.FuzzCase.Rule;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Naive evaluator of stratified Datalog programs used as the oracle of the fuzzer.
+ * <p>
+ * It is deliberately written as simple as possible (naive fixpoint per stratum, nested loop joins)
+ * and shares no code with the executors it checks.
+ */
+final class ReferenceEvaluator {
+    private ReferenceEvaluator() {
+    }
+
+    /**
+     * Encodes the facts like the task app does: every term not listed in the unchecked terms gets the suffix appended.
+     *
+     * @param facts          The facts.
+     * @param uncheckedTerms The unchecked terms.
+     * @param suffix         The fact encoding suffix.
+     * @return The encoded facts.
+     */
+    static List<Atom> encode(List<Atom> facts, List<TermDescription> uncheckedTerms, String suffix) {
+        List<Atom> result = new ArrayList<>();
+        for (Atom fact : facts) {
+            List<String> terms = new ArrayList<>();
+            for (int i = 0; i < fact.terms().size(); i++) {
+                int position = i + 1;
+                String term = fact.terms().get(i);
+                boolean unchecked = uncheckedTerms.stream()
+                    .anyMatch(t -> t.predicate().equals(fact.predicate()) && t.position() == position && t.term().equals(term));
+                terms.add(unchecked ? term : term + suffix);
+            }
+            result.add(new Atom(fact.predicate(), terms));
+        }
+        return result;
+    }
+
+    /**
+     * Computes the perfect model of the given program.
+     *
+     * @param facts The facts.
+     * @param rules The rules.
+     * @return The model: for each predicate the set of derived tuples.
+     */
+    static Map<String, Set<List<String>>> evaluate(List<Atom> facts, List<Rule> rules) {
+        Map<String, Set<List<String>>> model = new HashMap<>();
+        facts.forEach(f -> model.computeIfAbsent(f.predicate(), k -> new HashSet<>()).add(f.terms()));
+
+        Map<String, Integer> strata = stratify(rules);
+        int maxStratum = strata.values().stream().mapToInt(Integer::intValue).max().orElse(0);
+        for (int stratum = 0; stratum <= maxStratum; stratum++) {
+            final int current = stratum;
+            List<Rule> stratumRules = rules.stream().filter(r -> strata.get(r.head().predicate()) == current).toList();
+            boolean changed = true;
+            while (changed) {
+                changed = false;
+                for (Rule rule : stratumRules) {
+                    for (List<String> tuple : derive(rule, model)) {
+                        if (model.computeIfAbsent(rule.head().predicate(), k -> new HashSet<>()).add(tuple))
+                            changed = true;
+                    }
+                }
+            }
+        }
+        return model;
+    }
+
+    /**
+     * Formats the model like {@code dlv -nofacts}: only atoms of predicates defined by rules are printed.
+     *
+     * @param model The model.
+     * @param rules The rules.
+     * @return The formatted model.
+     */
+    static String format(Map<String, Set<List<String>>> model, List<Rule> rules) {
+        Set<String> predicates = rules.stream().map(r -> r.head().predicate()).collect(Collectors.toCollection(TreeSet::new));
+        List<String> atoms = new ArrayList<>();
+        for (String predicate : predicates)
+            model.getOrDefault(predicate, Set.of()).forEach(t -> atoms.add(new Atom(predicate, t).toString()));
+        return "{" + String.join(", ", atoms) + "}" + System.lineSeparator();
+    }
+
+    /**
+     * Answers the query like {@code dlv -cautious}.
+     *
+     * @param model The model.
+     * @param query The query.
+     * @return The lines printed by DLV: one line per answer with the values of the distinct variables
+     * (in order of their first occurrence), or a single line for ground queries.
+     */
+    static List<String> query(Map<String, Set<List<String>>> model, Atom query) {
+        boolean ground = query.terms().stream().noneMatch(FuzzCase::isVariable);
+        if (ground)
+            return List.of(query + " is cautiously " + model.getOrDefault(query.predicate(), Set.of()).contains(query.terms()) + ".");
+
+        Set<String> answers = new LinkedHashSet<>();
+        for (List<String> tuple : model.getOrDefault(query.predicate(), Set.of())) {
+            if (tuple.size() != query.terms().size())
+                continue;
+            Map<String, String> binding = new LinkedHashMap<>();
+            if (match(query, tuple, binding))
+                answers.add(String.join(", ", binding.values()));
+        }
+        return new ArrayList<>(answers);
+    }
+
+    private static Map<String, Integer> stratify(List<Rule> rules) {
+        Map<String, Integer> strata = new HashMap<>();
+        rules.forEach(r -> strata.put(r.head().predicate(), 0));
+        int predicates = strata.size();
+        boolean changed = true;
+        while (changed) {
+            changed = false;
+            for (Rule rule : rules) {
+                int stratum = strata.get(rule.head().predicate());
+                for (Atom atom : rule.positiveBody())
+                    stratum = Math.max(stratum, strata.getOrDefault(atom.predicate(), 0));
+                for (Atom atom : rule.negativeBody())
+                    stratum = Math.max(stratum, strata.getOrDefault(atom.predicate(), 0) + 1);
+                if (stratum > predicates)
+                    throw new IllegalArgumentException("Program is not stratified");
+                if (stratum > strata.get(rule.head().predicate())) {
+                    strata.put(rule.head().predicate(), stratum);
+                    changed = true;
+                }
+            }
+        }
+        return strata;
+    }
+
+    private static List<List<String>> derive(Rule rule, Map<String, Set<List<String>>> model) {
+        List<Map<String, String>> bindings = List.of(new HashMap<>());
+        int anonymous = 0;
+        for (Atom atom : rule.positiveBody()) {
+            List<String> terms = new ArrayList<>();
+            for (String term : atom.terms())
+                terms.add(term.equals("_") ? "_" + anonymous++ : term);
+            Atom renamed = new Atom(atom.predicate(), terms);
+
+            List<Map<String, String>> next = new ArrayList<>();
+            for (Map<String, String> binding : bindings) {
+                for (List<String> tuple : model.getOrDefault(atom.predicate(), Set.of())) {
+                    Map<String, String> extended = new HashMap<>(binding);
+                    if (tuple.size() == terms.size() && match(renamed, tuple, extended))
+                        next.add(extended);
+                }
+            }
+            bindings = next;
+        }
+
+        List<List<String>> result = new ArrayList<>();
+        for (Map<String, String> binding : bindings) {
+            if (!rule.comparisons().stream().allMatch(c -> compare(c, binding)))
+                continue;
+            if (rule.negativeBody().stream().anyMatch(a -> model.getOrDefault(a.predicate(), Set.of()).contains(substitute(a, binding))))
+                continue;
+            result.add(substitute(rule.head(), binding));
+        }
+        return result;
+    }
+
+    private static boolean match(Atom atom, List<String> tuple, Map<String, String> binding) {
+        for (int i = 0; i < tuple.size(); i++) {
+            String term = atom.terms().get(i);
+            if (FuzzCase.isVariable(term)) {
+                String bound = binding.putIfAbsent(term, tuple.get(i));
+                if (bound != null && !bound.equals(tuple.get(i)))
+                    return false;
+            } else if (!term.equals(tuple.get(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static List<String> substitute(Atom atom, Map<String, String> binding) {
+        return atom.terms().stream().map(t -> FuzzCase.isVariable(t) ? binding.get(t) : t).toList();
+    }
+
+    private static boolean compare(Comparison comparison, Map<String, String> binding) {
+        String left = FuzzCase.isVariable(comparison.left()) ? binding.get(comparison.left()) : comparison.left();
+        String right = FuzzCase.isVariable(comparison.right()) ? binding.get(comparison.right()) : comparison.right();
+        return switch (comparison.operator()) {
+            case "=", "==" -> left.equals(right);
+            case "!=", "<>" -> !left.equals(right);
+            case "<" -> Long.parseLong(left) < Long.parseLong(right);
+            case "<=" -> Long.parseLong(left) <= Long.parseLong(right);
+            case ">" -> Long.parseLong(left) > Long.parseLong(right);
+            case ">=" -> Long.parseLong(left) >= Long.parseLong(right);
+            default -> throw new IllegalArgumentException("Unknown operator " + comparison.operator());
+        };
+    }
+}
@@ -0,0 +1,40 @@
+package at.jku.dke.task_app.datalog.evaluation.fuzz;
+
+import java.util.function.Predicate;
+
+/**
+ * Greedily shrinks a failing case to a minimal reproduction.
+ * <p>
+ * Facts, rules, queries, unchecked terms and body literals are removed one at a time as long as the case still fails;
+ * the result is a case where no single removal keeps the failure.
+ */
+final class Shrinker {
+    private Shrinker() {
+    }
+
+    /**
+     * Shrinks the given case.
+     *
+     * @param fuzzCase The failing case.
+     * @param fails    Returns whether a case still fails.
+     * @param maxSteps The maximum number of checked candidates.
+     * @return The smallest failing case found.
+     */
+    static FuzzCase shrink(FuzzCase fuzzCase, Predicate<FuzzCase> fails, int maxSteps) {
+        int steps = 0;
+        boolean reduced = true;
+        while (reduced && steps < maxSteps) {
+            reduced = false;
+            for (FuzzCase candidate : fuzzCase.reductions()) {
+                if (++steps > maxSteps)
+                    break;
+                if (fails.test(candidate)) {
+                    fuzzCase = candidate;
+                    reduced = true;
+                    break;
+                }
+            }
+        }
+        return fuzzCase;
+    }
+}
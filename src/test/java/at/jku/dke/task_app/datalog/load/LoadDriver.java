@@ -0,0 +1,169 @@
+package at.jku.dke.task_app.datalog.load;
+
+import at.jku.dke.etutor.task_app.auth.AuthConstants;
+import at.jku.dke.etutor.task_app.dto.SubmissionMode;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Function;
+
+/**
+ * Sends requests with an open-model arrival process.
+ * <p>
+ * The inter-arrival times are exponentially distributed (Poisson arrivals), and a request is sent at its arrival time
+ * regardless of how many requests are still outstanding, so that a slow server does not slow down the load.
+ * The latency is measured from the scheduled arrival time to avoid coordinated omission.
+ */
+public final class LoadDriver {
+    private final HttpClient client;
+    private final URI baseUri;
+    private final String apiKey;
+    private final LoadSettings settings;
+
+    /**
+     * Creates a new instance of class {@link LoadDriver}.
+     *
+     * @param client   The HTTP client.
+     * @param baseUri  The base URI of the application.
+     * @param apiKey   The API key sent with every request.
+     * @param settings The load settings.
+     */
+    public LoadDriver(HttpClient client, URI baseUri, String apiKey, LoadSettings settings) {
+        this.client = client;
+        this.baseUri = baseUri;
+        this.apiKey = apiKey;
+        this.settings = settings;
+    }
+
+    /**
+     * Sends requests for the configured duration and waits for the outstanding responses.
+     *
+     * @param random   The random generator used for the arrival times and passed to the request factory.
+     * @param requests Creates the request of an arrival.
+     * @return The samples of all sent requests.
+     * @throws InterruptedException If the thread was interrupted while waiting.
+     */
+    public Run run(Random random, Function<Random, Request> requests) throws InterruptedException {
+        var samples = new ConcurrentLinkedQueue<Sample>();
+        var futures = new ArrayList<CompletableFuture<Void>>();
+        long start = System.nanoTime();
+        long end = start + this.settings.duration().toNanos();
+        double meanGap = TimeUnit.SECONDS.toNanos(1) / this.settings.rate();
+
+        long arrival = start;
+        while (true) {
+            arrival += (long) (-Math.log(1 - random.nextDouble()) * meanGap);
+            if (arrival >= end)
+                break;
+            var request = requests.apply(random);
+            long wait;
+            while ((wait = arrival - System.nanoTime()) > 0) {
+                LockSupport.parkNanos(wait);
+                if (Thread.interrupted())
+                    throw new InterruptedException();
+            }
+            futures.add(send(request, arrival).thenAccept(samples::add));
+        }
+
+        try {
+            CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new))
+                .get(this.settings.timeout().plusSeconds(10).toNanos(), TimeUnit.NANOSECONDS);
+        } catch (ExecutionException | TimeoutException ex) {
+            throw new IllegalStateException("Outstanding requests did not complete.", ex);
+        }
+        long finished = samples.stream().mapToLong(Sample::finished).max().orElse(end);
+        return new Run(List.copyOf(samples), Duration.ofNanos(Math.max(finished, end) - start));
+    }
+
+    private CompletableFuture<Sample> send(Request request, long arrival) {
+        var httpRequest = HttpRequest.newBuilder(this.baseUri.resolve(request.path()))
+            .timeout(this.settings.timeout())
+            .header(AuthConstants.AUTH_TOKEN_HEADER_NAME, this.apiKey)
+            .header("Content-Type", "application/json")
+            .POST(HttpRequest.BodyPublishers.ofString(request.body()))
+            .build();
+        return this.client.sendAsync(httpRequest, HttpResponse.BodyHandlers.discarding())
+            .handle((response, ex) -> {
+                long finished = System.nanoTime();
+                Outcome outcome;
+                int status = response == null ? 0 : response.statusCode();
+                if (ex != null)
+                    outcome = ex instanceof HttpTimeoutException || ex.getCause() instanceof HttpTimeoutException ? Outcome.TIMEOUT : Outcome.ERROR;
+                else if (status / 100 == 2)
+                    outcome = Outcome.OK;
+                else if (status == 503)
+                    outcome = Outcome.REJECTED;
+                else
+                    outcome = Outcome.ERROR;
+                return new Sample(request.endpoint(), request.mode(), outcome, status, Duration.ofNanos(finished - arrival), finished);
+            });
+    }
+
+    /**
+     * A request to send.
+     *
+     * @param endpoint The name of the endpoint used to group the samples (e.g. {@code dlg}).
+     * @param mode     The submission mode.
+     * @param path     The path relative to the base URI.
+     * @param body     The JSON body.
+     */
+    public record Request(String endpoint, SubmissionMode mode, String path, String body) {
+    }
+
+    /**
+     * The result of a load run.
+     *
+     * @param samples The samples of all sent requests.
+     * @param elapsed The time from the start of the arrivals until the last response or the end of the arrivals, whichever is later.
+     */
+    public record Run(List<Sample> samples, Duration elapsed) {
+    }
+
+    /**
+     * The result of a sent request.
+     *
+     * @param endpoint The name of the endpoint.
+     * @param mode     The submission mode.
+     * @param outcome  The outcome.
+     * @param status   The HTTP status code or 0 if no response was received.
+     * @param latency  The time from the scheduled arrival to the response.
+     * @param finished The value of {@link System#nanoTime()} when the response was received.
+     */
+    public record Sample(String endpoint, SubmissionMode mode, Outcome outcome, int status, Duration latency, long finished) {
+    }
+
+    /**
+     * The outcome of a request.
+     */
+    public enum Outcome {
+        /**
+         * The request was answered with a 2xx status.
+         */
+        OK,
+        /**
+         * The request was rejected with status 503 because the execution queue was full.
+         */
+        REJECTED,
+        /**
+         * No response was received within the client timeout.
+         */
+        TIMEOUT,
+        /**
+         * The request failed otherwise.
+         */
+        ERROR
+    }
+}
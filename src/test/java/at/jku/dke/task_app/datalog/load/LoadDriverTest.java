@@ -0,0 +1,98 @@
+package at.jku.dke.task_app.datalog.load;
+
+import at.jku.dke.etutor.task_app.dto.SubmissionMode;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LoadDriverTest {
+
+    private HttpServer server;
+
+    @BeforeEach
+    void startServer() throws IOException {
+        this.server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        this.server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        this.server.createContext("/ok", exchange -> {
+            exchange.sendResponseHeaders(200, -1);
+            exchange.close();
+        });
+        this.server.createContext("/busy", exchange -> {
+            exchange.sendResponseHeaders(503, -1);
+            exchange.close();
+        });
+        this.server.createContext("/slow", exchange -> {
+            try {
+                Thread.sleep(1_000);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+            exchange.sendResponseHeaders(200, -1);
+            exchange.close();
+        });
+        this.server.start();
+    }
+
+    @AfterEach
+    void stopServer() {
+        this.server.stop(0);
+    }
+
+    @Test
+    void run() throws InterruptedException {
+        // Arrange
+        var settings = new LoadSettings(100, Duration.ofMillis(500), Map.of(SubmissionMode.RUN, 1), 0, Duration.ofMillis(200), LoadSettings.DEFAULT.corpus());
+        var paths = new String[]{"/ok", "/busy", "/slow"};
+
+        try (var client = HttpClient.newHttpClient()) {
+            var driver = new LoadDriver(client, URI.create("http://localhost:" + this.server.getAddress().getPort()), "key", settings);
+
+            // Act
+            var run = driver.run(new Random(1), random -> {
+                String path = paths[random.nextInt(paths.length)];
+                return new LoadDriver.Request(path, SubmissionMode.RUN, path, "{}");
+            });
+
+            // Assert
+            assertThat(run.samples()).hasSizeBetween(20, 100);
+            assertThat(run.elapsed()).isGreaterThanOrEqualTo(Duration.ofMillis(500));
+            for (var sample : run.samples()) {
+                var expected = switch (sample.endpoint()) {
+                    case "/ok" -> LoadDriver.Outcome.OK;
+                    case "/busy" -> LoadDriver.Outcome.REJECTED;
+                    default -> LoadDriver.Outcome.TIMEOUT;
+                };
+                assertThat(sample.outcome()).as(sample.endpoint()).isEqualTo(expected);
+            }
+        }
+    }
+
+    @Test
+    void run_openModel() throws InterruptedException {
+        // Arrange: the server is much slower than the arrival rate
+        var settings = new LoadSettings(50, Duration.ofMillis(500), Map.of(SubmissionMode.RUN, 1), 0, Duration.ofSeconds(5), LoadSettings.DEFAULT.corpus());
+
+        try (var client = HttpClient.newHttpClient()) {
+            var driver = new LoadDriver(client, URI.create("http://localhost:" + this.server.getAddress().getPort()), "key", settings);
+
+            // Act
+            var run = driver.run(new Random(2), random -> new LoadDriver.Request("slow", SubmissionMode.RUN, "/slow", "{}"));
+
+            // Assert: the requests are not delayed by the outstanding responses
+            assertThat(run.samples()).hasSizeGreaterThan(10).allMatch(s -> s.outcome() == LoadDriver.Outcome.OK);
+            assertThat(run.elapsed()).isLessThan(Duration.ofSeconds(3));
+        }
+    }
+}
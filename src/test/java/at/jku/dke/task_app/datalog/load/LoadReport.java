@@ -0,0 +1,133 @@
+package at.jku.dke.task_app.datalog.load;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+/**
+ * The result of a load test.
+ *
+ * @param offeredRate    The number of requests sent per second.
+ * @param throughput     The number of successful responses per second.
+ * @param elapsedSeconds The time from the start of the arrivals until the last response.
+ * @param total          The statistics of all requests.
+ * @param endpoints      The statistics per endpoint and submission mode (e.g. {@code dlg/SUBMIT}).
+ * @param processes      The statistics of the DLV processes.
+ */
+public record LoadReport(double offeredRate, double throughput, double elapsedSeconds, Statistics total,
+                         Map<String, Statistics> endpoints, Processes processes) {
+
+    /**
+     * Creates the report of a load run.
+     *
+     * @param run       The load run.
+     * @param duration  The duration of the arrivals.
+     * @param processes The statistics of the DLV processes.
+     * @return The report.
+     */
+    public static LoadReport of(LoadDriver.Run run, Duration duration, Processes processes) {
+        var total = Statistics.of(run.samples());
+        var endpoints = run.samples().stream()
+            .collect(Collectors.groupingBy(s -> s.endpoint() + "/" + s.mode(), TreeMap::new, Collectors.toList()))
+            .entrySet().stream()
+            .collect(Collectors.toMap(Map.Entry::getKey, e -> Statistics.of(e.getValue()), (a, b) -> a, LinkedHashMap::new));
+        double elapsed = run.elapsed().toNanos() / 1e9;
+        return new LoadReport(run.samples().size() / (duration.toNanos() / 1e9), total.ok() / elapsed, elapsed, total, endpoints, processes);
+    }
+
+    /**
+     * Formats the report as table.
+     *
+     * @return The formatted report.
+     */
+    public String format() {
+        var sb = new StringBuilder();
+        sb.append(String.format(Locale.ROOT, "offered %.2f req/s, throughput %.2f req/s, elapsed %.1f s%n", this.offeredRate, this.throughput, this.elapsedSeconds));
+        sb.append(String.format(Locale.ROOT, "%-16s %8s %8s %8s %8s %8s %9s %9s %9s %9s%n",
+            "", "requests", "ok", "rejected", "timeouts", "errors", "p50 ms", "p95 ms", "p99 ms", "max ms"));
+        this.endpoints.forEach((name, statistics) -> sb.append(statistics.format(name)));
+        sb.append(this.total.format("total"));
+        sb.append(String.format(Locale.ROOT, "DLV processes: %d started, %d running at most, %d queued at most, %d rejected%n",
+            this.processes.started(), this.processes.peakRunning(), this.processes.peakQueued(), this.processes.rejected()));
+        return sb.toString();
+    }
+
+    /**
+     * Statistics of requests.
+     * <p>
+     * The latencies are in milliseconds and only include successful requests, as rejected requests return immediately.
+     *
+     * @param requests    The number of requests.
+     * @param ok          The number of successful requests.
+     * @param rejected    The number of requests rejected with status 503.
+     * @param timeouts    The number of requests without response within the client timeout.
+     * @param errors      The number of otherwise failed requests.
+     * @param timeoutRate The share of requests that timed out.
+     * @param p50         The median latency.
+     * @param p95         The 95th percentile of the latency.
+     * @param p99         The 99th percentile of the latency.
+     * @param max         The maximum latency.
+     */
+    public record Statistics(int requests, int ok, int rejected, int timeouts, int errors, double timeoutRate,
+                             double p50, double p95, double p99, double max) {
+
+        /**
+         * Computes the statistics of the given samples.
+         *
+         * @param samples The samples.
+         * @return The statistics.
+         */
+        public static Statistics of(Collection<LoadDriver.Sample> samples) {
+            var counts = samples.stream().collect(Collectors.groupingBy(LoadDriver.Sample::outcome, Collectors.counting()));
+            var latencies = samples.stream()
+                .filter(s -> s.outcome() == LoadDriver.Outcome.OK)
+                .mapToDouble(s -> s.latency().toNanos() / 1e6)
+                .sorted()
+                .boxed()
+                .toList();
+            int timeouts = counts.getOrDefault(LoadDriver.Outcome.TIMEOUT, 0L).intValue();
+            return new Statistics(samples.size(),
+                counts.getOrDefault(LoadDriver.Outcome.OK, 0L).intValue(),
+                counts.getOrDefault(LoadDriver.Outcome.REJECTED, 0L).intValue(),
+                timeouts,
+                counts.getOrDefault(LoadDriver.Outcome.ERROR, 0L).intValue(),
+                samples.isEmpty() ? 0 : (double) timeouts / samples.size(),
+                percentile(latencies, 0.50), percentile(latencies, 0.95), percentile(latencies, 0.99), percentile(latencies, 1));
+        }
+
+        /**
+         * Returns the percentile of the sorted values using the nearest-rank method.
+         *
+         * @param sorted     The sorted values.
+         * @param percentile The percentile (between 0 and 1).
+         * @return The value or 0 if there are no values.
+         */
+        static double percentile(List<Double> sorted, double percentile) {
+            if (sorted.isEmpty())
+                return 0;
+            int rank = (int) Math.ceil(percentile * sorted.size());
+            return sorted.get(Math.max(rank, 1) - 1);
+        }
+
+        private String format(String name) {
+            return String.format(Locale.ROOT, "%-16s %8d %8d %8d %8d %8d %9.1f %9.1f %9.1f %9.1f%n",
+                name, this.requests, this.ok, this.rejected, this.timeouts, this.errors, this.p50, this.p95, this.p99, this.max);
+        }
+    }
+
+    /**
+     * Statistics of the DLV processes during a load test.
+     *
+     * @param started     The number of DLV processes started.
+     * @param peakRunning The maximum number of DLV processes running at the same time.
+     * @param peakQueued  The maximum number of executions waiting for a free slot at the same time.
+     * @param rejected    The number of executions rejected by the scheduler.
+     */
+    public record Processes(long started, int peakRunning, int peakQueued, long rejected) {
+    }
+}
@@ -0,0 +1,80 @@
+package at.jku.dke.task_app.datalog.load;
+
+import at.jku.dke.etutor.task_app.dto.SubmissionMode;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class LoadReportTest {
+
+    @Test
+    void of() {
+        // Arrange
+        var samples = new ArrayList<LoadDriver.Sample>();
+        IntStream.rangeClosed(1, 100).forEach(i -> samples.add(sample("dlg", SubmissionMode.SUBMIT, LoadDriver.Outcome.OK, i)));
+        samples.add(sample("dlg", SubmissionMode.SUBMIT, LoadDriver.Outcome.REJECTED, 1));
+        samples.add(sample("asp", SubmissionMode.RUN, LoadDriver.Outcome.TIMEOUT, 30_000));
+        samples.add(sample("asp", SubmissionMode.RUN, LoadDriver.Outcome.OK, 500));
+        var run = new LoadDriver.Run(samples, Duration.ofSeconds(20));
+
+        // Act
+        var report = LoadReport.of(run, Duration.ofSeconds(10), new LoadReport.Processes(150, 4, 7, 1));
+
+        // Assert
+        assertThat(report.offeredRate()).isEqualTo(10.3);
+        assertThat(report.throughput()).isEqualTo(5.05);
+        assertThat(report.endpoints()).containsOnlyKeys("asp/RUN", "dlg/SUBMIT");
+        var dlg = report.endpoints().get("dlg/SUBMIT");
+        assertThat(dlg).isEqualTo(new LoadReport.Statistics(101, 100, 1, 0, 0, 0, 50, 95, 99, 100));
+        var asp = report.endpoints().get("asp/RUN");
+        assertThat(asp.timeouts()).isEqualTo(1);
+        assertThat(asp.timeoutRate()).isEqualTo(0.5);
+        assertThat(asp.p99()).isEqualTo(500);
+        assertThat(report.total().requests()).isEqualTo(103);
+        assertThat(report.total().max()).isEqualTo(500);
+        assertThat(report.format()).contains("dlg/SUBMIT", "150 started");
+    }
+
+    @Test
+    void percentile() {
+        // Act & Assert
+        assertThat(LoadReport.Statistics.percentile(List.of(), 0.5)).isZero();
+        assertThat(LoadReport.Statistics.percentile(List.of(3.0), 0.99)).isEqualTo(3);
+        assertThat(LoadReport.Statistics.percentile(List.of(1.0, 2.0, 3.0, 4.0), 0.5)).isEqualTo(2);
+        assertThat(LoadReport.Statistics.percentile(List.of(1.0, 2.0, 3.0, 4.0), 0.0)).isEqualTo(1);
+    }
+
+    @Test
+    void settings_pickMode() {
+        // Arrange
+        var settings = new LoadSettings(1, Duration.ofSeconds(1), LoadSettings.parseMix("run=1, submit=3"), 0, Duration.ofSeconds(1), LoadSettings.DEFAULT.corpus());
+        var random = new Random(3);
+
+        // Act
+        var modes = IntStream.range(0, 4000).mapToObj(i -> settings.pickMode(random)).toList();
+
+        // Assert
+        assertThat(modes).doesNotContain(SubmissionMode.DIAGNOSE);
+        assertThat(modes.stream().filter(m -> m == SubmissionMode.SUBMIT).count()).isBetween(2800L, 3200L);
+    }
+
+    @Test
+    void settings_invalid() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> new LoadSettings(0, Duration.ofSeconds(1), Map.of(SubmissionMode.RUN, 1), 0, Duration.ofSeconds(1), LoadSettings.DEFAULT.corpus()));
+        assertThrows(IllegalArgumentException.class, () -> new LoadSettings(1, Duration.ofSeconds(1), Map.of(SubmissionMode.RUN, 0), 0, Duration.ofSeconds(1), LoadSettings.DEFAULT.corpus()));
+        assertThrows(IllegalArgumentException.class, () -> new LoadSettings(1, Duration.ofSeconds(1), Map.of(SubmissionMode.RUN, 1), 1.5, Duration.ofSeconds(1), LoadSettings.DEFAULT.corpus()));
+    }
+
+    private static LoadDriver.Sample sample(String endpoint, SubmissionMode mode, LoadDriver.Outcome outcome, long millis) {
+        return new LoadDriver.Sample(endpoint, mode, outcome, outcome == LoadDriver.Outcome.OK ? 200 : 0, Duration.ofMillis(millis), 0);
+    }
+}
@@ -0,0 +1,109 @@
+package at.jku.dke.task_app.datalog.load;
+
+import at.jku.dke.etutor.task_app.dto.SubmissionMode;
+import at.jku.dke.task_app.datalog.corpus.CorpusSettings;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+/**
+ * The settings of a load test.
+ *
+ * @param rate     The mean number of submissions per second; the submissions arrive independently of the responses (open model).
+ * @param duration The duration of the arrivals.
+ * @param mix      The relative weights of the submission modes.
+ * @param aspShare The share of ASP submissions (between 0 and 1); the remaining submissions are Datalog submissions.
+ * @param timeout  The time after which the client gives up waiting for a response.
+ * @param corpus   The settings of the corpus the task groups, tasks and submissions are taken from.
+ */
+public record LoadSettings(double rate, Duration duration, Map<SubmissionMode, Integer> mix, double aspShare, Duration timeout, CorpusSettings corpus) {
+    /**
+     * The default settings: a short run at a low rate, so that the load test can run in every build.
+     */
+    public static final LoadSettings DEFAULT = new LoadSettings(5, Duration.ofSeconds(10), parseMix("run=20,diagnose=50,submit=30"), 0.2, Duration.ofSeconds(30),
+        new CorpusSettings(42, 1_000_000, 2, 4, 2, 5, 3, 50, 2_000, 400, 1.0, 20, 0.3));
+
+    /**
+     * Creates a new instance of class {@link LoadSettings}.
+     *
+     * @param rate     The mean number of submissions per second.
+     * @param duration The duration of the arrivals.
+     * @param mix      The relative weights of the submission modes.
+     * @param aspShare The share of ASP submissions.
+     * @param timeout  The time after which the client gives up waiting for a response.
+     * @param corpus   The settings of the corpus.
+     */
+    public LoadSettings {
+        if (rate <= 0 || duration.isNegative() || duration.isZero() || timeout.isNegative() || timeout.isZero())
+            throw new IllegalArgumentException("Rate, duration and timeout must be positive.");
+        if (aspShare < 0 || aspShare > 1)
+            throw new IllegalArgumentException("The share of ASP submissions must be between 0 and 1.");
+        if (mix.values().stream().mapToInt(Integer::intValue).sum() <= 0)
+            throw new IllegalArgumentException("At least one submission mode must have a positive weight.");
+        mix = Map.copyOf(mix);
+    }
+
+    /**
+     * Returns the default settings overridden by system properties.
+     * <p>
+     * Supported system properties:
+     * <ul>
+     *     <li>{@code load.rate}: the mean number of submissions per second (default: 5)</li>
+     *     <li>{@code load.duration}: the duration of the arrivals as ISO-8601 duration (default: PT10S)</li>
+     *     <li>{@code load.mix}: the weights of the submission modes (default: run=20,diagnose=50,submit=30)</li>
+     *     <li>{@code load.aspShare}: the share of ASP submissions (default: 0.2)</li>
+     *     <li>{@code load.timeout}: the client timeout as ISO-8601 duration (default: PT30S)</li>
+     *     <li>{@code corpus.*}: the corpus settings, see {@link CorpusSettings#withSystemProperties()}</li>
+     * </ul>
+     *
+     * @return The settings.
+     */
+    public static LoadSettings fromSystemProperties() {
+        return new LoadSettings(
+            Double.parseDouble(System.getProperty("load.rate", String.valueOf(DEFAULT.rate()))),
+            Duration.parse(System.getProperty("load.duration", DEFAULT.duration().toString())),
+            System.getProperty("load.mix") == null ? DEFAULT.mix() : parseMix(System.getProperty("load.mix")),
+            Double.parseDouble(System.getProperty("load.aspShare", String.valueOf(DEFAULT.aspShare()))),
+            Duration.parse(System.getProperty("load.timeout", DEFAULT.timeout().toString())),
+            DEFAULT.corpus().withSystemProperties());
+    }
+
+    /**
+     * Picks a submission mode according to the weights of the mix.
+     *
+     * @param random The random generator.
+     * @return The submission mode.
+     */
+    public SubmissionMode pickMode(Random random) {
+        int total = this.mix.values().stream().mapToInt(Integer::intValue).sum();
+        int value = random.nextInt(total);
+        for (SubmissionMode mode : SubmissionMode.values()) {
+            value -= this.mix.getOrDefault(mode, 0);
+            if (value < 0)
+                return mode;
+        }
+        throw new IllegalStateException("Unreachable");
+    }
+
+    /**
+     * Parses a mix of submission modes (e.g. {@code run=20,diagnose=50,submit=30}).
+     *
+     * @param value The mix.
+     * @return The weights of the submission modes.
+     */
+    static Map<SubmissionMode, Integer> parseMix(String value) {
+        return Arrays.stream(value.split(","))
+            .map(String::strip)
+            .filter(s -> !s.isEmpty())
+            .map(s -> s.split("="))
+            .collect(Collectors.toMap(
+                s -> SubmissionMode.valueOf(s[0].strip().toUpperCase()),
+                s -> Integer.parseInt(s[1].strip()),
+                Integer::sum,
+                () -> new EnumMap<>(SubmissionMode.class)));
+    }
+}
@@ -0,0 +1,171 @@
+package at.jku.dke.task_app.datalog.load;
+
+import at.jku.dke.etutor.task_app.auth.AuthConstants;
+import at.jku.dke.etutor.task_app.dto.SubmissionMode;
+import at.jku.dke.etutor.task_app.dto.SubmitSubmissionDto;
+import at.jku.dke.task_app.datalog.ClientSetupExtension;
+import at.jku.dke.task_app.datalog.DatabaseSetupExtension;
+import at.jku.dke.task_app.datalog.config.DatalogSettings;
+import at.jku.dke.task_app.datalog.corpus.Corpus;
+import at.jku.dke.task_app.datalog.corpus.CorpusGenerator;
+import at.jku.dke.task_app.datalog.evaluation.ExecutionScheduler;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * End-to-end load test of the submission endpoints.
+ * <p>
+ * The application runs against the PostgreSQL container and the bundled DLV binary. The task groups and tasks of a
+ * generated corpus (see {@link CorpusGenerator}) are created through the API, then submissions of the corpus are sent
+ * to {@code /api/submission/dlg} and {@code /api/submission/asp} with Poisson arrivals (see {@link LoadDriver}).
+ * The submission mode of each request is drawn from the configured mix.
+ * <p>
+ * The test is excluded from the default build; run it with {@code mvn test -Dgroups=load}. By default it sends a few
+ * submissions per second for a short time; for real measurements use e.g. {@code mvn test -Dgroups=load -Dload.rate=50 -Dload.duration=PT5M -Dcorpus.submissionFacts=50000}.
+ * Supported system properties are described in {@link LoadSettings#fromSystemProperties()}; the report is logged and
+ * written to {@code load.report} (default: {@code target/load-report.json}).
+ */
+@Tag("load")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ExtendWith({DatabaseSetupExtension.class, ClientSetupExtension.class})
+class SubmissionLoadTest {
+    private static final Logger LOG = LoggerFactory.getLogger(SubmissionLoadTest.class);
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ExecutionScheduler scheduler;
+
+    @Autowired
+    private DatalogSettings datalogSettings;
+
+    private Corpus corpus;
+
+    @AfterEach
+    void cleanup() throws IOException, InterruptedException {
+        if (this.corpus == null)
+            return;
+        try (var client = HttpClient.newHttpClient()) {
+            for (var group : this.corpus.taskGroups()) {
+                client.send(HttpRequest.newBuilder(this.baseUri().resolve("/api/taskGroup/" + group.id()))
+                    .header(AuthConstants.AUTH_TOKEN_HEADER_NAME, ClientSetupExtension.CRUD_API_KEY)
+                    .DELETE()
+                    .build(), HttpResponse.BodyHandlers.discarding());
+            }
+        }
+    }
+
+    @Test
+    void load() throws IOException, InterruptedException {
+        // Arrange
+        var settings = LoadSettings.fromSystemProperties();
+        this.corpus = CorpusGenerator.generate(settings.corpus());
+        var datalogTasks = this.corpus.datalogTasks().filter(t -> !t.submissions().isEmpty()).toList();
+        var aspTasks = this.corpus.aspTasks().filter(t -> !t.submissions().isEmpty()).toList();
+        LOG.info("Load settings: {}", settings);
+
+        try (var client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .executor(Executors.newVirtualThreadPerTaskExecutor())
+            .build();
+             var sampler = Executors.newSingleThreadScheduledExecutor()) {
+            this.createTasks(client);
+
+            var driver = new LoadDriver(client, this.baseUri(), ClientSetupExtension.SUBMIT_API_KEY, settings);
+            int slots = this.datalogSettings.scheduler().maxConcurrentExecutions();
+            var peakRunning = new AtomicInteger();
+            var peakQueued = new AtomicInteger();
+            var before = this.scheduler.getStatistics();
+            sampler.scheduleAtFixedRate(() -> {
+                var statistics = this.scheduler.getStatistics();
+                peakRunning.accumulateAndGet(slots - statistics.availableSlots(), Math::max);
+                peakQueued.accumulateAndGet(statistics.queued(), Math::max);
+            }, 0, 10, TimeUnit.MILLISECONDS);
+
+            // Act
+            var run = driver.run(new Random(settings.corpus().seed()), random -> {
+                boolean asp = !aspTasks.isEmpty() && (datalogTasks.isEmpty() || random.nextDouble() < settings.aspShare());
+                return asp
+                    ? this.submissionRequest("asp", aspTasks, settings.pickMode(random), random)
+                    : this.submissionRequest("dlg", datalogTasks, settings.pickMode(random), random);
+            });
+            sampler.shutdown();
+            var after = this.scheduler.getStatistics();
+            var report = LoadReport.of(run, settings.duration(), new LoadReport.Processes(
+                after.admitted() - before.admitted(), peakRunning.get(), peakQueued.get(), after.rejected() - before.rejected()));
+
+            // Assert
+            LOG.info("Load test report:{}{}", System.lineSeparator(), report.format());
+            var file = Path.of(System.getProperty("load.report", "target/load-report.json"));
+            Files.createDirectories(file.toAbsolutePath().getParent());
+            this.objectMapper.writerWithDefaultPrettyPrinter().writeValue(file.toFile(), report);
+
+            assertThat(report.total().requests()).isPositive();
+            assertThat(report.total().errors()).as("failed requests").isZero();
+            assertThat(report.total().ok()).isPositive();
+            assertThat(report.processes().started()).isPositive();
+        }
+    }
+
+    private void createTasks(HttpClient client) throws IOException, InterruptedException {
+        for (var group : this.corpus.taskGroups())
+            this.post(client, "/api/taskGroup/" + group.id(), group.dto());
+        for (var task : this.corpus.datalogTasks().toList())
+            this.post(client, "/api/task/dlg/" + task.id(), task.dto());
+        for (var task : this.corpus.aspTasks().toList())
+            this.post(client, "/api/task/asp/" + task.id(), task.dto());
+    }
+
+    private void post(HttpClient client, String path, Object body) throws IOException, InterruptedException {
+        var response = client.send(HttpRequest.newBuilder(this.baseUri().resolve(path))
+            .header(AuthConstants.AUTH_TOKEN_HEADER_NAME, ClientSetupExtension.CRUD_API_KEY)
+            .header("Content-Type", "application/json")
+            .POST(HttpRequest.BodyPublishers.ofString(this.objectMapper.writeValueAsString(body)))
+            .build(), HttpResponse.BodyHandlers.ofString());
+        assertThat(response.statusCode()).as("POST %s: %s", path, response.body()).isBetween(200, 299);
+    }
+
+    private <S> LoadDriver.Request submissionRequest(String endpoint, List<? extends Corpus.Task<?, S>> tasks, SubmissionMode mode, Random random) {
+        var task = tasks.get(random.nextInt(tasks.size()));
+        var dto = task.submissions().get(random.nextInt(task.submissions().size())).dto();
+        var submission = new SubmitSubmissionDto<>(dto.userId(), dto.assignmentId(), dto.taskId(), dto.language(), mode, dto.feedbackLevel(), dto.submission());
+        try {
+            return new LoadDriver.Request(endpoint, mode, "/api/submission/" + endpoint, this.objectMapper.writeValueAsString(submission));
+        } catch (JsonProcessingException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private URI baseUri() {
+        return URI.create("http://localhost:" + this.port);
+    }
+}
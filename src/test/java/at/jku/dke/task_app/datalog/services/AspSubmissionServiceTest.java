@@ -2,6 +2,7 @@
 
 import at.jku.dke.etutor.task_app.dto.SubmissionMode;
 import at.jku.dke.etutor.task_app.dto.SubmitSubmissionDto;
+import at.jku.dke.task_app.datalog.config.DatalogSettings;
 import at.jku.dke.task_app.datalog.data.entities.AspSubmission;
 import at.jku.dke.task_app.datalog.dto.AspSubmissionDto;
 import at.jku.dke.task_app.datalog.evaluation.asp.AspEvaluationService;
@@ -16,7 +17,7 @@ class AspSubmissionServiceTest {
     @Test
     void createSubmissionEntity() {
         // Arrange
-        var service = new AspSubmissionService(null, null, null);
+        var service = new AspSubmissionService(null, null, null, DatalogSettings.EMPTY);
         var dto = new SubmitSubmissionDto<>("test-user", "test-quiz", 7L, "de", SubmissionMode.SUBMIT, 3, new AspSubmissionDto("test-input"));
 
         // Act
@@ -29,7 +30,7 @@ void createSubmissionEntity() {
     @Test
     void mapSubmissionToSubmissionData() {
         // Arrange
-        var service = new AspSubmissionService(null, null, null);
+        var service = new AspSubmissionService(null, null, null, DatalogSettings.EMPTY);
         var submission = new AspSubmission("test-input");
 
         // Act
@@ -44,7 +45,7 @@ void evaluate() {
         // Arrange
         var evalService = mock(AspEvaluationService.class);
         var dto = new SubmitSubmissionDto<>("test-user", "test-quiz", 7L, "de", SubmissionMode.SUBMIT, 3, new AspSubmissionDto("test-input"));
-        var service = new AspSubmissionService(null, null, evalService);
+        var service = new AspSubmissionService(null, null, evalService, DatalogSettings.EMPTY);
 
         // Act
         service.evaluate(dto);
@@ -1,23 +1,38 @@
 package at.jku.dke.task_app.datalog.services;
 
+import at.jku.dke.etutor.task_app.dto.GradingDto;
 import at.jku.dke.etutor.task_app.dto.SubmissionMode;
 import at.jku.dke.etutor.task_app.dto.SubmitSubmissionDto;
+import at.jku.dke.task_app.datalog.config.DatalogSettings;
 import at.jku.dke.task_app.datalog.data.entities.DatalogSubmission;
+import at.jku.dke.task_app.datalog.data.entities.DatalogTask;
+import at.jku.dke.task_app.datalog.data.repositories.DatalogSubmissionRepository;
+import at.jku.dke.task_app.datalog.data.repositories.DatalogTaskRepository;
 import at.jku.dke.task_app.datalog.dto.DatalogSubmissionDto;
 import at.jku.dke.task_app.datalog.evaluation.EvaluationService;
 import at.jku.dke.task_app.datalog.evaluation.dlg.DatalogEvaluationService;
 import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
 
-import static org.junit.jupiter.api.Assertions.assertEquals;
-import static org.mockito.Mockito.mock;
-import static org.mockito.Mockito.verify;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
 
 class DatalogSubmissionServiceTest {
+    private static final DatalogSettings QUEUE_SETTINGS = new DatalogSettings("", 10, "0", "", DatalogSettings.SchedulerSettings.DEFAULT, DatalogSettings.CacheSettings.DEFAULT,
+        DatalogSettings.Engine.DLV, DatalogSettings.ProcessSettings.DEFAULT, new DatalogSettings.QueueSettings(true, 1, Duration.ofSeconds(1), Duration.ofMinutes(5), 3), DatalogSettings.MetricsSettings.DEFAULT);
 
     @Test
     void createSubmissionEntity() {
         // Arrange
-        var service = new DatalogSubmissionService(null, null, null);
+        var service = new DatalogSubmissionService(null, null, null, DatalogSettings.EMPTY);
         var dto = new SubmitSubmissionDto<>("test-user", "test-quiz", 7L, "de", SubmissionMode.SUBMIT, 3, new DatalogSubmissionDto("test-input"));
 
         // Act
@@ -30,7 +45,7 @@ void createSubmissionEntity() {
     @Test
     void mapSubmissionToSubmissionData() {
         // Arrange
-        var service = new DatalogSubmissionService(null, null, null);
+        var service = new DatalogSubmissionService(null, null, null, DatalogSettings.EMPTY);
         var submission = new DatalogSubmission("test-input");
 
         // Act
@@ -45,7 +60,7 @@ void evaluate() {
         // Arrange
         var evalService = mock(DatalogEvaluationService.class);
         var dto = new SubmitSubmissionDto<>("test-user", "test-quiz", 7L, "de", SubmissionMode.SUBMIT, 3, new DatalogSubmissionDto("test-input"));
-        var service = new DatalogSubmissionService(null, null, evalService);
+        var service = new DatalogSubmissionService(null, null, evalService, DatalogSettings.EMPTY);
 
         // Act
         service.evaluate(dto);
@@ -53,4 +68,217 @@ void evaluate() {
         // Assert
         verify(evalService).evaluate(dto);
     }
+
+    @Test
+    void createQueuedSubmissionEntity() {
+        // Arrange
+        var service = new DatalogSubmissionService(null, null, null, DatalogSettings.EMPTY);
+        var task = new DatalogTask("solution", List.of("query"), null);
+        var dto = new SubmitSubmissionDto<>("test-user", "test-quiz", 7L, "de", SubmissionMode.SUBMIT, 3, new DatalogSubmissionDto("test-input"));
+
+        // Act
+        var submission = service.createQueuedSubmissionEntity(dto, task);
+
+        // Assert
+        assertEquals(dto.submission().input(), submission.getSubmission());
+        assertEquals(dto.userId(), submission.getUserId());
+        assertEquals(dto.mode(), submission.getMode());
+        assertSame(task, submission.getTask());
+        assertNotNull(submission.getQueuedAt());
+    }
+
+    @Test
+    void enqueue() {
+        // Arrange
+        var submissionRepository = mock(DatalogSubmissionRepository.class);
+        var taskRepository = mock(DatalogTaskRepository.class);
+        var service = new DatalogSubmissionService(submissionRepository, taskRepository, null, QUEUE_SETTINGS);
+        var task = new DatalogTask("solution", List.of("query"), null);
+        var id = UUID.randomUUID();
+        var dto = new SubmitSubmissionDto<>("test-user", "test-quiz", 7L, "de", SubmissionMode.SUBMIT, 3, new DatalogSubmissionDto("test-input"));
+
+        when(taskRepository.findById(7L)).thenReturn(Optional.of(task));
+        when(submissionRepository.save(any())).thenAnswer(invocation -> {
+            DatalogSubmission submission = invocation.getArgument(0);
+            submission.setId(id);
+            return submission;
+        });
+
+        // Act
+        var result = service.enqueue(dto);
+
+        // Assert
+        assertEquals(id, result);
+        verify(submissionRepository).save(argThat(s -> s.getQueuedAt() != null && s.getEvaluationResult() == null));
+    }
+
+    @Test
+    void enqueue_disabled() {
+        // Arrange
+        var service = new DatalogSubmissionService(null, null, null, DatalogSettings.EMPTY);
+        var dto = new SubmitSubmissionDto<>("test-user", "test-quiz", 7L, "de", SubmissionMode.SUBMIT, 3, new DatalogSubmissionDto("test-input"));
+
+        // Act & Assert
+        var ex = assertThrows(ResponseStatusException.class, () -> service.enqueue(dto));
+        assertEquals(HttpStatus.NOT_FOUND, ex.getStatusCode());
+    }
+
+    @Test
+    void enqueue_taskNotFound() {
+        // Arrange
+        var taskRepository = mock(DatalogTaskRepository.class);
+        var service = new DatalogSubmissionService(mock(DatalogSubmissionRepository.class), taskRepository, null, QUEUE_SETTINGS);
+        var dto = new SubmitSubmissionDto<>("test-user", "test-quiz", 7L, "de", SubmissionMode.SUBMIT, 3, new DatalogSubmissionDto("test-input"));
+
+        when(taskRepository.findById(7L)).thenReturn(Optional.empty());
+
+        // Act & Assert
+        var ex = assertThrows(ResponseStatusException.class, () -> service.enqueue(dto));
+        assertEquals(HttpStatus.BAD_REQUEST, ex.getStatusCode());
+    }
+
+    @Test
+    void claimQueued() {
+        // Arrange
+        var submissionRepository = mock(DatalogSubmissionRepository.class);
+        var service = new DatalogSubmissionService(submissionRepository, null, null, QUEUE_SETTINGS);
+        var ids = List.of(UUID.randomUUID());
+
+        when(submissionRepository.lockPending(1, 3)).thenReturn(ids);
+
+        // Act
+        var result = service.claimQueued(1);
+
+        // Assert
+        assertEquals(ids, result);
+        verify(submissionRepository).reserve(ids, 300);
+    }
+
+    @Test
+    void claimQueued_empty() {
+        // Arrange
+        var submissionRepository = mock(DatalogSubmissionRepository.class);
+        var service = new DatalogSubmissionService(submissionRepository, null, null, QUEUE_SETTINGS);
+
+        when(submissionRepository.lockPending(1, 3)).thenReturn(List.of());
+
+        // Act
+        var result = service.claimQueued(1);
+
+        // Assert
+        assertTrue(result.isEmpty());
+        verify(submissionRepository, never()).reserve(any(), anyLong());
+    }
+
+    @Test
+    void evaluateQueued() {
+        // Arrange
+        var submissionRepository = mock(DatalogSubmissionRepository.class);
+        var evalService = mock(DatalogEvaluationService.class);
+        var service = new DatalogSubmissionService(submissionRepository, null, evalService, QUEUE_SETTINGS);
+        var submission = createQueuedSubmission();
+        var grading = new GradingDto(BigDecimal.TWO, BigDecimal.TWO, "success", List.of());
+
+        when(submissionRepository.findById(submission.getId())).thenReturn(Optional.of(submission));
+        when(evalService.evaluate(any())).thenReturn(grading);
+
+        // Act
+        var result = service.evaluateQueued(submission.getId());
+
+        // Assert
+        assertTrue(result);
+        verify(evalService).evaluate(new SubmitSubmissionDto<>("test-user", "test-quiz", 7L, "de", SubmissionMode.SUBMIT, 3, new DatalogSubmissionDto("test-input")));
+        verify(submissionRepository).save(submission);
+        assertEquals(grading, submission.getEvaluationResult());
+    }
+
+    @Test
+    void evaluateQueued_alreadyEvaluated() {
+        // Arrange
+        var submissionRepository = mock(DatalogSubmissionRepository.class);
+        var evalService = mock(DatalogEvaluationService.class);
+        var service = new DatalogSubmissionService(submissionRepository, null, evalService, QUEUE_SETTINGS);
+        var submission = createQueuedSubmission();
+        submission.setEvaluationResult(new GradingDto(BigDecimal.TWO, BigDecimal.TWO, "success", List.of()));
+
+        when(submissionRepository.findById(submission.getId())).thenReturn(Optional.of(submission));
+
+        // Act
+        var result = service.evaluateQueued(submission.getId());
+
+        // Assert
+        assertFalse(result);
+        verifyNoInteractions(evalService);
+    }
+
+    @Test
+    void evaluateQueued_rejected() {
+        // Arrange
+        var submissionRepository = mock(DatalogSubmissionRepository.class);
+        var evalService = mock(DatalogEvaluationService.class);
+        var service = new DatalogSubmissionService(submissionRepository, null, evalService, QUEUE_SETTINGS);
+        var submission = createQueuedSubmission();
+
+        when(submissionRepository.findById(submission.getId())).thenReturn(Optional.of(submission));
+        when(evalService.evaluate(any())).thenThrow(new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "overloaded"));
+
+        // Act
+        var result = service.evaluateQueued(submission.getId());
+
+        // Assert
+        assertFalse(result);
+        verify(submissionRepository).release(submission.getId());
+        verify(submissionRepository, never()).save(any());
+    }
+
+    @Test
+    void evaluateQueued_error() {
+        // Arrange
+        var submissionRepository = mock(DatalogSubmissionRepository.class);
+        var evalService = mock(DatalogEvaluationService.class);
+        var service = new DatalogSubmissionService(submissionRepository, null, evalService, QUEUE_SETTINGS);
+        var submission = createQueuedSubmission();
+
+        when(submissionRepository.findById(submission.getId())).thenReturn(Optional.of(submission));
+        when(evalService.evaluate(any())).thenThrow(new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "error"));
+
+        // Act & Assert
+        assertThrows(ResponseStatusException.class, () -> service.evaluateQueued(submission.getId()));
+        verify(submissionRepository, never()).release(any());
+        verify(submissionRepository, never()).save(any());
+    }
+
+    @Test
+    void evaluateQueued_error_lastAttempt() {
+        // Arrange
+        var submissionRepository = mock(DatalogSubmissionRepository.class);
+        var evalService = mock(DatalogEvaluationService.class);
+        var service = new DatalogSubmissionService(submissionRepository, null, evalService, QUEUE_SETTINGS);
+        var submission = createQueuedSubmission();
+        submission.setAttempts(3);
+        var failure = new GradingDto(BigDecimal.TWO, BigDecimal.ZERO, "failed", List.of());
+
+        when(submissionRepository.findById(submission.getId())).thenReturn(Optional.of(submission));
+        when(evalService.evaluate(any())).thenThrow(new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "error"));
+        when(evalService.evaluationFailed(any())).thenReturn(failure);
+
+        // Act
+        var result = service.evaluateQueued(submission.getId());
+
+        // Assert
+        assertTrue(result);
+        verify(evalService).evaluationFailed(new SubmitSubmissionDto<>("test-user", "test-quiz", 7L, "de", SubmissionMode.SUBMIT, 3, new DatalogSubmissionDto("test-input")));
+        verify(submissionRepository).save(submission);
+        verify(submissionRepository, never()).release(any());
+        assertEquals(failure, submission.getEvaluationResult());
+    }
+
+    private static DatalogSubmission createQueuedSubmission() {
+        var task = new DatalogTask("solution", List.of("query"), null);
+        task.setId(7L);
+        var submission = new DatalogSubmission("test-user", "test-quiz", task, "de", 3, SubmissionMode.SUBMIT, "test-input");
+        submission.setId(UUID.randomUUID());
+        submission.setQueuedAt(OffsetDateTime.now());
+        return submission;
+    }
 }
@@ -4,6 +4,8 @@
 import at.jku.dke.etutor.task_app.dto.TaskStatus;
 import at.jku.dke.task_app.datalog.config.DatalogSettings;
 import at.jku.dke.task_app.datalog.data.entities.DatalogTaskGroup;
+import at.jku.dke.task_app.datalog.data.repositories.AspTaskRepository;
+import at.jku.dke.task_app.datalog.data.repositories.DatalogTaskRepository;
 import at.jku.dke.task_app.datalog.dto.ModifyDatalogTaskGroupDto;
 import at.jku.dke.task_app.datalog.evaluation.DatalogExecutorImpl;
 import at.jku.dke.task_app.datalog.evaluation.exceptions.ExecutionException;
@@ -21,8 +23,7 @@
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
-import static org.mockito.Mockito.mock;
-import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.*;
 
 class DatalogTaskGroupServiceTest {
 
@@ -32,7 +33,7 @@ void createTaskGroup() {
         // Arrange
         var dto = new ModifyTaskGroupDto<>("datalog", TaskStatus.APPROVED, new ModifyDatalogTaskGroupDto("person(mike).", "person(steve)."));
         var exec = mock(DatalogExecutorImpl.class);
-        var service = new DatalogTaskGroupService(null, null, exec, null);
+        var service = new DatalogTaskGroupService(null, null, exec, null, mock(DatalogTaskRepository.class), mock(AspTaskRepository.class));
 
         // Act
         var result = service.createTaskGroup(1, dto);
@@ -47,7 +48,7 @@ void createTaskGroup_invalidType() {
         // Arrange
         var dto = new ModifyTaskGroupDto<>("xquery", TaskStatus.APPROVED, new ModifyDatalogTaskGroupDto("person(mike).", "person(steve)."));
         var exec = mock(DatalogExecutorImpl.class);
-        var service = new DatalogTaskGroupService(null, null, exec, null);
+        var service = new DatalogTaskGroupService(null, null, exec, null, mock(DatalogTaskRepository.class), mock(AspTaskRepository.class));
 
         // Act & Assert
         assertThrows(ResponseStatusException.class, () -> service.createTaskGroup(1, dto));
@@ -58,7 +59,7 @@ void createTaskGroup_invalidSyntax() throws IOException, ExecutionException {
         // Arrange
         var dto = new ModifyTaskGroupDto<>("datalog", TaskStatus.APPROVED, new ModifyDatalogTaskGroupDto("person(mike).", "person(steve)."));
         var exec = mock(DatalogExecutorImpl.class);
-        var service = new DatalogTaskGroupService(null, null, exec, null);
+        var service = new DatalogTaskGroupService(null, null, exec, null, mock(DatalogTaskRepository.class), mock(AspTaskRepository.class));
         when(exec.execute(anyString(), any())).thenThrow(new SyntaxException("Invalid syntax."));
 
         // Act & Assert
@@ -70,7 +71,7 @@ void createTaskGroup_executorProblem() throws IOException, ExecutionException {
         // Arrange
         var dto = new ModifyTaskGroupDto<>("datalog", TaskStatus.APPROVED, new ModifyDatalogTaskGroupDto("person(mike).", "person(steve)."));
         var exec = mock(DatalogExecutorImpl.class);
-        var service = new DatalogTaskGroupService(null, null, exec, null);
+        var service = new DatalogTaskGroupService(null, null, exec, null, mock(DatalogTaskRepository.class), mock(AspTaskRepository.class));
         when(exec.execute(anyString(), any())).thenThrow(new ExecutionException("Some problem."));
 
         // Act & Assert
@@ -84,7 +85,7 @@ void updateTaskGroup() {
         // Arrange
         var dto = new ModifyTaskGroupDto<>("datalog", TaskStatus.APPROVED, new ModifyDatalogTaskGroupDto("person(mike).", "person(steve)."));
         var exec = mock(DatalogExecutorImpl.class);
-        var service = new DatalogTaskGroupService(null, null, exec, null);
+        var service = new DatalogTaskGroupService(null, null, exec, null, mock(DatalogTaskRepository.class), mock(AspTaskRepository.class));
         var taskGroup = new DatalogTaskGroup("diagnose", "submit");
 
         // Act
@@ -100,7 +101,7 @@ void updateTaskGroup_notValidateDiagnoseOnUnchanged() {
         // Arrange
         var dto = new ModifyTaskGroupDto<>("datalog", TaskStatus.APPROVED, new ModifyDatalogTaskGroupDto("diagnose", "person(steve)."));
         var exec = mock(DatalogExecutorImpl.class);
-        var service = new DatalogTaskGroupService(null, null, exec, null);
+        var service = new DatalogTaskGroupService(null, null, exec, null, mock(DatalogTaskRepository.class), mock(AspTaskRepository.class));
         var taskGroup = new DatalogTaskGroup("diagnose", "person(mike).");
 
         // Act
@@ -116,7 +117,7 @@ void updateTaskGroup_notValidateSubmitOnUnchanged() {
         // Arrange
         var dto = new ModifyTaskGroupDto<>("datalog", TaskStatus.APPROVED, new ModifyDatalogTaskGroupDto("person(mike).", "submit"));
         var exec = mock(DatalogExecutorImpl.class);
-        var service = new DatalogTaskGroupService(null, null, exec, null);
+        var service = new DatalogTaskGroupService(null, null, exec, null, mock(DatalogTaskRepository.class), mock(AspTaskRepository.class));
         var taskGroup = new DatalogTaskGroup("person(steve).", "submit");
 
         // Act
@@ -127,12 +128,50 @@ void updateTaskGroup_notValidateSubmitOnUnchanged() {
         assertEquals(dto.additionalData().submissionFacts(), taskGroup.getSubmissionFacts());
     }
 
+    @Test
+    void updateTaskGroup_clearSolutionResults() {
+        // Arrange
+        var dto = new ModifyTaskGroupDto<>("datalog", TaskStatus.APPROVED, new ModifyDatalogTaskGroupDto("diagnose", "person(steve)."));
+        var exec = mock(DatalogExecutorImpl.class);
+        var datalogTaskRepository = mock(DatalogTaskRepository.class);
+        var aspTaskRepository = mock(AspTaskRepository.class);
+        var service = new DatalogTaskGroupService(null, null, exec, null, datalogTaskRepository, aspTaskRepository);
+        var taskGroup = new DatalogTaskGroup("diagnose", "person(mike).");
+        taskGroup.setId(3L);
+
+        // Act
+        service.updateTaskGroup(taskGroup, dto);
+
+        // Assert
+        verify(datalogTaskRepository).clearSolutionResults(3L);
+        verify(aspTaskRepository).clearSolutionResults(3L);
+    }
+
+    @Test
+    void updateTaskGroup_keepSolutionResultsOnUnchanged() {
+        // Arrange
+        var dto = new ModifyTaskGroupDto<>("datalog", TaskStatus.APPROVED, new ModifyDatalogTaskGroupDto("diagnose", "submit"));
+        var exec = mock(DatalogExecutorImpl.class);
+        var datalogTaskRepository = mock(DatalogTaskRepository.class);
+        var aspTaskRepository = mock(AspTaskRepository.class);
+        var service = new DatalogTaskGroupService(null, null, exec, null, datalogTaskRepository, aspTaskRepository);
+        var taskGroup = new DatalogTaskGroup("diagnose", "submit");
+        taskGroup.setId(3L);
+
+        // Act
+        service.updateTaskGroup(taskGroup, dto);
+
+        // Assert
+        verify(datalogTaskRepository, never()).clearSolutionResults(any());
+        verify(aspTaskRepository, never()).clearSolutionResults(any());
+    }
+
     @Test
     void updateTaskGroup_invalidType() {
         // Arrange
         var dto = new ModifyTaskGroupDto<>("xquery", TaskStatus.APPROVED, new ModifyDatalogTaskGroupDto("person(mike).", "person(steve)."));
         var exec = mock(DatalogExecutorImpl.class);
-        var service = new DatalogTaskGroupService(null, null, exec, null);
+        var service = new DatalogTaskGroupService(null, null, exec, null, mock(DatalogTaskRepository.class), mock(AspTaskRepository.class));
         var taskGroup = new DatalogTaskGroup("diagnose", "submit");
 
         // Act & Assert
@@ -144,7 +183,7 @@ void updateTaskGroup_invalidSyntax() throws IOException, ExecutionException {
         // Arrange
         var dto = new ModifyTaskGroupDto<>("datalog", TaskStatus.APPROVED, new ModifyDatalogTaskGroupDto("person(mike).", "person(steve)."));
         var exec = mock(DatalogExecutorImpl.class);
-        var service = new DatalogTaskGroupService(null, null, exec, null);
+        var service = new DatalogTaskGroupService(null, null, exec, null, mock(DatalogTaskRepository.class), mock(AspTaskRepository.class));
         var taskGroup = new DatalogTaskGroup("diagnose", "submit");
         when(exec.execute(anyString(), any())).thenThrow(new SyntaxException("Invalid syntax."));
 
@@ -157,7 +196,7 @@ void updateTaskGroup_executorProblem() throws IOException, ExecutionException {
         // Arrange
         var dto = new ModifyTaskGroupDto<>("datalog", TaskStatus.APPROVED, new ModifyDatalogTaskGroupDto("person(mike).", "person(steve)."));
         var exec = mock(DatalogExecutorImpl.class);
-        var service = new DatalogTaskGroupService(null, null, exec, null);
+        var service = new DatalogTaskGroupService(null, null, exec, null, mock(DatalogTaskRepository.class), mock(AspTaskRepository.class));
         var taskGroup = new DatalogTaskGroup("diagnose", "submit");
         when(exec.execute(anyString(), any())).thenThrow(new IOException("Some error."));
 
@@ -170,7 +209,7 @@ void updateTaskGroup_executorProblem() throws IOException, ExecutionException {
     void mapToReturnData() {
         // Arrange
         MessageSource ms = mock(MessageSource.class);
-        var service = new DatalogTaskGroupService(null, ms, null, DatalogSettings.EMPTY);
+        var service = new DatalogTaskGroupService(null, ms, null, DatalogSettings.EMPTY, null, null);
         var taskGroup = new DatalogTaskGroup("""
             empty.
             person(mike).
@@ -5,7 +5,9 @@
 import at.jku.dke.etutor.task_app.dto.TaskStatus;
 import at.jku.dke.task_app.datalog.data.entities.DatalogTask;
 import at.jku.dke.task_app.datalog.data.entities.TermDescription;
+import at.jku.dke.task_app.datalog.data.repositories.DatalogTaskRepository;
 import at.jku.dke.task_app.datalog.dto.ModifyDatalogTaskDto;
+import at.jku.dke.task_app.datalog.evaluation.DatalogExecutor;
 import at.jku.dke.task_app.datalog.evaluation.dlg.DatalogEvaluationService;
 import jakarta.validation.ValidationException;
 import org.junit.jupiter.api.Test;
@@ -13,11 +15,11 @@
 
 import java.math.BigDecimal;
 import java.util.List;
+import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.Mockito.mock;
-import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.*;
 
 class DatalogTaskServiceTest {
 
@@ -70,6 +72,30 @@ void createTask_invalidSyntax() {
         // Act & Assert
         assertThrows(ResponseStatusException.class, () -> service.afterCreate(new DatalogTask(), dto));
     }
+
+    @Test
+    void afterCreate_storeSolutionResults() {
+        // Arrange
+        var dto = new ModifyTaskDto<>(3L, BigDecimal.TEN, "datalog", TaskStatus.APPROVED, new ModifyDatalogTaskDto("parent(X) :- hasChild(X, _).", "parent(X)?", null));
+        var repository = mock(DatalogTaskRepository.class);
+        var evalService = mock(DatalogEvaluationService.class);
+        var service = new DatalogTaskService(repository, null, evalService);
+        var task = new DatalogTask("parent(X) :- hasChild(X, _).", List.of("parent(X)?"), null);
+        when(evalService.evaluate(any())).thenReturn(new GradingDto(BigDecimal.TEN, BigDecimal.TEN, "", List.of()));
+        when(evalService.execute(any())).thenReturn(
+            new DatalogExecutor.ExecutionResult("{hasParent(anna,mike), parent(mike)}", Map.of("parent(X)?", List.of("mike"))),
+            new DatalogExecutor.ExecutionResult("{parent(steve)}", Map.of("parent(X)?", List.of("steve"))));
+
+        // Act
+        service.afterCreate(task, dto);
+
+        // Assert
+        assertEquals(Map.of("parent(X)?", List.of("mike")), task.getDiagnoseSolutionResult());
+        assertEquals(Map.of("parent(X)?", List.of("steve")), task.getSubmissionSolutionResult());
+        assertEquals(2L, task.getDiagnoseSolutionFacts());
+        assertEquals(1L, task.getSubmissionSolutionFacts());
+        verify(repository).save(task);
+    }
     //#endregion
 
     //#region --- updateTask ---
@@ -97,6 +123,27 @@ void updateTask() {
         ), task.getUncheckedTerms());
     }
 
+    @Test
+    void updateTask_clearSolutionResults() {
+        // Arrange
+        var dto = new ModifyTaskDto<>(3L, BigDecimal.TEN, "datalog", TaskStatus.APPROVED, new ModifyDatalogTaskDto("hasParent(X, Y) :- hasChild(Y, X).", "hasChild(X)?", null));
+        var service = new DatalogTaskService(null, null, mock(DatalogEvaluationService.class));
+        var task = new DatalogTask("hasParent(X, Y) :- hasChild(Y, X).", List.of("hasChild(X, Y)?"), null);
+        task.setDiagnoseSolutionResult(Map.of("hasChild(X, Y)?", List.of("mike, steve")));
+        task.setSubmissionSolutionResult(Map.of("hasChild(X, Y)?", List.of("steve, anna")));
+        task.setDiagnoseSolutionFacts(1L);
+        task.setSubmissionSolutionFacts(1L);
+
+        // Act
+        service.updateTask(task, dto);
+
+        // Assert
+        assertNull(task.getDiagnoseSolutionResult());
+        assertNull(task.getSubmissionSolutionResult());
+        assertNull(task.getDiagnoseSolutionFacts());
+        assertNull(task.getSubmissionSolutionFacts());
+    }
+
     @Test
     void updateTask_invalidType() {
         // Arrange
@@ -0,0 +1,163 @@
+package at.jku.dke.task_app.datalog.services;
+
+import at.jku.dke.etutor.task_app.dto.GradingDto;
+import at.jku.dke.etutor.task_app.dto.SubmissionMode;
+import at.jku.dke.task_app.datalog.config.DatalogSettings;
+import at.jku.dke.task_app.datalog.data.entities.DatalogSubmission;
+import at.jku.dke.task_app.datalog.data.entities.DatalogTask;
+import at.jku.dke.task_app.datalog.data.repositories.DatalogSubmissionRepository;
+import at.jku.dke.task_app.datalog.evaluation.dlg.DatalogEvaluationService;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class SubmissionQueueWorkerTest {
+
+    private static DatalogSettings createSettings(boolean enabled) {
+        return new DatalogSettings("", 10, "0", "", DatalogSettings.SchedulerSettings.DEFAULT, DatalogSettings.CacheSettings.DEFAULT,
+            DatalogSettings.Engine.DLV, DatalogSettings.ProcessSettings.DEFAULT, new DatalogSettings.QueueSettings(enabled, 2, Duration.ofMillis(10), Duration.ofMinutes(5), 3), DatalogSettings.MetricsSettings.DEFAULT);
+    }
+
+    @Test
+    void poll() {
+        // Arrange
+        var dlg = mock(DatalogSubmissionService.class);
+        var asp = mock(AspSubmissionService.class);
+        var worker = new SubmissionQueueWorker(List.of(dlg, asp), createSettings(true));
+        var id = UUID.randomUUID();
+
+        when(dlg.claimQueued(1)).thenReturn(List.of(id));
+        when(dlg.evaluateQueued(id)).thenReturn(true);
+        when(asp.claimQueued(1)).thenReturn(List.of());
+
+        // Act
+        var result = worker.poll();
+
+        // Assert
+        assertTrue(result);
+        verify(dlg).evaluateQueued(id);
+        verify(asp, never()).evaluateQueued(any());
+    }
+
+    @Test
+    void poll_empty() {
+        // Arrange
+        var dlg = mock(DatalogSubmissionService.class);
+        var worker = new SubmissionQueueWorker(List.of(dlg), createSettings(true));
+
+        when(dlg.claimQueued(1)).thenReturn(List.of());
+
+        // Act
+        var result = worker.poll();
+
+        // Assert
+        assertFalse(result);
+    }
+
+    @Test
+    void poll_evaluationError() {
+        // Arrange
+        var dlg = mock(DatalogSubmissionService.class);
+        var asp = mock(AspSubmissionService.class);
+        var worker = new SubmissionQueueWorker(List.of(dlg, asp), createSettings(true));
+        var dlgId = UUID.randomUUID();
+        var aspId = UUID.randomUUID();
+
+        when(dlg.claimQueued(1)).thenReturn(List.of(dlgId));
+        when(dlg.evaluateQueued(dlgId)).thenThrow(new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR));
+        when(asp.claimQueued(1)).thenReturn(List.of(aspId));
+        when(asp.evaluateQueued(aspId)).thenReturn(true);
+
+        // Act
+        var result = worker.poll();
+
+        // Assert
+        assertTrue(result);
+        verify(asp).evaluateQueued(aspId);
+    }
+
+    @Test
+    void poll_evaluationKeepsFailing() {
+        // Arrange
+        var submissionRepository = mock(DatalogSubmissionRepository.class);
+        var evalService = mock(DatalogEvaluationService.class);
+        var settings = createSettings(true);
+        var worker = new SubmissionQueueWorker(List.of(new DatalogSubmissionService(submissionRepository, null, evalService, settings)), settings);
+        var task = new DatalogTask("solution", List.of("query"), null);
+        task.setId(7L);
+        var submission = new DatalogSubmission("test-user", "test-quiz", task, "de", 3, SubmissionMode.SUBMIT, "test-input");
+        submission.setId(UUID.randomUUID());
+        submission.setQueuedAt(OffsetDateTime.now());
+        var failure = new GradingDto(BigDecimal.TWO, BigDecimal.ZERO, "failed", List.of());
+
+        // simulates the queries of the submission queue
+        when(submissionRepository.lockPending(1, 3)).thenAnswer(i -> submission.getEvaluationResult() == null && submission.getAttempts() < 3 ? List.of(submission.getId()) : List.of());
+        doAnswer(i -> {
+            submission.setAttempts(submission.getAttempts() + 1);
+            return null;
+        }).when(submissionRepository).reserve(List.of(submission.getId()), 300);
+        when(submissionRepository.findById(submission.getId())).thenReturn(Optional.of(submission));
+        when(evalService.evaluate(any())).thenThrow(new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "error"));
+        when(evalService.evaluationFailed(any())).thenReturn(failure);
+
+        // Act
+        var first = worker.poll();
+        var second = worker.poll();
+        var third = worker.poll();
+        var fourth = worker.poll();
+
+        // Assert
+        assertFalse(first);
+        assertFalse(second);
+        assertTrue(third);
+        assertFalse(fourth);
+        assertEquals(3, submission.getAttempts());
+        assertEquals(failure, submission.getEvaluationResult());
+        verify(evalService, times(3)).evaluate(any());
+        verify(submissionRepository).save(submission);
+    }
+
+    @Test
+    void start_disabled() {
+        // Arrange
+        var dlg = mock(DatalogSubmissionService.class);
+        var worker = new SubmissionQueueWorker(List.of(dlg), createSettings(false));
+
+        // Act
+        worker.start();
+
+        // Assert
+        assertFalse(worker.isRunning());
+        verifyNoInteractions(dlg);
+    }
+
+    @Test
+    void startStop() {
+        // Arrange
+        var dlg = mock(DatalogSubmissionService.class);
+        var worker = new SubmissionQueueWorker(List.of(dlg), createSettings(true));
+        var id = UUID.randomUUID();
+
+        when(dlg.claimQueued(1)).thenReturn(List.of(id), List.of());
+        when(dlg.evaluateQueued(id)).thenReturn(true);
+
+        // Act
+        worker.start();
+        verify(dlg, timeout(5000)).evaluateQueued(id);
+        worker.stop();
+
+        // Assert
+        assertFalse(worker.isRunning());
+        verify(dlg, times(1)).evaluateQueued(id);
+    }
+}